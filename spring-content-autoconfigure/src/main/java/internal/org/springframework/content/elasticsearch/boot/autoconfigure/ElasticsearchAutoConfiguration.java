@@ -2,11 +2,13 @@ package internal.org.springframework.content.elasticsearch.boot.autoconfigure;
 
 import internal.org.springframework.content.elasticsearch.DeprecatedElasticsearchIndexer;
 import internal.org.springframework.content.elasticsearch.ElasticsearchConfig;
+import internal.org.springframework.content.elasticsearch.ElasticsearchIndexQueue;
 import internal.org.springframework.content.elasticsearch.ElasticsearchIndexer;
 import org.apache.http.HttpHost;
 import org.elasticsearch.client.RestClient;
 import org.elasticsearch.client.RestClientBuilder;
 import org.elasticsearch.client.RestHighLevelClient;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
 import org.springframework.boot.autoconfigure.AutoConfigureAfter;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
@@ -34,8 +36,8 @@ public class ElasticsearchAutoConfiguration {
 	@ConditionalOnProperty(prefix="spring.content.elasticsearch", name="autoindex", havingValue="true", matchIfMissing = true)
 	@ConditionalOnMissingBean(ElasticsearchIndexer.class)
 	@Bean
-	public ElasticsearchIndexer elasticFulltextIndexerEventListener(RestHighLevelClient client, IndexService elasticFulltextIndexService) throws IOException {
-		return new ElasticsearchIndexer(client, elasticFulltextIndexService);
+	public ElasticsearchIndexer elasticFulltextIndexerEventListener(RestHighLevelClient client, IndexService elasticFulltextIndexService, ObjectProvider<ElasticsearchIndexQueue> elasticsearchIndexQueue) throws IOException {
+		return new ElasticsearchIndexer(client, elasticFulltextIndexService, elasticsearchIndexQueue.getIfAvailable());
 	}
 
 	@ConditionalOnProperty(prefix="spring.content.elasticsearch", name="autoindex", havingValue="true", matchIfMissing = true)
@@ -4,6 +4,7 @@ import org.apache.solr.client.solrj.SolrClient;
 import org.apache.solr.client.solrj.impl.HttpSolrClient;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.content.solr.SolrProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -16,6 +17,7 @@ public class SolrAutoConfiguration {
 
 	@Bean
 	@ConditionalOnMissingBean(SolrProperties.class)
+	@ConfigurationProperties(prefix = "solr")
 	public SolrProperties solrProperties() {
 		SolrProperties solrConfig = new SolrProperties();
 		solrConfig.setUrl("http://localhost:8983/solr/solr");
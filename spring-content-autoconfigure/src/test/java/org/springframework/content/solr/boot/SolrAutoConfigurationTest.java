@@ -42,6 +42,16 @@ public class SolrAutoConfigurationTest {
                   Assertions.assertThat(context).getBean("solrFulltextEventListener").isNotNull();
                });
             });
+            It("should bind the solr properties", () -> {
+               contextRunner.withUserConfiguration(TestConfig.class)
+                 .withPropertyValues("solr.url=http://solr:8983/solr/content", "solr.commit-strategy=batch", "solr.batch-size=50")
+                 .run((context) -> {
+                    SolrProperties props = context.getBean(SolrProperties.class);
+                    Assertions.assertThat(props.getUrl()).isEqualTo("http://solr:8983/solr/content");
+                    Assertions.assertThat(props.getCommitStrategy()).isEqualTo(SolrProperties.CommitStrategy.BATCH);
+                    Assertions.assertThat(props.getBatchSize()).isEqualTo(50);
+                 });
+            });
          });
       });
    }
@@ -8,13 +8,15 @@ import java.net.URI;
 import java.net.URL;
 
 import org.springframework.content.commons.io.DeletableResource;
+import org.springframework.content.commons.io.RangeableResource;
 import org.springframework.core.io.Resource;
 import org.springframework.core.io.WritableResource;
 import org.springframework.util.Assert;
 
 import com.azure.storage.blob.BlobServiceClient;
+import com.azure.storage.blob.models.BlobRange;
 
-public class AzureBlobResource implements WritableResource, DeletableResource {
+public class AzureBlobResource implements WritableResource, DeletableResource, RangeableResource {
 
 	private BlobServiceClient client;
 	private Resource delegate;
@@ -93,6 +95,16 @@ public class AzureBlobResource implements WritableResource, DeletableResource {
 		return delegate.getInputStream();
 	}
 
+	@Override
+	public void setRange(String range) {
+		// ranges are read with getInputStream(start, end)
+	}
+
+	@Override
+	public InputStream getInputStream(long start, long end) throws IOException {
+		return client.getBlobContainerClient(bucket).getBlobClient(getFilename()).openInputStream(new BlobRange(start, end - start + 1), null);
+	}
+
 	@Override
 	public void delete() {
 		if (delegate.exists()) {
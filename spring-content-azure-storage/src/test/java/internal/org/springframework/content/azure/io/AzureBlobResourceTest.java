@@ -0,0 +1,72 @@
+package internal.org.springframework.content.azure.io;
+
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.BeforeEach;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.Context;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.Describe;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.It;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.InputStream;
+
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.springframework.core.io.WritableResource;
+
+import com.azure.storage.blob.BlobClient;
+import com.azure.storage.blob.BlobContainerClient;
+import com.azure.storage.blob.BlobServiceClient;
+import com.azure.storage.blob.models.BlobRange;
+import com.azure.storage.blob.models.BlobRequestConditions;
+import com.azure.storage.blob.specialized.BlobInputStream;
+import com.github.paulcwarren.ginkgo4j.Ginkgo4jRunner;
+
+@RunWith(Ginkgo4jRunner.class)
+public class AzureBlobResourceTest {
+
+    private BlobServiceClient client;
+    private BlobClient blobClient;
+    private WritableResource delegate;
+    private BlobInputStream blobInputStream;
+
+    private AzureBlobResource resource;
+
+    {
+        Describe("AzureBlobResource", () -> {
+            BeforeEach(() -> {
+                client = mock(BlobServiceClient.class);
+                BlobContainerClient containerClient = mock(BlobContainerClient.class);
+                blobClient = mock(BlobClient.class);
+                when(client.getBlobContainerClient("some-container")).thenReturn(containerClient);
+                when(containerClient.getBlobClient("some-blob")).thenReturn(blobClient);
+
+                delegate = mock(WritableResource.class);
+                when(delegate.getFilename()).thenReturn("some-blob");
+
+                resource = new AzureBlobResource(client, "some-container", delegate);
+            });
+            Context("#getInputStream(start, end)", () -> {
+                BeforeEach(() -> {
+                    blobInputStream = mock(BlobInputStream.class);
+                    when(blobClient.openInputStream(any(BlobRange.class), isNull())).thenReturn(blobInputStream);
+                });
+                It("should open a stream over the range of the blob", () -> {
+                    InputStream in = resource.getInputStream(100, 199);
+                    assertThat(in, is(blobInputStream));
+
+                    ArgumentCaptor<BlobRange> range = ArgumentCaptor.forClass(BlobRange.class);
+                    verify(blobClient).openInputStream(range.capture(), isNull());
+                    assertThat(range.getValue().getOffset(), is(100L));
+                    assertThat(range.getValue().getCount(), is(100L));
+                    verify(delegate, never()).getInputStream();
+                });
+            });
+        });
+    }
+}
@@ -1,67 +1,214 @@
 package internal.org.springframework.content.commons.renditions;
 
+import java.io.IOException;
 import java.io.InputStream;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.HashSet;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Set;
+import java.util.Locale;
+import java.util.Map;
 
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.content.commons.renditions.RenditionProvider;
 import org.springframework.content.commons.renditions.RenditionService;
 import org.springframework.util.MimeType;
 
+/**
+ * Converts content using the registered {@link RenditionProvider}s.
+ * <p>
+ * The providers are indexed once, on construction, into a table of the shortest chain of providers that converts each
+ * mime type into each other mime type.  Conversions that no single provider supports are performed by chaining
+ * providers, of at most {@link #MAX_CHAIN_LENGTH} providers, streaming the output of each provider into the next.
+ * When several chains of the same length exist the chain of the earliest registered providers is used.
+ */
 public class RenditionServiceImpl implements RenditionService {
 
+    private static final Log logger = LogFactory.getLog(RenditionServiceImpl.class);
+
+    static final int MAX_CHAIN_LENGTH = 3;
+
     private List<RenditionProvider> providers = new ArrayList<>();
 
+    // from mime type -> to mime type -> shortest chain of conversions
+    private final Map<String, Map<String, List<Step>>> routes;
+
+    // parsed mime types of the routing table, for requests for wildcard mime types
+    private final Map<String, MimeType> mimeTypes;
+
     @Autowired(required=false)
     public RenditionServiceImpl(RenditionProvider... providers) {
         for (RenditionProvider provider : providers) {
             this.providers.add(provider);
         }
+
+        Map<String, List<Step>> edges = new LinkedHashMap<>();
+        for (RenditionProvider provider : this.providers) {
+            for (String produce : provider.produces()) {
+                edges.computeIfAbsent(key(provider.consumes()), (k) -> new ArrayList<>()).add(new Step(provider, produce));
+            }
+        }
+
+        Map<String, Map<String, List<Step>>> routes = new LinkedHashMap<>();
+        Map<String, MimeType> mimeTypes = new HashMap<>();
+        for (String from : edges.keySet()) {
+            Map<String, List<Step>> reachable = routesFrom(from, edges);
+            routes.put(from, Collections.unmodifiableMap(reachable));
+
+            mimeTypes.put(from, MimeType.valueOf(from));
+            for (String to : reachable.keySet()) {
+                mimeTypes.computeIfAbsent(to, MimeType::valueOf);
+            }
+        }
+        this.routes = Collections.unmodifiableMap(routes);
+        this.mimeTypes = Collections.unmodifiableMap(mimeTypes);
     }
 
     @Override
     public boolean canConvert(String fromMimeType, String toMimeType) {
-        for (RenditionProvider provider : providers) {
-            if (MimeType.valueOf(fromMimeType).includes(MimeType.valueOf(provider.consumes()))) {
-                for (String produce : provider.produces()) {
-                    if (MimeType.valueOf(toMimeType).includes(MimeType.valueOf(produce))) {
-                        return true;
-                    }
-                }
-            }
-        }
-        return false;
+        return !route(fromMimeType, toMimeType).isEmpty();
     }
 
     @Override
     public String[] conversions(String fromMimeType) {
-        Set<String> conversions = new HashSet<>();
-        for (RenditionProvider provider : providers) {
-            if (provider.consumes().equals(fromMimeType)) {
-                conversions.addAll(Arrays.asList(provider.produces()));
-            }
+        Map<String, List<Step>> reachable = routes.get(key(fromMimeType));
+        if (reachable == null) {
+            return new String[] {};
         }
-        return conversions.toArray(new String[] {});
+        return reachable.keySet().toArray(new String[] {});
     }
 
     @Override
     public InputStream convert(String fromMimeType, InputStream fromInputSource, String toMimeType) {
-        for (RenditionProvider provider : providers) {
-            if (MimeType.valueOf(fromMimeType)
-                    .includes(MimeType.valueOf(provider.consumes()))) {
-                for (String produce : provider.produces()) {
-                    if (MimeType.valueOf(toMimeType)
-                            .includes(MimeType.valueOf(produce))) {
-                        return provider.convert(fromInputSource, toMimeType);
-                    }
+        List<Step> route = route(fromMimeType, toMimeType);
+        if (route.isEmpty()) {
+            return null;
+        }
+
+        InputStream content = fromInputSource;
+        for (int i = 0; i < route.size(); i++) {
+            Step step = route.get(i);
+            boolean last = (i == route.size() - 1);
+
+            InputStream converted = step.provider.convert(content, (last && !isWildcard(key(toMimeType))) ? toMimeType : step.toMimeType);
+
+            // intermediate renditions are owned by this service, the original content is owned by the caller
+            if (content != fromInputSource) {
+                close(content);
+            }
+            if (converted == null) {
+                return null;
+            }
+            content = converted;
+        }
+        return content;
+    }
+
+    /**
+     * Returns the providers, in order, that convert content of the given mime type to the given mime type.
+     *
+     * @param fromMimeType the mime type of the content
+     * @param toMimeType the mime type of the rendition
+     * @return the providers, or an empty list if the content cannot be converted
+     */
+    public List<RenditionProvider> getProviders(String fromMimeType, String toMimeType) {
+        List<Step> route = route(fromMimeType, toMimeType);
+        List<RenditionProvider> providers = new ArrayList<>(route.size());
+        for (Step step : route) {
+            providers.add(step.provider);
+        }
+        return providers;
+    }
+
+    private List<Step> route(String fromMimeType, String toMimeType) {
+        String from = key(fromMimeType);
+        String to = key(toMimeType);
+
+        if (!isWildcard(from) && !isWildcard(to)) {
+            Map<String, List<Step>> reachable = routes.get(from);
+            if (reachable == null) {
+                return Collections.emptyList();
+            }
+            return reachable.getOrDefault(to, Collections.emptyList());
+        }
+
+        MimeType fromType = MimeType.valueOf(fromMimeType);
+        MimeType toType = MimeType.valueOf(toMimeType);
+
+        List<Step> shortest = Collections.emptyList();
+        for (Map.Entry<String, Map<String, List<Step>>> source : routes.entrySet()) {
+            if (!fromType.includes(mimeTypes.get(source.getKey()))) {
+                continue;
+            }
+            for (Map.Entry<String, List<Step>> target : source.getValue().entrySet()) {
+                if (toType.includes(mimeTypes.get(target.getKey()))
+                        && (shortest.isEmpty() || target.getValue().size() < shortest.size())) {
+                    shortest = target.getValue();
+                }
+            }
+        }
+        return shortest;
+    }
+
+    // breadth-first so that the shortest chain, made of the earliest registered providers, is found first
+    private static Map<String, List<Step>> routesFrom(String from, Map<String, List<Step>> edges) {
+        Map<String, List<Step>> reachable = new LinkedHashMap<>();
+
+        Deque<String> queue = new ArrayDeque<>();
+        queue.add(from);
+        while (!queue.isEmpty()) {
+            String node = queue.poll();
+            List<Step> route = node.equals(from) ? Collections.emptyList() : reachable.get(node);
+            if (route.size() == MAX_CHAIN_LENGTH) {
+                continue;
+            }
+
+            for (Step step : edges.getOrDefault(node, Collections.emptyList())) {
+                String to = key(step.toMimeType);
+                if (to.equals(from) || reachable.containsKey(to)) {
+                    continue;
                 }
+
+                List<Step> extended = new ArrayList<>(route);
+                extended.add(step);
+                reachable.put(to, Collections.unmodifiableList(extended));
+                queue.add(to);
             }
         }
-        return null;
+        return reachable;
+    }
+
+    // mime type parameters do not affect which providers can convert content
+    private static String key(String mimeType) {
+        int i = mimeType.indexOf(';');
+        return (i == -1 ? mimeType : mimeType.substring(0, i)).trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static boolean isWildcard(String key) {
+        return key.indexOf('*') != -1;
+    }
+
+    private static void close(InputStream is) {
+        try {
+            is.close();
+        } catch (IOException e) {
+            logger.debug("Failed to close intermediate rendition", e);
+        }
     }
 
+    private static final class Step {
+
+        private final RenditionProvider provider;
+        private final String toMimeType;
+
+        private Step(RenditionProvider provider, String toMimeType) {
+            this.provider = provider;
+            this.toMimeType = toMimeType;
+        }
+    }
 }
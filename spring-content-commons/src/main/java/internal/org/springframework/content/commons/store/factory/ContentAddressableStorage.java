@@ -0,0 +1,232 @@
+package internal.org.springframework.content.commons.store.factory;
+
+import static java.lang.String.format;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Serializable;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.io.output.DeferredFileOutputStream;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.content.commons.io.DeletableResource;
+import org.springframework.content.commons.mappingcontext.ContentProperty;
+import org.springframework.content.commons.mappingcontext.MappingContext;
+import org.springframework.content.commons.property.PropertyPath;
+import org.springframework.content.commons.repository.Store;
+import org.springframework.content.commons.store.ContentReferenceCounter;
+import org.springframework.content.commons.store.SetContentParams;
+import org.springframework.content.commons.store.StoreAccessException;
+import org.springframework.content.commons.store.UnsetContentParams;
+import org.springframework.core.io.Resource;
+
+/**
+ * Stores content under the SHA-256 digest of its bytes so that identical content is stored once.
+ * <p>
+ * The content is hashed as it is spooled, starting in memory and spilling to a temporary file, because the content id
+ * must be known before the store writes it.  When a blob with the same digest already exists nothing is written.
+ * <p>
+ * Blobs that may be shared, because their content id is a digest, are only deleted when the
+ * {@link ContentReferenceCounter} reports that nothing references them anymore.  Without a counter they are never
+ * deleted.  A reference is counted before the blob is looked up, so that a blob is never deleted once another entity
+ * has found it.  Content stored before content-addressable storage was enabled is owned by a single entity and is deleted
+ * as usual.
+ * <p>
+ * Only content properties with {@code String} content ids are content-addressed.
+ */
+public class ContentAddressableStorage {
+
+    private static final Log logger = LogFactory.getLog(ContentAddressableStorage.class);
+
+    private static final Pattern DIGEST = Pattern.compile("[0-9a-f]{64}");
+
+    private final Class<? extends Store> storeInterface;
+    private final Store<Serializable> delegate;
+    private final MappingContext mappingContext;
+    private final ContentReferenceCounter referenceCounter;
+    private final Path spoolRootPath;
+    private final int spoolInMemoryThreshold;
+
+    public ContentAddressableStorage(Class<? extends Store> storeInterface, Store<Serializable> delegate, MappingContext mappingContext, ContentReferenceCounter referenceCounter, Path spoolRootPath, int spoolInMemoryThreshold) {
+        this.storeInterface = storeInterface;
+        this.delegate = delegate;
+        this.mappingContext = mappingContext;
+        this.referenceCounter = referenceCounter;
+        this.spoolRootPath = spoolRootPath;
+        this.spoolInMemoryThreshold = spoolInMemoryThreshold;
+    }
+
+    public boolean isContentAddressable(Object entity, PropertyPath propertyPath) {
+        if (entity == null || propertyPath == null) {
+            return false;
+        }
+        ContentProperty property = mappingContext.getContentProperty(entity.getClass(), propertyPath.getName());
+        return property != null && String.class.equals(property.getContentIdType(entity).getType());
+    }
+
+    /**
+     * Sets the content of a content-addressable property
+     *
+     * @param entity the entity
+     * @param propertyPath the content property
+     * @param content the content
+     * @param createNew true when the previous content is still referenced elsewhere, for example by a previous version
+     * @return the entity
+     */
+    public Object setContent(Object entity, PropertyPath propertyPath, InputStream content, boolean createNew) {
+        ContentProperty property = mappingContext.getContentProperty(entity.getClass(), propertyPath.getName());
+        Object previousId = property.getContentId(entity);
+
+        DeferredFileOutputStream spool = null;
+        try {
+            spool = DeferredFileOutputStream.builder()
+                    .setThreshold(spoolInMemoryThreshold)
+                    .setDirectory(spoolRootPath.toFile())
+                    .setPrefix("contentSpool")
+                    .setSuffix(".tmp")
+                    .get();
+
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            try (InputStream in = new DigestInputStream(content, digest)) {
+                IOUtils.copyLarge(in, spool);
+            }
+            spool.close();
+
+            String contentId = HexFormat.of().formatHex(digest.digest());
+            if (contentId.equals(previousId)) {
+                return entity;
+            }
+
+            property.setContentId(entity, contentId, null);
+
+            // counted first so that a concurrent release can not delete the blob after it has been found
+            if (referenceCounter != null) {
+                referenceCounter.increment(storeInterface, contentId);
+            }
+
+            Object result = entity;
+            try {
+                Resource existing = getResource(entity, propertyPath);
+                if (existing != null && existing.exists()) {
+                    property.setContentLength(entity, spool.getByteCount());
+                } else {
+                    try (InputStream spooled = spool.toInputStream()) {
+                        result = setContent(entity, propertyPath, spooled, spool.getByteCount());
+                    }
+                }
+            } catch (IOException | RuntimeException e) {
+                property.setContentId(entity, previousId, null);
+                release(contentId);
+                throw e;
+            }
+
+            if (previousId != null && !createNew) {
+                release(previousId.toString());
+            }
+
+            return result;
+        } catch (IOException e) {
+            throw new StoreAccessException(format("Setting content for entity %s", entity), e);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not supported", e);
+        } finally {
+            if (spool != null && spool.getFile() != null) {
+                try {
+                    Files.deleteIfExists(spool.getPath());
+                } catch (IOException e) {
+                    logger.error(format("Unable to delete content spool %s", spool.getPath()), e);
+                }
+            }
+        }
+    }
+
+    /**
+     * Unsets the content of a content-addressable property, removing its blob only when nothing else references it
+     *
+     * @param entity the entity
+     * @param propertyPath the content property
+     * @param keep true when the caller asked for the blob to be kept
+     * @param invocation unsets the content and removes its blob
+     * @return the entity
+     */
+    public Object unsetContent(Object entity, PropertyPath propertyPath, boolean keep, Supplier<Object> invocation) {
+        ContentProperty property = mappingContext.getContentProperty(entity.getClass(), propertyPath.getName());
+        Object contentId = property.getContentId(entity);
+        if (keep || contentId == null || !isShared(contentId.toString())) {
+            return invocation.get();
+        }
+
+        if (referenceCounter != null) {
+            Object[] result = new Object[1];
+            boolean[] deleted = new boolean[1];
+            referenceCounter.decrementAndDeleteIfZero(storeInterface, contentId.toString(), () -> {
+                result[0] = invocation.get();
+                deleted[0] = true;
+            });
+            if (deleted[0]) {
+                return result[0];
+            }
+        }
+
+        if (delegate instanceof org.springframework.content.commons.store.ContentStore) {
+            return ((org.springframework.content.commons.store.ContentStore) delegate).unsetContent(entity, propertyPath, UnsetContentParams.builder().disposition(UnsetContentParams.Disposition.Keep).build());
+        } else {
+            return ((org.springframework.content.commons.repository.ContentStore) delegate).unsetContent(entity, propertyPath, org.springframework.content.commons.repository.UnsetContentParams.builder().disposition(org.springframework.content.commons.repository.UnsetContentParams.Disposition.Keep).build());
+        }
+    }
+
+    private void release(String contentId) {
+        if (!isShared(contentId)) {
+            delete(contentId);
+        } else if (referenceCounter != null) {
+            referenceCounter.decrementAndDeleteIfZero(storeInterface, contentId, () -> delete(contentId));
+        }
+    }
+
+    private void delete(String contentId) {
+        Resource resource = delegate.getResource(contentId);
+        try {
+            if (resource instanceof DeletableResource && resource.exists()) {
+                ((DeletableResource) resource).delete();
+            }
+        } catch (IOException e) {
+            logger.warn(format("Unable to delete unreferenced content %s", contentId), e);
+        }
+    }
+
+    private static boolean isShared(String contentId) {
+        return DIGEST.matcher(contentId).matches();
+    }
+
+    private Resource getResource(Object entity, PropertyPath propertyPath) {
+        if (delegate instanceof org.springframework.content.commons.store.AssociativeStore) {
+            return ((org.springframework.content.commons.store.AssociativeStore) delegate).getResource(entity, propertyPath);
+        } else {
+            return ((org.springframework.content.commons.repository.AssociativeStore) delegate).getResource(entity, propertyPath);
+        }
+    }
+
+    private Object setContent(Object entity, PropertyPath propertyPath, InputStream content, long contentLength) {
+        // the content id is already set so the store must not generate a new one
+        if (delegate instanceof org.springframework.content.commons.store.ContentStore) {
+            return ((org.springframework.content.commons.store.ContentStore) delegate).setContent(entity, propertyPath, content, SetContentParams.builder()
+                    .contentLength(contentLength)
+                    .disposition(SetContentParams.ContentDisposition.Overwrite)
+                    .build());
+        } else {
+            return ((org.springframework.content.commons.repository.ContentStore) delegate).setContent(entity, propertyPath, content, org.springframework.content.commons.repository.SetContentParams.builder()
+                    .contentLength(contentLength)
+                    .disposition(org.springframework.content.commons.repository.SetContentParams.ContentDisposition.Overwrite)
+                    .build());
+        }
+    }
+}
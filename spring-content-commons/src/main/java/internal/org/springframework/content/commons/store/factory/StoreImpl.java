@@ -1,21 +1,26 @@
 package internal.org.springframework.content.commons.store.factory;
 
-import java.io.File;
-import java.io.FileInputStream;
-import java.io.FileNotFoundException;
-import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.io.Serializable;
+import java.lang.reflect.Field;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
 import java.util.function.Function;
 import java.util.function.Supplier;
 
 import org.apache.commons.io.IOUtils;
+import org.apache.commons.io.output.DeferredFileOutputStream;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
+import org.springframework.content.commons.annotations.ContentId;
+import org.springframework.content.commons.mappingcontext.ContentProperty;
+import org.springframework.content.commons.mappingcontext.MappingContext;
 import org.springframework.content.commons.property.PropertyPath;
 import org.springframework.content.commons.repository.Store;
 import org.springframework.content.commons.store.*;
@@ -31,6 +36,7 @@ import org.springframework.content.commons.store.events.BeforeGetResourceEvent;
 import org.springframework.content.commons.store.events.BeforeSetContentEvent;
 import org.springframework.content.commons.store.events.BeforeUnassociateEvent;
 import org.springframework.content.commons.store.events.BeforeUnsetContentEvent;
+import org.springframework.content.commons.utils.BeanUtils;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.core.io.Resource;
 
@@ -44,12 +50,38 @@ public class StoreImpl implements org.springframework.content.commons.repository
     private final Store<Serializable> delegate;
     private final ApplicationEventPublisher publisher;
     private final Path copyContentRootPath;
+    private final int copyContentInMemoryThreshold;
+    private ContentAddressableStorage contentAddressableStorage;
+    private MappingContext mappingContext;
 
     public StoreImpl(Class<? extends Store> storeInterface, Store<Serializable> delegate, ApplicationEventPublisher publisher, Path copyContentRootPath) {
+        this(storeInterface, delegate, publisher, copyContentRootPath, 0);
+    }
+
+    /**
+     * @param copyContentInMemoryThreshold number of bytes of the content copy that are held in memory before the
+     *                                     copy is spilled to a temporary file under {@code copyContentRootPath}
+     */
+    public StoreImpl(Class<? extends Store> storeInterface, Store<Serializable> delegate, ApplicationEventPublisher publisher, Path copyContentRootPath, int copyContentInMemoryThreshold) {
         this.storeInterface = storeInterface;
         this.delegate = delegate;
         this.publisher = publisher;
         this.copyContentRootPath = copyContentRootPath;
+        this.copyContentInMemoryThreshold = copyContentInMemoryThreshold;
+    }
+
+    /**
+     * @param contentAddressableStorage when set, content is stored under the digest of its bytes
+     */
+    public void setContentAddressableStorage(ContentAddressableStorage contentAddressableStorage) {
+        this.contentAddressableStorage = contentAddressableStorage;
+    }
+
+    /**
+     * @param mappingContext when set, the {@code @ContentDigest} of content properties is maintained
+     */
+    public void setMappingContext(MappingContext mappingContext) {
+        this.mappingContext = mappingContext;
     }
 
     @Override
@@ -102,7 +134,8 @@ public class StoreImpl implements org.springframework.content.commons.repository
 
     @Override
     public Object setContent(Object entity, PropertyPath propertyPath, InputStream content, org.springframework.content.commons.repository.SetContentParams params) {
-        return this.internalSetContent(entity, propertyPath, content, (actualContent) -> {
+        boolean createNew = params.getDisposition() == org.springframework.content.commons.repository.SetContentParams.ContentDisposition.CreateNew;
+        return this.internalSetContent(entity, propertyPath, content, createNew, (actualContent) -> {
             try {
                 return ((org.springframework.content.commons.repository.ContentStore)(delegate)).setContent(entity, propertyPath, actualContent, params);
             }
@@ -114,7 +147,8 @@ public class StoreImpl implements org.springframework.content.commons.repository
 
     @Override
     public Object setContent(Object entity, PropertyPath propertyPath, InputStream content, SetContentParams params) {
-        return this.internalSetContent(entity, propertyPath, content, (actualContent) -> {
+        boolean createNew = params.getDisposition() == SetContentParams.ContentDisposition.CreateNew;
+        return this.internalSetContent(entity, propertyPath, content, createNew, (actualContent) -> {
             try {
                 return ((org.springframework.content.commons.store.ContentStore) delegate).setContent(entity, propertyPath, actualContent, params);
             }
@@ -125,13 +159,24 @@ public class StoreImpl implements org.springframework.content.commons.repository
     }
 
     public Object internalSetContent(Object property, PropertyPath propertyPath, InputStream content, Function<InputStream, Object> invocation) {
+        return this.internalSetContent(property, propertyPath, content, false, invocation);
+    }
+
+    public Object internalSetContent(Object property, PropertyPath propertyPath, InputStream content, boolean createNew, Function<InputStream, Object> invocation) {
         Object result = null;
 
-        File contentCopy = null;
+        DeferredFileOutputStream contentCopy = null;
         TeeInputStream contentCopyStream = null;
         try {
-            contentCopy = Files.createTempFile(copyContentRootPath, "contentCopy", ".tmp").toFile();
-            contentCopyStream = new TeeInputStream(content, new FileOutputStream(contentCopy), true);
+            // the copy is only materialized if an event handler reads the stream; it starts in memory and spills to
+            // a temporary file once it exceeds the threshold
+            contentCopy = DeferredFileOutputStream.builder()
+                    .setThreshold(copyContentInMemoryThreshold)
+                    .setDirectory(copyContentRootPath.toFile())
+                    .setPrefix("contentCopy")
+                    .setSuffix(".tmp")
+                    .get();
+            contentCopyStream = new TeeInputStream(content, contentCopy, true);
 
             org.springframework.content.commons.repository.events.BeforeSetContentEvent oldBefore = null;
             BeforeSetContentEvent before = null;
@@ -157,10 +202,26 @@ public class StoreImpl implements org.springframework.content.commons.repository
             else if (contentCopyStream != null && contentCopyStream.isDirty()) {
                 while (contentCopyStream.read(new byte[4096]) != -1) {
                 }
-                content = new FileInputStream(contentCopy);
+                contentCopy.close();
+                content = contentCopy.toInputStream();
             }
 
-            result = invocation.apply(content);
+            ContentProperty digestedProperty = getDigestedProperty(property, propertyPath);
+            MessageDigest digest = null;
+            if (digestedProperty != null) {
+                digest = newDigest();
+                content = new DigestInputStream(content, digest);
+            }
+
+            if (isContentAddressable(property, propertyPath)) {
+                result = contentAddressableStorage.setContent(property, propertyPath, content, createNew);
+            } else {
+                result = invocation.apply(content);
+            }
+
+            if (digestedProperty != null) {
+                digestedProperty.setContentDigest(property, HexFormat.of().formatHex(digest.digest()));
+            }
 
             if (org.springframework.content.commons.repository.ContentStore.class.isAssignableFrom(storeInterface)) {
                 org.springframework.content.commons.repository.events.AfterSetContentEvent oldAfter = new org.springframework.content.commons.repository.events.AfterSetContentEvent(property, propertyPath, delegate);
@@ -173,19 +234,17 @@ public class StoreImpl implements org.springframework.content.commons.repository
                 after.setResult(result);
                 publisher.publishEvent(after);
             }
-        } catch (FileNotFoundException fileNotFoundException) {
-            fileNotFoundException.printStackTrace();
         } catch (IOException ioException) {
             ioException.printStackTrace();
         } finally {
             if (contentCopyStream != null) {
                 IOUtils.closeQuietly(contentCopyStream);
             }
-            if (contentCopy != null) {
+            if (contentCopy != null && contentCopy.getFile() != null) {
                 try {
-                    Files.deleteIfExists(contentCopy.toPath());
+                    Files.deleteIfExists(contentCopy.getPath());
                 } catch (IOException e) {
-                    logger.error(String.format("Unable to delete content copy %s", contentCopy.toPath()), e);
+                    logger.error(String.format("Unable to delete content copy %s", contentCopy.getPath()), e);
                 }
             }
         }
@@ -236,7 +295,27 @@ public class StoreImpl implements org.springframework.content.commons.repository
             publisher.publishEvent(before);
         }
 
-        Object result = invocation.get();
+        // the resource is read a second time so that its digest is known without wrapping the delegate's read
+        ContentProperty digestedProperty = getDigestedProperty(property, propertyPath);
+        String digest = null;
+        if (digestedProperty != null) {
+            digest = digestOf(property, resourceContent);
+        }
+
+        Object result;
+        if (isContentAddressable(property, propertyPath)) {
+            try {
+                result = contentAddressableStorage.setContent(property, propertyPath, resourceContent.getInputStream(), false);
+            } catch (IOException e) {
+                throw new StoreAccessException(String.format("Setting content for entity %s", property), e);
+            }
+        } else {
+            result = invocation.get();
+        }
+
+        if (digestedProperty != null) {
+            digestedProperty.setContentDigest(property, digest);
+        }
 
         if (org.springframework.content.commons.repository.ContentStore.class.isAssignableFrom(storeInterface)) {
             org.springframework.content.commons.repository.events.AfterSetContentEvent oldAfter = new org.springframework.content.commons.repository.events.AfterSetContentEvent(property, propertyPath, delegate);
@@ -290,7 +369,8 @@ public class StoreImpl implements org.springframework.content.commons.repository
 
     @Override
     public Object unsetContent(Object entity, PropertyPath propertyPath, org.springframework.content.commons.repository.UnsetContentParams params) {
-        return this.internalUnsetContent(entity, propertyPath,
+        boolean keep = params.getDisposition() == org.springframework.content.commons.repository.UnsetContentParams.Disposition.Keep;
+        return this.internalUnsetContent(entity, propertyPath, keep,
         () -> {
             Object result;
             try {
@@ -312,7 +392,8 @@ public class StoreImpl implements org.springframework.content.commons.repository
 
     @Override
     public Object unsetContent(Object entity, PropertyPath propertyPath, UnsetContentParams params) {
-        return this.internalUnsetContent(entity, propertyPath,
+        boolean keep = params.getDisposition() == UnsetContentParams.Disposition.Keep;
+        return this.internalUnsetContent(entity, propertyPath, keep,
         () -> {
             Object result;
             try {
@@ -333,6 +414,10 @@ public class StoreImpl implements org.springframework.content.commons.repository
     }
 
     public Object internalUnsetContent(Object entity, PropertyPath propertyPath, Supplier invocation) {
+        return this.internalUnsetContent(entity, propertyPath, false, invocation);
+    }
+
+    public Object internalUnsetContent(Object entity, PropertyPath propertyPath, boolean keep, Supplier invocation) {
 
         if (org.springframework.content.commons.repository.ContentStore.class.isAssignableFrom(storeInterface)) {
             org.springframework.content.commons.repository.events.BeforeUnsetContentEvent oldBefore = new org.springframework.content.commons.repository.events.BeforeUnsetContentEvent(entity, propertyPath, delegate);
@@ -344,7 +429,17 @@ public class StoreImpl implements org.springframework.content.commons.repository
             publisher.publishEvent(before);
         }
 
-        Object result = invocation.get();
+        Object result;
+        if (isContentAddressable(entity, propertyPath)) {
+            result = contentAddressableStorage.unsetContent(entity, propertyPath, keep, invocation);
+        } else {
+            result = invocation.get();
+        }
+
+        ContentProperty digestedProperty = getDigestedProperty(entity, propertyPath);
+        if (digestedProperty != null) {
+            digestedProperty.setContentDigest(entity, null);
+        }
 
         if (org.springframework.content.commons.repository.ContentStore.class.isAssignableFrom(storeInterface)) {
             org.springframework.content.commons.repository.events.AfterUnsetContentEvent oldAfter = new org.springframework.content.commons.repository.events.AfterUnsetContentEvent(entity, propertyPath, delegate);
@@ -361,6 +456,60 @@ public class StoreImpl implements org.springframework.content.commons.repository
         return result;
     }
 
+    private boolean isContentAddressable(Object entity, PropertyPath propertyPath) {
+        return contentAddressableStorage != null && contentAddressableStorage.isContentAddressable(entity, propertyPath);
+    }
+
+    private ContentProperty getDigestedProperty(Object entity, PropertyPath propertyPath) {
+        if (mappingContext == null || entity == null) {
+            return null;
+        }
+        ContentProperty property = propertyPath != null
+                ? mappingContext.getContentProperty(entity.getClass(), propertyPath.getName())
+                : getDefaultContentProperty(entity.getClass());
+        if (property == null || property.getContentDigestPropertyPath() == null) {
+            return null;
+        }
+        return property;
+    }
+
+    // without a property path the delegates use the entity's own @ContentId, so does its digest
+    private ContentProperty getDefaultContentProperty(Class<?> domainClass) {
+        Field contentIdField = BeanUtils.findFieldWithAnnotation(domainClass, ContentId.class);
+        if (contentIdField == null) {
+            return null;
+        }
+        for (ContentProperty property : mappingContext.getContentProperties(domainClass)) {
+            if (contentIdField.getName().equals(property.getContentIdPropertyPath())) {
+                return property;
+            }
+        }
+        return null;
+    }
+
+    private String digestOf(Object entity, Resource resource) {
+        // a resource that can only be read once is left to the delegate, its digest is unknown
+        if (resource.isOpen()) {
+            return null;
+        }
+
+        MessageDigest digest = newDigest();
+        try (InputStream in = new DigestInputStream(resource.getInputStream(), digest)) {
+            IOUtils.consume(in);
+        } catch (IOException e) {
+            throw new StoreAccessException(String.format("Setting content for entity %s", entity), e);
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not supported", e);
+        }
+    }
+
     @Override
     public InputStream getContent(Object entity) {
         return this.internalGetContent(entity, null, () -> {
@@ -4,11 +4,15 @@ import java.io.Serializable;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 import java.util.function.Supplier;
 
 import org.springframework.beans.factory.InitializingBean;
@@ -17,6 +21,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.content.commons.repository.ContentStore;
 import org.springframework.content.commons.repository.Store;
 import internal.org.springframework.content.commons.store.factory.StoreFactory;
+import org.springframework.content.commons.storeservice.IndexedStoreFilter;
 import org.springframework.content.commons.storeservice.StoreFilter;
 import org.springframework.content.commons.storeservice.StoreInfo;
 import org.springframework.content.commons.storeservice.StoreResolver;
@@ -28,6 +33,10 @@ public class StoresImpl implements Stores, InitializingBean {
 
 	private Set<StoreInfo> storeInfos = new HashSet<>();
 	private Map<String, StoreResolver> resolvers = new HashMap<>();
+
+	// stores indexed by the types they implement, and by the attributes of indexed filters
+	private Map<Class<?>, List<StoreInfo>> storesByType = new ConcurrentHashMap<>();
+	private Map<Function<StoreInfo, ?>, Map<Object, List<StoreInfo>>> indexes = new ConcurrentHashMap<>();
     private ListableBeanFactory factory = null;
 
     public StoresImpl() {
@@ -68,6 +77,57 @@ public class StoresImpl implements Stores, InitializingBean {
 				storeInfos.add(info);
 			}
 		}
+
+		// attributes of other modules, such as store paths, are indexed on first use.  So are store types because
+		// indexing them resolves the store implementations
+		storesByType.clear();
+		indexes.clear();
+		indexes.put(DOMAIN_CLASS, index(DOMAIN_CLASS));
+	}
+
+	private List<StoreInfo> storesOfType(Class<?> storeType) {
+		List<StoreInfo> stores = new ArrayList<>();
+		for (StoreInfo info : storeInfos) {
+			if (info.getImplementation(storeType) != null) {
+				stores.add(info);
+			}
+		}
+		return stores;
+	}
+
+	private Map<Object, List<StoreInfo>> index(Function<StoreInfo, ?> attribute) {
+		Map<Object, List<StoreInfo>> index = new HashMap<>();
+		for (StoreInfo info : storeInfos) {
+			Object key = attribute.apply(info);
+			if (key != null) {
+				index.computeIfAbsent(key, k -> new ArrayList<>()).add(info);
+			}
+		}
+		return index;
+	}
+
+	// narrows the stores that may match to those of the given type, and to those in the filter's index when it has one
+	private Collection<StoreInfo> candidates(Class<?> storeType, StoreFilter filter) {
+		Collection<StoreInfo> candidates = storeInfos;
+		if (storeType != null) {
+			// not computeIfAbsent as resolving a store implementation may look up stores
+			List<StoreInfo> stores = storesByType.get(storeType);
+			if (stores == null) {
+				stores = storesOfType(storeType);
+				storesByType.putIfAbsent(storeType, stores);
+			}
+			candidates = stores;
+		}
+
+		if (filter instanceof IndexedStoreFilter) {
+			IndexedStoreFilter<?> indexedFilter = (IndexedStoreFilter<?>) filter;
+			List<StoreInfo> indexed = indexes.computeIfAbsent(indexedFilter.getAttribute(), this::index).getOrDefault(indexedFilter.getKey(), Collections.emptyList());
+			if (indexed.size() < candidates.size()) {
+				candidates = indexed;
+			}
+		}
+
+		return candidates;
 	}
 
     private String beanNameFromFactoryBeanName(String name) {
@@ -100,7 +160,7 @@ public class StoresImpl implements Stores, InitializingBean {
 		Assert.notNull(filter, "filter must not be null");
 
 		List<StoreInfo> candidates = new ArrayList<>();
-		for (StoreInfo info : storeInfos) {
+		for (StoreInfo info : candidates(storeType, filter)) {
 			if (info.getImplementation(storeType) != null && filter.matches(info)) {
 				candidates.add(info);
 			}
@@ -124,7 +184,7 @@ public class StoresImpl implements Stores, InitializingBean {
     @Override
     public StoreInfo[] getStores(StoreFilter filter) {
         Set<StoreInfo> storeInfos = new HashSet<>();
-        for (StoreInfo info : this.storeInfos) {
+        for (StoreInfo info : candidates(null, filter)) {
             if (filter.matches(info)) {
                 storeInfos.add(info);
             }
@@ -140,7 +200,7 @@ public class StoresImpl implements Stores, InitializingBean {
 	@Override
 	public StoreInfo[] getStores(Class<?> storeType, StoreFilter filter) {
 		Set<StoreInfo> storeInfos = new HashSet<>();
-		for (StoreInfo info : this.storeInfos) {
+		for (StoreInfo info : candidates(storeType, filter)) {
 			if (info.getImplementation(storeType) != null && filter.matches(info)) {
 				storeInfos.add(info);
 			}
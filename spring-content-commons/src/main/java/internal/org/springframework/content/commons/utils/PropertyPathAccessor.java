@@ -0,0 +1,133 @@
+package internal.org.springframework.content.commons.utils;
+
+import java.beans.PropertyDescriptor;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.util.Map;
+
+import org.springframework.beans.BeanUtils;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ConcurrentReferenceHashMap;
+import org.springframework.util.ReflectionUtils;
+
+/**
+ * Compiled accessor for a (possibly nested) bean property path on a given class.
+ * <p>
+ * The path is resolved once per class into a chain of getter {@link MethodHandle}s and a setter
+ * {@link MethodHandle} for the last segment.  Paths that cannot be resolved this way (indexed paths,
+ * generic or missing accessors) are reported as not {@link #isResolved() resolved} and callers are
+ * expected to fall back to a {@link org.springframework.beans.BeanWrapper}.
+ */
+public final class PropertyPathAccessor {
+
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+    private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+    private static final PropertyPathAccessor UNRESOLVED = new PropertyPathAccessor(null, null, null);
+
+    private static final Map<Class<?>, Map<String, PropertyPathAccessor>> cache = new ConcurrentReferenceHashMap<>();
+
+    private final MethodHandle[] getters;
+    private final MethodHandle setter;
+    private final Class<?> propertyType;
+
+    private PropertyPathAccessor(MethodHandle[] getters, MethodHandle setter, Class<?> propertyType) {
+        this.getters = getters;
+        this.setter = setter;
+        this.propertyType = propertyType;
+    }
+
+    public static PropertyPathAccessor forPath(Class<?> type, String path) {
+        return cache.computeIfAbsent(type, (key) -> new ConcurrentReferenceHashMap<>())
+                .computeIfAbsent(path, (key) -> resolve(type, path));
+    }
+
+    public boolean isResolved() {
+        return getters != null;
+    }
+
+    /**
+     * Returns the value at the end of the path, or null if the value, or any intermediate value, is null.
+     */
+    public Object getValue(Object target) {
+        Object current = target;
+        try {
+            for (MethodHandle getter : getters) {
+                if (current == null) {
+                    return null;
+                }
+                current = (Object) getter.invokeExact(current);
+            }
+        } catch (Throwable t) {
+            ReflectionUtils.rethrowRuntimeException(t);
+        }
+        return current;
+    }
+
+    /**
+     * Attempts to set the value at the end of the path.
+     *
+     * @return false if the value could not be set directly because an intermediate value is null, the
+     * property is read-only or the value requires conversion
+     */
+    public boolean setValue(Object target, Object value) {
+        if (setter == null || !ClassUtils.isAssignableValue(propertyType, value)) {
+            return false;
+        }
+
+        Object current = target;
+        try {
+            for (int i = 0; i < getters.length - 1; i++) {
+                current = (Object) getters[i].invokeExact(current);
+                if (current == null) {
+                    return false;
+                }
+            }
+            setter.invokeExact(current, value);
+        } catch (Throwable t) {
+            ReflectionUtils.rethrowRuntimeException(t);
+        }
+        return true;
+    }
+
+    private static PropertyPathAccessor resolve(Class<?> type, String path) {
+        if (path.indexOf('[') != -1) {
+            return UNRESOLVED;
+        }
+
+        String[] segments = path.split("\\.");
+        MethodHandle[] getters = new MethodHandle[segments.length];
+        MethodHandle setter = null;
+
+        Class<?> currentType = type;
+        try {
+            for (int i = 0; i < segments.length; i++) {
+                PropertyDescriptor descriptor = BeanUtils.getPropertyDescriptor(currentType, segments[i]);
+                if (descriptor == null || descriptor.getReadMethod() == null) {
+                    return UNRESOLVED;
+                }
+
+                Method readMethod = descriptor.getReadMethod();
+                getters[i] = unreflect(readMethod).asType(GETTER_TYPE);
+
+                currentType = readMethod.getReturnType();
+
+                if (i == segments.length - 1 && descriptor.getWriteMethod() != null) {
+                    setter = unreflect(descriptor.getWriteMethod()).asType(SETTER_TYPE);
+                    currentType = descriptor.getWriteMethod().getParameterTypes()[0];
+                }
+            }
+        } catch (IllegalAccessException | RuntimeException e) {
+            return UNRESOLVED;
+        }
+
+        return new PropertyPathAccessor(getters, setter, currentType);
+    }
+
+    private static MethodHandle unreflect(Method method) throws IllegalAccessException {
+        ReflectionUtils.makeAccessible(method);
+        return MethodHandles.lookup().unreflect(method);
+    }
+}
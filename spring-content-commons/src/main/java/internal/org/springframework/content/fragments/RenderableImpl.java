@@ -2,22 +2,33 @@ package internal.org.springframework.content.fragments;
 
 import java.io.InputStream;
 import java.io.Serializable;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Field;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.content.commons.annotations.ContentId;
+import org.springframework.content.commons.annotations.ContentLength;
 import org.springframework.content.commons.fragments.ContentStoreAware;
 import org.springframework.content.commons.mappingcontext.ContentProperty;
 import org.springframework.content.commons.mappingcontext.MappingContext;
 import org.springframework.content.commons.property.PropertyPath;
 import org.springframework.content.commons.renditions.Renderable;
+import org.springframework.content.commons.renditions.RenditionCache;
+import org.springframework.content.commons.renditions.RenditionKey;
 import org.springframework.content.commons.renditions.RenditionProvider;
 import org.springframework.content.commons.renditions.RenditionService;
+import org.springframework.content.commons.renditions.RenditionUnavailableException;
 import org.springframework.content.commons.repository.ContentStore;
 import org.springframework.content.commons.utils.BeanUtils;
 import org.springframework.core.io.Resource;
+import org.springframework.util.ReflectionUtils;
 
 import internal.org.springframework.content.commons.renditions.RenditionServiceImpl;
 
@@ -32,6 +43,10 @@ public class RenderableImpl implements Renderable, ContentStoreAware {
 
     private RenditionService renditionService = null;
 
+    private RenditionCache renditionCache = null;
+
+    private static final Map<Class<?>, Optional<Field>> versionFields = new ConcurrentHashMap<>();
+
     private List<RenditionProvider> providers = new ArrayList<>();
 
     public RenderableImpl() {
@@ -75,6 +90,11 @@ public class RenderableImpl implements Renderable, ContentStoreAware {
 	    this.renditionService = renditionService;
 	}
 
+	@Autowired(required = false)
+	public void setRenditionCache(RenditionCache renditionCache) {
+	    this.renditionCache = renditionCache;
+	}
+
 	@Override
 	public InputStream getRendition(Object entity, String mimeType) {
 		String fromMimeType = null;
@@ -84,6 +104,13 @@ public class RenderableImpl implements Renderable, ContentStoreAware {
 		}
 
 		if (this.getRenditionService().canConvert(fromMimeType, mimeType)) {
+			RenditionKey key = renditionKey(entity, BeanUtils.getFieldWithAnnotation(entity, ContentId.class),
+					BeanUtils.getFieldWithAnnotation(entity, ContentLength.class), fromMimeType, mimeType);
+			InputStream cached = getCachedRendition(key);
+			if (cached != null) {
+				return cached;
+			}
+
 			InputStream content = null;
 			try {
                 if (store != null) {
@@ -92,9 +119,12 @@ public class RenderableImpl implements Renderable, ContentStoreAware {
                     content = contentStore.getContent(entity);
                 }
 				if (content != null) {
-					return this.getRenditionService().convert(fromMimeType, content, mimeType);
+					return cacheRendition(key, this.getRenditionService().convert(key, fromMimeType, content, mimeType));
 				}
 			}
+			catch (RenditionUnavailableException e) {
+				throw e;
+			}
 			catch (Exception e) {
 				LOGGER.error(String.format("Failed to get rendition from %s to %s", fromMimeType, mimeType), e);
 			}
@@ -119,6 +149,12 @@ public class RenderableImpl implements Renderable, ContentStoreAware {
         }
 
         if (this.getRenditionService().canConvert(fromMimeType.toString(), mimeType)) {
+            RenditionKey key = renditionKey(entity, property.getContentId(entity), property.getContentLength(entity), fromMimeType, mimeType);
+            InputStream cached = getCachedRendition(key);
+            if (cached != null) {
+                return cached;
+            }
+
             try {
                 Resource r = null;
                 if (store != null) {
@@ -129,11 +165,14 @@ public class RenderableImpl implements Renderable, ContentStoreAware {
                 if (r != null) {
                     try (InputStream content = r.getInputStream()) {
                         if (content != null) {
-                            return this.getRenditionService().convert(fromMimeType.toString(), content, mimeType);
+                            return cacheRendition(key, this.getRenditionService().convert(key, fromMimeType.toString(), content, mimeType));
                         }
                     }
                 }
             }
+            catch (RenditionUnavailableException e) {
+                throw e;
+            }
             catch (Exception e) {
                 LOGGER.error(String.format("Failed to get rendition from %s to %s", fromMimeType, mimeType), e);
             }
@@ -167,4 +206,54 @@ public class RenderableImpl implements Renderable, ContentStoreAware {
 
         return this.getRenditionService().canConvert(fromMimeType.toString(), mimeType);
     }
+
+    private RenditionKey renditionKey(Object entity, Object contentId, Object contentLength, Object fromMimeType, String mimeType) {
+        if (contentId == null) {
+            return null;
+        }
+
+        // the version of the rendered content; it changes when the content, or the entity holding it, changes
+        StringBuilder version = new StringBuilder().append(fromMimeType).append(':').append(contentLength);
+        Field versionField = versionFields.computeIfAbsent(entity.getClass(), RenderableImpl::findVersionField).orElse(null);
+        if (versionField != null) {
+            version.append(':').append(ReflectionUtils.getField(versionField, entity));
+        }
+        return new RenditionKey(contentId.toString(), version.toString(), mimeType);
+    }
+
+    private static Optional<Field> findVersionField(Class<?> entityClass) {
+        Field[] found = new Field[1];
+        ReflectionUtils.doWithFields(entityClass, (field) -> {
+            if (found[0] == null) {
+                for (Annotation annotation : field.getAnnotations()) {
+                    // jakarta.persistence.Version, javax.persistence.Version or org.springframework.data.annotation.Version
+                    if ("Version".equals(annotation.annotationType().getSimpleName())) {
+                        ReflectionUtils.makeAccessible(field);
+                        found[0] = field;
+                    }
+                }
+            }
+        });
+        return Optional.ofNullable(found[0]);
+    }
+
+    private InputStream getCachedRendition(RenditionKey key) {
+        if (this.renditionCache == null || key == null) {
+            return null;
+        }
+        try {
+            return this.renditionCache.get(key);
+        }
+        catch (Exception e) {
+            LOGGER.warn(String.format("Failed to get cached rendition %s", key), e);
+            return null;
+        }
+    }
+
+    private InputStream cacheRendition(RenditionKey key, InputStream rendition) {
+        if (this.renditionCache == null || key == null || rendition == null) {
+            return rendition;
+        }
+        return this.renditionCache.put(key, rendition);
+    }
 }
@@ -0,0 +1,18 @@
+package org.springframework.content.commons.annotations;
+
+import static java.lang.annotation.ElementType.FIELD;
+import static java.lang.annotation.ElementType.METHOD;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Records the hex encoded SHA-256 digest of the content.  The digest is set when content is set and cleared when
+ * content is unset.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(value = { FIELD, METHOD })
+public @interface ContentDigest {
+
+}
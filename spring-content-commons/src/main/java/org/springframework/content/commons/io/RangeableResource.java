@@ -1,5 +1,12 @@
 package org.springframework.content.commons.io;
 
+import java.io.IOException;
+import java.io.InputStream;
+
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.io.input.BoundedInputStream;
+import org.springframework.core.io.InputStreamSource;
+
 public interface RangeableResource {
 
     /**
@@ -9,4 +16,33 @@ public interface RangeableResource {
      * @param range the range
      */
     void setRange(String range);
+
+    /**
+     * Returns an InputStream over a single byte range of the resource, starting at the byte at {@code start}.
+     * <p>
+     * Used to serve each part of a multi-range request.  The default implementation opens the whole resource and
+     * skips to {@code start}.  Resources that can read a byte range from storage should override this.
+     *
+     * @param start the position of the first byte
+     * @param end the position of the last byte, inclusive
+     * @return the InputStream
+     * @throws IOException if the range cannot be read
+     */
+    default InputStream getInputStream(long start, long end) throws IOException {
+        if (!(this instanceof InputStreamSource)) {
+            throw new UnsupportedOperationException("Byte range reads are not supported by " + getClass().getName());
+        }
+
+        InputStream in = ((InputStreamSource) this).getInputStream();
+        try {
+            IOUtils.skipFully(in, start);
+        } catch (IOException e) {
+            in.close();
+            throw e;
+        }
+        return BoundedInputStream.builder()
+                .setInputStream(in)
+                .setMaxCount(end - start + 1)
+                .get();
+    }
 }
@@ -0,0 +1,15 @@
+package org.springframework.content.commons.io;
+
+/**
+ * A snapshot of the metadata of a stored resource, as reported by its storage backend.
+ *
+ * @param exists whether the resource exists
+ * @param contentLength the length of the resource's content, in bytes
+ * @param lastModified the last modified time of the resource, in the units reported by the resource
+ * @param contentType the content type recorded by the backend, or null
+ * @param eTag the entity tag recorded by the backend, or null
+ */
+public record ResourceMetadata(boolean exists, long contentLength, long lastModified, String contentType, String eTag) {
+
+    public static final ResourceMetadata NOT_FOUND = new ResourceMetadata(false, 0L, 0L, null, null);
+}
@@ -0,0 +1,192 @@
+package org.springframework.content.commons.io;
+
+import java.io.Serializable;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.content.commons.repository.StoreEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.core.io.Resource;
+import org.springframework.util.Assert;
+
+/**
+ * A bounded, time-limited cache of {@link ResourceMetadata} that may be shared by the resources of a store so that
+ * repeated existence, length and last-modified checks of the same content do not each cost a round-trip to the
+ * storage backend.
+ * <p>
+ * Entries are keyed by {@link Resource#getDescription()}.  Resources evict their own entry when they are written or
+ * deleted and, when the cache is registered as a bean, the resources of entities whose content is set or unset
+ * through a store are evicted too.  Entries expire after the configured time-to-live which bounds how stale an entry
+ * can become when content is changed outside of this application.
+ * <p>
+ * Stores that support a shared metadata cache use it when a bean of this type is present in the application context.
+ */
+public class ResourceMetadataCache implements ApplicationListener<StoreEvent> {
+
+    private static final Log logger = LogFactory.getLog(ResourceMetadataCache.class);
+
+    public static final int DEFAULT_MAXIMUM_SIZE = 10_000;
+
+    public static final Duration DEFAULT_TIME_TO_LIVE = Duration.ofSeconds(30);
+
+    private final long timeToLiveNanos;
+
+    // access-ordered so that the least recently used entry is evicted first
+    private final LinkedHashMap<String, Entry> entries;
+
+    // a token per key with a load in progress; evicting the key removes its token so that a load that raced with
+    // the eviction is not cached
+    private final Map<String, Object> loads = new HashMap<>();
+
+    public ResourceMetadataCache() {
+        this(DEFAULT_MAXIMUM_SIZE, DEFAULT_TIME_TO_LIVE);
+    }
+
+    public ResourceMetadataCache(int maximumSize, Duration timeToLive) {
+        Assert.isTrue(maximumSize > 0, "maximumSize must be greater than 0");
+        Assert.notNull(timeToLive, "timeToLive must be specified");
+        Assert.isTrue(!timeToLive.isNegative() && !timeToLive.isZero(), "timeToLive must be positive");
+        this.timeToLiveNanos = timeToLive.toNanos();
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > maximumSize;
+            }
+        };
+    }
+
+    /**
+     * Returns the cached metadata of the given resource, loading and caching it if it is not cached or has expired.
+     * The loader is called without holding any lock so concurrent misses for the same resource may each load it.
+     *
+     * @param resource the resource
+     * @param loader loads the metadata from the storage backend
+     * @return the metadata
+     */
+    public ResourceMetadata get(Resource resource, Supplier<ResourceMetadata> loader) {
+        String key = resource.getDescription();
+        if (key == null) {
+            return loader.get();
+        }
+
+        Object load = new Object();
+        synchronized (this.entries) {
+            Entry entry = this.entries.get(key);
+            if (entry != null) {
+                if (entry.expiresAt - System.nanoTime() > 0) {
+                    return entry.metadata;
+                }
+                this.entries.remove(key);
+            }
+            this.loads.put(key, load);
+        }
+
+        ResourceMetadata metadata = null;
+        try {
+            metadata = loader.get();
+        }
+        finally {
+            synchronized (this.entries) {
+                if (this.loads.remove(key, load) && metadata != null) {
+                    this.entries.put(key, new Entry(metadata, System.nanoTime() + this.timeToLiveNanos));
+                }
+            }
+        }
+        return metadata;
+    }
+
+    /**
+     * Evicts the cached metadata of the given resource, if any.
+     *
+     * @param resource the resource
+     */
+    public void evict(Resource resource) {
+        String key = resource.getDescription();
+        if (key == null) {
+            return;
+        }
+        synchronized (this.entries) {
+            this.entries.remove(key);
+            this.loads.remove(key);
+        }
+    }
+
+    public void clear() {
+        synchronized (this.entries) {
+            this.entries.clear();
+            this.loads.clear();
+        }
+    }
+
+    public int size() {
+        synchronized (this.entries) {
+            return this.entries.size();
+        }
+    }
+
+    @Override
+    public void onApplicationEvent(StoreEvent event) {
+        if (!isContentChange(event)) {
+            return;
+        }
+
+        synchronized (this.entries) {
+            if (this.entries.isEmpty() && this.loads.isEmpty()) {
+                return;
+            }
+        }
+
+        Resource resource;
+        try {
+            resource = resolveResource(event);
+        }
+        catch (RuntimeException e) {
+            logger.debug("Unable to resolve the resource of a content change, clearing the metadata cache", e);
+            clear();
+            return;
+        }
+
+        if (resource != null) {
+            evict(resource);
+        }
+    }
+
+    private static boolean isContentChange(StoreEvent event) {
+        return event instanceof org.springframework.content.commons.store.events.BeforeSetContentEvent
+                || event instanceof org.springframework.content.commons.store.events.AfterSetContentEvent
+                || event instanceof org.springframework.content.commons.store.events.BeforeUnsetContentEvent
+                || event instanceof org.springframework.content.commons.repository.events.BeforeSetContentEvent
+                || event instanceof org.springframework.content.commons.repository.events.AfterSetContentEvent
+                || event instanceof org.springframework.content.commons.repository.events.BeforeUnsetContentEvent;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Resource resolveResource(StoreEvent event) {
+        Object entity = event.getSource();
+        if (event.getStore() instanceof org.springframework.content.commons.store.AssociativeStore) {
+            org.springframework.content.commons.store.AssociativeStore<Object, Serializable> store = (org.springframework.content.commons.store.AssociativeStore<Object, Serializable>) event.getStore();
+            return event.getPropertyPath() != null ? store.getResource(entity, event.getPropertyPath()) : store.getResource(entity);
+        }
+        if (event.getStore() instanceof org.springframework.content.commons.repository.AssociativeStore) {
+            org.springframework.content.commons.repository.AssociativeStore<Object, Serializable> store = (org.springframework.content.commons.repository.AssociativeStore<Object, Serializable>) event.getStore();
+            return event.getPropertyPath() != null ? store.getResource(entity, event.getPropertyPath()) : store.getResource(entity);
+        }
+        return null;
+    }
+
+    private static final class Entry {
+
+        private final ResourceMetadata metadata;
+        private final long expiresAt;
+
+        private Entry(ResourceMetadata metadata, long expiresAt) {
+            this.metadata = metadata;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package org.springframework.content.commons.mappingcontext;
 
+import internal.org.springframework.content.commons.utils.PropertyPathAccessor;
 import org.apache.commons.lang.StringUtils;
 import org.springframework.beans.BeanWrapper;
 import org.springframework.beans.BeanWrapperImpl;
@@ -23,23 +24,18 @@ public class ContentProperty {
     private TypeDescriptor contentLengthType;
     private String mimeTypePropertyPath;
     private String originalFileNamePropertyPath;
+    private String contentDigestPropertyPath;
 
     public Object getCustomProperty(Object entity, String propertyName) {
         String customContentPropertyPath = getCustomPropertyPropertyPath(propertyName);
 
-        BeanWrapper wrapper = getBeanWrapperForRead(entity);
-        try {
-            return wrapper.getPropertyValue(customContentPropertyPath);
-        } catch (NullValueInNestedPathException nvinpe) {
-            return null;
-        }
+        return getPropertyValue(entity, customContentPropertyPath);
     }
 
     public void setCustomProperty(Object entity, String propertyName, Object value) {
         String customContentPropertyPath = getCustomPropertyPropertyPath(propertyName);
 
-        BeanWrapper wrapper = getBeanWrapperForWrite(entity);
-        wrapper.setPropertyValue(customContentPropertyPath, value);
+        setPropertyValue(entity, customContentPropertyPath, value);
     }
 
     public String getCustomPropertyPropertyPath(String propertyName) {
@@ -51,12 +47,7 @@ public class ContentProperty {
             return null;
         }
 
-        BeanWrapper wrapper = getBeanWrapperForRead(entity);
-        try {
-            return wrapper.getPropertyValue(contentIdPropertyPath);
-        } catch (NullValueInNestedPathException nvinpe) {
-            return null;
-        }
+        return getPropertyValue(entity, contentIdPropertyPath);
     }
 
     public void setContentId(Object entity, Object value, Condition condition) {
@@ -64,16 +55,15 @@ public class ContentProperty {
             return;
         }
 
-        BeanWrapper wrapper = getBeanWrapperForWrite(entity);
-
         if (condition != null) {
+            BeanWrapper wrapper = getBeanWrapperForWrite(entity);
             TypeDescriptor t = wrapper.getPropertyTypeDescriptor(contentIdPropertyPath);
             if (!condition.matches(t)) {
                 return;
             }
         }
 
-        wrapper.setPropertyValue(contentIdPropertyPath, value);
+        setPropertyValue(entity, contentIdPropertyPath, value);
     }
 
     public TypeDescriptor getContentIdType(Object entity) {
@@ -95,12 +85,7 @@ public class ContentProperty {
             return 0L;
         }
 
-        BeanWrapper wrapper = getBeanWrapperForRead(entity);
-        try {
-            return wrapper.getPropertyValue(contentLengthPropertyPath);
-        } catch (NullValueInNestedPathException nvinpe) {
-            return null;
-        }
+        return getPropertyValue(entity, contentLengthPropertyPath);
     }
 
     public void setContentLength(Object entity, Object value) {
@@ -108,8 +93,7 @@ public class ContentProperty {
             return;
         }
 
-        BeanWrapper wrapper = getBeanWrapperForWrite(entity);
-        wrapper.setPropertyValue(contentLengthPropertyPath, value);
+        setPropertyValue(entity, contentLengthPropertyPath, value);
     }
 
     public TypeDescriptor getContentLengthType() {
@@ -126,12 +110,7 @@ public class ContentProperty {
             return null;
         }
 
-        BeanWrapper wrapper = getBeanWrapperForRead(entity);
-        try {
-            return wrapper.getPropertyValue(mimeTypePropertyPath);
-        } catch (NullValueInNestedPathException nvinpe) {
-            return null;
-        }
+        return getPropertyValue(entity, mimeTypePropertyPath);
     }
 
     public void setMimeType(Object entity, Object value) {
@@ -139,8 +118,7 @@ public class ContentProperty {
             return;
         }
 
-        BeanWrapper wrapper = getBeanWrapperForWrite(entity);
-        wrapper.setPropertyValue(mimeTypePropertyPath, value);
+        setPropertyValue(entity, mimeTypePropertyPath, value);
     }
 
     public void setOriginalFileName(Object entity, Object value) {
@@ -148,8 +126,7 @@ public class ContentProperty {
             return;
         }
 
-        BeanWrapper wrapper = getBeanWrapperForWrite(entity);
-        wrapper.setPropertyValue(originalFileNamePropertyPath, value);
+        setPropertyValue(entity, originalFileNamePropertyPath, value);
     }
 
     public Object getOriginalFileName(Object entity) {
@@ -157,14 +134,58 @@ public class ContentProperty {
             return null;
         }
 
+        return getPropertyValue(entity, originalFileNamePropertyPath);
+    }
+
+    public Object getContentDigest(Object entity) {
+        if (contentDigestPropertyPath == null) {
+            return null;
+        }
+
+        return getPropertyValue(entity, contentDigestPropertyPath);
+    }
+
+    public void setContentDigest(Object entity, Object value) {
+        if (contentDigestPropertyPath == null) {
+            return;
+        }
+
+        setPropertyValue(entity, contentDigestPropertyPath, value);
+    }
+
+    void warmUp(Class<?> domainClass) {
+        for (String propertyPath : new String[] {contentIdPropertyPath, contentLengthPropertyPath, mimeTypePropertyPath, originalFileNamePropertyPath, contentDigestPropertyPath}) {
+            if (propertyPath != null) {
+                PropertyPathAccessor.forPath(domainClass, propertyPath);
+            }
+        }
+    }
+
+    private Object getPropertyValue(Object entity, String propertyPath) {
+        PropertyPathAccessor accessor = PropertyPathAccessor.forPath(entity.getClass(), propertyPath);
+        if (accessor.isResolved()) {
+            return accessor.getValue(entity);
+        }
+
         BeanWrapper wrapper = getBeanWrapperForRead(entity);
         try {
-            return wrapper.getPropertyValue(originalFileNamePropertyPath);
+            return wrapper.getPropertyValue(propertyPath);
         } catch (NullValueInNestedPathException nvinpe) {
             return null;
         }
     }
 
+    private void setPropertyValue(Object entity, String propertyPath, Object value) {
+        PropertyPathAccessor accessor = PropertyPathAccessor.forPath(entity.getClass(), propertyPath);
+        if (accessor.isResolved() && accessor.setValue(entity, value)) {
+            return;
+        }
+
+        // requires type conversion or auto-growing of nested paths
+        BeanWrapper wrapper = getBeanWrapperForWrite(entity);
+        wrapper.setPropertyValue(propertyPath, value);
+    }
+
     private BeanWrapper getBeanWrapperForRead(Object entity) {
         BeanWrapper wrapper = new BeanWrapperImpl(entity);
         return wrapper;
@@ -3,6 +3,7 @@ package org.springframework.content.commons.mappingcontext;
 import lombok.Getter;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
+import org.springframework.content.commons.annotations.ContentDigest;
 import org.springframework.content.commons.annotations.ContentId;
 import org.springframework.content.commons.annotations.ContentLength;
 import org.springframework.content.commons.annotations.MimeType;
@@ -92,6 +93,9 @@ public class ContentPropertyMappingContextVisitor implements ClassVisitor {
                 if (property.getOriginalFileNamePropertyPath() != null) {
                     contentProperty.setOriginalFileNamePropertyPath(property.getOriginalFileNamePropertyPath());
                 }
+                if (property.getContentDigestPropertyPath() != null) {
+                    contentProperty.setContentDigestPropertyPath(property.getContentDigestPropertyPath());
+                }
             }
 
             Map<String,ContentProperty> newClassProps = new HashMap<String,ContentProperty>();
@@ -161,6 +165,18 @@ public class ContentPropertyMappingContextVisitor implements ClassVisitor {
                 }
                 updateContentProperty(property::setOriginalFileNamePropertyPath, fullyQualify(path, f.getName(), this.getContentPropertySeparator()));
             }
+        } else if (f.isAnnotationPresent(ContentDigest.class)) {
+            LOGGER.trace(String.format("%s.%s is @ContentDigest", f.getDeclaringClass().getCanonicalName(), f.getName()));
+            String propertyName = fullyQualify(path, ClassWalker.propertyName(f.getName()), this.getKeySeparator());
+            if (StringUtils.hasLength(propertyName)) {
+                Map<String,ContentProperty> classProperties = properties.get(key(path, klazz));
+                ContentProperty property = classProperties.get(propertyName);
+                if (property == null) {
+                    property = new ContentProperty();
+                    classProperties.put(propertyName, property);
+                }
+                updateContentProperty(property::setContentDigestPropertyPath, fullyQualify(path, f.getName(), this.getContentPropertySeparator()));
+            }
         }
 
         return true;
@@ -1,12 +1,15 @@
 package org.springframework.content.commons.mappingcontext;
 
 import java.util.Collection;
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.content.commons.storeservice.StoreInfo;
+import org.springframework.content.commons.storeservice.Stores;
 
 public class MappingContext {
 
-    private Map<Class<?>, Map<String, ContentProperty>> context = new HashMap<>();
+    private final Map<Class<?>, Map<String, ContentProperty>> context = new ConcurrentHashMap<>();
 
     private CharSequence keySeparator = "/";
     private CharSequence contentPropertySeparator = ".";
@@ -16,59 +19,61 @@ public class MappingContext {
         this.contentPropertySeparator = contentPropertySeparator;
     }
 
-//    public MappingContext(Stores stores) {
-//        for (StoreInfo info : stores.getStores(Stores.MATCH_ALL)) {
-//            if (info.getDomainObjectClass() != null) {
-//                context.put(info.getDomainObjectClass(), resolveProperties(info.getDomainObjectClass()));
-//            }
-//        }
-//    }
-
     public boolean hasMapping(Class<?> domainClass, String path) {
-        Map<String, ContentProperty> properties = context.get(domainClass);
-        if (properties == null) {
-            properties = resolveProperties(domainClass);
-        }
+        Map<String, ContentProperty> properties = context.computeIfAbsent(domainClass, this::resolveProperties);
         return properties.get(path) != null;
     }
 
     public ContentProperty getContentProperty(Class<?> domainClass, String path) {
-        Map<String, ContentProperty> properties = context.get(domainClass);
-        if (properties == null) {
-            properties = resolveProperties(domainClass);
-        }
+        Map<String, ContentProperty> properties = context.computeIfAbsent(domainClass, this::resolveProperties);
         return properties.get(path);
     }
 
     public Collection<ContentProperty> getContentProperties(Class<?> domainClass) {
-        Map<String, ContentProperty> properties = context.get(domainClass);
-        if (properties == null) {
-            properties = resolveProperties(domainClass);
-        }
+        Map<String, ContentProperty> properties = context.computeIfAbsent(domainClass, this::resolveProperties);
         return properties.values();
     }
 
     public Map<String,ContentProperty> getContentPropertyMap(Class<?> domainClass) {
-        Map<String, ContentProperty> properties = context.get(domainClass);
-        if (properties == null) {
-            properties = resolveProperties(domainClass);
-        }
+        Map<String, ContentProperty> properties = context.computeIfAbsent(domainClass, this::resolveProperties);
         return properties;
     }
 
     public Collection<String> getContentPaths(Class<?> domainClass) {
-        Map<String, ContentProperty> properties = context.get(domainClass);
-        if (properties == null) {
-            properties = resolveProperties(domainClass);
-        }
+        Map<String, ContentProperty> properties = context.computeIfAbsent(domainClass, this::resolveProperties);
         return properties.keySet();
     }
 
-    private Map<String, ContentProperty> resolveProperties(Class<?> domainClass) {
+    /**
+     * Eagerly resolves the content properties, and their accessors, of every domain class known to the given
+     * {@link Stores} so that the first request for a domain class does not pay the cost of walking it.
+     *
+     * @param stores the stores whose domain classes should be resolved
+     */
+    public void warmUp(Stores stores) {
+        for (StoreInfo info : stores.getStores(Stores.MATCH_ALL)) {
+            Class<?> domainClass = info.getDomainObjectClass();
+            if (domainClass != null) {
+                warmUp(domainClass);
+            }
+        }
+    }
+
+    /**
+     * Eagerly resolves the content properties, and their accessors, of the given domain class.
+     *
+     * @param domainClass the domain class to resolve
+     */
+    public void warmUp(Class<?> domainClass) {
+        for (ContentProperty property : getContentProperties(domainClass)) {
+            property.warmUp(domainClass);
+        }
+    }
+
+    Map<String, ContentProperty> resolveProperties(Class<?> domainClass) {
         ContentPropertyMappingContextVisitor visitor = new ContentPropertyMappingContextVisitor(this.keySeparator, this.contentPropertySeparator);
         ClassWalker walker = new ClassWalker(visitor);
         walker.accept(domainClass);
-        context.put(domainClass, visitor.getProperties());
         return visitor.getProperties();
     }
 }
@@ -0,0 +1,36 @@
+package org.springframework.content.commons.renditions;
+
+import java.io.InputStream;
+
+/**
+ * A cache of renditions.  When a bean of this type is present in the application context {@link Renderable} stores
+ * serve renditions from the cache and only render content that has not been rendered before.
+ */
+public interface RenditionCache {
+
+    /**
+     * Returns the cached rendition, if any.
+     *
+     * @param key the key of the rendition
+     * @return the rendition, or null if it is not cached
+     */
+    InputStream get(RenditionKey key);
+
+    /**
+     * Caches a rendition as it is read.  The returned stream reads the given rendition, which is only cached once the
+     * returned stream has been read to the end and closed; closing it early discards what was cached.  Closing the
+     * returned stream closes the given rendition.
+     *
+     * @param key the key of the rendition
+     * @param rendition the rendition
+     * @return a stream over the rendition that caches it as it is read
+     */
+    InputStream put(RenditionKey key, InputStream rendition);
+
+    /**
+     * Evicts all renditions of the given content.
+     *
+     * @param contentId the id of the content
+     */
+    void evict(String contentId);
+}
@@ -0,0 +1,18 @@
+package org.springframework.content.commons.renditions;
+
+import org.springframework.util.Assert;
+
+/**
+ * Identifies a rendition of a particular version of content.
+ *
+ * @param contentId the id of the content that was rendered
+ * @param version the version of the content that was rendered, may be null when the content is not versioned
+ * @param mimeType the mime type of the rendition
+ */
+public record RenditionKey(String contentId, String version, String mimeType) {
+
+    public RenditionKey {
+        Assert.notNull(contentId, "contentId must not be null");
+        Assert.notNull(mimeType, "mimeType must not be null");
+    }
+}
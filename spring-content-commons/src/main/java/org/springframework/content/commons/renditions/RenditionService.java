@@ -11,4 +11,20 @@ public interface RenditionService {
 	public InputStream convert(String fromMimeType, InputStream fromInputSource,
 			String toMimeType);
 
+	/**
+	 * Converts content identified by a rendition key.  Implementations may use the key to share a single conversion
+	 * between concurrent requests for the same rendition.
+	 *
+	 * @param key the key of the rendition, may be null when the content cannot be identified
+	 * @param fromMimeType the mime type of the content
+	 * @param fromInputSource the content
+	 * @param toMimeType the mime type of the rendition
+	 * @return the rendition, or null if the content cannot be converted
+	 * @throws RenditionUnavailableException if the rendition cannot be rendered right now
+	 */
+	default InputStream convert(RenditionKey key, String fromMimeType, InputStream fromInputSource,
+			String toMimeType) {
+		return convert(fromMimeType, fromInputSource, toMimeType);
+	}
+
 }
@@ -0,0 +1,14 @@
+package org.springframework.content.commons.renditions;
+
+/**
+ * Thrown when a rendition cannot be rendered right now because too many renditions are already being rendered.
+ * The request for the rendition may be retried later.
+ */
+public class RenditionUnavailableException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public RenditionUnavailableException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,490 @@
+package org.springframework.content.commons.renditions;
+
+import java.io.BufferedReader;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.content.commons.annotations.ContentId;
+import org.springframework.content.commons.io.DeletableResource;
+import org.springframework.content.commons.mappingcontext.ContentProperty;
+import org.springframework.content.commons.mappingcontext.MappingContext;
+import org.springframework.content.commons.repository.StoreEvent;
+import org.springframework.content.commons.store.Store;
+import org.springframework.content.commons.utils.BeanUtils;
+import org.springframework.context.ApplicationListener;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.WritableResource;
+import org.springframework.util.Assert;
+import org.springframework.util.DigestUtils;
+
+/**
+ * A {@link RenditionCache} that writes renditions to a {@link Store}.
+ * <p>
+ * Renditions are written to the store as they are streamed to the caller that rendered them and are only served from
+ * the cache once they have been completely written.  The cache keeps an index of the renditions it has written and
+ * evicts the least recently used renditions, deleting them from the store, when the index exceeds the maximum number of
+ * renditions or the maximum number of bytes.
+ * <p>
+ * The index is written to the store, at {@link #INDEX_LOCATION}, whenever renditions are added or evicted and is read
+ * back on first use so that renditions written before a restart continue to be served and evicted.  The order in which
+ * renditions were last used is only written with those changes.  The store should be dedicated to the cache.
+ * <p>
+ * When the cache is registered as a bean the renditions of content that is set or unset through a store are evicted.
+ */
+public class StoreRenditionCache implements RenditionCache, ApplicationListener<StoreEvent> {
+
+    private static final Log logger = LogFactory.getLog(StoreRenditionCache.class);
+
+    public static final int DEFAULT_MAXIMUM_ENTRIES = 10_000;
+
+    public static final long DEFAULT_MAXIMUM_BYTES = 1024L * 1024L * 1024L;
+
+    static final String INDEX_LOCATION = "renditions.idx";
+
+    private final Store<String> store;
+    private final int maximumEntries;
+    private final long maximumBytes;
+
+    private MappingContext mappingContext;
+
+    // access-ordered so that the least recently used rendition is evicted first
+    private final LinkedHashMap<RenditionKey, Long> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final Set<RenditionKey> writing = new HashSet<>();
+    private long bytes = 0;
+
+    // incremented on every eviction so that a rendition that was being written when its content changed is discarded
+    private long generation = 0;
+
+    private boolean loaded = false;
+
+    // incremented on every change to the index so that an older copy of the index never overwrites a newer one
+    private long revision = 0;
+    private final Object indexLock = new Object();
+    private long writtenRevision = 0;
+
+    public StoreRenditionCache(Store<String> store) {
+        this(store, DEFAULT_MAXIMUM_ENTRIES, DEFAULT_MAXIMUM_BYTES);
+    }
+
+    public StoreRenditionCache(Store<String> store, int maximumEntries, long maximumBytes) {
+        Assert.notNull(store, "store must not be null");
+        Assert.isTrue(maximumEntries > 0, "maximumEntries must be greater than 0");
+        Assert.isTrue(maximumBytes > 0, "maximumBytes must be greater than 0");
+        this.store = store;
+        this.maximumEntries = maximumEntries;
+        this.maximumBytes = maximumBytes;
+    }
+
+    @Autowired(required = false)
+    public void setMappingContext(MappingContext mappingContext) {
+        this.mappingContext = mappingContext;
+    }
+
+    @Override
+    public InputStream get(RenditionKey key) {
+        synchronized (this.entries) {
+            load();
+            if (this.entries.get(key) == null) {
+                return null;
+            }
+        }
+
+        try {
+            Resource resource = this.store.getResource(location(key));
+            if (resource != null && resource.exists()) {
+                return resource.getInputStream();
+            }
+        }
+        catch (IOException e) {
+            logger.warn(String.format("Unable to read cached rendition %s", key), e);
+        }
+
+        // the rendition was removed from the store outside of the cache
+        boolean removed = false;
+        synchronized (this.entries) {
+            Long size = this.entries.remove(key);
+            if (size != null) {
+                this.bytes -= size;
+                this.revision++;
+                removed = true;
+            }
+        }
+        if (removed) {
+            writeIndex();
+        }
+        return null;
+    }
+
+    @Override
+    public InputStream put(RenditionKey key, InputStream rendition) {
+        long startGeneration;
+        synchronized (this.entries) {
+            load();
+            if (this.entries.containsKey(key) || !this.writing.add(key)) {
+                // already cached or being cached by another caller
+                return rendition;
+            }
+            startGeneration = this.generation;
+        }
+
+        OutputStream os = null;
+        try {
+            Resource resource = this.store.getResource(location(key));
+            if (resource instanceof WritableResource) {
+                os = ((WritableResource) resource).getOutputStream();
+            }
+        }
+        catch (IOException | RuntimeException e) {
+            logger.warn(String.format("Unable to cache rendition %s", key), e);
+        }
+
+        if (os == null) {
+            synchronized (this.entries) {
+                this.writing.remove(key);
+            }
+            return rendition;
+        }
+        return new CachingInputStream(rendition, os, key, startGeneration);
+    }
+
+    @Override
+    public void evict(String contentId) {
+        List<RenditionKey> evicted = new ArrayList<>();
+        synchronized (this.entries) {
+            load();
+            this.generation++;
+            Iterator<Map.Entry<RenditionKey, Long>> it = this.entries.entrySet().iterator();
+            while (it.hasNext()) {
+                Map.Entry<RenditionKey, Long> entry = it.next();
+                if (entry.getKey().contentId().equals(contentId)) {
+                    it.remove();
+                    this.bytes -= entry.getValue();
+                    evicted.add(entry.getKey());
+                }
+            }
+            if (!evicted.isEmpty()) {
+                this.revision++;
+            }
+        }
+        if (!evicted.isEmpty()) {
+            writeIndex();
+        }
+        evicted.forEach(this::delete);
+    }
+
+    public int size() {
+        synchronized (this.entries) {
+            load();
+            return this.entries.size();
+        }
+    }
+
+    @Override
+    public void onApplicationEvent(StoreEvent event) {
+        if (!isContentChange(event)) {
+            return;
+        }
+
+        Object contentId = null;
+        try {
+            if (event.getPropertyPath() != null) {
+                ContentProperty property = mappingContext().getContentProperty(event.getSource().getClass(), event.getPropertyPath().getName());
+                if (property != null) {
+                    contentId = property.getContentId(event.getSource());
+                }
+            }
+            else {
+                contentId = BeanUtils.getFieldWithAnnotation(event.getSource(), ContentId.class);
+            }
+        }
+        catch (RuntimeException e) {
+            logger.debug("Unable to resolve the content id of a content change", e);
+        }
+
+        if (contentId != null) {
+            evict(contentId.toString());
+        }
+    }
+
+    private MappingContext mappingContext() {
+        if (this.mappingContext == null) {
+            // the cache is not a bean or the application context has no mapping context
+            this.mappingContext = new MappingContext("/", ".");
+        }
+        return this.mappingContext;
+    }
+
+    private static boolean isContentChange(StoreEvent event) {
+        return event instanceof org.springframework.content.commons.store.events.BeforeSetContentEvent
+                || event instanceof org.springframework.content.commons.store.events.AfterSetContentEvent
+                || event instanceof org.springframework.content.commons.store.events.BeforeUnsetContentEvent
+                || event instanceof org.springframework.content.commons.store.events.AfterUnsetContentEvent
+                || event instanceof org.springframework.content.commons.repository.events.BeforeSetContentEvent
+                || event instanceof org.springframework.content.commons.repository.events.AfterSetContentEvent
+                || event instanceof org.springframework.content.commons.repository.events.BeforeUnsetContentEvent
+                || event instanceof org.springframework.content.commons.repository.events.AfterUnsetContentEvent;
+    }
+
+    private void cached(RenditionKey key, long size, long startGeneration) {
+        List<RenditionKey> evicted = new ArrayList<>();
+        boolean indexed = false;
+        synchronized (this.entries) {
+            this.writing.remove(key);
+            if (startGeneration != this.generation) {
+                // content may have changed whilst the rendition was being written
+                evicted.add(key);
+            } else {
+                this.entries.put(key, size);
+                this.bytes += size;
+                trim(evicted);
+                this.revision++;
+                indexed = true;
+            }
+        }
+        if (indexed) {
+            writeIndex();
+        }
+        evicted.forEach(this::delete);
+    }
+
+    private void trim(List<RenditionKey> evicted) {
+        Iterator<Map.Entry<RenditionKey, Long>> it = this.entries.entrySet().iterator();
+        while ((this.entries.size() > this.maximumEntries || this.bytes > this.maximumBytes) && it.hasNext()) {
+            Map.Entry<RenditionKey, Long> eldest = it.next();
+            it.remove();
+            this.bytes -= eldest.getValue();
+            evicted.add(eldest.getKey());
+        }
+    }
+
+    /**
+     * Reads the index written by a previous instance of the cache.  Called, with the index locked, before the index is
+     * first used.
+     */
+    private void load() {
+        if (this.loaded) {
+            return;
+        }
+        this.loaded = true;
+
+        try {
+            Resource resource = this.store.getResource(INDEX_LOCATION);
+            if (resource == null || !resource.exists()) {
+                return;
+            }
+
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(resource.getInputStream(), StandardCharsets.UTF_8))) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    String[] fields = line.split(" ", -1);
+                    if (fields.length != 4) {
+                        continue;
+                    }
+                    try {
+                        RenditionKey key = new RenditionKey(decode(fields[0]), fields[1].isEmpty() ? null : decode(fields[1]), decode(fields[2]));
+                        long size = Long.parseLong(fields[3]);
+                        Long previous = this.entries.put(key, size);
+                        this.bytes += size - (previous != null ? previous : 0L);
+                    }
+                    catch (IllegalArgumentException e) {
+                        logger.debug(String.format("Ignoring malformed rendition cache index entry %s", line), e);
+                    }
+                }
+            }
+        }
+        catch (IOException | RuntimeException e) {
+            logger.warn("Unable to read the index of cached renditions", e);
+        }
+
+        // the cache may have been given smaller limits since the index was written
+        List<RenditionKey> evicted = new ArrayList<>();
+        trim(evicted);
+        evicted.forEach(this::delete);
+    }
+
+    private void writeIndex() {
+        Map<RenditionKey, Long> snapshot;
+        long snapshotRevision;
+        synchronized (this.entries) {
+            snapshot = new LinkedHashMap<>(this.entries);
+            snapshotRevision = this.revision;
+        }
+
+        synchronized (this.indexLock) {
+            if (snapshotRevision <= this.writtenRevision) {
+                // a newer index has already been written
+                return;
+            }
+
+            try {
+                Resource resource = this.store.getResource(INDEX_LOCATION);
+                if (resource instanceof WritableResource) {
+                    try (Writer writer = new OutputStreamWriter(((WritableResource) resource).getOutputStream(), StandardCharsets.UTF_8)) {
+                        for (Map.Entry<RenditionKey, Long> entry : snapshot.entrySet()) {
+                            RenditionKey key = entry.getKey();
+                            writer.write(encode(key.contentId()));
+                            writer.write(' ');
+                            writer.write(key.version() != null ? encode(key.version()) : "");
+                            writer.write(' ');
+                            writer.write(encode(key.mimeType()));
+                            writer.write(' ');
+                            writer.write(Long.toString(entry.getValue()));
+                            writer.write('\n');
+                        }
+                    }
+                    this.writtenRevision = snapshotRevision;
+                }
+            }
+            catch (IOException | RuntimeException e) {
+                logger.warn("Unable to write the index of cached renditions", e);
+            }
+        }
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+
+    private static String decode(String value) {
+        return URLDecoder.decode(value, StandardCharsets.UTF_8);
+    }
+
+    private void abandoned(RenditionKey key) {
+        synchronized (this.entries) {
+            this.writing.remove(key);
+        }
+        delete(key);
+    }
+
+    private void delete(RenditionKey key) {
+        try {
+            Resource resource = this.store.getResource(location(key));
+            if (resource instanceof DeletableResource) {
+                ((DeletableResource) resource).delete();
+            }
+        }
+        catch (IOException | RuntimeException e) {
+            logger.warn(String.format("Unable to delete cached rendition %s", key), e);
+        }
+    }
+
+    private static String location(RenditionKey key) {
+        String name = key.contentId() + ":" + key.version() + ":" + key.mimeType();
+        return DigestUtils.md5DigestAsHex(name.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Copies the rendition to the store as it is read and adds it to the cache once it has been completely read.
+     */
+    private class CachingInputStream extends FilterInputStream {
+
+        private final OutputStream os;
+        private final RenditionKey key;
+        private final long startGeneration;
+
+        private long size = 0;
+        private boolean failed = false;
+        private boolean eof = false;
+        private boolean closed = false;
+
+        private CachingInputStream(InputStream in, OutputStream os, RenditionKey key, long startGeneration) {
+            super(in);
+            this.os = os;
+            this.key = key;
+            this.startGeneration = startGeneration;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b == -1) {
+                eof = true;
+            } else if (!failed) {
+                try {
+                    os.write(b);
+                    size++;
+                } catch (IOException e) {
+                    fail(e);
+                }
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = super.read(b, off, len);
+            if (n == -1) {
+                eof = true;
+            } else if (n > 0 && !failed) {
+                try {
+                    os.write(b, off, n);
+                    size += n;
+                } catch (IOException e) {
+                    fail(e);
+                }
+            }
+            return n;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            // skipped bytes would be missing from the cached rendition
+            failed = true;
+            return super.skip(n);
+        }
+
+        @Override
+        public boolean markSupported() {
+            return false;
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (closed) {
+                return;
+            }
+            closed = true;
+
+            try {
+                super.close();
+            } finally {
+                boolean complete = eof && !failed;
+                try {
+                    os.close();
+                } catch (IOException e) {
+                    logger.warn(String.format("Unable to cache rendition %s", key), e);
+                    complete = false;
+                }
+
+                if (complete) {
+                    cached(key, size, startGeneration);
+                } else {
+                    abandoned(key);
+                }
+            }
+        }
+
+        private void fail(IOException e) {
+            logger.warn(String.format("Unable to cache rendition %s", key), e);
+            failed = true;
+        }
+    }
+}
@@ -7,6 +7,7 @@ import java.lang.reflect.Type;
 import java.nio.file.Paths;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
@@ -21,7 +22,10 @@ import org.springframework.beans.factory.BeanFactoryAware;
 import org.springframework.beans.factory.FactoryBean;
 import org.springframework.beans.factory.InitializingBean;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.content.commons.fragments.ParameterTypeAware;
+import org.springframework.content.commons.mappingcontext.MappingContext;
+import org.springframework.content.commons.store.ContentReferenceCounter;
 import org.springframework.content.commons.store.AssociativeStore;
 import org.springframework.content.commons.store.ContentStore;
 import org.springframework.content.commons.store.ReactiveContentStore;
@@ -29,6 +33,7 @@ import org.springframework.content.commons.store.Store;
 import org.springframework.content.commons.repository.StoreExtension;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.ApplicationEventPublisherAware;
+import org.springframework.core.ResolvableType;
 import org.springframework.util.Assert;
 
 import internal.org.springframework.content.commons.config.StoreFragment;
@@ -65,6 +70,15 @@ public abstract class AbstractStoreFactoryBean
 
 	private BeanFactory beanFactory;
 
+	@Value("${spring.content.storage.copy.in-memory-threshold:0}")
+	private int copyContentInMemoryThreshold = 0;
+
+	@Value("${spring.content.storage.content-addressable:false}")
+	private boolean contentAddressable = false;
+
+	@Autowired(required = false)
+	private ContentReferenceCounter contentReferenceCounter;
+
 	protected AbstractStoreFactoryBean(Class<? extends org.springframework.content.commons.repository.Store> storeInterface) {
 		Assert.notNull(storeInterface, "storeInterface must not be null");
 		this.storeInterface = storeInterface;
@@ -215,8 +229,22 @@ public abstract class AbstractStoreFactoryBean
 
 		StoreMethodInterceptor intercepter = new StoreMethodInterceptor();
 
+		storeFragments.addAll(getStoreImplFragments(target));
 		if (!ClassUtils.getAllInterfaces(storeInterface).contains(ReactiveContentStore.class) && !ClassUtils.getAllInterfaces(storeInterface).contains(org.springframework.content.commons.repository.ReactiveContentStore.class)) {
-		    storeFragments.add(new StoreFragment(storeInterface, new StoreImpl(storeInterface, (org.springframework.content.commons.repository.Store<Serializable>) target, publisher, Paths.get(System.getProperty("java.io.tmpdir")))));
+		    MappingContext mappingContext = mappingContext();
+		    Class<?> domainClass = associatedDomainClass();
+		    if (domainClass != null) {
+		        mappingContext.warmUp(domainClass);
+		    }
+		    StoreImpl storeImpl = new StoreImpl(storeInterface, (org.springframework.content.commons.repository.Store<Serializable>) target, publisher, Paths.get(System.getProperty("java.io.tmpdir")), copyContentInMemoryThreshold);
+		    storeImpl.setMappingContext(mappingContext);
+		    if (contentAddressable) {
+		        if (contentReferenceCounter == null) {
+		            logger.warn(String.format("Content-addressable storage is enabled for %s without a ContentReferenceCounter; shared content will never be deleted", storeInterface.getName()));
+		        }
+		        storeImpl.setContentAddressableStorage(new ContentAddressableStorage(storeInterface, (org.springframework.content.commons.repository.Store<Serializable>) target, mappingContext, contentReferenceCounter, Paths.get(System.getProperty("java.io.tmpdir")), copyContentInMemoryThreshold));
+		    }
+		    storeFragments.add(new StoreFragment(storeInterface, storeImpl));
 		} else {
             storeFragments.add(new StoreFragment(storeInterface, new ReactiveStoreImpl((ReactiveContentStore<Object, Serializable>) target, publisher)));
 		}
@@ -286,5 +314,44 @@ public abstract class AbstractStoreFactoryBean
 	protected void addProxyAdvice(ProxyFactory result, BeanFactory beanFactory) {
 	}
 
+	private Class<?> associatedDomainClass() {
+		Class<?> domainClass = ResolvableType.forClass(storeInterface).as(AssociativeStore.class).resolveGeneric(0);
+		if (domainClass == null) {
+			domainClass = ResolvableType.forClass(storeInterface).as(org.springframework.content.commons.repository.AssociativeStore.class).resolveGeneric(0);
+		}
+		return domainClass;
+	}
+
+	private MappingContext mappingContext() {
+		if (beanFactory == null) {
+			return new MappingContext("/", ".");
+		}
+		return beanFactory.getBeanProvider(MappingContext.class).getIfAvailable(() -> new MappingContext("/", "."));
+	}
+
+	/**
+	 * Returns fragments implemented by the store implementation itself.  These expose store-specific methods, declared
+	 * on the store's interface, that are not part of the generic store API.  They are consulted before the default
+	 * store fragment so the fragment's interface should only declare the store-specific methods.
+	 *
+	 * @param target the store implementation returned by {@link #getContentStoreImpl()}
+	 * @return the fragments
+	 */
+	protected List<StoreFragment> getStoreImplFragments(Object target) {
+		return Collections.emptyList();
+	}
+
+	protected ApplicationEventPublisher getApplicationEventPublisher() {
+		return this.publisher;
+	}
+
+	/**
+	 * @return true when content is stored under the digest of its bytes, and may therefore be shared by several
+	 * entities
+	 */
+	protected boolean isContentAddressable() {
+		return this.contentAddressable;
+	}
+
 	protected abstract Object getContentStoreImpl();
 }
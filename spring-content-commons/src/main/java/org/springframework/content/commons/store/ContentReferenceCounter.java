@@ -0,0 +1,36 @@
+package org.springframework.content.commons.store;
+
+/**
+ * Counts the entities that reference each content-addressed blob, so that a blob can be deleted once nothing
+ * references it anymore.
+ * <p>
+ * Only used when content-addressable storage is enabled with {@code spring.content.storage.content-addressable=true}.
+ * When no counter is configured blobs shared by content address are never deleted.  Implementations must be durable
+ * and safe to call concurrently.
+ * <p>
+ * A blob that is being deleted must not be referenced again until it is gone: an {@link #increment(Class, String)}
+ * that races with a {@link #decrementAndDeleteIfZero(Class, String, Runnable)} returning 0 must complete after the
+ * deletion, so that the content is written again.
+ */
+public interface ContentReferenceCounter {
+
+    /**
+     * Adds a reference to a blob
+     *
+     * @param storeInterface the store that holds the blob
+     * @param contentId the blob's content address
+     * @return the number of references to the blob, including this one
+     */
+    long increment(Class<?> storeInterface, String contentId);
+
+    /**
+     * Removes a reference to a blob and, when no references remain, deletes the blob before the blob can be
+     * referenced again
+     *
+     * @param storeInterface the store that holds the blob
+     * @param contentId the blob's content address
+     * @param delete deletes the blob; called if, and only if, 0 is returned
+     * @return the number of references remaining, 0 when the blob is no longer referenced or was never counted
+     */
+    long decrementAndDeleteIfZero(Class<?> storeInterface, String contentId, Runnable delete);
+}
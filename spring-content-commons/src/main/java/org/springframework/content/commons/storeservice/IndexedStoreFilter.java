@@ -0,0 +1,47 @@
+package org.springframework.content.commons.storeservice;
+
+import java.util.function.Function;
+
+import org.springframework.util.Assert;
+
+/**
+ * A {@link StoreFilter} that matches stores on the value of a single attribute.
+ * <p>
+ * {@link Stores} implementations may look stores up in an index of the attribute rather than evaluating the filter
+ * against every store.  The attribute function identifies the index so it should be a constant, shared by every
+ * filter on that attribute.
+ *
+ * @param <K> the attribute type
+ */
+public class IndexedStoreFilter<K> implements StoreFilter {
+
+    private final String name;
+    private final Function<StoreInfo, K> attribute;
+    private final K key;
+
+    public IndexedStoreFilter(String name, Function<StoreInfo, K> attribute, K key) {
+        Assert.notNull(attribute, "attribute must not be null");
+        Assert.notNull(key, "key must not be null");
+        this.name = name;
+        this.attribute = attribute;
+        this.key = key;
+    }
+
+    @Override
+    public String name() {
+        return name;
+    }
+
+    @Override
+    public boolean matches(StoreInfo info) {
+        return key.equals(attribute.apply(info));
+    }
+
+    public Function<StoreInfo, K> getAttribute() {
+        return attribute;
+    }
+
+    public K getKey() {
+        return key;
+    }
+}
@@ -1,5 +1,7 @@
 package org.springframework.content.commons.storeservice;
 
+import java.util.function.Function;
+
 import org.springframework.stereotype.Service;
 import org.springframework.util.Assert;
 
@@ -16,19 +18,12 @@ public interface Stores {
         }
     };
 
+    Function<StoreInfo, Class<?>> DOMAIN_CLASS = StoreInfo::getDomainObjectClass;
+
     static StoreFilter withDomainClass(Class<?> domainClass) {
         Assert.notNull(domainClass, "domainClass must not be null");
 
-        return new StoreFilter() {
-            @Override
-            public String name() {
-                return domainClass.getCanonicalName();
-            }
-            @Override
-            public boolean matches(StoreInfo info) {
-                return domainClass.equals(info.getDomainObjectClass());
-            }
-        };
+        return new IndexedStoreFilter<Class<?>>(domainClass.getCanonicalName(), DOMAIN_CLASS, domainClass);
     }
 
     void addStoreResolver(String name, StoreResolver resolver);
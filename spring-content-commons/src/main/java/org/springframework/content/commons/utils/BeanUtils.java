@@ -6,12 +6,17 @@ import java.lang.reflect.Field;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 
 import org.springframework.beans.BeanWrapper;
 import org.springframework.beans.BeanWrapperImpl;
 import org.springframework.beans.BeansException;
+import org.springframework.util.ConcurrentReferenceHashMap;
 import org.springframework.util.ReflectionUtils;
 
+import internal.org.springframework.content.commons.utils.PropertyPathAccessor;
+
 public final class BeanUtils {
 
 	private static final Condition MATCHING_CONDITION = new Condition() {
@@ -21,6 +26,8 @@ public final class BeanUtils {
 		}
 	};
 
+	private static final Map<Class<?>, Map<Class<? extends Annotation>, Optional<Field>>> annotatedFieldCache = new ConcurrentReferenceHashMap<>();
+
 	private BeanUtils() {
 	}
 
@@ -39,29 +46,21 @@ public final class BeanUtils {
 	public static Field findFieldWithAnnotation(Object domainObj,
 			Class<? extends Annotation> annotationClass)
 			throws SecurityException, BeansException {
-		BeanWrapper wrapper = new BeanWrapperImpl(domainObj);
-		Field candidate = findFieldWithAnnotation(domainObj.getClass(), annotationClass,
-				wrapper);
-		if (candidate != null)
-			return candidate;
-		return null;
+		return findFieldWithAnnotation(domainObj.getClass(), annotationClass);
 	}
 
 	public static Field findFieldWithAnnotation(Class<?> domainObjClass,
 			Class<? extends Annotation> annotationClass)
 			throws SecurityException, BeansException {
 
-		BeanWrapper wrapper = new BeanWrapperImpl(domainObjClass);
-		Field candidate = findFieldWithAnnotation(domainObjClass, annotationClass,
-				wrapper);
-		if (candidate != null)
-			return candidate;
-		return null;
+		return annotatedFieldCache
+				.computeIfAbsent(domainObjClass, (key) -> new ConcurrentReferenceHashMap<>())
+				.computeIfAbsent(annotationClass, (key) -> Optional.ofNullable(findFieldWithAnnotation(domainObjClass, annotationClass, org.springframework.beans.BeanUtils.getPropertyDescriptors(domainObjClass))))
+				.orElse(null);
 	}
 
 	private static Field findFieldWithAnnotation(Class<?> domainObjClass,
-			Class<? extends Annotation> annotationClass, BeanWrapper wrapper) {
-		PropertyDescriptor[] descriptors = wrapper.getPropertyDescriptors();
+			Class<? extends Annotation> annotationClass, PropertyDescriptor[] descriptors) {
 		for (PropertyDescriptor descriptor : descriptors) {
 			Field candidate = getField(domainObjClass, descriptor.getName());
 			if (candidate != null) {
@@ -153,11 +152,9 @@ public final class BeanUtils {
 		Field field = findFieldWithAnnotation(domainObj, annotationClass);
 		if (field != null && field.getAnnotation(annotationClass) != null) {
 			try {
-				PropertyDescriptor descriptor = org.springframework.beans.BeanUtils
-						.getPropertyDescriptor(domainObj.getClass(), field.getName());
-				if (descriptor != null) {
-					BeanWrapper wrapper = new BeanWrapperImpl(domainObj);
-					value = wrapper.getPropertyValue(field.getName());
+				PropertyPathAccessor accessor = PropertyPathAccessor.forPath(domainObj.getClass(), field.getName());
+				if (accessor.isResolved()) {
+					value = accessor.getValue(domainObj);
 				}
 				else {
 					value = ReflectionUtils.getField(field, domainObj);
@@ -237,6 +234,10 @@ public final class BeanUtils {
 				PropertyDescriptor descriptor = org.springframework.beans.BeanUtils
 						.getPropertyDescriptor(domainObj.getClass(), field.getName());
 				if (descriptor != null) {
+					PropertyPathAccessor accessor = PropertyPathAccessor.forPath(domainObj.getClass(), field.getName());
+					if (accessor.isResolved() && accessor.setValue(domainObj, value)) {
+						return;
+					}
 					BeanWrapper wrapper = new BeanWrapperImpl(domainObj);
 					wrapper.setPropertyValue(field.getName(), value);
 					return;
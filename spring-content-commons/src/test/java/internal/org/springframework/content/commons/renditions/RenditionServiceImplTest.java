@@ -0,0 +1,157 @@
+package internal.org.springframework.content.commons.renditions;
+
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.BeforeEach;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.Context;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.Describe;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.It;
+import static org.hamcrest.CoreMatchers.hasItems;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.arrayContainingInAnyOrder;
+import static org.hamcrest.Matchers.contains;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import org.apache.commons.io.IOUtils;
+import org.junit.runner.RunWith;
+import org.springframework.content.commons.renditions.RenditionProvider;
+
+import com.github.paulcwarren.ginkgo4j.Ginkgo4jRunner;
+
+@RunWith(Ginkgo4jRunner.class)
+public class RenditionServiceImplTest {
+
+    private RenditionServiceImpl service;
+
+    private TestProvider docxToPdf;
+    private TestProvider pdfToJpeg;
+    private TestProvider jpegToPng;
+    private TestProvider pngToGif;
+    private TestProvider docxToJpeg;
+
+    {
+        Describe("RenditionServiceImpl", () -> {
+            BeforeEach(() -> {
+                docxToPdf = new TestProvider("application/docx", "application/pdf");
+                pdfToJpeg = new TestProvider("application/pdf", "image/jpeg");
+                jpegToPng = new TestProvider("image/jpeg", "image/png");
+                pngToGif = new TestProvider("image/png", "image/gif");
+            });
+            Context("given a chain of providers", () -> {
+                BeforeEach(() -> {
+                    service = new RenditionServiceImpl(docxToPdf, pdfToJpeg, jpegToPng, pngToGif);
+                });
+                It("should convert content that a single provider converts", () -> {
+                    assertThat(service.canConvert("application/docx", "application/pdf"), is(true));
+                    assertThat(service.getProviders("application/docx", "application/pdf"), contains(docxToPdf));
+                });
+                It("should convert content through several providers", () -> {
+                    assertThat(service.canConvert("application/docx", "image/png"), is(true));
+                    assertThat(service.getProviders("application/docx", "image/png"), contains(docxToPdf, pdfToJpeg, jpegToPng));
+
+                    try (InputStream is = service.convert("application/docx", content("doc"), "image/png")) {
+                        assertThat(IOUtils.toString(is, StandardCharsets.UTF_8), is("doc>application/pdf>image/jpeg>image/png"));
+                    }
+                });
+                It("should close the intermediate renditions", () -> {
+                    try (InputStream is = service.convert("application/docx", content("doc"), "image/jpeg")) {
+                        IOUtils.toByteArray(is);
+                    }
+                    assertThat(docxToPdf.last.closed, is(true));
+                });
+                It("should not chain more than the maximum number of providers", () -> {
+                    assertThat(service.canConvert("application/docx", "image/gif"), is(false));
+                    assertThat(service.convert("application/docx", content("doc"), "image/gif"), is(nullValue()));
+                    assertThat(service.canConvert("application/pdf", "image/gif"), is(true));
+                });
+                It("should list the reachable conversions", () -> {
+                    assertThat(service.conversions("application/docx"), arrayContainingInAnyOrder("application/pdf", "image/jpeg", "image/png"));
+                    assertThat(service.conversions("text/plain").length, is(0));
+                });
+                It("should ignore mime type parameters and case", () -> {
+                    assertThat(service.canConvert("Application/PDF; charset=UTF-8", "image/jpeg"), is(true));
+                });
+                It("should resolve wildcard mime types", () -> {
+                    assertThat(service.canConvert("application/*", "image/*"), is(true));
+                    assertThat(service.getProviders("application/pdf", "image/*"), contains(pdfToJpeg));
+
+                    try (InputStream is = service.convert("application/pdf", content("pdf"), "image/*")) {
+                        assertThat(IOUtils.toString(is, StandardCharsets.UTF_8), is("pdf>image/jpeg"));
+                    }
+                });
+                It("should not convert unknown mime types", () -> {
+                    assertThat(service.canConvert("text/plain", "image/jpeg"), is(false));
+                    assertThat(service.getProviders("text/plain", "image/jpeg").isEmpty(), is(true));
+                });
+            });
+            Context("given a provider that converts directly", () -> {
+                BeforeEach(() -> {
+                    docxToJpeg = new TestProvider("application/docx", "image/jpeg");
+                    service = new RenditionServiceImpl(docxToPdf, pdfToJpeg, docxToJpeg);
+                });
+                It("should prefer the shortest chain", () -> {
+                    assertThat(service.getProviders("application/docx", "image/jpeg"), contains(docxToJpeg));
+                    assertThat(Arrays.asList(service.conversions("application/docx")), hasItems("application/pdf", "image/jpeg"));
+                });
+            });
+        });
+    }
+
+    private static InputStream content(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static class TestProvider implements RenditionProvider {
+
+        private final String consumes;
+        private final String produces;
+
+        private ClosingTrackingInputStream last;
+
+        private TestProvider(String consumes, String produces) {
+            this.consumes = consumes;
+            this.produces = produces;
+        }
+
+        @Override
+        public String consumes() {
+            return consumes;
+        }
+
+        @Override
+        public String[] produces() {
+            return new String[] {produces};
+        }
+
+        @Override
+        public InputStream convert(InputStream fromInputSource, String toMimeType) {
+            try {
+                String content = IOUtils.toString(fromInputSource, StandardCharsets.UTF_8);
+                last = new ClosingTrackingInputStream((content + ">" + toMimeType).getBytes(StandardCharsets.UTF_8));
+                return last;
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+
+    private static class ClosingTrackingInputStream extends ByteArrayInputStream {
+
+        private boolean closed = false;
+
+        private ClosingTrackingInputStream(byte[] buf) {
+            super(buf);
+        }
+
+        @Override
+        public void close() throws IOException {
+            closed = true;
+            super.close();
+        }
+    }
+}
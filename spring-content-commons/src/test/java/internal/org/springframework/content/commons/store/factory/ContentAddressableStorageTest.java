@@ -0,0 +1,184 @@
+package internal.org.springframework.content.commons.store.factory;
+
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.BeforeEach;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.Context;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.Describe;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.It;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+import java.util.function.Supplier;
+
+import org.junit.runner.RunWith;
+import org.mockito.InOrder;
+import org.springframework.content.commons.annotations.ContentId;
+import org.springframework.content.commons.annotations.ContentLength;
+import org.springframework.content.commons.io.DeletableResource;
+import org.springframework.content.commons.mappingcontext.MappingContext;
+import org.springframework.content.commons.property.PropertyPath;
+import org.springframework.content.commons.store.ContentReferenceCounter;
+import org.springframework.content.commons.store.ContentStore;
+import org.springframework.content.commons.store.SetContentParams;
+import org.springframework.content.commons.store.StoreAccessException;
+import org.springframework.content.commons.store.UnsetContentParams;
+import org.springframework.core.io.Resource;
+
+import com.github.paulcwarren.ginkgo4j.Ginkgo4jRunner;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@RunWith(Ginkgo4jRunner.class)
+public class ContentAddressableStorageTest {
+
+    private static final PropertyPath CONTENT = PropertyPath.from("content");
+
+    private ContentAddressableStorage storage;
+
+    private ContentStore store;
+    private ContentReferenceCounter counter;
+    private Resource resource;
+    private TestEntity entity;
+
+    {
+        Describe("ContentAddressableStorage", () -> {
+            BeforeEach(() -> {
+                store = mock(ContentStore.class);
+                counter = mock(ContentReferenceCounter.class);
+                resource = mock(Resource.class);
+                entity = new TestEntity();
+
+                when(store.getResource(entity, CONTENT)).thenReturn(resource);
+
+                storage = new ContentAddressableStorage(ContentStore.class, store, new MappingContext("/", "."), counter, Files.createTempDirectory("castest"), 0);
+            });
+            Context("#setContent", () -> {
+                Context("given no content with the same digest is stored", () -> {
+                    BeforeEach(() -> {
+                        when(resource.exists()).thenReturn(false);
+                        storage.setContent(entity, CONTENT, new ByteArrayInputStream("foo".getBytes(StandardCharsets.UTF_8)), false);
+                    });
+                    It("should store the content under its digest", () -> {
+                        assertThat(entity.getContentId(), is(sha256("foo")));
+                        verify(store).setContent(eq(entity), eq(CONTENT), any(InputStream.class), argThat((SetContentParams params) -> params.getContentLength() == 3L && params.getDisposition() == SetContentParams.ContentDisposition.Overwrite));
+                        verify(counter).increment(ContentStore.class, sha256("foo"));
+                    });
+                    It("should count the reference before looking for stored content", () -> {
+                        InOrder inOrder = inOrder(counter, resource);
+                        inOrder.verify(counter).increment(ContentStore.class, sha256("foo"));
+                        inOrder.verify(resource).exists();
+                    });
+                });
+                Context("given the content can not be written", () -> {
+                    It("should release the reference and restore the content id", () -> {
+                        entity.setContentId("previous");
+                        when(resource.exists()).thenReturn(false);
+                        doThrow(new StoreAccessException("badness")).when(store).setContent(eq(entity), eq(CONTENT), any(InputStream.class), any(SetContentParams.class));
+
+                        Exception e = null;
+                        try {
+                            storage.setContent(entity, CONTENT, new ByteArrayInputStream("foo".getBytes(StandardCharsets.UTF_8)), false);
+                        } catch (StoreAccessException sae) {
+                            e = sae;
+                        }
+
+                        assertThat(e.getMessage(), is("badness"));
+                        assertThat(entity.getContentId(), is("previous"));
+                        verify(counter).decrementAndDeleteIfZero(eq(ContentStore.class), eq(sha256("foo")), any(Runnable.class));
+                    });
+                });
+                Context("given content with the same digest is already stored", () -> {
+                    BeforeEach(() -> {
+                        when(resource.exists()).thenReturn(true);
+                        storage.setContent(entity, CONTENT, new ByteArrayInputStream("foo".getBytes(StandardCharsets.UTF_8)), false);
+                    });
+                    It("should reference the stored content without writing it", () -> {
+                        assertThat(entity.getContentId(), is(sha256("foo")));
+                        assertThat(entity.getContentLength(), is(3L));
+                        verify(store, never()).setContent(any(), any(PropertyPath.class), any(InputStream.class), any(SetContentParams.class));
+                        verify(counter).increment(ContentStore.class, sha256("foo"));
+                    });
+                });
+                Context("given the entity references other content that is no longer referenced", () -> {
+                    BeforeEach(() -> {
+                        entity.setContentId(sha256("bar"));
+                        DeletableResource previous = mock(DeletableResource.class);
+                        when(previous.exists()).thenReturn(true);
+                        when(store.getResource(sha256("bar"))).thenReturn(previous);
+                        when(counter.decrementAndDeleteIfZero(eq(ContentStore.class), eq(sha256("bar")), any(Runnable.class))).thenAnswer(invocation -> {
+                            ((Runnable) invocation.getArgument(2)).run();
+                            return 0L;
+                        });
+                        when(resource.exists()).thenReturn(true);
+
+                        storage.setContent(entity, CONTENT, new ByteArrayInputStream("foo".getBytes(StandardCharsets.UTF_8)), false);
+
+                        verify(previous).delete();
+                    });
+                    It("should reference the new content", () -> {
+                        assertThat(entity.getContentId(), is(sha256("foo")));
+                    });
+                });
+            });
+            Context("#unsetContent", () -> {
+                BeforeEach(() -> {
+                    entity.setContentId(sha256("foo"));
+                });
+                Context("given the content is referenced elsewhere", () -> {
+                    It("should unset the content but keep it stored", () -> {
+                        when(counter.decrementAndDeleteIfZero(eq(ContentStore.class), eq(sha256("foo")), any(Runnable.class))).thenReturn(1L);
+                        Supplier<Object> invocation = mock(Supplier.class);
+
+                        storage.unsetContent(entity, CONTENT, false, invocation);
+
+                        verify(invocation, never()).get();
+                        verify(store).unsetContent(eq(entity), eq(CONTENT), argThat((UnsetContentParams params) -> params.getDisposition() == UnsetContentParams.Disposition.Keep));
+                    });
+                });
+                Context("given the content is not referenced elsewhere", () -> {
+                    It("should unset and remove the content", () -> {
+                        when(counter.decrementAndDeleteIfZero(eq(ContentStore.class), eq(sha256("foo")), any(Runnable.class))).thenAnswer(invocation -> {
+                            ((Runnable) invocation.getArgument(2)).run();
+                            return 0L;
+                        });
+                        Supplier<Object> invocation = mock(Supplier.class);
+
+                        storage.unsetContent(entity, CONTENT, false, invocation);
+
+                        verify(invocation).get();
+                    });
+                });
+            });
+        });
+    }
+
+    private static String sha256(String content) throws Exception {
+        return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    public static class TestEntity {
+        @ContentId
+        private String contentId;
+        @ContentLength
+        private Long contentLength;
+    }
+}
@@ -5,24 +5,56 @@ import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.Context;
 import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.Describe;
 import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.It;
 import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.JustBeforeEach;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
 import static org.junit.Assert.fail;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyObject;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isA;
+import static org.mockito.ArgumentMatchers.same;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.HexFormat;
 
+import org.apache.commons.io.IOUtils;
 import org.junit.runner.RunWith;
+import org.mockito.InOrder;
+import org.springframework.content.commons.annotations.ContentDigest;
+import org.springframework.content.commons.annotations.ContentId;
+import org.springframework.content.commons.mappingcontext.MappingContext;
+import org.springframework.content.commons.property.PropertyPath;
 import org.springframework.content.commons.repository.ContentStore;
+import org.springframework.content.commons.repository.SetContentParams;
+import org.springframework.content.commons.repository.UnsetContentParams;
+import org.springframework.content.commons.repository.events.AfterSetContentEvent;
+import org.springframework.content.commons.repository.events.BeforeSetContentEvent;
+import org.springframework.content.commons.store.ContentReferenceCounter;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.Resource;
+import org.springframework.context.ApplicationEvent;
 import org.springframework.context.ApplicationEventPublisher;
 
 import com.github.paulcwarren.ginkgo4j.Ginkgo4jRunner;
 
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
 @RunWith(Ginkgo4jRunner.class)
 public class StoreImplTest {
 
@@ -32,6 +64,11 @@ public class StoreImplTest {
     private ApplicationEventPublisher publisher;
     private String tmpDir;
     private Path contentCopyPathRoot;
+    private int copyContentInMemoryThreshold;
+    private InputStream content;
+    private String delegateContent;
+    private TestEntity entity;
+    private ContentReferenceCounter counter;
 
     {
         Describe("StoreImpl", () -> {
@@ -39,7 +76,7 @@ public class StoreImplTest {
             BeforeEach(() -> {
                 store = mock(ContentStore.class);
                 publisher = mock(ApplicationEventPublisher.class);
-
+                copyContentInMemoryThreshold = 0;
             });
             JustBeforeEach(() -> {
                 contentCopyPathRoot = Files.createTempDirectory("storeimpltest");
@@ -50,7 +87,7 @@ public class StoreImplTest {
                     }
                 }
 
-                stores = new StoreImpl(ContentStore.class, store, publisher, contentCopyPathRoot);
+                stores = new StoreImpl(ContentStore.class, store, publisher, contentCopyPathRoot, copyContentInMemoryThreshold);
             });
 
             Context("#setContent - inputstream", () -> {
@@ -71,6 +108,231 @@ public class StoreImplTest {
                     }
                 });
             });
+
+            Context("#setContent - inputstream not read by an event handler", () -> {
+
+                BeforeEach(() -> {
+                    content = new ByteArrayInputStream("foo".getBytes());
+                    when(store.setContent(anyObject(), any(InputStream.class))).thenReturn(new Object());
+                });
+
+                JustBeforeEach(() -> {
+                    stores.setContent(new Object(), content);
+                });
+
+                It("should pass the original stream to the delegate", () -> {
+                    verify(store).setContent(anyObject(), same(content));
+                });
+            });
+
+            Context("#setContent - inputstream read by an event handler", () -> {
+
+                BeforeEach(() -> {
+                    copyContentInMemoryThreshold = 1024;
+
+                    content = new ByteArrayInputStream("foo".getBytes());
+                    when(store.setContent(anyObject(), any(InputStream.class))).thenAnswer((invocation) -> {
+                        delegateContent = IOUtils.toString((InputStream) invocation.getArgument(1), StandardCharsets.UTF_8);
+                        return new Object();
+                    });
+                    doAnswer((invocation) -> {
+                        Object event = invocation.getArgument(0);
+                        if (event instanceof BeforeSetContentEvent) {
+                            ((BeforeSetContentEvent) event).getInputStream().read();
+                        }
+                        return null;
+                    }).when(publisher).publishEvent(any(ApplicationEvent.class));
+                });
+
+                JustBeforeEach(() -> {
+                    stores.setContent(new Object(), content);
+                });
+
+                It("should pass the full content copy to the delegate", () -> {
+                    assertThat(delegateContent, is("foo"));
+                });
+
+                It("should not spill content below the threshold to disk", () -> {
+                    for (File f : contentCopyPathRoot.toFile().listFiles()) {
+                        if (f.getName().endsWith(".tmp")) {
+                            fail("Found content copy path");
+                        }
+                    }
+                });
+            });
+
+            Context("given a content property with a @ContentDigest", () -> {
+
+                BeforeEach(() -> {
+                    entity = new TestEntity();
+                });
+
+                JustBeforeEach(() -> {
+                    stores.setMappingContext(new MappingContext("/", "."));
+                });
+
+                Context("#setContent - inputstream", () -> {
+
+                    BeforeEach(() -> {
+                        when(store.setContent(any(), any(PropertyPath.class), any(InputStream.class))).thenAnswer((invocation) -> {
+                            delegateContent = IOUtils.toString((InputStream) invocation.getArgument(2), StandardCharsets.UTF_8);
+                            return invocation.getArgument(0);
+                        });
+                    });
+
+                    JustBeforeEach(() -> {
+                        stores.setContent(entity, PropertyPath.from("content"), new ByteArrayInputStream("foo".getBytes()));
+                    });
+
+                    It("should record the digest of the content", () -> {
+                        assertThat(delegateContent, is("foo"));
+                        assertThat(entity.getContentDigest(), is(sha256("foo")));
+                    });
+                });
+
+                Context("#unsetContent", () -> {
+
+                    BeforeEach(() -> {
+                        entity.setContentDigest(sha256("foo"));
+                        when(store.unsetContent(any(), any(PropertyPath.class))).thenAnswer((invocation) -> invocation.getArgument(0));
+                    });
+
+                    JustBeforeEach(() -> {
+                        stores.unsetContent(entity, PropertyPath.from("content"));
+                    });
+
+                    It("should clear the digest", () -> {
+                        assertThat(entity.getContentDigest(), is(nullValue()));
+                    });
+                });
+
+                Context("#setContent - inputstream without a property path", () -> {
+
+                    BeforeEach(() -> {
+                        when(store.setContent(any(), any(InputStream.class))).thenAnswer((invocation) -> {
+                            delegateContent = IOUtils.toString((InputStream) invocation.getArgument(1), StandardCharsets.UTF_8);
+                            return invocation.getArgument(0);
+                        });
+                    });
+
+                    JustBeforeEach(() -> {
+                        stores.setContent(entity, new ByteArrayInputStream("foo".getBytes()));
+                    });
+
+                    It("should record the digest of the default content property", () -> {
+                        assertThat(delegateContent, is("foo"));
+                        assertThat(entity.getContentDigest(), is(sha256("foo")));
+                    });
+                });
+
+                Context("#setContent - resource without a property path", () -> {
+
+                    BeforeEach(() -> {
+                        when(store.setContent(any(), any(Resource.class))).thenAnswer((invocation) -> invocation.getArgument(0));
+                    });
+
+                    JustBeforeEach(() -> {
+                        stores.setContent(entity, new ByteArrayResource("foo".getBytes()));
+                    });
+
+                    It("should record the digest of the default content property", () -> {
+                        assertThat(entity.getContentDigest(), is(sha256("foo")));
+                    });
+                });
+
+                Context("#unsetContent without a property path", () -> {
+
+                    BeforeEach(() -> {
+                        entity.setContentDigest(sha256("foo"));
+                        when(store.unsetContent(any())).thenAnswer((invocation) -> invocation.getArgument(0));
+                    });
+
+                    JustBeforeEach(() -> {
+                        stores.unsetContent(entity);
+                    });
+
+                    It("should clear the digest of the default content property", () -> {
+                        assertThat(entity.getContentDigest(), is(nullValue()));
+                    });
+                });
+            });
+
+            Context("given content-addressable storage", () -> {
+
+                BeforeEach(() -> {
+                    entity = new TestEntity();
+                    counter = mock(ContentReferenceCounter.class);
+
+                    Resource resource = mock(Resource.class);
+                    when(store.getResource(entity, PropertyPath.from("content"))).thenReturn(resource);
+                });
+
+                JustBeforeEach(() -> {
+                    MappingContext mappingContext = new MappingContext("/", ".");
+                    stores.setMappingContext(mappingContext);
+                    stores.setContentAddressableStorage(new ContentAddressableStorage(ContentStore.class, store, mappingContext, counter, contentCopyPathRoot, copyContentInMemoryThreshold));
+                });
+
+                Context("#setContent - inputstream", () -> {
+
+                    BeforeEach(() -> {
+                        when(store.setContent(any(), any(PropertyPath.class), any(InputStream.class), any(SetContentParams.class))).thenAnswer((invocation) -> {
+                            delegateContent = IOUtils.toString((InputStream) invocation.getArgument(2), StandardCharsets.UTF_8);
+                            return invocation.getArgument(0);
+                        });
+                    });
+
+                    JustBeforeEach(() -> {
+                        stores.setContent(entity, PropertyPath.from("content"), new ByteArrayInputStream("foo".getBytes()));
+                    });
+
+                    It("should store the content under its digest between the set content events", () -> {
+                        assertThat(delegateContent, is("foo"));
+                        assertThat(entity.getContentId(), is(sha256("foo")));
+
+                        InOrder inOrder = inOrder(publisher, counter, store);
+                        inOrder.verify(publisher).publishEvent(isA(BeforeSetContentEvent.class));
+                        inOrder.verify(counter).increment(ContentStore.class, sha256("foo"));
+                        inOrder.verify(store).setContent(eq(entity), eq(PropertyPath.from("content")), any(InputStream.class), argThat((SetContentParams params) -> params.getDisposition() == SetContentParams.ContentDisposition.Overwrite));
+                        inOrder.verify(publisher).publishEvent(isA(AfterSetContentEvent.class));
+                    });
+
+                    It("should not call the delegate's own set content", () -> {
+                        verify(store, never()).setContent(any(), any(PropertyPath.class), any(InputStream.class));
+                    });
+                });
+
+                Context("#unsetContent of content referenced elsewhere", () -> {
+
+                    BeforeEach(() -> {
+                        entity.setContentId(sha256("foo"));
+                        when(counter.decrementAndDeleteIfZero(eq(ContentStore.class), eq(sha256("foo")), any(Runnable.class))).thenReturn(1L);
+                    });
+
+                    JustBeforeEach(() -> {
+                        stores.unsetContent(entity, PropertyPath.from("content"));
+                    });
+
+                    It("should keep the content stored", () -> {
+                        verify(store, never()).unsetContent(any(), any(PropertyPath.class));
+                        verify(store).unsetContent(eq(entity), eq(PropertyPath.from("content")), argThat((UnsetContentParams params) -> params.getDisposition() == UnsetContentParams.Disposition.Keep));
+                    });
+                });
+            });
         });
     }
+
+    private static String sha256(String content) throws Exception {
+        return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    public static class TestEntity {
+        @ContentId
+        private String contentId;
+        @ContentDigest
+        private String contentDigest;
+    }
 }
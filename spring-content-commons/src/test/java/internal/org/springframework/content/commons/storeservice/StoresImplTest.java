@@ -10,6 +10,8 @@ import static org.hamcrest.MatcherAssert.assertThat;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
+import java.util.function.Function;
+
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.invocation.InvocationOnMock;
@@ -18,6 +20,7 @@ import org.springframework.content.commons.repository.AssociativeStore;
 import org.springframework.content.commons.repository.ContentStore;
 import org.springframework.content.commons.repository.Store;
 import internal.org.springframework.content.commons.store.factory.StoreFactory;
+import org.springframework.content.commons.storeservice.IndexedStoreFilter;
 import org.springframework.content.commons.storeservice.StoreFilter;
 import org.springframework.content.commons.storeservice.StoreInfo;
 import org.springframework.content.commons.storeservice.Stores;
@@ -205,6 +208,35 @@ public class StoresImplTest {
 							});
 					assertThat(infos.length, is(0));
 				});
+				It("should return the stores that match an indexed filter", () -> {
+					StoreInfo[] infos = contentRepoService.getStores(Store.class, new IndexedStoreFilter<String>("test", STORE_NAME, "EntityStoreInterface"));
+					assertThat(infos.length, is(1));
+					assertThat(infos[0].getInterface(), is(EntityStoreInterface.class));
+				});
+			});
+			Context("given content stores for different entities", () -> {
+				BeforeEach(() -> {
+					mockFactory = mock(StoreFactory.class);
+					Store store = mock(ContentStore.class);
+					when(mockFactory.getStore()).thenReturn(store);
+					when(mockFactory.getStoreInterface()).thenAnswer(invocation -> FsEntityStoreInterface.class);
+
+					StoreFactory mockFactory2 = mock(StoreFactory.class);
+					Store store2 = mock(ContentStore.class);
+					when(mockFactory2.getStore()).thenReturn(store2);
+					when(mockFactory2.getStoreInterface()).thenAnswer(invocation -> OtherEntityContentStoreInterface.class);
+
+                    context = mock(ApplicationContext.class);
+                    when(context.getBeanNamesForType(StoreFactory.class)).thenReturn(new String[]{"&testStoreFactory1", "&testStoreFactory2"});
+                    when(context.getBean("&testStoreFactory1", StoreFactory.class)).thenReturn(mockFactory);
+                    when(context.getBean("&testStoreFactory2", StoreFactory.class)).thenReturn(mockFactory2);
+                    when(context.getBean("testStoreFactory1", Store.class)).thenReturn(store);
+                    when(context.getBean("testStoreFactory2", Store.class)).thenReturn(store2);
+				});
+				It("should return the store for a domain class", () -> {
+					StoreInfo info = contentRepoService.getStore(ContentStore.class, Stores.withDomainClass(OtherEntity.class));
+					assertThat(info.getInterface(), is(OtherEntityContentStoreInterface.class));
+				});
 			});
 			Context("given multiple stores for the same Entity", () -> {
 				BeforeEach(() -> {
@@ -249,6 +281,8 @@ public class StoresImplTest {
 		});
 	}
 
+	private static final Function<StoreInfo, String> STORE_NAME = info -> info.getInterface().getSimpleName();
+
 	@Test
 	public void test() {
 	}
@@ -280,4 +314,7 @@ public class StoresImplTest {
 
 	public interface JpaEntityStoreInterface extends ContentStore<Entity, String> {
 	}
+
+	public interface OtherEntityContentStoreInterface extends ContentStore<OtherEntity, String> {
+	}
 }
@@ -0,0 +1,87 @@
+package internal.org.springframework.content.commons.utils;
+
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.BeforeEach;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.Context;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.Describe;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.It;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import org.junit.runner.RunWith;
+
+import com.github.paulcwarren.ginkgo4j.Ginkgo4jRunner;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@RunWith(Ginkgo4jRunner.class)
+public class PropertyPathAccessorTest {
+
+    private TestEntity entity;
+
+    {
+        Describe("PropertyPathAccessor", () -> {
+            BeforeEach(() -> {
+                entity = new TestEntity();
+            });
+            It("should return the same accessor for the same class and path", () -> {
+                assertThat(PropertyPathAccessor.forPath(TestEntity.class, "contentId"), is(sameInstance(PropertyPathAccessor.forPath(TestEntity.class, "contentId"))));
+            });
+            Context("given a simple path", () -> {
+                It("should get and set the value", () -> {
+                    PropertyPathAccessor accessor = PropertyPathAccessor.forPath(TestEntity.class, "contentId");
+                    assertThat(accessor.isResolved(), is(true));
+                    assertThat(accessor.setValue(entity, "12345"), is(true));
+                    assertThat(accessor.getValue(entity), is("12345"));
+                });
+                It("should box and unbox primitive values", () -> {
+                    PropertyPathAccessor accessor = PropertyPathAccessor.forPath(TestEntity.class, "contentLength");
+                    assertThat(accessor.setValue(entity, 10L), is(true));
+                    assertThat(accessor.getValue(entity), is(10L));
+                });
+                It("should not set values that require conversion", () -> {
+                    PropertyPathAccessor accessor = PropertyPathAccessor.forPath(TestEntity.class, "contentLength");
+                    assertThat(accessor.setValue(entity, "10"), is(false));
+                    assertThat(accessor.setValue(entity, null), is(false));
+                });
+            });
+            Context("given a nested path", () -> {
+                It("should return null when an intermediate value is null", () -> {
+                    PropertyPathAccessor accessor = PropertyPathAccessor.forPath(TestEntity.class, "child.contentId");
+                    assertThat(accessor.isResolved(), is(true));
+                    assertThat(accessor.getValue(entity), is(nullValue()));
+                    assertThat(accessor.setValue(entity, "12345"), is(false));
+                });
+                It("should get and set the nested value", () -> {
+                    entity.setChild(new TestChild());
+                    PropertyPathAccessor accessor = PropertyPathAccessor.forPath(TestEntity.class, "child.contentId");
+                    assertThat(accessor.setValue(entity, "12345"), is(true));
+                    assertThat(entity.getChild().getContentId(), is("12345"));
+                    assertThat(accessor.getValue(entity), is("12345"));
+                });
+            });
+            Context("given an unknown path", () -> {
+                It("should not be resolved", () -> {
+                    assertThat(PropertyPathAccessor.forPath(TestEntity.class, "missing").isResolved(), is(false));
+                    assertThat(PropertyPathAccessor.forPath(TestEntity.class, "child.missing").isResolved(), is(false));
+                });
+            });
+        });
+    }
+
+    @Getter
+    @Setter
+    public static class TestEntity {
+        private String contentId;
+        private long contentLength;
+        private TestChild child;
+    }
+
+    @Getter
+    @Setter
+    public static class TestChild {
+        private String contentId;
+    }
+}
@@ -0,0 +1,77 @@
+package org.springframework.content.commons.io;
+
+import com.github.paulcwarren.ginkgo4j.Ginkgo4jRunner;
+import org.apache.commons.io.IOUtils;
+import org.junit.runner.RunWith;
+import org.springframework.core.io.ByteArrayResource;
+
+import java.io.EOFException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.*;
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+@RunWith(Ginkgo4jRunner.class)
+public class RangeableResourceTest {
+
+    private RangeableResource resource;
+
+    {
+        Describe("RangeableResource", () -> {
+            Context("#getInputStream(start, end)", () -> {
+                Context("given a resource that is an input stream source", () -> {
+                    BeforeEach(() -> {
+                        resource = new TestResource("0123456789");
+                    });
+                    It("should return the range", () -> {
+                        try (InputStream in = resource.getInputStream(2, 5)) {
+                            assertThat(IOUtils.toString(in, StandardCharsets.UTF_8), is("2345"));
+                        }
+                    });
+                    It("should return the end of the content when the range ends beyond it", () -> {
+                        try (InputStream in = resource.getInputStream(8, 20)) {
+                            assertThat(IOUtils.toString(in, StandardCharsets.UTF_8), is("89"));
+                        }
+                    });
+                    It("should fail when the range starts beyond the content", () -> {
+                        Exception e = null;
+                        try {
+                            resource.getInputStream(20, 25);
+                        } catch (Exception ex) {
+                            e = ex;
+                        }
+                        assertThat(e, is(instanceOf(EOFException.class)));
+                    });
+                });
+                Context("given a resource that is not an input stream source", () -> {
+                    BeforeEach(() -> {
+                        resource = range -> {};
+                    });
+                    It("should not be supported", () -> {
+                        Exception e = null;
+                        try {
+                            resource.getInputStream(2, 5);
+                        } catch (Exception ex) {
+                            e = ex;
+                        }
+                        assertThat(e, is(instanceOf(UnsupportedOperationException.class)));
+                    });
+                });
+            });
+        });
+    }
+
+    public static class TestResource extends ByteArrayResource implements RangeableResource {
+
+        public TestResource(String content) {
+            super(content.getBytes(StandardCharsets.UTF_8));
+        }
+
+        @Override
+        public void setRange(String range) {
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package org.springframework.content.commons.io;
+
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.BeforeEach;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.Context;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.Describe;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.It;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.Serializable;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.runner.RunWith;
+import org.springframework.content.commons.store.ContentStore;
+import org.springframework.content.commons.store.events.AfterGetContentEvent;
+import org.springframework.content.commons.store.events.BeforeUnsetContentEvent;
+import org.springframework.core.io.Resource;
+
+import com.github.paulcwarren.ginkgo4j.Ginkgo4jRunner;
+
+@RunWith(Ginkgo4jRunner.class)
+public class ResourceMetadataCacheTest {
+
+    private ResourceMetadataCache cache;
+
+    private Resource resource;
+
+    private AtomicInteger loads;
+
+    private ResourceMetadata metadata = new ResourceMetadata(true, 10L, 1L, "text/plain", "etag");
+
+    {
+        Describe("ResourceMetadataCache", () -> {
+            BeforeEach(() -> {
+                cache = new ResourceMetadataCache(2, Duration.ofMinutes(1));
+                resource = resource("some-resource");
+                loads = new AtomicInteger();
+            });
+            It("should load metadata once", () -> {
+                assertThat(cache.get(resource, this::load), is(sameInstance(metadata)));
+                assertThat(cache.get(resource, this::load), is(sameInstance(metadata)));
+                assertThat(loads.get(), is(1));
+            });
+            It("should load metadata again once evicted", () -> {
+                cache.get(resource, this::load);
+                cache.evict(resource);
+                cache.get(resource, this::load);
+                assertThat(loads.get(), is(2));
+            });
+            It("should evict the least recently used entry when full", () -> {
+                Resource other = resource("other-resource");
+                cache.get(resource, this::load);
+                cache.get(other, this::load);
+                cache.get(resource, this::load);
+                cache.get(resource("another-resource"), this::load);
+
+                assertThat(cache.size(), is(2));
+                cache.get(resource, this::load);
+                assertThat(loads.get(), is(3));
+                cache.get(other, this::load);
+                assertThat(loads.get(), is(4));
+            });
+            It("should not cache metadata loaded while the resource was evicted", () -> {
+                cache.get(resource, () -> {
+                    cache.evict(resource);
+                    return load();
+                });
+                cache.get(resource, this::load);
+                assertThat(loads.get(), is(2));
+            });
+            It("should cache metadata loaded while another resource was evicted", () -> {
+                cache.get(resource, () -> {
+                    cache.evict(resource("other-resource"));
+                    return load();
+                });
+                cache.get(resource, this::load);
+                assertThat(loads.get(), is(1));
+            });
+            Context("given an expired entry", () -> {
+                BeforeEach(() -> {
+                    cache = new ResourceMetadataCache(2, Duration.ofNanos(1));
+                });
+                It("should load metadata again", () -> {
+                    cache.get(resource, this::load);
+                    Thread.sleep(1);
+                    cache.get(resource, this::load);
+                    assertThat(loads.get(), is(2));
+                });
+            });
+            Context("given a store event", () -> {
+                Object entity = new Object();
+                ContentStore<Object, Serializable> store = mock(ContentStore.class);
+
+                BeforeEach(() -> {
+                    when(store.getResource(entity)).thenReturn(resource);
+                    cache.get(resource, this::load);
+                });
+                It("should evict the resource of content that is changed", () -> {
+                    cache.onApplicationEvent(new BeforeUnsetContentEvent(entity, store));
+                    assertThat(cache.size(), is(0));
+                });
+                It("should ignore events that do not change content", () -> {
+                    cache.onApplicationEvent(new AfterGetContentEvent(entity, store));
+                    assertThat(cache.size(), is(1));
+                });
+            });
+        });
+    }
+
+    private ResourceMetadata load() {
+        loads.incrementAndGet();
+        return metadata;
+    }
+
+    private static Resource resource(String description) {
+        Resource resource = mock(Resource.class);
+        when(resource.getDescription()).thenReturn(description);
+        return resource;
+    }
+}
@@ -0,0 +1,112 @@
+package org.springframework.content.commons.mappingcontext;
+
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.BeforeEach;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.Context;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.Describe;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.It;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.JustBeforeEach;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.runner.RunWith;
+import org.springframework.content.commons.annotations.ContentId;
+import org.springframework.content.commons.annotations.ContentLength;
+import org.springframework.content.commons.storeservice.StoreInfo;
+import org.springframework.content.commons.storeservice.Stores;
+
+import com.github.paulcwarren.ginkgo4j.Ginkgo4jRunner;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@RunWith(Ginkgo4jRunner.class)
+public class MappingContextTest {
+
+    private MappingContext context;
+
+    {
+        Describe("MappingContext", () -> {
+            BeforeEach(() -> {
+                context = new MappingContext("/", ".");
+            });
+            Context("given concurrent first access", () -> {
+                It("should resolve the domain class once", () -> {
+                    AtomicInteger resolutions = new AtomicInteger();
+                    context = new MappingContext("/", ".") {
+                        @Override
+                        Map<String, ContentProperty> resolveProperties(Class<?> domainClass) {
+                            resolutions.incrementAndGet();
+                            return super.resolveProperties(domainClass);
+                        }
+                    };
+
+                    ExecutorService executor = Executors.newFixedThreadPool(8);
+                    try {
+                        CountDownLatch start = new CountDownLatch(1);
+                        List<Callable<ContentProperty>> tasks = new ArrayList<>();
+                        for (int i = 0; i < 32; i++) {
+                            tasks.add(() -> {
+                                start.await();
+                                return context.getContentProperty(TestEntity.class, "content");
+                            });
+                        }
+
+                        List<Future<ContentProperty>> results = new ArrayList<>();
+                        for (Callable<ContentProperty> task : tasks) {
+                            results.add(executor.submit(task));
+                        }
+                        start.countDown();
+
+                        ContentProperty expected = results.get(0).get();
+                        for (Future<ContentProperty> result : results) {
+                            assertThat(result.get(), is(sameInstance(expected)));
+                        }
+                        assertThat(resolutions.get(), is(1));
+                    } finally {
+                        executor.shutdown();
+                    }
+                });
+            });
+            Context("#warmUp", () -> {
+                JustBeforeEach(() -> {
+                    StoreInfo info = mock(StoreInfo.class);
+                    when(info.getDomainObjectClass()).thenReturn((Class) TestEntity.class);
+
+                    Stores stores = mock(Stores.class);
+                    when(stores.getStores(Stores.MATCH_ALL)).thenReturn(new StoreInfo[] {info});
+
+                    context.warmUp(stores);
+                });
+                It("should resolve the content properties of each store's domain class", () -> {
+                    ContentProperty property = context.getContentProperty(TestEntity.class, "content");
+                    assertThat(property, is(not(nullValue())));
+                    assertThat(property.getContentIdPropertyPath(), is("contentId"));
+                });
+            });
+        });
+    }
+
+    @Getter
+    @Setter
+    public static class TestEntity {
+        @ContentId
+        private String contentId;
+        @ContentLength
+        private Long contentLength;
+    }
+}
@@ -0,0 +1,193 @@
+package org.springframework.content.commons.renditions;
+
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.AfterEach;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.BeforeEach;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.Context;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.Describe;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.It;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.IOUtils;
+import org.junit.runner.RunWith;
+import org.springframework.content.commons.annotations.ContentId;
+import org.springframework.content.commons.io.DeletableResource;
+import org.springframework.content.commons.mappingcontext.ContentProperty;
+import org.springframework.content.commons.mappingcontext.MappingContext;
+import org.springframework.content.commons.property.PropertyPath;
+import org.springframework.content.commons.store.ContentStore;
+import org.springframework.content.commons.store.Store;
+import org.springframework.content.commons.store.events.AfterSetContentEvent;
+import org.springframework.core.io.FileSystemResource;
+
+import com.github.paulcwarren.ginkgo4j.Ginkgo4jRunner;
+
+@RunWith(Ginkgo4jRunner.class)
+public class StoreRenditionCacheTest {
+
+    private StoreRenditionCache cache;
+
+    private Store<String> store;
+    private File dir;
+
+    private RenditionKey key = new RenditionKey("12345", "1", "image/jpeg");
+
+    {
+        Describe("StoreRenditionCache", () -> {
+            BeforeEach(() -> {
+                dir = Files.createTempDirectory("renditions").toFile();
+                store = mock(Store.class);
+                when(store.getResource(anyString())).thenAnswer((invocation) -> new TestResource(new File(dir, invocation.getArgument(0))));
+
+                cache = new StoreRenditionCache(store, 2, 1024);
+            });
+            AfterEach(() -> {
+                FileUtils.deleteDirectory(dir);
+            });
+            It("should not return renditions that are not cached", () -> {
+                assertThat(cache.get(key), is(nullValue()));
+            });
+            It("should return the rendition whilst caching it", () -> {
+                try (InputStream is = cache.put(key, rendition(3))) {
+                    assertThat(IOUtils.toByteArray(is), is(new byte[] {0, 1, 2}));
+                }
+                try (InputStream is = cache.get(key)) {
+                    assertThat(IOUtils.toByteArray(is), is(new byte[] {0, 1, 2}));
+                }
+            });
+            It("should not cache renditions that were not completely read", () -> {
+                try (InputStream is = cache.put(key, rendition(3))) {
+                    is.read();
+                }
+                assertThat(cache.get(key), is(nullValue()));
+                assertThat(renditions(), is(0));
+            });
+            It("should evict the least recently used rendition when there are too many", () -> {
+                RenditionKey other = new RenditionKey("67890", "1", "image/jpeg");
+                cache(key, 1);
+                cache(other, 1);
+                cache.get(key).close();
+                cache(new RenditionKey("abcde", "1", "image/jpeg"), 1);
+
+                assertThat(cache.size(), is(2));
+                assertThat(cache.get(other), is(nullValue()));
+                assertThat(cache.get(key), is(not(nullValue())));
+                assertThat(renditions(), is(2));
+            });
+            It("should evict renditions when they exceed the maximum size", () -> {
+                cache(key, 1000);
+                cache(new RenditionKey("67890", "1", "image/jpeg"), 100);
+
+                assertThat(cache.size(), is(1));
+                assertThat(cache.get(key), is(nullValue()));
+            });
+            Context("given the cache is restarted", () -> {
+                BeforeEach(() -> {
+                    cache(key, 3);
+                    cache = new StoreRenditionCache(store, 2, 1024);
+                });
+                It("should return renditions cached before the restart", () -> {
+                    assertThat(cache.size(), is(1));
+                    try (InputStream is = cache.get(key)) {
+                        assertThat(IOUtils.toByteArray(is), is(new byte[] {0, 1, 2}));
+                    }
+                });
+                It("should evict renditions cached before the restart", () -> {
+                    cache.evict("12345");
+                    assertThat(cache.get(key), is(nullValue()));
+                    assertThat(renditions(), is(0));
+                });
+                It("should evict renditions cached before the restart that exceed smaller limits", () -> {
+                    cache = new StoreRenditionCache(store, 2, 2);
+                    assertThat(cache.size(), is(0));
+                    assertThat(renditions(), is(0));
+                });
+            });
+            It("should not cache a rendition whose content changed whilst it was written", () -> {
+                try (InputStream is = cache.put(key, rendition(3))) {
+                    cache.evict("12345");
+                    IOUtils.toByteArray(is);
+                }
+                assertThat(cache.get(key), is(nullValue()));
+            });
+            Context("given content is set", () -> {
+                BeforeEach(() -> {
+                    cache(key, 1);
+                    cache(new RenditionKey("12345", "1", "image/png"), 1);
+                });
+                It("should evict the content's renditions", () -> {
+                    cache.onApplicationEvent(new AfterSetContentEvent(new TestEntity("12345"), mock(ContentStore.class)));
+                    assertThat(cache.size(), is(0));
+                    assertThat(renditions(), is(0));
+                });
+                It("should resolve the content id of a content property with the mapping context", () -> {
+                    MappingContext mappingContext = mock(MappingContext.class);
+                    ContentProperty property = mock(ContentProperty.class);
+                    TestEntity entity = new TestEntity(null);
+                    when(mappingContext.getContentProperty(TestEntity.class, "content")).thenReturn(property);
+                    when(property.getContentId(entity)).thenReturn("12345");
+                    cache.setMappingContext(mappingContext);
+
+                    cache.onApplicationEvent(new AfterSetContentEvent(entity, PropertyPath.from("content"), mock(ContentStore.class)));
+                    assertThat(cache.size(), is(0));
+                });
+            });
+        });
+    }
+
+    private void cache(RenditionKey key, int size) throws IOException {
+        try (InputStream is = cache.put(key, rendition(size))) {
+            IOUtils.toByteArray(is);
+        }
+    }
+
+    private int renditions() {
+        return dir.list((d, name) -> !name.equals(StoreRenditionCache.INDEX_LOCATION)).length;
+    }
+
+    private static InputStream rendition(int size) {
+        byte[] content = new byte[size];
+        for (int i = 0; i < size; i++) {
+            content[i] = (byte) i;
+        }
+        return new ByteArrayInputStream(content);
+    }
+
+    public static class TestEntity {
+
+        @ContentId
+        private String contentId;
+
+        public TestEntity(String contentId) {
+            this.contentId = contentId;
+        }
+
+        public String getContentId() {
+            return contentId;
+        }
+    }
+
+    private static class TestResource extends FileSystemResource implements DeletableResource {
+
+        TestResource(File file) {
+            super(file);
+        }
+
+        @Override
+        public void delete() throws IOException {
+            Files.deleteIfExists(getFile().toPath());
+        }
+    }
+}
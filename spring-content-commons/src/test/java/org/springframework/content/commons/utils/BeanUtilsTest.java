@@ -216,6 +216,13 @@ public class BeanUtilsTest {
 						}
 					});
 				});
+				Context("given a class without a default constructor", () -> {
+					It("should get the field", () -> {
+						Object value = BeanUtils.getFieldWithAnnotation(new NoDefaultConstructorTestEntity("a value"),
+								ContentId.class);
+						assertThat(value, is("a value"));
+					});
+				});
 			});
 
 			Context("#hasFieldWithAnnotation", () -> {
@@ -407,6 +414,19 @@ public class BeanUtilsTest {
 
 	public static class InheritingTestEntity extends TestEntity {}
 
+	public static class NoDefaultConstructorTestEntity {
+		@ContentId
+		private String contentId;
+
+		public NoDefaultConstructorTestEntity(String contentId) {
+			this.contentId = contentId;
+		}
+
+		public String getContentId() {
+			return contentId;
+		}
+	}
+
 	public static class TestEntity2 {
 		@ContentId public String contentId;
 		@ContentLength private String contentLen;
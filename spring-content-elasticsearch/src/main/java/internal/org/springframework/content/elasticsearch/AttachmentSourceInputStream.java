@@ -0,0 +1,114 @@
+package internal.org.springframework.content.elasticsearch;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Reads the JSON source of a document that is indexed by the attachment pipeline.
+ * <p>
+ * The content is base64 encoded into the document's {@code data} field as the document is read, so neither the
+ * content nor its encoding is ever held in memory as a whole.  When {@code maxContentBytes} is not negative, only
+ * that many bytes of content are indexed.
+ */
+class AttachmentSourceInputStream extends InputStream {
+
+    // a multiple of 3 so that every chunk, but the last, encodes without padding
+    private static final int CHUNK_SIZE = 3 * 1024;
+
+    private static final byte[] SUFFIX = "\"}".getBytes(StandardCharsets.UTF_8);
+
+    private final InputStream content;
+    private final Base64.Encoder encoder = Base64.getEncoder();
+    private final byte[] chunk = new byte[CHUNK_SIZE];
+    private final byte[] encodedChunk = new byte[CHUNK_SIZE / 3 * 4];
+
+    private long remainingContentBytes;
+    private boolean contentRead = false;
+    private boolean suffixRead = false;
+
+    private byte[] buffer;
+    private int position = 0;
+    private int limit;
+
+    AttachmentSourceInputStream(Map<String, String> attributes, InputStream content, long maxContentBytes, ObjectMapper objectMapper) throws JsonProcessingException {
+        this.content = content;
+        this.remainingContentBytes = maxContentBytes < 0 ? Long.MAX_VALUE : maxContentBytes;
+
+        Map<String, String> attributesToSync = new LinkedHashMap<>(attributes);
+        attributesToSync.remove("data");
+
+        String json = objectMapper.writeValueAsString(attributesToSync);
+        String prefix = json.substring(0, json.length() - 1) + (attributesToSync.isEmpty() ? "" : ",") + "\"data\":\"";
+        this.buffer = prefix.getBytes(StandardCharsets.UTF_8);
+        this.limit = buffer.length;
+    }
+
+    @Override
+    public int read() throws IOException {
+        if (!fill()) {
+            return -1;
+        }
+        return buffer[position++] & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        if (len == 0) {
+            return 0;
+        }
+        if (!fill()) {
+            return -1;
+        }
+        int n = Math.min(len, limit - position);
+        System.arraycopy(buffer, position, b, off, n);
+        position += n;
+        return n;
+    }
+
+    @Override
+    public void close() throws IOException {
+        content.close();
+    }
+
+    private boolean fill() throws IOException {
+        if (position < limit) {
+            return true;
+        }
+
+        if (!contentRead) {
+            int n = content.readNBytes(chunk, 0, (int) Math.min(CHUNK_SIZE, remainingContentBytes));
+            remainingContentBytes -= n;
+            if (n < CHUNK_SIZE || remainingContentBytes == 0) {
+                contentRead = true;
+            }
+            if (n > 0) {
+                if (n == CHUNK_SIZE) {
+                    limit = encoder.encode(chunk, encodedChunk);
+                } else {
+                    limit = encoder.encode(Arrays.copyOf(chunk, n), encodedChunk);
+                }
+                buffer = encodedChunk;
+                position = 0;
+                return true;
+            }
+        }
+
+        if (!suffixRead) {
+            suffixRead = true;
+            buffer = SUFFIX;
+            position = 0;
+            limit = SUFFIX.length;
+            return true;
+        }
+
+        return false;
+    }
+}
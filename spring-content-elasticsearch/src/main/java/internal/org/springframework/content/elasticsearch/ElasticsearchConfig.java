@@ -1,17 +1,23 @@
 package internal.org.springframework.content.elasticsearch;
 
 import java.io.IOException;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
 
 import org.elasticsearch.client.RestHighLevelClient;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.content.commons.renditions.RenditionProvider;
 import org.springframework.content.commons.renditions.RenditionService;
 import org.springframework.content.commons.search.IndexService;
+import org.springframework.content.commons.storeservice.Stores;
 import org.springframework.content.elasticsearch.AttributeProvider;
+import org.springframework.content.elasticsearch.IndexingOutbox;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.PlatformTransactionManager;
 
 import internal.org.springframework.content.commons.renditions.RenditionServiceImpl;
 
@@ -27,6 +33,45 @@ public class ElasticsearchConfig {
     @Autowired(required = false)
     private AttributeProvider attributeProvider;
 
+    @Autowired(required = false)
+    private IndexingOutbox indexingOutbox;
+
+    @Autowired
+    private ObjectProvider<Stores> stores;
+
+    @Autowired
+    private ObjectProvider<PlatformTransactionManager> transactionManager;
+
+    @Value("${spring.content.elasticsearch.max-indexed-bytes:-1}")
+    private long maxIndexedBytes = -1;
+
+    @Value("${spring.content.elasticsearch.async.enabled:false}")
+    private boolean asyncEnabled = false;
+
+    @Value("${spring.content.elasticsearch.async.queue-capacity:10000}")
+    private int asyncQueueCapacity = 10000;
+
+    @Value("${spring.content.elasticsearch.async.bulk-actions:1000}")
+    private int asyncBulkActions = 1000;
+
+    @Value("${spring.content.elasticsearch.async.bulk-size-bytes:5242880}")
+    private long asyncBulkSizeBytes = 5 * 1024 * 1024;
+
+    @Value("${spring.content.elasticsearch.async.flush-interval-ms:1000}")
+    private long asyncFlushIntervalMs = 1000;
+
+    @Value("${spring.content.elasticsearch.async.max-retries:3}")
+    private int asyncMaxRetries = 3;
+
+    @Value("${spring.content.elasticsearch.async.retry-backoff-ms:100}")
+    private long asyncRetryBackoffMs = 100;
+
+    @Value("${spring.content.elasticsearch.async.offer-timeout-ms:30000}")
+    private long asyncOfferTimeoutMs = 30000;
+
+    @Value("${spring.content.elasticsearch.async.dead-letter-capacity:1000}")
+    private int asyncDeadLetterCapacity = 1000;
+
     private List<RenditionProvider> providers = new ArrayList<>();
 
     @Autowired(required=false)
@@ -45,7 +90,25 @@ public class ElasticsearchConfig {
 
     @Bean
     public IndexService elasticFulltextIndexService() throws IOException {
-        return new ElasticsearchIndexServiceImpl(client, this.getRenditionService(), indexManager(), attributeProvider);
+        ElasticsearchIndexServiceImpl indexService = new ElasticsearchIndexServiceImpl(client, this.getRenditionService(), indexManager(), attributeProvider);
+        indexService.setMaxIndexedBytes(maxIndexedBytes);
+        return indexService;
+    }
+
+    @Bean
+    public ElasticsearchIndexQueue elasticsearchIndexQueue() throws IOException {
+        ElasticsearchIndexQueue queue = new ElasticsearchIndexQueue((ElasticsearchIndexServiceImpl) elasticFulltextIndexService(), indexingOutbox, stores);
+        queue.setEnabled(asyncEnabled);
+        queue.setCapacity(asyncQueueCapacity);
+        queue.setBulkActions(asyncBulkActions);
+        queue.setBulkSizeBytes(asyncBulkSizeBytes);
+        queue.setFlushInterval(Duration.ofMillis(asyncFlushIntervalMs));
+        queue.setMaxRetries(asyncMaxRetries);
+        queue.setRetryBackoff(Duration.ofMillis(asyncRetryBackoffMs));
+        queue.setOfferTimeout(Duration.ofMillis(asyncOfferTimeoutMs));
+        queue.setDeadLetterCapacity(asyncDeadLetterCapacity);
+        queue.setTransactionManager(transactionManager.getIfUnique());
+        return queue;
     }
 
     @Bean
@@ -0,0 +1,419 @@
+package internal.org.springframework.content.elasticsearch;
+
+import static java.lang.String.format;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.elasticsearch.ElasticsearchStatusException;
+import org.elasticsearch.action.DocWriteRequest;
+import org.elasticsearch.action.bulk.BulkItemResponse;
+import org.elasticsearch.action.bulk.BulkRequest;
+import org.elasticsearch.action.bulk.BulkResponse;
+import org.elasticsearch.rest.RestStatus;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.content.commons.repository.StoreAccessException;
+import org.springframework.content.commons.store.ContentStore;
+import org.springframework.content.commons.storeservice.StoreInfo;
+import org.springframework.content.commons.storeservice.Stores;
+import org.springframework.content.elasticsearch.IndexingOperation;
+import org.springframework.content.elasticsearch.IndexingOutbox;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Indexes content asynchronously, off the thread that set the content.
+ * <p>
+ * Operations are queued and sent to Elasticsearch in bulk requests by a single background thread.  A bulk request is
+ * sent when it holds {@code bulkActions} operations, when it reaches {@code bulkSizeBytes}, or when
+ * {@code flushInterval} has passed since its first operation was taken from the queue, whichever comes first.
+ * Operations are sent in the order they were submitted.
+ * <p>
+ * The queue is bounded; when it is full, submitting an operation blocks for up to {@code offerTimeout} before failing.
+ * Bulk requests that fail, and operations that Elasticsearch rejects because it is overloaded, are retried up to
+ * {@code maxRetries} times, with an exponential backoff starting at {@code retryBackoff}.
+ * <p>
+ * When an {@link IndexingOutbox} is provided, operations are recorded in it until Elasticsearch indexes them, and
+ * operations that are still pending are submitted again when the queue starts.
+ * <p>
+ * Operations that can not be indexed, because their content can not be read or because Elasticsearch rejects them, are
+ * moved to a dead-letter list, holding up to {@code deadLetterCapacity} operations, rather than being submitted again.
+ * <p>
+ * Content is read in a read-only transaction when a transaction manager is set, as stores such as JPA stores can only
+ * read content within a transaction.  Operations submitted without a store, like pending operations, read their content
+ * from the store of their entity's type, found with the application's {@link Stores}.
+ */
+public class ElasticsearchIndexQueue implements SmartLifecycle {
+
+    private static final Log LOGGER = LogFactory.getLog(ElasticsearchIndexQueue.class);
+
+    private static final Duration SHUTDOWN_TIMEOUT = Duration.ofSeconds(30);
+    private static final Duration POLL_INTERVAL = Duration.ofMillis(100);
+
+    private final ElasticsearchIndexServiceImpl<Object> indexService;
+    private final IndexingOutbox outbox;
+    private final ObjectProvider<Stores> stores;
+
+    private boolean enabled = true;
+    private int capacity = 10000;
+    private int bulkActions = 1000;
+    private long bulkSizeBytes = 5 * 1024 * 1024;
+    private Duration flushInterval = Duration.ofSeconds(1);
+    private int maxRetries = 3;
+    private Duration retryBackoff = Duration.ofMillis(100);
+    private Duration offerTimeout = Duration.ofSeconds(30);
+    private int deadLetterCapacity = 1000;
+    private TransactionTemplate transactionTemplate;
+
+    private volatile BlockingQueue<QueuedOperation> queue;
+    private final Deque<IndexingOperation> deadLetters = new ArrayDeque<>();
+    private Thread worker;
+    private volatile boolean running = false;
+
+    public ElasticsearchIndexQueue(ElasticsearchIndexServiceImpl<Object> indexService, IndexingOutbox outbox, ObjectProvider<Stores> stores) {
+        this.indexService = indexService;
+        this.outbox = outbox;
+        this.stores = stores;
+    }
+
+    /**
+     * Queues an operation to be sent to Elasticsearch
+     *
+     * @param operation the operation
+     * @param store the store to read the content from, or null to look it up by the entity's type
+     * @throws StoreAccessException when the queue stays full for longer than {@code offerTimeout}
+     * @throws IllegalStateException when the queue has not been started
+     */
+    public void submit(IndexingOperation operation, ContentStore store) {
+
+        BlockingQueue<QueuedOperation> queue = this.queue;
+        if (queue == null) {
+            throw new IllegalStateException(format("Unable to queue content %s for indexing, the indexing queue has not been started", operation.getContentId()));
+        }
+
+        if (outbox != null) {
+            outbox.add(operation);
+        }
+
+        boolean queued = false;
+        try {
+            queued = queue.offer(new QueuedOperation(operation, store), offerTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        }
+        catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+        }
+
+        if (!queued) {
+            if (outbox != null) {
+                outbox.remove(operation);
+            }
+            throw new StoreAccessException(format("Unable to queue content %s for indexing", operation.getContentId()));
+        }
+    }
+
+    /**
+     * @return the most recent operations that could not be indexed, oldest first
+     */
+    public List<IndexingOperation> getDeadLetters() {
+        synchronized (deadLetters) {
+            return new ArrayList<>(deadLetters);
+        }
+    }
+
+    @Override
+    public boolean isAutoStartup() {
+        return enabled;
+    }
+
+    @Override
+    public synchronized void start() {
+
+        if (running) {
+            return;
+        }
+
+        queue = new LinkedBlockingQueue<>(capacity);
+        running = true;
+
+        worker = new Thread(this::run, "elasticsearch-indexer");
+        worker.setDaemon(true);
+        worker.start();
+
+        if (outbox != null) {
+            for (IndexingOperation operation : outbox.pending()) {
+                try {
+                    queue.put(new QueuedOperation(operation, null));
+                }
+                catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    @Override
+    public synchronized void stop() {
+
+        if (!running) {
+            return;
+        }
+
+        // the worker drains the queue before it exits
+        running = false;
+        try {
+            worker.join(SHUTDOWN_TIMEOUT.toMillis());
+        }
+        catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+        }
+        if (worker.isAlive()) {
+            LOGGER.warn(format("Stopped with %d indexing operations still queued", queue.size()));
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void run() {
+
+        while (running || !queue.isEmpty()) {
+            try {
+                QueuedOperation first = queue.poll(POLL_INTERVAL.toMillis(), TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+
+                List<QueuedOperation> operations = new ArrayList<>();
+                BulkRequest bulk = new BulkRequest();
+                add(first, operations, bulk);
+
+                long deadline = System.nanoTime() + flushInterval.toNanos();
+                while (operations.size() < bulkActions && bulk.estimatedSizeInBytes() < bulkSizeBytes) {
+                    QueuedOperation next = queue.poll();
+                    if (next == null) {
+                        // when stopping, whatever is queued is sent without waiting for the flush interval
+                        long remaining = deadline - System.nanoTime();
+                        if (remaining <= 0 || !running) {
+                            break;
+                        }
+                        next = queue.poll(Math.min(remaining, POLL_INTERVAL.toNanos()), TimeUnit.NANOSECONDS);
+                        if (next == null) {
+                            continue;
+                        }
+                    }
+                    add(next, operations, bulk);
+                }
+
+                if (!operations.isEmpty()) {
+                    send(operations, bulk);
+                }
+            }
+            catch (InterruptedException ie) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            catch (RuntimeException re) {
+                LOGGER.error("Unexpected error indexing content", re);
+            }
+        }
+    }
+
+    private void add(QueuedOperation queued, List<QueuedOperation> operations, BulkRequest bulk) {
+
+        IndexingOperation operation = queued.operation;
+        try {
+            DocWriteRequest<?> request = request(queued);
+            if (request == null) {
+                // the content was unset before it could be indexed
+                completed(operation);
+                return;
+            }
+            operations.add(queued);
+            bulk.add(request);
+        }
+        catch (RuntimeException re) {
+            LOGGER.error(format("Unable to prepare content %s for indexing", operation.getContentId()), re);
+            deadLetter(operation);
+        }
+    }
+
+    private DocWriteRequest<?> request(QueuedOperation queued) {
+
+        IndexingOperation operation = queued.operation;
+        if (operation.getType() == IndexingOperation.Type.UNINDEX) {
+            return indexService.deleteRequest(operation.getEntity(), operation.getContentId());
+        }
+
+        if (transactionTemplate == null) {
+            return indexRequest(queued);
+        }
+        return transactionTemplate.execute(status -> indexRequest(queued));
+    }
+
+    private DocWriteRequest<?> indexRequest(QueuedOperation queued) {
+
+        IndexingOperation operation = queued.operation;
+        ContentStore store = queued.store != null ? queued.store : store(operation.getEntity().getClass());
+        InputStream content = store.getContent(operation.getEntity());
+        if (content == null) {
+            return null;
+        }
+        return indexService.indexRequest(operation.getEntity(), content);
+    }
+
+    private void send(List<QueuedOperation> operations, BulkRequest bulk) throws InterruptedException {
+
+        for (int attempt = 0; ; attempt++) {
+
+            List<QueuedOperation> retryOperations = new ArrayList<>();
+            BulkRequest retryBulk = new BulkRequest();
+
+            try {
+                BulkResponse response = indexService.bulk(bulk);
+                BulkItemResponse[] items = response.getItems();
+                for (int i = 0; i < items.length; i++) {
+                    IndexingOperation operation = operations.get(i).operation;
+                    if (!items[i].isFailed()) {
+                        completed(operation);
+                    }
+                    else if (items[i].status() == RestStatus.TOO_MANY_REQUESTS && attempt < maxRetries) {
+                        retryOperations.add(operations.get(i));
+                        retryBulk.add(bulk.requests().get(i));
+                    }
+                    else {
+                        LOGGER.error(format("Unable to index content %s: %s", operation.getContentId(), items[i].getFailureMessage()));
+                        deadLetter(operation);
+                    }
+                }
+            }
+            catch (IOException | ElasticsearchStatusException | StoreAccessException e) {
+                if (attempt >= maxRetries || !isRetryable(e)) {
+                    LOGGER.error(format("Unable to send %d indexing operations", operations.size()), e);
+                    return;
+                }
+                retryOperations = operations;
+                retryBulk = bulk;
+            }
+
+            if (retryOperations.isEmpty()) {
+                return;
+            }
+
+            LOGGER.debug(format("Retrying %d indexing operations", retryOperations.size()));
+            Thread.sleep(retryBackoff.toMillis() << attempt);
+
+            operations = retryOperations;
+            bulk = retryBulk;
+        }
+    }
+
+    private static boolean isRetryable(Exception e) {
+        if (e instanceof ElasticsearchStatusException) {
+            RestStatus status = ((ElasticsearchStatusException) e).status();
+            return status == RestStatus.TOO_MANY_REQUESTS || status.getStatus() >= 500;
+        }
+        return true;
+    }
+
+    private void completed(IndexingOperation operation) {
+        if (outbox != null) {
+            outbox.remove(operation);
+        }
+    }
+
+    private void deadLetter(IndexingOperation operation) {
+        if (outbox != null) {
+            outbox.deadLetter(operation);
+        }
+        synchronized (deadLetters) {
+            if (deadLetters.size() >= deadLetterCapacity) {
+                deadLetters.removeFirst();
+            }
+            if (deadLetterCapacity > 0) {
+                deadLetters.addLast(operation);
+            }
+        }
+    }
+
+    private ContentStore store(Class<?> domainClass) {
+        Stores stores = this.stores != null ? this.stores.getIfAvailable() : null;
+        if (stores == null) {
+            throw new StoreAccessException(format("Unable to find a content store for %s: no Stores bean", domainClass.getName()));
+        }
+        StoreInfo info = stores.getStore(ContentStore.class, Stores.withDomainClass(domainClass));
+        if (info == null) {
+            throw new StoreAccessException(format("Unable to find a content store for %s", domainClass.getName()));
+        }
+        return info.getImplementation(ContentStore.class);
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public void setCapacity(int capacity) {
+        this.capacity = capacity;
+    }
+
+    public void setBulkActions(int bulkActions) {
+        this.bulkActions = bulkActions;
+    }
+
+    public void setBulkSizeBytes(long bulkSizeBytes) {
+        this.bulkSizeBytes = bulkSizeBytes;
+    }
+
+    public void setFlushInterval(Duration flushInterval) {
+        this.flushInterval = flushInterval;
+    }
+
+    public void setMaxRetries(int maxRetries) {
+        this.maxRetries = maxRetries;
+    }
+
+    public void setRetryBackoff(Duration retryBackoff) {
+        this.retryBackoff = retryBackoff;
+    }
+
+    public void setOfferTimeout(Duration offerTimeout) {
+        this.offerTimeout = offerTimeout;
+    }
+
+    public void setDeadLetterCapacity(int deadLetterCapacity) {
+        this.deadLetterCapacity = deadLetterCapacity;
+    }
+
+    public void setTransactionManager(PlatformTransactionManager transactionManager) {
+        if (transactionManager == null) {
+            this.transactionTemplate = null;
+            return;
+        }
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+    }
+
+    private static class QueuedOperation {
+
+        private final IndexingOperation operation;
+        private final ContentStore store;
+
+        private QueuedOperation(IndexingOperation operation, ContentStore store) {
+            this.operation = operation;
+            this.store = store;
+        }
+    }
+}
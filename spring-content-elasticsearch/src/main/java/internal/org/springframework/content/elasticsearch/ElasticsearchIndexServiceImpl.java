@@ -2,29 +2,33 @@ package internal.org.springframework.content.elasticsearch;
 
 import static java.lang.String.format;
 
-import java.io.BufferedInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
-import java.util.Arrays;
-import java.util.Base64;
 import java.util.HashMap;
 import java.util.Map;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
+import org.apache.http.entity.ContentType;
+import org.apache.http.entity.InputStreamEntity;
 import org.elasticsearch.ElasticsearchStatusException;
+import org.elasticsearch.action.bulk.BulkRequest;
+import org.elasticsearch.action.bulk.BulkResponse;
 import org.elasticsearch.action.delete.DeleteRequest;
 import org.elasticsearch.action.delete.DeleteResponse;
 import org.elasticsearch.action.index.IndexRequest;
-import org.elasticsearch.action.index.IndexResponse;
 import org.elasticsearch.action.ingest.GetPipelineRequest;
 import org.elasticsearch.action.ingest.GetPipelineResponse;
 import org.elasticsearch.action.ingest.PutPipelineRequest;
 import org.elasticsearch.action.support.master.AcknowledgedResponse;
+import org.elasticsearch.client.Request;
 import org.elasticsearch.client.RequestOptions;
+import org.elasticsearch.client.Response;
 import org.elasticsearch.client.RestHighLevelClient;
 import org.elasticsearch.common.bytes.BytesArray;
+import org.elasticsearch.common.io.stream.BytesStreamOutput;
 import org.elasticsearch.rest.RestStatus;
 import org.elasticsearch.xcontent.XContentType;
 import org.springframework.content.commons.annotations.ContentId;
@@ -47,7 +51,6 @@ public class ElasticsearchIndexServiceImpl<T> implements IndexService<T> {
 
     private static final Log LOGGER = LogFactory.getLog(ElasticsearchIndexServiceImpl.class);
     private static final String SPRING_CONTENT_ATTACHMENT = "spring-content-attachment-pipeline";
-    private static final int BUFFER_SIZE = 3 * 1024;
 
     private final RestHighLevelClient client;
     private final RenditionService renditionService;
@@ -55,7 +58,9 @@ public class ElasticsearchIndexServiceImpl<T> implements IndexService<T> {
     private final AttributeProvider attributeProvider;
     private final ObjectMapper objectMapper;
 
-    private boolean pipelinedInitialized = false;
+    private volatile boolean pipelinedInitialized = false;
+
+    private long maxIndexedBytes = -1;
 
     public ElasticsearchIndexServiceImpl(RestHighLevelClient client, RenditionService renditionService, IndexManager manager, AttributeProvider attributeProvider) {
 
@@ -69,16 +74,77 @@ public class ElasticsearchIndexServiceImpl<T> implements IndexService<T> {
     @Override
     public void index(T entity, InputStream stream) {
 
-        if (!pipelinedInitialized) {
-            try {
-                ensureAttachmentPipeline();
-            } catch (IOException ioe) {
-                throw new StoreAccessException("Unable to initialize attachment pipeline", ioe);
+        ensureAttachmentPipelineInitialized();
+
+        String id = BeanUtils.getFieldWithAnnotation(entity, ContentId.class).toString();
+
+        // the low-level client is used so that the document is streamed to the cluster as it is encoded
+        Request req = new Request("PUT", format("/%s/%s/%s", encodePathSegment(manager.indexName(entity.getClass())), encodePathSegment(entity.getClass().getName()), encodePathSegment(id)));
+        req.addParameter("pipeline", SPRING_CONTENT_ATTACHMENT);
+
+        try (InputStream source = source(entity, id, stream)) {
+            req.setEntity(new InputStreamEntity(source, ContentType.APPLICATION_JSON));
+            Response res = client.getLowLevelClient().performRequest(req);
+            LOGGER.info(format("Content '%s' indexed with result %s", id, objectMapper.readTree(res.getEntity().getContent()).path("result").asText()));
+        }
+        catch (IOException e) {
+            throw new StoreAccessException(format("Error indexing content %s", id), e);
+        }
+    }
+
+    @Override
+    public void unindex(T entity) {
+
+        ensureAttachmentPipelineInitialized();
+
+        Object id = BeanUtils.getFieldWithAnnotation(entity, ContentId.class);
+        if (id == null) {
+            return;
+        }
+
+        DeleteRequest req = deleteRequest(entity, id);
+        try {
+            DeleteResponse res = client.delete(req, RequestOptions.DEFAULT);
+            LOGGER.info(format("Indexed content '%s' deleted with result %s", id, res.getResult()));
+        }
+        catch (ElasticsearchStatusException ese) {
+            if (ese.status() != RestStatus.NOT_FOUND) {
+                // TODO: re-throw as StoreIndexException
             }
         }
+        catch (IOException e) {
+            throw new StoreAccessException(format("Error deleting indexed content %s", id), e);
+        }
+    }
+
+    /**
+     * Builds the request that indexes the entity's content, reading and encoding all of the content
+     */
+    IndexRequest indexRequest(T entity, InputStream stream) {
 
         String id = BeanUtils.getFieldWithAnnotation(entity, ContentId.class).toString();
 
+        IndexRequest req = new IndexRequest(manager.indexName(entity.getClass()), entity.getClass().getName(), id);
+        req.setPipeline(SPRING_CONTENT_ATTACHMENT);
+
+        BytesStreamOutput out = new BytesStreamOutput();
+        try (InputStream source = source(entity, id, stream)) {
+            source.transferTo(out);
+        }
+        catch (IOException e) {
+            throw new StoreAccessException(format("Error base64 encoding stream for content %s", id), e);
+        }
+
+        req.source(out.bytes(), XContentType.JSON);
+        return req;
+    }
+
+    /**
+     * The source of the entity's document, with its content, or its text/plain rendition when there is one, encoded in
+     * the data field
+     */
+    private InputStream source(T entity, String id, InputStream stream) {
+
         if (renditionService != null) {
             Object mimeType = BeanUtils.getFieldWithAnnotation(entity, MimeType.class);
             if (mimeType != null) {
@@ -89,82 +155,54 @@ public class ElasticsearchIndexServiceImpl<T> implements IndexService<T> {
             }
         }
 
-        StringBuilder result = new StringBuilder();
-        try {
-            try (BufferedInputStream in = new BufferedInputStream(stream, BUFFER_SIZE)) {
-                Base64.Encoder encoder = Base64.getEncoder();
-                byte[] chunk = new byte[BUFFER_SIZE];
-                int len = 0;
-                while ( (len = in.read(chunk)) == BUFFER_SIZE ) {
-                    result.append( encoder.encodeToString(chunk) );
-                }
-                if ( len > 0 ) {
-                    chunk = Arrays.copyOf(chunk,len);
-                    result.append( encoder.encodeToString(chunk) );
-                }
-            }
-        }
-        catch (IOException e) {
-            throw new StoreAccessException(format("Error base64 encoding stream for content %s", id), e);
-        }
-
-        IndexRequest req = new IndexRequest(manager.indexName(entity.getClass()), entity.getClass().getName(), id);
-        req.setPipeline(SPRING_CONTENT_ATTACHMENT);
-
         Map<String, String> attributesToSync = new HashMap<>();
         if (attributeProvider != null) {
             attributesToSync = attributeProvider.synchronize(entity);
         }
 
-        attributesToSync.put("data", result.toString());
-
-        String payload = "";
         try {
-            payload = objectMapper.writeValueAsString(attributesToSync);
+            return new AttachmentSourceInputStream(attributesToSync, stream, maxIndexedBytes, objectMapper);
         } catch (JsonProcessingException e) {
             throw new StoreAccessException(format("Unable to serialize payload for content %s", id), e);
         }
+    }
 
-        req.source(payload, XContentType.JSON);
+    private static String encodePathSegment(String segment) {
+        return URLEncoder.encode(segment, StandardCharsets.UTF_8).replace("+", "%20");
+    }
 
-        try {
-            IndexResponse res = client.index(req, RequestOptions.DEFAULT);
-            LOGGER.info(format("Content '%s' indexed with result %s", id, res.getResult()));
-        }
-        catch (IOException e) {
-            throw new StoreAccessException(format("Error indexing content %s", id), e);
-        }
+    /**
+     * Builds the request that deletes the indexed content with the given id
+     */
+    DeleteRequest deleteRequest(T entity, Object contentId) {
+        return new DeleteRequest(manager.indexName(entity.getClass()), entity.getClass().getName(), contentId.toString());
     }
 
-    @Override
-    public void unindex(T entity) {
+    /**
+     * Sends several index and delete requests to the cluster in a single round-trip
+     */
+    BulkResponse bulk(BulkRequest request) throws IOException {
+        ensureAttachmentPipelineInitialized();
+        return client.bulk(request, RequestOptions.DEFAULT);
+    }
+
+    /**
+     * Sets the maximum number of bytes of content, or of its text/plain rendition, that are indexed; content beyond
+     * that is not indexed.  Negative values index all of the content.
+     */
+    public void setMaxIndexedBytes(long maxIndexedBytes) {
+        this.maxIndexedBytes = maxIndexedBytes;
+    }
 
+    void ensureAttachmentPipelineInitialized() {
         if (!pipelinedInitialized) {
             try {
                 ensureAttachmentPipeline();
+                pipelinedInitialized = true;
             } catch (IOException ioe) {
                 throw new StoreAccessException("Unable to initialize attachment pipeline", ioe);
             }
         }
-
-        Object id = BeanUtils.getFieldWithAnnotation(entity, ContentId.class);
-        if (id == null) {
-            return;
-        }
-
-        DeleteRequest req = new DeleteRequest(manager.indexName(entity.getClass()), entity.getClass().getName(), id.toString());
-        try {
-            DeleteResponse res = client.delete(req, RequestOptions.DEFAULT);
-            LOGGER.info(format("Indexed content '%s' deleted with result %s", id, res.getResult()));
-        }
-        catch (ElasticsearchStatusException ese) {
-            if (ese.status() != RestStatus.NOT_FOUND) {
-                // TODO: re-throw as StoreIndexException
-            }
-        }
-        catch (IOException e) {
-            throw new StoreAccessException(format("Error deleting indexed content %s", id), e);
-        }
     }
 
     void ensureAttachmentPipeline() throws IOException {
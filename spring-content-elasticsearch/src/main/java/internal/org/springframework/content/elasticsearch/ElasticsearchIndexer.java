@@ -6,12 +6,15 @@ import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.elasticsearch.client.RestHighLevelClient;
 
+import org.springframework.content.commons.annotations.ContentId;
 import org.springframework.content.commons.annotations.StoreEventHandler;
 import org.springframework.content.commons.store.ContentStore;
 import org.springframework.content.commons.store.events.AbstractStoreEventListener;
 import org.springframework.content.commons.store.events.AfterSetContentEvent;
 import org.springframework.content.commons.store.events.BeforeUnsetContentEvent;
 import org.springframework.content.commons.search.IndexService;
+import org.springframework.content.commons.utils.BeanUtils;
+import org.springframework.content.elasticsearch.IndexingOperation;
 
 @StoreEventHandler
 public class ElasticsearchIndexer extends AbstractStoreEventListener<Object> {
@@ -22,21 +25,46 @@ public class ElasticsearchIndexer extends AbstractStoreEventListener<Object> {
 
 	private final RestHighLevelClient client;
 	private final IndexService indexService;
+	private final ElasticsearchIndexQueue indexQueue;
 
 	public ElasticsearchIndexer(RestHighLevelClient client, IndexService indexService) throws IOException {
+		this(client, indexService, null);
+	}
+
+	public ElasticsearchIndexer(RestHighLevelClient client, IndexService indexService, ElasticsearchIndexQueue indexQueue) throws IOException {
 		this.client = client;
 		this.indexService = indexService;
+		this.indexQueue = indexQueue;
 	}
 
 	@Override
 	protected void onAfterSetContent(AfterSetContentEvent event) {
 		if (event.getStore() instanceof ContentStore) {
+			if (isAsync()) {
+				Object id = BeanUtils.getFieldWithAnnotation(event.getSource(), ContentId.class);
+				if (id != null) {
+					this.indexQueue.submit(IndexingOperation.index(event.getSource(), id), (ContentStore)event.getStore());
+				}
+				return;
+			}
 			this.indexService.index(event.getSource(), ((ContentStore)event.getStore()).getContent(event.getSource()));
 		}
 	}
 
 	@Override
 	protected void onBeforeUnsetContent(BeforeUnsetContentEvent event) {
+		if (isAsync()) {
+			// the content id is captured now as it is cleared when the content is unset
+			Object id = BeanUtils.getFieldWithAnnotation(event.getSource(), ContentId.class);
+			if (id != null) {
+				this.indexQueue.submit(IndexingOperation.unindex(event.getSource(), id), null);
+			}
+			return;
+		}
 		this.indexService.unindex(event.getSource());
 	}
-}
\ No newline at end of file
+
+	private boolean isAsync() {
+		return this.indexQueue != null && this.indexQueue.isRunning();
+	}
+}
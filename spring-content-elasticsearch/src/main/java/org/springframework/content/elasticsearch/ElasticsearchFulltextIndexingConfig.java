@@ -3,6 +3,7 @@ package org.springframework.content.elasticsearch;
 import java.io.IOException;
 
 import internal.org.springframework.content.elasticsearch.DeprecatedElasticsearchIndexer;
+import internal.org.springframework.content.elasticsearch.ElasticsearchIndexQueue;
 import internal.org.springframework.content.elasticsearch.ElasticsearchIndexServiceImpl;
 import internal.org.springframework.content.elasticsearch.ElasticsearchIndexer;
 import internal.org.springframework.content.elasticsearch.IndexManager;
@@ -24,9 +25,12 @@ public class ElasticsearchFulltextIndexingConfig {
 	@Autowired
 	private IndexService elasticFulltextIndexService;
 
+	@Autowired(required = false)
+	private ElasticsearchIndexQueue elasticsearchIndexQueue;
+
 	@Bean
 	public ElasticsearchIndexer elasticFulltextIndexerEventListener() throws IOException {
-		return new ElasticsearchIndexer(client, elasticFulltextIndexService);
+		return new ElasticsearchIndexer(client, elasticFulltextIndexService, elasticsearchIndexQueue);
 	}
 
 	@Bean
@@ -0,0 +1,54 @@
+package org.springframework.content.elasticsearch;
+
+import java.util.Objects;
+
+/**
+ * An operation that indexes, or unindexes, the content of an entity.
+ */
+public final class IndexingOperation {
+
+    public enum Type {
+        INDEX, UNINDEX
+    }
+
+    private final Type type;
+    private final Object entity;
+    private final Object contentId;
+
+    public IndexingOperation(Type type, Object entity, Object contentId) {
+        this.type = Objects.requireNonNull(type, "type must not be null");
+        this.entity = Objects.requireNonNull(entity, "entity must not be null");
+        this.contentId = Objects.requireNonNull(contentId, "contentId must not be null");
+    }
+
+    public static IndexingOperation index(Object entity, Object contentId) {
+        return new IndexingOperation(Type.INDEX, entity, contentId);
+    }
+
+    public static IndexingOperation unindex(Object entity, Object contentId) {
+        return new IndexingOperation(Type.UNINDEX, entity, contentId);
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    /**
+     * @return the entity whose content is indexed; its content is read when the operation is performed
+     */
+    public Object getEntity() {
+        return entity;
+    }
+
+    /**
+     * @return the content id of the entity when the operation was submitted
+     */
+    public Object getContentId() {
+        return contentId;
+    }
+
+    @Override
+    public String toString() {
+        return type + " " + entity.getClass().getName() + " " + contentId;
+    }
+}
@@ -0,0 +1,34 @@
+package org.springframework.content.elasticsearch;
+
+import java.util.Collection;
+
+/**
+ * Durable record of the indexing operations that have been submitted for asynchronous indexing but that have not yet
+ * been acknowledged by Elasticsearch.
+ * <p>
+ * When a bean of this type is present, and asynchronous indexing is enabled, every operation is added to the outbox
+ * before it is queued and removed once Elasticsearch has indexed it.  Operations that are still pending when the
+ * application starts, for example because it stopped before they were indexed, are submitted again.
+ * <p>
+ * An implementation typically persists the entity's type and id and, when asked for the pending operations, loads the
+ * entities again.
+ * <p>
+ * Operations that can not be indexed are passed to {@link #deadLetter(IndexingOperation)} so that they are not
+ * submitted again.
+ */
+public interface IndexingOutbox {
+
+    void add(IndexingOperation operation);
+
+    void remove(IndexingOperation operation);
+
+    Collection<IndexingOperation> pending();
+
+    /**
+     * Records an operation that could not be indexed.  By default it is removed; implementations may instead move it
+     * to a dead-letter table.
+     */
+    default void deadLetter(IndexingOperation operation) {
+        remove(operation);
+    }
+}
@@ -0,0 +1,72 @@
+package internal.org.springframework.content.elasticsearch;
+
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.Context;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.Describe;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.It;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+import java.io.ByteArrayInputStream;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.runner.RunWith;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.paulcwarren.ginkgo4j.Ginkgo4jRunner;
+
+@RunWith(Ginkgo4jRunner.class)
+public class AttachmentSourceInputStreamTest {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private static final byte[] CONTENT = new byte[10 * 1024 + 1];
+    static {
+        new Random(1).nextBytes(CONTENT);
+    }
+
+    {
+        Describe("AttachmentSourceInputStream", () -> {
+            Context("given attributes and content", () -> {
+                It("encodes the content into the data field of a JSON document", () -> {
+                    JsonNode source = read(new AttachmentSourceInputStream(Map.of("title", "a \"title\"", "data", "ignored"), new ByteArrayInputStream(CONTENT), -1, MAPPER));
+
+                    assertThat(source.size(), is(2));
+                    assertThat(source.path("title").asText(), is("a \"title\""));
+                    assertThat(source.path("data").asText(), is(Base64.getEncoder().encodeToString(CONTENT)));
+                });
+            });
+            Context("given no attributes and no content", () -> {
+                It("encodes an empty data field", () -> {
+                    JsonNode source = read(new AttachmentSourceInputStream(Collections.emptyMap(), new ByteArrayInputStream(new byte[0]), -1, MAPPER));
+
+                    assertThat(source.size(), is(1));
+                    assertThat(source.path("data").asText(), is(""));
+                });
+            });
+            Context("given a maximum number of bytes to index", () -> {
+                It("encodes only that many bytes of content", () -> {
+                    JsonNode source = read(new AttachmentSourceInputStream(Collections.emptyMap(), new ByteArrayInputStream(CONTENT), 4000, MAPPER));
+
+                    assertThat(source.path("data").asText(), is(Base64.getEncoder().encodeToString(Arrays.copyOf(CONTENT, 4000))));
+                });
+            });
+        });
+    }
+
+    private static JsonNode read(AttachmentSourceInputStream in) throws Exception {
+        try (in) {
+            // read byte by byte first to exercise both read methods
+            byte[] first = new byte[] {(byte) in.read()};
+            byte[] rest = in.readAllBytes();
+            byte[] source = new byte[first.length + rest.length];
+            System.arraycopy(first, 0, source, 0, first.length);
+            System.arraycopy(rest, 0, source, first.length, rest.length);
+            return MAPPER.readTree(source);
+        }
+    }
+}
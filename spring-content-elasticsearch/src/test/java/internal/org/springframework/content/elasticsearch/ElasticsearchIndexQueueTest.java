@@ -0,0 +1,334 @@
+package internal.org.springframework.content.elasticsearch;
+
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.AfterEach;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.BeforeEach;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.Context;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.Describe;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.It;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.elasticsearch.action.DocWriteRequest;
+import org.elasticsearch.action.bulk.BulkItemResponse;
+import org.elasticsearch.action.bulk.BulkRequest;
+import org.elasticsearch.action.bulk.BulkResponse;
+import org.elasticsearch.action.delete.DeleteRequest;
+import org.elasticsearch.action.index.IndexRequest;
+import org.elasticsearch.rest.RestStatus;
+import org.elasticsearch.xcontent.XContentType;
+import org.junit.runner.RunWith;
+import org.mockito.InOrder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.content.commons.repository.StoreAccessException;
+import org.springframework.content.commons.store.ContentStore;
+import org.springframework.content.commons.storeservice.StoreInfo;
+import org.springframework.content.commons.storeservice.Stores;
+import org.springframework.content.elasticsearch.IndexingOperation;
+import org.springframework.content.elasticsearch.IndexingOutbox;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+
+import com.github.paulcwarren.ginkgo4j.Ginkgo4jConfiguration;
+import com.github.paulcwarren.ginkgo4j.Ginkgo4jRunner;
+
+@RunWith(Ginkgo4jRunner.class)
+@Ginkgo4jConfiguration(threads=1)
+public class ElasticsearchIndexQueueTest {
+
+    private ElasticsearchIndexServiceImpl<Object> indexService;
+    private RecordingOutbox outbox;
+    private ObjectProvider<Stores> stores;
+    private ElasticsearchIndexQueue queue;
+
+    private List<List<String>> bulks;
+    private List<RestStatus> failures;
+
+    {
+        Describe("ElasticsearchIndexQueue", () -> {
+            BeforeEach(() -> {
+                indexService = mock(ElasticsearchIndexServiceImpl.class);
+                outbox = null;
+                stores = null;
+                bulks = new CopyOnWriteArrayList<>();
+                failures = new CopyOnWriteArrayList<>();
+
+                when(indexService.deleteRequest(any(), any())).thenAnswer(invocation -> new DeleteRequest("index", invocation.getArgument(1).toString()));
+                when(indexService.indexRequest(any(), any())).thenAnswer(invocation -> new IndexRequest("index").id(new String(((InputStream) invocation.getArgument(1)).readAllBytes())).source("{}", XContentType.JSON));
+                when(indexService.bulk(any())).thenAnswer(invocation -> respond(invocation.getArgument(0)));
+            });
+            AfterEach(() -> {
+                queue.stop();
+            });
+            Context("given operations submitted within the flush interval", () -> {
+                BeforeEach(() -> {
+                    queue = queue(Duration.ofMillis(200), 1000);
+                });
+                It("sends them in a single bulk request, in order", () -> {
+                    queue.submit(IndexingOperation.unindex(new Object(), "1"), null);
+                    queue.submit(IndexingOperation.unindex(new Object(), "2"), null);
+                    queue.submit(IndexingOperation.unindex(new Object(), "3"), null);
+
+                    verify(indexService, timeout(5000)).bulk(any());
+                    queue.stop();
+                    assertThat(bulks, contains(List.of("1", "2", "3")));
+                });
+                It("reads the content to index on the indexing thread", () -> {
+                    ContentStore store = mock(ContentStore.class);
+                    Object entity = new Object();
+                    when(store.getContent(entity)).thenReturn(new ByteArrayInputStream("content".getBytes()));
+
+                    queue.submit(IndexingOperation.index(entity, "1"), store);
+
+                    verify(indexService, timeout(5000)).bulk(any());
+                    queue.stop();
+                    assertThat(bulks, contains(List.of("content")));
+                });
+            });
+            Context("given more operations than fit in a bulk request", () -> {
+                BeforeEach(() -> {
+                    queue = queue(Duration.ofMinutes(1), 2);
+                });
+                It("sends a bulk request as soon as it is full", () -> {
+                    queue.submit(IndexingOperation.unindex(new Object(), "1"), null);
+                    queue.submit(IndexingOperation.unindex(new Object(), "2"), null);
+                    queue.submit(IndexingOperation.unindex(new Object(), "3"), null);
+
+                    verify(indexService, timeout(5000)).bulk(any());
+                    queue.stop();
+
+                    assertThat(bulks, contains(List.of("1", "2"), List.of("3")));
+                });
+            });
+            Context("given Elasticsearch rejects an operation because it is overloaded", () -> {
+                BeforeEach(() -> {
+                    queue = queue(Duration.ofMillis(50), 1000);
+                    failures.add(RestStatus.TOO_MANY_REQUESTS);
+                });
+                It("retries only the rejected operation", () -> {
+                    queue.submit(IndexingOperation.unindex(new Object(), "1"), null);
+                    queue.submit(IndexingOperation.unindex(new Object(), "2"), null);
+
+                    verify(indexService, timeout(5000).times(2)).bulk(any());
+                    queue.stop();
+                    assertThat(bulks, contains(List.of("1", "2"), List.of("1")));
+                });
+            });
+            Context("given the queue has not been started", () -> {
+                BeforeEach(() -> {
+                    outbox = new RecordingOutbox();
+                    queue = new ElasticsearchIndexQueue(indexService, outbox, null);
+                });
+                It("rejects operations", () -> {
+                    Exception e = null;
+                    try {
+                        queue.submit(IndexingOperation.unindex(new Object(), "1"), null);
+                    } catch (Exception ex) {
+                        e = ex;
+                    }
+                    assertThat(e, is(instanceOf(IllegalStateException.class)));
+                    assertThat(outbox.pending().isEmpty(), is(true));
+                });
+            });
+            Context("given the queue is full", () -> {
+                BeforeEach(() -> {
+                    queue = new ElasticsearchIndexQueue(indexService, null, null);
+                    queue.setCapacity(1);
+                    queue.setBulkActions(1);
+                    queue.setOfferTimeout(Duration.ofMillis(10));
+                    queue.start();
+                });
+                It("fails to submit once the offer timeout has passed", () -> {
+                    CountDownLatch sending = new CountDownLatch(1);
+                    CountDownLatch release = new CountDownLatch(1);
+                    doAnswer(invocation -> {
+                        sending.countDown();
+                        release.await(10, TimeUnit.SECONDS);
+                        return respond(invocation.getArgument(0));
+                    }).when(indexService).bulk(any());
+
+                    queue.submit(IndexingOperation.unindex(new Object(), "1"), null);
+                    sending.await(5, TimeUnit.SECONDS);
+                    queue.submit(IndexingOperation.unindex(new Object(), "2"), null);
+
+                    Exception e = null;
+                    try {
+                        queue.submit(IndexingOperation.unindex(new Object(), "3"), null);
+                    } catch (Exception ex) {
+                        e = ex;
+                    }
+                    release.countDown();
+
+                    assertThat(e, is(instanceOf(StoreAccessException.class)));
+                });
+            });
+            Context("given an outbox", () -> {
+                BeforeEach(() -> {
+                    outbox = new RecordingOutbox();
+                    outbox.add(IndexingOperation.unindex(new Object(), "pending"));
+                    queue = queue(Duration.ofMillis(50), 1000);
+                });
+                It("sends the pending operations when it starts and removes the operations that were sent", () -> {
+                    verify(indexService, timeout(5000)).bulk(any());
+
+                    queue.submit(IndexingOperation.unindex(new Object(), "1"), null);
+
+                    verify(indexService, timeout(5000).times(2)).bulk(any());
+                    queue.stop();
+                    assertThat(bulks, contains(List.of("pending"), List.of("1")));
+                    assertThat(outbox.pending().isEmpty(), is(true));
+                });
+            });
+            Context("given a pending operation to index", () -> {
+                BeforeEach(() -> {
+                    Object entity = new Object();
+                    ContentStore store = mock(ContentStore.class);
+                    when(store.getContent(entity)).thenReturn(new ByteArrayInputStream("pending".getBytes()));
+
+                    StoreInfo info = mock(StoreInfo.class);
+                    when(info.getImplementation(ContentStore.class)).thenReturn(store);
+                    Stores s = mock(Stores.class);
+                    when(s.getStore(eq(ContentStore.class), any())).thenReturn(info);
+                    stores = mock(ObjectProvider.class);
+                    when(stores.getIfAvailable()).thenReturn(s);
+
+                    outbox = new RecordingOutbox();
+                    outbox.add(IndexingOperation.index(entity, "1"));
+                    queue = queue(Duration.ofMillis(50), 1000);
+                });
+                It("reads its content from the store found with the application's stores", () -> {
+                    verify(indexService, timeout(5000)).bulk(any());
+                    queue.stop();
+                    assertThat(bulks, contains(List.of("pending")));
+                    assertThat(outbox.pending().isEmpty(), is(true));
+                });
+            });
+            Context("given a transaction manager", () -> {
+                BeforeEach(() -> {
+                    queue = queue(Duration.ofMillis(50), 1000);
+                });
+                It("reads the content to index in a read-only transaction", () -> {
+                    PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+                    TransactionStatus status = mock(TransactionStatus.class);
+                    when(transactionManager.getTransaction(any())).thenReturn(status);
+                    queue.setTransactionManager(transactionManager);
+
+                    ContentStore store = mock(ContentStore.class);
+                    Object entity = new Object();
+                    when(store.getContent(entity)).thenReturn(new ByteArrayInputStream("content".getBytes()));
+
+                    queue.submit(IndexingOperation.index(entity, "1"), store);
+
+                    verify(indexService, timeout(5000)).bulk(any());
+                    queue.stop();
+
+                    InOrder inOrder = inOrder(transactionManager, store);
+                    inOrder.verify(transactionManager).getTransaction(argThat(definition -> definition.isReadOnly()));
+                    inOrder.verify(store).getContent(entity);
+                    inOrder.verify(transactionManager).commit(status);
+                });
+            });
+            Context("given operations that can not be indexed", () -> {
+                BeforeEach(() -> {
+                    outbox = new RecordingOutbox();
+                    queue = queue(Duration.ofMillis(50), 1000);
+                    failures.add(RestStatus.BAD_REQUEST);
+                });
+                It("moves them to the dead-letter list", () -> {
+                    ContentStore store = mock(ContentStore.class);
+                    Object unreadable = new Object();
+                    when(store.getContent(unreadable)).thenThrow(new StoreAccessException("unreadable"));
+
+                    IndexingOperation rejected = IndexingOperation.unindex(new Object(), "1");
+                    IndexingOperation poison = IndexingOperation.index(unreadable, "2");
+                    queue.submit(rejected, null);
+                    queue.submit(poison, store);
+
+                    verify(indexService, timeout(5000)).bulk(any());
+                    queue.stop();
+
+                    assertThat(bulks, contains(List.of("1")));
+                    assertThat(queue.getDeadLetters(), contains(poison, rejected));
+                    assertThat(outbox.deadLetters, contains(poison, rejected));
+                    assertThat(outbox.pending().isEmpty(), is(true));
+                });
+            });
+        });
+    }
+
+    private ElasticsearchIndexQueue queue(Duration flushInterval, int bulkActions) {
+        ElasticsearchIndexQueue queue = new ElasticsearchIndexQueue(indexService, outbox, stores);
+        queue.setFlushInterval(flushInterval);
+        queue.setBulkActions(bulkActions);
+        queue.setRetryBackoff(Duration.ofMillis(1));
+        queue.start();
+        return queue;
+    }
+
+    private BulkResponse respond(BulkRequest request) {
+        bulks.add(request.requests().stream().map(DocWriteRequest::id).collect(Collectors.toList()));
+
+        List<BulkItemResponse> items = new ArrayList<>();
+        for (int i = 0; i < request.numberOfActions(); i++) {
+            BulkItemResponse item = mock(BulkItemResponse.class);
+            if (i < failures.size()) {
+                when(item.isFailed()).thenReturn(true);
+                when(item.status()).thenReturn(failures.get(i));
+            }
+            items.add(item);
+        }
+        failures.clear();
+
+        BulkResponse response = mock(BulkResponse.class);
+        when(response.getItems()).thenReturn(items.toArray(new BulkItemResponse[0]));
+        return response;
+    }
+
+    private static class RecordingOutbox implements IndexingOutbox {
+
+        private final List<IndexingOperation> operations = new CopyOnWriteArrayList<>();
+        private final List<IndexingOperation> deadLetters = new CopyOnWriteArrayList<>();
+
+        @Override
+        public void add(IndexingOperation operation) {
+            operations.add(operation);
+        }
+
+        @Override
+        public void remove(IndexingOperation operation) {
+            operations.remove(operation);
+        }
+
+        @Override
+        public Collection<IndexingOperation> pending() {
+            return new ArrayList<>(operations);
+        }
+
+        @Override
+        public void deadLetter(IndexingOperation operation) {
+            operations.remove(operation);
+            deadLetters.add(operation);
+        }
+    }
+}
@@ -0,0 +1,317 @@
+package internal.org.springframework.content.encryption.engine;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.security.GeneralSecurityException;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.Arrays;
+import java.util.function.Function;
+import javax.crypto.Cipher;
+import javax.crypto.KeyGenerator;
+import javax.crypto.spec.IvParameterSpec;
+import lombok.SneakyThrows;
+import org.springframework.content.encryption.engine.ContentEncryptionEngine;
+import reactor.core.publisher.Flux;
+
+/**
+ * Symmetric data encryption engine using AES-CTR encryption mode, that processes content in large chunks
+ * <p>
+ * Content encrypted by this engine is identical to content encrypted by {@link AesCtrEncryptionEngine}, and vice versa.
+ * Unlike {@link AesCtrEncryptionEngine}, content is read and decrypted in chunks of {@link #DEFAULT_CHUNK_SIZE} bytes,
+ * directly into the caller's buffer when it is large enough, and the cipher is positioned at an offset by computing the
+ * counter for that offset instead of reading up to it.
+ */
+public class ChunkedAesCtrEncryptionEngine implements ContentEncryptionEngine {
+
+    static final int DEFAULT_CHUNK_SIZE = 64 * 1024;
+
+    private static final SecureRandom secureRandom = new SecureRandom();
+
+    private static final int AES_BLOCK_SIZE_BYTES = 16; // AES has a 128-bit block size
+    private static final int IV_SIZE_BYTES = AES_BLOCK_SIZE_BYTES; // IV is the same size as a block
+
+    private final KeyGenerator keyGenerator;
+    private final int chunkSize;
+
+    public ChunkedAesCtrEncryptionEngine(int keySizeBits) {
+        this(keySizeBits, DEFAULT_CHUNK_SIZE);
+    }
+
+    @SneakyThrows({NoSuchAlgorithmException.class})
+    public ChunkedAesCtrEncryptionEngine(int keySizeBits, int chunkSize) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("Chunk size must be greater than 0");
+        }
+        keyGenerator = KeyGenerator.getInstance("AES");
+        keyGenerator.init(keySizeBits, secureRandom);
+        this.chunkSize = chunkSize;
+    }
+
+    @Override
+    public EncryptionParameters createNewParameters() {
+        var secretKey = keyGenerator.generateKey();
+        byte[] iv = new byte[IV_SIZE_BYTES];
+        secureRandom.nextBytes(iv);
+        return new EncryptionParameters(
+                secretKey,
+                iv
+        );
+    }
+
+    @Override
+    public InputStream encrypt(InputStream plainText, EncryptionParameters encryptionParameters) {
+        return new ChunkedCipherInputStream(plainText, encryptionParameters, 0);
+    }
+
+    @Override
+    public InputStream decrypt(
+            Function<InputStreamRequestParameters, InputStream> cipherTextStreamRequest,
+            EncryptionParameters encryptionParameters,
+            InputStreamRequestParameters requestParameters
+    ) {
+        var cipherTextStream = cipherTextStreamRequest.apply(requestParameters);
+
+        // As with AesCtrEncryptionEngine, the bytes before the requested offset are returned as 0-bytes
+        return new ChunkedCipherInputStream(cipherTextStream, encryptionParameters, requestParameters.getStartByteOffset());
+    }
+
+    /**
+     * Encrypts or decrypts (which is the same operation for AES-CTR) a part of the content
+     *
+     * @param encryptionParameters Parameters for the encryption algorithm
+     * @param offset The offset of the input in the content
+     * @param input The input; all of its remaining bytes are processed
+     * @param output The output; must have as many bytes remaining as the input
+     */
+    @SneakyThrows(GeneralSecurityException.class)
+    public void transform(EncryptionParameters encryptionParameters, long offset, ByteBuffer input, ByteBuffer output) {
+        initializeCipher(encryptionParameters, offset).update(input, output);
+    }
+
+    /**
+     * Encrypt a reactive content stream
+     *
+     * @param plainText The unencrypted content
+     * @param encryptionParameters Parameters for the encryption algorithm
+     * @return The encrypted content
+     */
+    public Flux<ByteBuffer> encrypt(Flux<ByteBuffer> plainText, EncryptionParameters encryptionParameters) {
+        return transform(plainText, encryptionParameters, 0);
+    }
+
+    /**
+     * Decrypt a reactive content stream
+     *
+     * @param cipherText The encrypted content, starting at the given offset
+     * @param encryptionParameters Parameters for the encryption algorithm
+     * @param startByteOffset The offset of the first byte of the encrypted content in the content
+     * @return The unencrypted content, starting at the given offset
+     */
+    public Flux<ByteBuffer> decrypt(Flux<ByteBuffer> cipherText, EncryptionParameters encryptionParameters, long startByteOffset) {
+        return transform(cipherText, encryptionParameters, startByteOffset);
+    }
+
+    private Flux<ByteBuffer> transform(Flux<ByteBuffer> input, EncryptionParameters encryptionParameters, long offset) {
+        return Flux.defer(() -> {
+            var cipher = initializeCipher(encryptionParameters, offset);
+            return input.map(buffer -> update(cipher, buffer));
+        });
+    }
+
+    @SneakyThrows(GeneralSecurityException.class)
+    private static ByteBuffer update(Cipher cipher, ByteBuffer input) {
+        var output = input.isDirect() ? ByteBuffer.allocateDirect(input.remaining()) : ByteBuffer.allocate(input.remaining());
+        cipher.update(input, output);
+        return output.flip();
+    }
+
+    /**
+     * Initializes a cipher that is positioned at the given offset in the content
+     */
+    @SneakyThrows(GeneralSecurityException.class)
+    private static Cipher initializeCipher(EncryptionParameters parameters, long offset) {
+        Cipher cipher = Cipher.getInstance("AES/CTR/NoPadding");
+        cipher.init(
+                Cipher.ENCRYPT_MODE, // AES-CTR encryption and decryption are the same operation
+                parameters.getSecretKey(),
+                new IvParameterSpec(counterForBlock(parameters.getInitializationVector(), offset / AES_BLOCK_SIZE_BYTES))
+        );
+
+        var offsetInBlock = (int) (offset % AES_BLOCK_SIZE_BYTES);
+        if (offsetInBlock > 0) {
+            // Discard the part of the block's key stream before the offset
+            cipher.update(new byte[offsetInBlock]);
+        }
+        return cipher;
+    }
+
+    /**
+     * AES-CTR uses a separate counter for every block, which is the IV incremented by the block number (modulo 2^128)
+     */
+    static byte[] counterForBlock(byte[] iv, long block) {
+        var counter = iv.clone();
+        long carry = block;
+        for (int i = counter.length - 1; i >= 0 && carry != 0; i--) {
+            long sum = (counter[i] & 0xFF) + (carry & 0xFF);
+            counter[i] = (byte) sum;
+            carry = (carry >>> 8) + (sum >>> 8);
+        }
+        return counter;
+    }
+
+    /**
+     * Encrypts or decrypts a stream in chunks
+     * <p>
+     * The bytes before {@code startOffset} are returned as 0-bytes, without being read from the source stream.
+     * The source stream is positioned at the start of the content; its bytes before {@code startOffset} are skipped.
+     */
+    private class ChunkedCipherInputStream extends InputStream {
+
+        private final InputStream source;
+        private final EncryptionParameters parameters;
+        private final long startOffset;
+
+        private Cipher cipher;
+        private long position = 0; // the position in the content of the next byte that is returned
+        private long sourcePosition = 0; // the position in the content of the next byte of the source stream
+
+        private byte[] chunk;
+        private int chunkPosition = 0;
+        private int chunkLimit = 0;
+
+        private boolean eof = false;
+
+        private ChunkedCipherInputStream(InputStream source, EncryptionParameters parameters, long startOffset) {
+            this.source = source;
+            this.parameters = parameters;
+            this.startOffset = startOffset;
+        }
+
+        @Override
+        public int read() throws IOException {
+            var b = new byte[1];
+            var n = read(b, 0, 1);
+            return n == -1 ? -1 : b[0] & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (len == 0) {
+                return 0;
+            }
+
+            if (position < startOffset) {
+                var n = (int) Math.min(len, startOffset - position);
+                Arrays.fill(b, off, off + n, (byte) 0);
+                position += n;
+                return n;
+            }
+
+            if (chunkPosition < chunkLimit) {
+                var n = Math.min(len, chunkLimit - chunkPosition);
+                System.arraycopy(chunk, chunkPosition, b, off, n);
+                chunkPosition += n;
+                position += n;
+                return n;
+            }
+
+            if (!seek()) {
+                return -1;
+            }
+
+            if (len >= chunkSize) {
+                // Large reads are decrypted in place, in the caller's buffer
+                var n = source.read(b, off, Math.min(len, chunkSize));
+                if (n == -1) {
+                    eof = true;
+                    return -1;
+                }
+                update(b, off, n);
+                sourcePosition += n;
+                position += n;
+                return n;
+            }
+
+            if (chunk == null) {
+                chunk = new byte[chunkSize];
+            }
+            var n = source.read(chunk, 0, chunkSize);
+            if (n == -1) {
+                eof = true;
+                return -1;
+            }
+            update(chunk, 0, n);
+            sourcePosition += n;
+            chunkPosition = 0;
+            chunkLimit = n;
+            return read(b, off, len);
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            if (n <= 0) {
+                return 0;
+            }
+            var buffered = chunkLimit - chunkPosition;
+            if (n <= buffered) {
+                chunkPosition += (int) n;
+                position += n;
+                return n;
+            }
+
+            // Positioned arithmetically; the source stream is skipped and the cipher is repositioned on the next read
+            chunkPosition = chunkLimit = 0;
+            position += n;
+            return n;
+        }
+
+        @Override
+        public int available() throws IOException {
+            if (position < startOffset) {
+                return (int) Math.min(startOffset - position, Integer.MAX_VALUE);
+            }
+            return chunkLimit - chunkPosition;
+        }
+
+        @Override
+        public void close() throws IOException {
+            source.close();
+        }
+
+        private void update(byte[] buffer, int offset, int length) throws IOException {
+            try {
+                // AES-CTR output is as long as its input, so it can be processed in place
+                cipher.update(buffer, offset, length, buffer, offset);
+            } catch (GeneralSecurityException e) {
+                throw new IOException("Failed to process content", e);
+            }
+        }
+
+        /**
+         * Positions the source stream and the cipher at the current position
+         *
+         * @return false when the position is past the end of the source stream
+         */
+        private boolean seek() throws IOException {
+            if (eof) {
+                return false;
+            }
+            if (cipher != null && sourcePosition == position) {
+                return true;
+            }
+
+            try {
+                source.skipNBytes(position - sourcePosition);
+            } catch (EOFException e) {
+                eof = true;
+                return false;
+            }
+            sourcePosition = position;
+            cipher = initializeCipher(parameters, position);
+            return true;
+        }
+    }
+}
@@ -37,6 +37,7 @@ class ContentCryptoService<S, DEK extends StoredDataEncryptionKey> {
     private final DataEncryptionKeyAccessor<S, DEK> dataEncryptionKeyAccessor;
     private final List<DataEncryptionKeyWrapper<DEK>> dataEncryptionKeyWrappers;
     private final ContentEncryptionEngine encryptionEngine;
+    private final DataEncryptionKeyPool<DEK> dataEncryptionKeyPool; // null when keys are not pooled
 
     public S encrypt(S entity, PropertyPath propertyPath, InputStream plainText, BiFunction<S, InputStream, S> contentSetter) {
         Assert.notNull(entity, "entity not set");
@@ -45,11 +46,15 @@ class ContentCryptoService<S, DEK extends StoredDataEncryptionKey> {
 
         var contentProperty = resolveContentPropertyRequired(entity, propertyPath);
 
-        var encryptionParameters = encryptionEngine.createNewParameters();
-        var encryptedDeks = dataEncryptionKeyWrappers.stream()
-                .map(wrapper -> wrapper.wrapEncryptionKey(encryptionParameters))
-                .toList();
-
+        var pooledKey = dataEncryptionKeyPool != null ? dataEncryptionKeyPool.take() : null;
+        if (pooledKey == null) {
+            var newParameters = encryptionEngine.createNewParameters();
+            pooledKey = new DataEncryptionKeyPool.PooledKey<>(newParameters, dataEncryptionKeyWrappers.stream()
+                    .map(wrapper -> wrapper.wrapEncryptionKey(newParameters))
+                    .toList());
+        }
+        var encryptionParameters = pooledKey.encryptionParameters();
+        var encryptedDeks = pooledKey.encryptedDeks();
 
         var encryptedStream = encryptionEngine.encrypt(plainText, encryptionParameters);
 
@@ -58,6 +63,15 @@ class ContentCryptoService<S, DEK extends StoredDataEncryptionKey> {
         return dataEncryptionKeyAccessor.setKeys(newEntity, contentProperty, encryptedDeks);
     }
 
+    /**
+     * Stops refilling the pool of data encryption keys, if keys are pooled
+     */
+    public void destroy() {
+        if (dataEncryptionKeyPool != null) {
+            dataEncryptionKeyPool.destroy();
+        }
+    }
+
     public Resource decrypt(S entity, PropertyPath propertyPath, GetResourceParams getResourceParams, Supplier<Resource> contentGetter) {
         Assert.notNull(entity, "entity not set");
         Assert.notNull(propertyPath, "propertyPath not set");
@@ -85,9 +99,7 @@ class ContentCryptoService<S, DEK extends StoredDataEncryptionKey> {
             throw new StoreAccessException(String.format("Content property %s can not be accessed".formatted(propertyPath.getName())), ex);
         }
 
-        InputStreamRequestParameters finalRequestParams = requestParams;
-
-        return new DecryptedResource(() -> {
+        return new DecryptedResource(decryptParams -> {
             return encryptionEngine.decrypt(params -> {
                 if (resource instanceof RangeableResource rr) {
                     rr.setRange(constructRangePattern(params));
@@ -97,8 +109,8 @@ class ContentCryptoService<S, DEK extends StoredDataEncryptionKey> {
                 } catch (IOException ex) {
                     throw new StoreAccessException(String.format("Content property %s can not be accessed".formatted(propertyPath.getName())), ex);
                 }
-            }, encryptionParameters, finalRequestParams);
-        }, resource);
+            }, encryptionParameters, decryptParams);
+        }, requestParams, resource);
 
     }
 
@@ -127,6 +139,7 @@ class ContentCryptoService<S, DEK extends StoredDataEncryptionKey> {
 
     // As per https://www.rfc-editor.org/rfc/rfc9110.html#name-range; single-range support only
     private static final Pattern RANGE_PATTERN = Pattern.compile("\\Abytes=(?<firstPos>[0-9]*)-(?<lastPos>[0-9]*)\\Z");
+    private static final Pattern MULTI_RANGE_PATTERN = Pattern.compile("\\Abytes=[0-9]*-[0-9]*(\\s*,\\s*[0-9]*-[0-9]*)+\\Z");
 
     private static InputStreamRequestParameters parseRangePattern(String range, Resource resource)
             throws IOException {
@@ -148,8 +161,11 @@ class ContentCryptoService<S, DEK extends StoredDataEncryptionKey> {
                         lastPosStr.isEmpty()?null:Long.parseUnsignedLong(lastPosStr)
                 );
             }
+        } else if(MULTI_RANGE_PATTERN.matcher(range).matches()) {
+            // each range is decrypted separately with DecryptedResource#getInputStream(long, long)
+            return InputStreamRequestParameters.full();
         } else {
-            throw new StoreAccessException(String.format("Range request '%s' is not supported. Only a single byte-range is supported".formatted(range)));
+            throw new StoreAccessException(String.format("Range request '%s' is not supported".formatted(range)));
         }
     }
 
@@ -0,0 +1,115 @@
+package internal.org.springframework.content.fragments;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.content.encryption.engine.ContentEncryptionEngine;
+import org.springframework.content.encryption.engine.ContentEncryptionEngine.EncryptionParameters;
+import org.springframework.content.encryption.keys.DataEncryptionKeyWrapper;
+import org.springframework.content.encryption.keys.StoredDataEncryptionKey;
+
+/**
+ * A pool of data encryption keys that are generated and wrapped ahead of time, so that encrypting content does not wait
+ * for its data encryption key to be wrapped
+ * <p>
+ * The pool is refilled in the background, wrapping all missing keys with one
+ * {@link DataEncryptionKeyWrapper#wrapEncryptionKeys(List)} operation per wrapper, once half of its keys are taken.
+ * Every key is taken at most once.
+ * <p>
+ * The pool is first filled when the first key is taken, rather than when it is created, so that creating a store does
+ * not wait for the wrappers. Destroying the pool stops refilling it and discards its keys.
+ *
+ * @param <DEK> Type of the encrypted data encryption key
+ */
+@Slf4j
+class DataEncryptionKeyPool<DEK extends StoredDataEncryptionKey> implements DisposableBean {
+
+    private final ContentEncryptionEngine encryptionEngine;
+    private final List<DataEncryptionKeyWrapper<DEK>> dataEncryptionKeyWrappers;
+    private final int size;
+
+    private final BlockingQueue<PooledKey<DEK>> keys;
+    private final AtomicBoolean refilling = new AtomicBoolean(false);
+
+    private final ExecutorService refiller = Executors.newSingleThreadExecutor(runnable -> {
+        var thread = new Thread(runnable, "dek-pool-refiller");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    DataEncryptionKeyPool(ContentEncryptionEngine encryptionEngine, List<DataEncryptionKeyWrapper<DEK>> dataEncryptionKeyWrappers, int size) {
+        this.encryptionEngine = encryptionEngine;
+        this.dataEncryptionKeyWrappers = dataEncryptionKeyWrappers;
+        this.size = size;
+        this.keys = new ArrayBlockingQueue<>(size);
+    }
+
+    /**
+     * @return A pre-wrapped data encryption key, or null when the pool is empty
+     */
+    PooledKey<DEK> take() {
+        var key = keys.poll();
+        refillIfNeeded();
+        return key;
+    }
+
+    @Override
+    public void destroy() {
+        refiller.shutdownNow();
+        keys.clear();
+    }
+
+    private void refillIfNeeded() {
+        if (keys.size() <= size / 2 && refilling.compareAndSet(false, true)) {
+            try {
+                refiller.execute(this::refill);
+            } catch (RejectedExecutionException e) {
+                // destroyed
+                refilling.set(false);
+            }
+        }
+    }
+
+    private void refill() {
+        try {
+            var missing = size - keys.size();
+            if (missing <= 0) {
+                return;
+            }
+
+            var parameters = new ArrayList<EncryptionParameters>(missing);
+            for (int i = 0; i < missing; i++) {
+                parameters.add(encryptionEngine.createNewParameters());
+            }
+
+            var wrapped = new ArrayList<List<DEK>>(dataEncryptionKeyWrappers.size());
+            for (var wrapper : dataEncryptionKeyWrappers) {
+                wrapped.add(wrapper.wrapEncryptionKeys(parameters));
+            }
+
+            for (int i = 0; i < missing; i++) {
+                var encryptedDeks = new ArrayList<DEK>(wrapped.size());
+                for (var wrappedByWrapper : wrapped) {
+                    encryptedDeks.add(wrappedByWrapper.get(i));
+                }
+                if (!keys.offer(new PooledKey<>(parameters.get(i), List.copyOf(encryptedDeks)))) {
+                    break;
+                }
+            }
+        } catch (RuntimeException e) {
+            log.warn("Failed to refill the data encryption key pool; keys will be wrapped when content is encrypted", e);
+        } finally {
+            refilling.set(false);
+        }
+    }
+
+    record PooledKey<DEK>(EncryptionParameters encryptionParameters, List<DEK> encryptedDeks) {
+    }
+}
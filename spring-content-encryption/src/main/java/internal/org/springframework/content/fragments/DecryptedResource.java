@@ -2,26 +2,48 @@ package internal.org.springframework.content.fragments;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.function.Function;
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.io.input.BoundedInputStream;
+import org.springframework.content.commons.io.RangeableResource;
+import org.springframework.content.encryption.engine.ContentEncryptionEngine.InputStreamRequestParameters;
 import org.springframework.core.io.AbstractResource;
-import org.springframework.core.io.InputStreamSource;
 import org.springframework.core.io.Resource;
 
 /**
  * A resource that will be decrypted on-demand
  */
-class DecryptedResource extends AbstractResource {
+class DecryptedResource extends AbstractResource implements RangeableResource {
 
-    private final InputStreamSource decryptedInputStreamSource;
+    private final Function<InputStreamRequestParameters, InputStream> decryptedInputStreamSource;
+    private final InputStreamRequestParameters requestParameters;
     private final Resource originalResource;
 
-    DecryptedResource(InputStreamSource decryptedInputStreamSource, Resource originalResource) {
+    DecryptedResource(Function<InputStreamRequestParameters, InputStream> decryptedInputStreamSource, InputStreamRequestParameters requestParameters, Resource originalResource) {
         this.decryptedInputStreamSource = decryptedInputStreamSource;
+        this.requestParameters = requestParameters;
         this.originalResource = originalResource;
     }
 
     @Override
     public InputStream getInputStream() throws IOException {
-        return decryptedInputStreamSource.getInputStream();
+        return decryptedInputStreamSource.apply(requestParameters);
+    }
+
+    @Override
+    public void setRange(String range) {
+        // the range is applied when the resource is resolved, see GetResourceParams
+    }
+
+    @Override
+    public InputStream getInputStream(long start, long end) throws IOException {
+        // only the cipher text of the range is read; the decrypted stream is zero-prefixed up to start
+        InputStream in = decryptedInputStreamSource.apply(new InputStreamRequestParameters(start, end));
+        IOUtils.skipFully(in, start);
+        return BoundedInputStream.builder()
+                .setInputStream(in)
+                .setMaxCount(end - start + 1)
+                .get();
     }
 
     @Override
@@ -1,6 +1,6 @@
 package internal.org.springframework.content.fragments;
 
-import internal.org.springframework.content.encryption.engine.AesCtrEncryptionEngine;
+import internal.org.springframework.content.encryption.engine.ChunkedAesCtrEncryptionEngine;
 import internal.org.springframework.content.encryption.keys.ContentPropertyDataEncryptionKeyAccessor;
 import internal.org.springframework.content.encryption.keys.UnencryptedSymmetricDataEncryptionKeyWrapper;
 import internal.org.springframework.content.encryption.keys.converter.ByteArrayToListConverter;
@@ -30,6 +30,7 @@ class EncryptingContentStoreConfigurationImpl<S> implements EncryptingContentSto
     private DataEncryptionKeyAccessor<S, ? extends StoredDataEncryptionKey> dataEncryptionKeyAccessor;
     private List<DataEncryptionKeyWrapper<? extends StoredDataEncryptionKey>> dataEncryptionKeyWrappers;
     private ContentEncryptionEngine contentEncryptionEngine;
+    private int dataEncryptionKeyPoolSize = 0;
 
     private final ConfigurableConversionService conversionService = new GenericConversionService();
     {
@@ -64,6 +65,15 @@ class EncryptingContentStoreConfigurationImpl<S> implements EncryptingContentSto
         return this;
     }
 
+    @Override
+    public EncryptingContentStoreConfiguration<S> dataEncryptionKeyPool(int size) {
+        if(size < 0) {
+            throw new IllegalArgumentException("Data encryption key pool size must not be negative");
+        }
+        this.dataEncryptionKeyPoolSize = size;
+        return this;
+    }
+
     @Override
     public EncryptingContentStoreConfiguration<S> encryptionKeyContentProperty(String encryptionKeyContentProperty) {
         return dataEncryptionKeyAccessor(new ContentPropertyDataEncryptionKeyAccessor<>(encryptionKeyContentProperty, conversionService));
@@ -83,9 +93,9 @@ class EncryptingContentStoreConfigurationImpl<S> implements EncryptingContentSto
     @Override
     public EncryptingContentStoreConfiguration<S> contentEncryptionMethod(ContentEncryptionMethod contentEncryptionMethod) {
         return contentEncryptionEngine(switch(contentEncryptionMethod) {
-            case AES_CTR_128 -> new AesCtrEncryptionEngine(128);
-            case AES_CTR_192 -> new AesCtrEncryptionEngine(192);
-            case AES_CTR_256 -> new AesCtrEncryptionEngine(256);
+            case AES_CTR_128 -> new ChunkedAesCtrEncryptionEngine(128);
+            case AES_CTR_192 -> new ChunkedAesCtrEncryptionEngine(192);
+            case AES_CTR_256 -> new ChunkedAesCtrEncryptionEngine(256);
         });
     }
 
@@ -109,7 +119,8 @@ class EncryptingContentStoreConfigurationImpl<S> implements EncryptingContentSto
                 mappingContext,
                 dataEncryptionKeyAccessor,
                 dataEncryptionKeyWrappers,
-                contentEncryptionEngine
+                contentEncryptionEngine,
+                dataEncryptionKeyPoolSize > 0 ? new DataEncryptionKeyPool<>(contentEncryptionEngine, dataEncryptionKeyWrappers, dataEncryptionKeyPoolSize) : null
         );
     }
 }
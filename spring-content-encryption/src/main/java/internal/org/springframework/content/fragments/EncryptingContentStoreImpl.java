@@ -9,6 +9,7 @@ import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
 import lombok.SneakyThrows;
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.content.commons.fragments.ContentStoreAware;
 import org.springframework.content.commons.mappingcontext.ContentProperty;
@@ -30,7 +31,8 @@ import org.springframework.util.Assert;
 public class EncryptingContentStoreImpl<S, SID extends Serializable> implements
         org.springframework.content.commons.store.ContentStore<S, SID>,
         org.springframework.content.commons.repository.ContentStore<S, SID>,
-        ContentStoreAware {
+        ContentStoreAware,
+        DisposableBean {
 
     private final MappingContext mappingContext;
     private ContentCryptoService<S, ?> cryptoService;
@@ -252,6 +254,13 @@ public class EncryptingContentStoreImpl<S, SID extends Serializable> implements
         cryptoService = config.initializeCryptoService(mappingContext, storeInterfaceClass);
     }
 
+    @Override
+    public void destroy() {
+        if (cryptoService != null) {
+            cryptoService.destroy();
+        }
+    }
+
     private static org.springframework.content.commons.store.UnsetContentParams convertParams(
             UnsetContentParams params) {
         return org.springframework.content.commons.store.UnsetContentParams.builder()
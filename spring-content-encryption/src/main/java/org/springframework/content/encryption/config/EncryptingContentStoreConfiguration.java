@@ -38,6 +38,19 @@ public interface EncryptingContentStoreConfiguration<S> {
      */
     EncryptingContentStoreConfiguration<S> contentEncryptionEngine(ContentEncryptionEngine contentEncryptionEngine);
 
+    /**
+     * Generate and wrap data encryption keys ahead of time
+     * <p>
+     * A pool of the given number of data encryption keys is kept, wrapped by all configured {@link DataEncryptionKeyWrapper}s, and refilled in the background.
+     * Encrypting content takes a key from the pool, instead of waiting for a new key to be wrapped.
+     * Refilling the pool wraps all missing keys with a single {@link DataEncryptionKeyWrapper#wrapEncryptionKeys(List)} call per wrapper.
+     * <p>
+     * Pooled keys are held unencrypted in memory until they are used.
+     *
+     * @param size The number of keys in the pool; 0 disables the pool, which is the default
+     */
+    EncryptingContentStoreConfiguration<S> dataEncryptionKeyPool(int size);
+
     /**
      * Configure the content property where the data encryption key is stored
      *
@@ -0,0 +1,155 @@
+package org.springframework.content.encryption.keys;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import org.springframework.content.encryption.engine.ContentEncryptionEngine.EncryptionParameters;
+import org.springframework.util.Assert;
+
+/**
+ * Combines data encryption keys that are wrapped at about the same time into a single
+ * {@link DataEncryptionKeyWrapper#wrapEncryptionKeys(List)} operation of the delegate
+ * <p>
+ * A key that is wrapped waits at most the configured window for other keys to be wrapped with it, or until the
+ * configured maximum number of keys are waiting. This is intended to be used with wrappers that perform a remote call
+ * for every operation but can wrap multiple keys in one call, like {@link VaultTransitDataEncryptionKeyWrapper}.
+ * Unwrapping is delegated as is.
+ * <p>
+ * A batch is wrapped by the thread that filled it or, once the window has passed, by the thread that opened it, so the
+ * delegate is only ever called by threads that wrap keys.
+ *
+ * @param <T> format of the encrypted data encryption key
+ */
+public class BatchingDataEncryptionKeyWrapper<T extends StoredDataEncryptionKey> implements DataEncryptionKeyWrapper<T>, AutoCloseable {
+
+    public static final Duration DEFAULT_WINDOW = Duration.ofMillis(10);
+
+    public static final int DEFAULT_MAXIMUM_BATCH_SIZE = 100;
+
+    private final DataEncryptionKeyWrapper<T> delegate;
+    private final long windowNanos;
+    private final int maximumBatchSize;
+
+    // guarded by this
+    private List<Request<T>> batch = null;
+
+    public BatchingDataEncryptionKeyWrapper(DataEncryptionKeyWrapper<T> delegate) {
+        this(delegate, DEFAULT_WINDOW, DEFAULT_MAXIMUM_BATCH_SIZE);
+    }
+
+    public BatchingDataEncryptionKeyWrapper(DataEncryptionKeyWrapper<T> delegate, Duration window, int maximumBatchSize) {
+        Assert.notNull(delegate, "delegate must not be null");
+        Assert.isTrue(window != null && !window.isNegative(), "window must not be negative");
+        Assert.isTrue(maximumBatchSize > 0, "maximumBatchSize must be greater than 0");
+        this.delegate = delegate;
+        this.windowNanos = window.toNanos();
+        this.maximumBatchSize = maximumBatchSize;
+    }
+
+    @Override
+    public boolean supports(StoredDataEncryptionKey storedDataEncryptionKey) {
+        return delegate.supports(storedDataEncryptionKey);
+    }
+
+    @Override
+    public T wrapEncryptionKey(EncryptionParameters dataEncryptionParameters) {
+        var request = new Request<T>(dataEncryptionParameters, new CompletableFuture<>());
+
+        List<Request<T>> opened = null;
+        List<Request<T>> full = null;
+        synchronized (this) {
+            if (batch == null) {
+                batch = new ArrayList<>();
+                opened = batch;
+            }
+            batch.add(request);
+            if (batch.size() >= maximumBatchSize) {
+                full = batch;
+                batch = null;
+                // wakes the thread that opened the batch
+                notifyAll();
+            }
+        }
+
+        if (full != null) {
+            flush(full);
+        } else if (opened != null) {
+            flushWhenDue(opened);
+        }
+
+        try {
+            return request.result().join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException re) {
+                throw re;
+            }
+            throw e;
+        }
+    }
+
+    @Override
+    public List<T> wrapEncryptionKeys(List<EncryptionParameters> dataEncryptionParameters) {
+        return delegate.wrapEncryptionKeys(dataEncryptionParameters);
+    }
+
+    @Override
+    public EncryptionParameters unwrapEncryptionKey(T encryptedDataEncryptionKey) {
+        return delegate.unwrapEncryptionKey(encryptedDataEncryptionKey);
+    }
+
+    /**
+     * Wraps the keys that are waiting for the window to pass
+     */
+    @Override
+    public void close() {
+        List<Request<T>> pending;
+        synchronized (this) {
+            pending = batch;
+            batch = null;
+        }
+        if (pending != null) {
+            flush(pending);
+        }
+    }
+
+    private void flushWhenDue(List<Request<T>> opened) {
+        var deadline = System.nanoTime() + windowNanos;
+        synchronized (this) {
+            try {
+                long remaining;
+                while (batch == opened && (remaining = deadline - System.nanoTime()) > 0) {
+                    TimeUnit.NANOSECONDS.timedWait(this, remaining);
+                }
+            } catch (InterruptedException e) {
+                // wraps the batch now rather than leaving it for a thread that may never come
+                Thread.currentThread().interrupt();
+            }
+            if (batch != opened) {
+                // already flushed because it was full, or closed
+                return;
+            }
+            batch = null;
+        }
+        flush(opened);
+    }
+
+    private void flush(List<Request<T>> requests) {
+        try {
+            var wrapped = delegate.wrapEncryptionKeys(requests.stream().map(Request::parameters).toList());
+            if (wrapped.size() != requests.size()) {
+                throw new IllegalStateException("Wrapped %d of %d data encryption keys".formatted(wrapped.size(), requests.size()));
+            }
+            for (int i = 0; i < requests.size(); i++) {
+                requests.get(i).result().complete(wrapped.get(i));
+            }
+        } catch (RuntimeException e) {
+            requests.forEach(request -> request.result().completeExceptionally(e));
+        }
+    }
+
+    private record Request<T>(EncryptionParameters parameters, CompletableFuture<T> result) {
+    }
+}
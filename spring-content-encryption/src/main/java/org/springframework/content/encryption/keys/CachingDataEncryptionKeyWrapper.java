@@ -0,0 +1,249 @@
+package org.springframework.content.encryption.keys;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import javax.crypto.spec.SecretKeySpec;
+import org.springframework.content.encryption.engine.ContentEncryptionEngine.EncryptionParameters;
+import org.springframework.util.Assert;
+
+/**
+ * Caches unwrapped data encryption keys in memory, so that reading the same content repeatedly does not unwrap its
+ * data encryption key with the delegate every time
+ * <p>
+ * This is intended to be used with wrappers that perform a remote call for every unwrap, like
+ * {@link VaultTransitDataEncryptionKeyWrapper}. Keys are cached by their complete wrapped representation, for at most
+ * the configured time-to-live, and the least recently used keys are evicted once the configured maximum number of keys
+ * is cached. The cached copies of the key material are overwritten with zeroes when they are evicted.
+ * <p>
+ * Expired keys are swept from the cache at the configured sweep interval, the time-to-live by default, so that key
+ * material does not stay in memory long after it expired when it is not read again. Closing the wrapper stops the sweep
+ * and evicts all keys.
+ * <p>
+ * Keys wrapped by this wrapper are cached as well, so content that is read shortly after it is written does not need
+ * to be unwrapped.
+ *
+ * @param <T> format of the encrypted data encryption key
+ */
+public class CachingDataEncryptionKeyWrapper<T extends StoredDataEncryptionKey> implements DataEncryptionKeyWrapper<T>, AutoCloseable {
+
+    public static final int DEFAULT_MAXIMUM_SIZE = 1_000;
+
+    public static final Duration DEFAULT_TIME_TO_LIVE = Duration.ofMinutes(5);
+
+    private final DataEncryptionKeyWrapper<T> delegate;
+    private final int maximumSize;
+    private final long timeToLiveMillis;
+    private final Clock clock;
+
+    // access-ordered so that the least recently used key is evicted first; guarded by itself
+    private final LinkedHashMap<T, CachedKey> cache;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    private final ScheduledExecutorService sweeper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        var thread = new Thread(runnable, "dek-cache-sweeper");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public CachingDataEncryptionKeyWrapper(DataEncryptionKeyWrapper<T> delegate) {
+        this(delegate, DEFAULT_MAXIMUM_SIZE, DEFAULT_TIME_TO_LIVE);
+    }
+
+    public CachingDataEncryptionKeyWrapper(DataEncryptionKeyWrapper<T> delegate, int maximumSize, Duration timeToLive) {
+        this(delegate, maximumSize, timeToLive, timeToLive);
+    }
+
+    public CachingDataEncryptionKeyWrapper(DataEncryptionKeyWrapper<T> delegate, int maximumSize, Duration timeToLive, Duration sweepInterval) {
+        this(delegate, maximumSize, timeToLive, sweepInterval, Clock.systemUTC());
+    }
+
+    CachingDataEncryptionKeyWrapper(DataEncryptionKeyWrapper<T> delegate, int maximumSize, Duration timeToLive, Duration sweepInterval, Clock clock) {
+        Assert.notNull(delegate, "delegate must not be null");
+        Assert.isTrue(maximumSize > 0, "maximumSize must be greater than 0");
+        Assert.isTrue(timeToLive != null && !timeToLive.isNegative() && !timeToLive.isZero(), "timeToLive must be positive");
+        Assert.isTrue(sweepInterval != null && !sweepInterval.isNegative() && !sweepInterval.isZero(), "sweepInterval must be positive");
+        this.delegate = delegate;
+        this.maximumSize = maximumSize;
+        this.timeToLiveMillis = timeToLive.toMillis();
+        this.clock = clock;
+        this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<T, CachedKey> eldest) {
+                if (size() > CachingDataEncryptionKeyWrapper.this.maximumSize) {
+                    evicted(eldest.getValue());
+                    return true;
+                }
+                return false;
+            }
+        };
+        var sweepIntervalMillis = sweepInterval.toMillis();
+        sweeper.scheduleWithFixedDelay(this::evictExpired, sweepIntervalMillis, sweepIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public boolean supports(StoredDataEncryptionKey storedDataEncryptionKey) {
+        return delegate.supports(storedDataEncryptionKey);
+    }
+
+    @Override
+    public T wrapEncryptionKey(EncryptionParameters dataEncryptionParameters) {
+        var wrapped = delegate.wrapEncryptionKey(dataEncryptionParameters);
+        if (wrapped != null) {
+            put(wrapped, dataEncryptionParameters);
+        }
+        return wrapped;
+    }
+
+    @Override
+    public List<T> wrapEncryptionKeys(List<EncryptionParameters> dataEncryptionParameters) {
+        var wrapped = delegate.wrapEncryptionKeys(dataEncryptionParameters);
+        for (int i = 0; i < wrapped.size(); i++) {
+            put(wrapped.get(i), dataEncryptionParameters.get(i));
+        }
+        return wrapped;
+    }
+
+    @Override
+    public EncryptionParameters unwrapEncryptionKey(T encryptedDataEncryptionKey) {
+        var now = clock.millis();
+        synchronized (cache) {
+            var cached = cache.get(encryptedDataEncryptionKey);
+            if (cached != null) {
+                if (cached.expiresAt > now) {
+                    hits.increment();
+                    return cached.toEncryptionParameters();
+                }
+                cache.remove(encryptedDataEncryptionKey);
+                evicted(cached);
+            }
+        }
+
+        misses.increment();
+        // unwrapped outside the lock; concurrent misses for the same key may each unwrap it
+        var unwrapped = delegate.unwrapEncryptionKey(encryptedDataEncryptionKey);
+        if (unwrapped != null) {
+            put(encryptedDataEncryptionKey, unwrapped);
+        }
+        return unwrapped;
+    }
+
+    /**
+     * Evicts the cached keys that have expired
+     */
+    public void evictExpired() {
+        var now = clock.millis();
+        synchronized (cache) {
+            var it = cache.values().iterator();
+            while (it.hasNext()) {
+                var cached = it.next();
+                if (cached.expiresAt <= now) {
+                    it.remove();
+                    evicted(cached);
+                }
+            }
+        }
+    }
+
+    /**
+     * Stops sweeping expired keys and evicts all cached keys
+     */
+    @Override
+    public void close() {
+        sweeper.shutdownNow();
+        invalidateAll();
+    }
+
+    /**
+     * Evicts all cached keys
+     */
+    public void invalidateAll() {
+        synchronized (cache) {
+            cache.values().forEach(this::evicted);
+            cache.clear();
+        }
+    }
+
+    /**
+     * @return The number of keys that are currently cached
+     */
+    public int size() {
+        synchronized (cache) {
+            return cache.size();
+        }
+    }
+
+    /**
+     * @return The number of unwraps that were served from the cache
+     */
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    /**
+     * @return The number of unwraps that were delegated
+     */
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    /**
+     * @return The number of keys that were evicted because they expired, or to make room for other keys
+     */
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+
+    private void put(T encryptedDataEncryptionKey, EncryptionParameters parameters) {
+        var cached = new CachedKey(parameters, clock.millis() + timeToLiveMillis);
+        synchronized (cache) {
+            var previous = cache.put(encryptedDataEncryptionKey, cached);
+            if (previous != null) {
+                previous.destroy();
+            }
+        }
+    }
+
+    private void evicted(CachedKey cachedKey) {
+        cachedKey.destroy();
+        evictions.increment();
+    }
+
+    /**
+     * A copy of the unwrapped key material, that is owned by the cache so that it can be zeroized
+     */
+    private static final class CachedKey {
+
+        private final String algorithm;
+        private final byte[] keyData;
+        private final byte[] initializationVector;
+        private final long expiresAt;
+
+        private CachedKey(EncryptionParameters parameters, long expiresAt) {
+            this.algorithm = parameters.getSecretKey().getAlgorithm();
+            this.keyData = parameters.getSecretKey().getEncoded();
+            this.initializationVector = parameters.getInitializationVector().clone();
+            this.expiresAt = expiresAt;
+        }
+
+        private EncryptionParameters toEncryptionParameters() {
+            // both copy the cached key material, so callers can not observe it being zeroized
+            return new EncryptionParameters(new SecretKeySpec(keyData, algorithm), initializationVector.clone());
+        }
+
+        private void destroy() {
+            Arrays.fill(keyData, (byte) 0);
+            Arrays.fill(initializationVector, (byte) 0);
+        }
+    }
+}
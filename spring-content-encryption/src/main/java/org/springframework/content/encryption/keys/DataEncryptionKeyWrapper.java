@@ -1,5 +1,6 @@
 package org.springframework.content.encryption.keys;
 
+import java.util.List;
 import org.springframework.content.encryption.engine.ContentEncryptionEngine.EncryptionParameters;
 
 /**
@@ -21,6 +22,21 @@ public interface DataEncryptionKeyWrapper<T extends StoredDataEncryptionKey> {
      */
     T wrapEncryptionKey(EncryptionParameters dataEncryptionParameters);
 
+    /**
+     * Encrypt multiple data encryption keys
+     * <p>
+     * Wrappers that can encrypt multiple keys in a single operation, like a single remote request, should override this method.
+     * By default, every key is encrypted separately.
+     *
+     * @param dataEncryptionParameters Unencrypted data encryption parameters
+     * @return Representations of the encrypted data encryption keys, in the same order as the parameters
+     */
+    default List<T> wrapEncryptionKeys(List<EncryptionParameters> dataEncryptionParameters) {
+        return dataEncryptionParameters.stream()
+                .map(this::wrapEncryptionKey)
+                .toList();
+    }
+
     /**
      * Decrypt the encrypted data encryption key
      * @param encryptedDataEncryptionKey A representation of the encrypted data encryption key
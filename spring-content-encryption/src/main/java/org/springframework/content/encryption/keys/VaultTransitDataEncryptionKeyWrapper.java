@@ -1,7 +1,10 @@
 package org.springframework.content.encryption.keys;
 
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
+import java.util.regex.Pattern;
 import javax.crypto.spec.SecretKeySpec;
 import lombok.RequiredArgsConstructor;
 import org.springframework.content.encryption.engine.ContentEncryptionEngine.EncryptionParameters;
@@ -13,6 +16,7 @@ import org.springframework.vault.support.Plaintext;
 @RequiredArgsConstructor
 public class VaultTransitDataEncryptionKeyWrapper implements DataEncryptionKeyWrapper<EncryptedSymmetricDataEncryptionKey> {
     private static final String WRAPPING_ALGORITHM = "vault-transit";
+    private static final Pattern CIPHERTEXT_VERSION = Pattern.compile("vault:v([0-9]+):");
 
     private final VaultTransitOperations transitOperations;
     private final String wrappingKeyId;
@@ -29,16 +33,50 @@ public class VaultTransitDataEncryptionKeyWrapper implements DataEncryptionKeyWr
     public EncryptedSymmetricDataEncryptionKey wrapEncryptionKey(EncryptionParameters dataEncryptionParameters) {
         var plainText = Plaintext.of(dataEncryptionParameters.getSecretKey().getEncoded());
         var encryptedKey = transitOperations.encrypt(wrappingKeyId, plainText);
+        return toEncryptedKey(dataEncryptionParameters, encryptedKey);
+    }
+
+    /**
+     * Encrypts all data encryption keys with a single transit request, using the {@code batch_input} of the encrypt endpoint
+     */
+    @Override
+    public List<EncryptedSymmetricDataEncryptionKey> wrapEncryptionKeys(List<EncryptionParameters> dataEncryptionParameters) {
+        var plainTexts = dataEncryptionParameters.stream()
+                .map(parameters -> Plaintext.of(parameters.getSecretKey().getEncoded()))
+                .toList();
+        var results = transitOperations.encrypt(wrappingKeyId, plainTexts);
+
+        var encryptedKeys = new ArrayList<EncryptedSymmetricDataEncryptionKey>(results.size());
+        for (int i = 0; i < results.size(); i++) {
+            // get() throws the cause of a failed item
+            encryptedKeys.add(toEncryptedKey(dataEncryptionParameters.get(i), results.get(i).get()));
+        }
+        return encryptedKeys;
+    }
+
+    private EncryptedSymmetricDataEncryptionKey toEncryptedKey(EncryptionParameters dataEncryptionParameters, Ciphertext encryptedKey) {
         return new EncryptedSymmetricDataEncryptionKey(
                 WRAPPING_ALGORITHM,
                 wrappingKeyId,
-                Integer.toString(encryptedKey.getContext().getKeyVersion()),
+                Integer.toString(keyVersion(encryptedKey)),
                 dataEncryptionParameters.getSecretKey().getAlgorithm(),
                 encryptedKey.getCiphertext().getBytes(StandardCharsets.UTF_8),
                 dataEncryptionParameters.getInitializationVector()
         );
     }
 
+    // batch results do not carry the key version in their context; it is also encoded in the ciphertext as vault:v<version>:
+    private static int keyVersion(Ciphertext encryptedKey) {
+        var keyVersion = encryptedKey.getContext().getKeyVersion();
+        if (keyVersion == 0) {
+            var matcher = CIPHERTEXT_VERSION.matcher(encryptedKey.getCiphertext());
+            if (matcher.lookingAt()) {
+                keyVersion = Integer.parseInt(matcher.group(1));
+            }
+        }
+        return keyVersion;
+    }
+
     @Override
     public EncryptionParameters unwrapEncryptionKey(EncryptedSymmetricDataEncryptionKey encryptedDataEncryptionKey) {
         var cipherText = Ciphertext.of(
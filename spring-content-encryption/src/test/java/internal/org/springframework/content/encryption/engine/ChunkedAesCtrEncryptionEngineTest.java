@@ -0,0 +1,139 @@
+package internal.org.springframework.content.encryption.engine;
+
+import com.github.paulcwarren.ginkgo4j.Ginkgo4jRunner;
+import jakarta.xml.bind.DatatypeConverter;
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Random;
+import javax.crypto.spec.SecretKeySpec;
+import org.junit.runner.RunWith;
+import org.springframework.content.encryption.engine.ContentEncryptionEngine.EncryptionParameters;
+import org.springframework.content.encryption.engine.ContentEncryptionEngine.InputStreamRequestParameters;
+import org.springframework.util.StreamUtils;
+import reactor.core.publisher.Flux;
+
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+@RunWith(Ginkgo4jRunner.class)
+public class ChunkedAesCtrEncryptionEngineTest {
+
+    // See test vectors of NIST SP 800-38A (https://doi.org/10.6028/NIST.SP.800-38A)
+    private static final byte[] KEY = DatatypeConverter.parseHexBinary("2b7e151628aed2a6abf7158809cf4f3c");
+    private static final byte[] IV = DatatypeConverter.parseHexBinary("f0f1f2f3f4f5f6f7f8f9fafbfcfdfeff");
+    private static final EncryptionParameters PARAMS = new EncryptionParameters(
+            new SecretKeySpec(KEY, "AES"),
+            IV
+    );
+    private static final byte[] PLAINTEXT = DatatypeConverter.parseHexBinary("6bc1bee22e409f96e93d7e117393172aae2d8a571e03ac9c9eb76fac45af8e51");
+    private static final byte[] CIPHERTEXT = DatatypeConverter.parseHexBinary("874d6191b620e3261bef6864990db6ce9806f66b7970fdff8617187bb9fffdff");
+
+    private static final byte[] CONTENT = new byte[200 * 1024 + 7];
+    static {
+        new Random(1).nextBytes(CONTENT);
+    }
+
+    {
+        Describe("Chunked AES-CTR encryption", () -> {
+            It("Encrypts plaintext according to the encryption parameters", () -> {
+                var engine = new ChunkedAesCtrEncryptionEngine(128);
+
+                var encryptedBytes = StreamUtils.copyToByteArray(engine.encrypt(new ByteArrayInputStream(PLAINTEXT), PARAMS));
+
+                assertThat(encryptedBytes, is(equalTo(CIPHERTEXT)));
+            });
+
+            It("Encrypts content identically to AesCtrEncryptionEngine", () -> {
+                var engine = new ChunkedAesCtrEncryptionEngine(128, 1000);
+
+                var expected = StreamUtils.copyToByteArray(new AesCtrEncryptionEngine(128).encrypt(new ByteArrayInputStream(CONTENT), PARAMS));
+                var encrypted = StreamUtils.copyToByteArray(engine.encrypt(new ByteArrayInputStream(CONTENT), PARAMS));
+
+                assertThat(encrypted, is(equalTo(expected)));
+            });
+
+            It("Decrypts content that is read byte by byte and in small and large reads", () -> {
+                var engine = new ChunkedAesCtrEncryptionEngine(128, 1000);
+                var encrypted = StreamUtils.copyToByteArray(engine.encrypt(new ByteArrayInputStream(CONTENT), PARAMS));
+
+                try (var decrypted = engine.decrypt(req -> new ByteArrayInputStream(encrypted), PARAMS, InputStreamRequestParameters.full())) {
+                    var first = decrypted.read();
+                    var small = decrypted.readNBytes(10);
+                    var large = StreamUtils.copyToByteArray(decrypted);
+
+                    assertThat((byte) first, is(CONTENT[0]));
+                    assertThat(small, is(equalTo(Arrays.copyOfRange(CONTENT, 1, 11))));
+                    assertThat(large, is(equalTo(Arrays.copyOfRange(CONTENT, 11, CONTENT.length))));
+                }
+            });
+
+            It("Decrypts starting from an offset in the middle of a block", () -> {
+                var engine = new ChunkedAesCtrEncryptionEngine(128);
+                var encrypted = StreamUtils.copyToByteArray(engine.encrypt(new ByteArrayInputStream(CONTENT), PARAMS));
+                var offsetStart = 100_003;
+
+                try (var decrypted = engine.decrypt(req -> onlyByteRange(new ByteArrayInputStream(encrypted), req), PARAMS, InputStreamRequestParameters.startingFrom(offsetStart))) {
+                    var prefix = decrypted.readNBytes(offsetStart);
+                    var decryptedBytes = StreamUtils.copyToByteArray(decrypted);
+
+                    assertThat(prefix, is(equalTo(new byte[offsetStart])));
+                    assertThat(decryptedBytes, is(equalTo(Arrays.copyOfRange(CONTENT, offsetStart, CONTENT.length))));
+                }
+            });
+
+            It("Skips without decrypting the skipped content", () -> {
+                var engine = new ChunkedAesCtrEncryptionEngine(128, 1000);
+                var encrypted = StreamUtils.copyToByteArray(engine.encrypt(new ByteArrayInputStream(CONTENT), PARAMS));
+
+                try (var decrypted = engine.decrypt(req -> new ByteArrayInputStream(encrypted), PARAMS, InputStreamRequestParameters.full())) {
+                    decrypted.readNBytes(5);
+                    assertThat(decrypted.skip(10), is(10L));
+                    assertThat(decrypted.readNBytes(3), is(equalTo(Arrays.copyOfRange(CONTENT, 15, 18))));
+                    assertThat(decrypted.skip(150_001), is(150_001L));
+                    assertThat(decrypted.readNBytes(3), is(equalTo(Arrays.copyOfRange(CONTENT, 150_019, 150_022))));
+                }
+            });
+
+            It("Computes block counters that wrap around", () -> {
+                var counter = ChunkedAesCtrEncryptionEngine.counterForBlock(DatatypeConverter.parseHexBinary("fffffffffffffffffffffffffffffffe"), 3);
+
+                assertThat(counter, is(equalTo(DatatypeConverter.parseHexBinary("00000000000000000000000000000001"))));
+            });
+
+            It("Encrypts and decrypts byte buffers", () -> {
+                var engine = new ChunkedAesCtrEncryptionEngine(128);
+                var encrypted = ByteBuffer.allocateDirect(CIPHERTEXT.length - 5);
+
+                engine.transform(PARAMS, 5, ByteBuffer.wrap(PLAINTEXT, 5, PLAINTEXT.length - 5), encrypted);
+
+                var encryptedBytes = new byte[encrypted.flip().remaining()];
+                encrypted.get(encryptedBytes);
+                assertThat(encryptedBytes, is(equalTo(Arrays.copyOfRange(CIPHERTEXT, 5, CIPHERTEXT.length))));
+            });
+
+            It("Encrypts and decrypts reactive streams", () -> {
+                var engine = new ChunkedAesCtrEncryptionEngine(128);
+                var plainText = Flux.just(ByteBuffer.wrap(PLAINTEXT, 0, 7), ByteBuffer.wrap(PLAINTEXT, 7, PLAINTEXT.length - 7));
+
+                var encrypted = concat(engine.encrypt(plainText, PARAMS));
+                assertThat(encrypted, is(equalTo(CIPHERTEXT)));
+
+                var decrypted = concat(engine.decrypt(Flux.just(ByteBuffer.wrap(CIPHERTEXT, 20, CIPHERTEXT.length - 20)), PARAMS, 20));
+                assertThat(decrypted, is(equalTo(Arrays.copyOfRange(PLAINTEXT, 20, PLAINTEXT.length))));
+            });
+        });
+    }
+
+    private static byte[] concat(Flux<ByteBuffer> buffers) {
+        var all = ByteBuffer.allocate(PLAINTEXT.length);
+        buffers.toIterable().forEach(all::put);
+        return Arrays.copyOf(all.array(), all.position());
+    }
+
+    private static InputStream onlyByteRange(InputStream inputStream, InputStreamRequestParameters params) {
+        return new ZeroPrefixedInputStream(new SkippingInputStream(inputStream, params.getStartByteOffset()), params.getStartByteOffset());
+    }
+}
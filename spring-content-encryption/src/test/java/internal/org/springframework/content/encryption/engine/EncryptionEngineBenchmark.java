@@ -0,0 +1,106 @@
+package internal.org.springframework.content.encryption.engine;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.content.encryption.engine.ContentEncryptionEngine;
+import org.springframework.content.encryption.engine.ContentEncryptionEngine.EncryptionParameters;
+import org.springframework.content.encryption.engine.ContentEncryptionEngine.InputStreamRequestParameters;
+
+/**
+ * Compares the throughput of {@link AesCtrEncryptionEngine} and {@link ChunkedAesCtrEncryptionEngine}
+ * <p>
+ * Run with {@code mvn -pl spring-content-encryption test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=internal.org.springframework.content.encryption.engine.EncryptionEngineBenchmark}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EncryptionEngineBenchmark {
+
+    private static final int CONTENT_SIZE = 16 * 1024 * 1024;
+
+    @Param({"AesCtr", "ChunkedAesCtr"})
+    private String engineType;
+
+    // the size of the buffer the caller reads with
+    @Param({"8192", "65536"})
+    private int readSize;
+
+    private ContentEncryptionEngine engine;
+    private EncryptionParameters parameters;
+    private byte[] plainText;
+    private byte[] cipherText;
+    private byte[] buffer;
+
+    @Setup
+    public void setup() throws IOException {
+        engine = switch (engineType) {
+            case "AesCtr" -> new AesCtrEncryptionEngine(256);
+            case "ChunkedAesCtr" -> new ChunkedAesCtrEncryptionEngine(256);
+            default -> throw new IllegalArgumentException(engineType);
+        };
+        parameters = engine.createNewParameters();
+
+        plainText = new byte[CONTENT_SIZE];
+        new Random(1).nextBytes(plainText);
+        cipherText = engine.encrypt(new ByteArrayInputStream(plainText), parameters).readAllBytes();
+        buffer = new byte[readSize];
+    }
+
+    @Benchmark
+    public long encrypt() throws IOException {
+        return drain(engine.encrypt(new ByteArrayInputStream(plainText), parameters));
+    }
+
+    @Benchmark
+    public long decrypt() throws IOException {
+        return drain(engine.decrypt(request -> new ByteArrayInputStream(cipherText), parameters, InputStreamRequestParameters.full()));
+    }
+
+    @Benchmark
+    public long decryptLastQuarter() throws IOException {
+        var offset = CONTENT_SIZE - CONTENT_SIZE / 4;
+        try (var decrypted = engine.decrypt(request -> new ByteArrayInputStream(cipherText), parameters, InputStreamRequestParameters.startingFrom(offset))) {
+            decrypted.skipNBytes(offset);
+            return drain(decrypted);
+        }
+    }
+
+    private long drain(InputStream in) throws IOException {
+        long total = 0;
+        try (in) {
+            int n;
+            while ((n = in.read(buffer)) != -1) {
+                total += n;
+            }
+        }
+        return total;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(EncryptionEngineBenchmark.class.getSimpleName())
+                .build()
+        ).run();
+    }
+}
@@ -0,0 +1,107 @@
+package internal.org.springframework.content.fragments;
+
+import com.github.paulcwarren.ginkgo4j.Ginkgo4jRunner;
+import internal.org.springframework.content.encryption.engine.AesCtrEncryptionEngine;
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import lombok.Getter;
+import lombok.Setter;
+import org.junit.runner.RunWith;
+import org.springframework.content.commons.annotations.ContentId;
+import org.springframework.content.commons.io.RangeableResource;
+import org.springframework.content.commons.mappingcontext.MappingContext;
+import org.springframework.content.commons.property.PropertyPath;
+import org.springframework.content.commons.store.GetResourceParams;
+import org.springframework.content.encryption.engine.ContentEncryptionEngine.EncryptionParameters;
+import org.springframework.content.encryption.keys.DataEncryptionKeyAccessor;
+import org.springframework.content.encryption.keys.DataEncryptionKeyWrapper;
+import org.springframework.content.encryption.keys.StoredDataEncryptionKey.EncryptedSymmetricDataEncryptionKey;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.Resource;
+import org.springframework.util.StreamUtils;
+
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@RunWith(Ginkgo4jRunner.class)
+public class ContentCryptoServiceTest {
+
+    private static final byte[] PLAINTEXT = randomBytes(100);
+
+    private static final EncryptedSymmetricDataEncryptionKey DEK = new EncryptedSymmetricDataEncryptionKey("test", "test", "1", "AES", new byte[16], new byte[16]);
+
+    private AesCtrEncryptionEngine engine;
+    private DataEncryptionKeyAccessor<TestEntity, EncryptedSymmetricDataEncryptionKey> accessor;
+    private DataEncryptionKeyWrapper<EncryptedSymmetricDataEncryptionKey> wrapper;
+    private TestResource encrypted;
+
+    private ContentCryptoService<TestEntity, EncryptedSymmetricDataEncryptionKey> service;
+
+    {
+        Describe("ContentCryptoService", () -> {
+            BeforeEach(() -> {
+                engine = new AesCtrEncryptionEngine(128);
+                EncryptionParameters parameters = engine.createNewParameters();
+                encrypted = new TestResource(StreamUtils.copyToByteArray(engine.encrypt(new ByteArrayInputStream(PLAINTEXT), parameters)));
+
+                accessor = mock(DataEncryptionKeyAccessor.class);
+                when(accessor.findKeys(any(), any())).thenReturn(List.of(DEK));
+
+                wrapper = mock(DataEncryptionKeyWrapper.class);
+                when(wrapper.supports(DEK)).thenReturn(true);
+                when(wrapper.unwrapEncryptionKey(DEK)).thenReturn(parameters);
+
+                service = new ContentCryptoService<>(new MappingContext("/", "."), accessor, List.of(wrapper), engine, null);
+            });
+            Context("#decrypt", () -> {
+                Context("given a multi-range request", () -> {
+                    It("serves each range from the cipher text of that range", () -> {
+                        Resource resource = service.decrypt(new TestEntity(), PropertyPath.from("content"), GetResourceParams.builder().range("bytes=0-3,50-59").build(), () -> encrypted);
+
+                        try (InputStream in = ((RangeableResource) resource).getInputStream(50, 59)) {
+                            assertThat(StreamUtils.copyToByteArray(in), is(equalTo(Arrays.copyOfRange(PLAINTEXT, 50, 60))));
+                        }
+                        try (InputStream in = ((RangeableResource) resource).getInputStream(0, 3)) {
+                            assertThat(StreamUtils.copyToByteArray(in), is(equalTo(Arrays.copyOfRange(PLAINTEXT, 0, 4))));
+                        }
+                        assertThat(encrypted.ranges, contains("bytes=50-59", "bytes=0-3"));
+                    });
+                });
+            });
+        });
+    }
+
+    private static byte[] randomBytes(int size) {
+        byte[] bytes = new byte[size];
+        new Random(size).nextBytes(bytes);
+        return bytes;
+    }
+
+    @Getter
+    @Setter
+    public static class TestEntity {
+        @ContentId
+        private String contentId;
+    }
+
+    public static class TestResource extends ByteArrayResource implements RangeableResource {
+
+        private final List<String> ranges = new ArrayList<>();
+
+        public TestResource(byte[] content) {
+            super(content);
+        }
+
+        @Override
+        public void setRange(String range) {
+            ranges.add(range);
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package internal.org.springframework.content.fragments;
+
+import com.github.paulcwarren.ginkgo4j.Ginkgo4jRunner;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import javax.crypto.spec.SecretKeySpec;
+import org.junit.runner.RunWith;
+import org.springframework.content.encryption.engine.ContentEncryptionEngine;
+import org.springframework.content.encryption.engine.ContentEncryptionEngine.EncryptionParameters;
+import org.springframework.content.encryption.keys.DataEncryptionKeyWrapper;
+import org.springframework.content.encryption.keys.StoredDataEncryptionKey.EncryptedSymmetricDataEncryptionKey;
+
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@RunWith(Ginkgo4jRunner.class)
+public class DataEncryptionKeyPoolTest {
+
+    private ContentEncryptionEngine engine;
+    private DataEncryptionKeyWrapper<EncryptedSymmetricDataEncryptionKey> wrapper;
+
+    private DataEncryptionKeyPool<EncryptedSymmetricDataEncryptionKey> pool;
+
+    {
+        Describe("DataEncryptionKeyPool", () -> {
+            BeforeEach(() -> {
+                engine = mock(ContentEncryptionEngine.class);
+                when(engine.createNewParameters()).thenAnswer(invocation -> new EncryptionParameters(new SecretKeySpec(new byte[16], "AES"), new byte[16]));
+
+                wrapper = mock(DataEncryptionKeyWrapper.class);
+                when(wrapper.wrapEncryptionKeys(anyList())).thenAnswer(invocation -> {
+                    List<EncryptionParameters> parameters = invocation.getArgument(0);
+                    return parameters.stream()
+                            .map(p -> new EncryptedSymmetricDataEncryptionKey("test", "test", "1", "AES", new byte[16], p.getInitializationVector()))
+                            .toList();
+                });
+
+                pool = new DataEncryptionKeyPool<>(engine, List.of(wrapper), 4);
+            });
+            AfterEach(() -> {
+                pool.destroy();
+            });
+            It("does not wrap any keys when it is created", () -> {
+                verifyNoInteractions(wrapper);
+            });
+            It("fills the pool with one operation when the first key is taken", () -> {
+                assertThat(pool.take(), is(nullValue()));
+
+                verify(wrapper, timeout(TimeUnit.SECONDS.toMillis(10))).wrapEncryptionKeys(argThat(parameters -> parameters.size() == 4));
+
+                DataEncryptionKeyPool.PooledKey<EncryptedSymmetricDataEncryptionKey> key = null;
+                for (int i = 0; i < 100 && key == null; i++) {
+                    key = pool.take();
+                    Thread.sleep(10);
+                }
+                assertThat(key, is(notNullValue()));
+                assertThat(key.encryptedDeks(), hasSize(1));
+            });
+            It("does not refill the pool once it is destroyed", () -> {
+                pool.destroy();
+
+                assertThat(pool.take(), is(nullValue()));
+
+                Thread.sleep(100);
+                verifyNoInteractions(wrapper);
+            });
+        });
+    }
+}
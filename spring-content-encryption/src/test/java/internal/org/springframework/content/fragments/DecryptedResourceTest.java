@@ -0,0 +1,78 @@
+package internal.org.springframework.content.fragments;
+
+import com.github.paulcwarren.ginkgo4j.Ginkgo4jRunner;
+import internal.org.springframework.content.encryption.engine.AesCtrEncryptionEngine;
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import org.junit.runner.RunWith;
+import org.springframework.content.encryption.engine.ContentEncryptionEngine.EncryptionParameters;
+import org.springframework.content.encryption.engine.ContentEncryptionEngine.InputStreamRequestParameters;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.util.StreamUtils;
+
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+@RunWith(Ginkgo4jRunner.class)
+public class DecryptedResourceTest {
+
+    private static final byte[] PLAINTEXT = randomBytes(100);
+
+    private AesCtrEncryptionEngine engine;
+    private EncryptionParameters parameters;
+    private byte[] cipherText;
+    private List<InputStreamRequestParameters> requests;
+
+    private DecryptedResource resource;
+
+    {
+        Describe("DecryptedResource", () -> {
+            BeforeEach(() -> {
+                engine = new AesCtrEncryptionEngine(128);
+                parameters = engine.createNewParameters();
+                cipherText = StreamUtils.copyToByteArray(engine.encrypt(new ByteArrayInputStream(PLAINTEXT), parameters));
+                requests = new ArrayList<>();
+
+                resource = new DecryptedResource(requestParameters -> {
+                    requests.add(requestParameters);
+                    return engine.decrypt(params -> new ByteArrayInputStream(cipherText), parameters, requestParameters);
+                }, InputStreamRequestParameters.full(), new ByteArrayResource(cipherText));
+            });
+            Context("#getInputStream", () -> {
+                It("decrypts the content", () -> {
+                    try (InputStream in = resource.getInputStream()) {
+                        assertThat(StreamUtils.copyToByteArray(in), is(equalTo(PLAINTEXT)));
+                    }
+                    assertThat(requests.get(0).getStartByteOffset(), is(0L));
+                    assertThat(requests.get(0).getEndByteOffset(), is(nullValue()));
+                });
+            });
+            Context("#getInputStream(start, end)", () -> {
+                It("decrypts only the range", () -> {
+                    try (InputStream in = resource.getInputStream(20, 39)) {
+                        assertThat(StreamUtils.copyToByteArray(in), is(equalTo(Arrays.copyOfRange(PLAINTEXT, 20, 40))));
+                    }
+                    assertThat(requests, hasSize(1));
+                    assertThat(requests.get(0).getStartByteOffset(), is(20L));
+                    assertThat(requests.get(0).getEndByteOffset(), is(39L));
+                });
+                It("decrypts a range that does not start on a block boundary", () -> {
+                    try (InputStream in = resource.getInputStream(37, 37)) {
+                        assertThat(StreamUtils.copyToByteArray(in), is(equalTo(new byte[] {PLAINTEXT[37]})));
+                    }
+                });
+            });
+        });
+    }
+
+    private static byte[] randomBytes(int size) {
+        byte[] bytes = new byte[size];
+        new Random(size).nextBytes(bytes);
+        return bytes;
+    }
+}
@@ -0,0 +1,121 @@
+package org.springframework.content.encryption.keys;
+
+import com.github.paulcwarren.ginkgo4j.Ginkgo4jRunner;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import javax.crypto.spec.SecretKeySpec;
+import org.junit.runner.RunWith;
+import org.springframework.content.encryption.engine.ContentEncryptionEngine.EncryptionParameters;
+import org.springframework.content.encryption.keys.StoredDataEncryptionKey.EncryptedSymmetricDataEncryptionKey;
+
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+@RunWith(Ginkgo4jRunner.class)
+public class BatchingDataEncryptionKeyWrapperTest {
+
+    private RecordingWrapper delegate;
+
+    private BatchingDataEncryptionKeyWrapper<EncryptedSymmetricDataEncryptionKey> wrapper;
+
+    {
+        Describe("BatchingDataEncryptionKeyWrapper", () -> {
+            BeforeEach(() -> {
+                delegate = new RecordingWrapper();
+            });
+            AfterEach(() -> {
+                wrapper.close();
+            });
+            Context("given a batch that fills up", () -> {
+                BeforeEach(() -> {
+                    wrapper = new BatchingDataEncryptionKeyWrapper<>(delegate, Duration.ofMinutes(1), 3);
+                });
+                It("wraps the keys with a single operation", () -> {
+                    var callers = Executors.newFixedThreadPool(3);
+                    var wrapped = new ArrayList<CompletableFuture<EncryptedSymmetricDataEncryptionKey>>();
+                    for (byte i = 0; i < 3; i++) {
+                        var parameters = parameters(i);
+                        wrapped.add(CompletableFuture.supplyAsync(() -> wrapper.wrapEncryptionKey(parameters), callers));
+                    }
+
+                    for (byte i = 0; i < 3; i++) {
+                        var key = wrapped.get(i).get(10, TimeUnit.SECONDS);
+                        assertThat(key.getEncryptedKeyData(), is(equalTo(new byte[] {i})));
+                    }
+                    assertThat(delegate.batches, is(equalTo(List.of(3))));
+                    callers.shutdown();
+                });
+            });
+            Context("given a batch that does not fill up", () -> {
+                BeforeEach(() -> {
+                    wrapper = new BatchingDataEncryptionKeyWrapper<>(delegate, Duration.ofMillis(10), 100);
+                });
+                It("wraps the keys once the window has passed", () -> {
+                    var key = wrapper.wrapEncryptionKey(parameters((byte) 7));
+
+                    assertThat(key.getEncryptedKeyData(), is(equalTo(new byte[] {7})));
+                    assertThat(delegate.batches, is(equalTo(List.of(1))));
+                });
+                It("wraps the keys on the thread that opened the batch", () -> {
+                    wrapper.wrapEncryptionKey(parameters((byte) 7));
+
+                    assertThat(delegate.threads, is(equalTo(List.of(Thread.currentThread()))));
+                });
+                It("fails every key of a batch that can not be wrapped", () -> {
+                    delegate.failure = new IllegalStateException("unavailable");
+
+                    Exception e = null;
+                    try {
+                        wrapper.wrapEncryptionKey(parameters((byte) 7));
+                    } catch (IllegalStateException ex) {
+                        e = ex;
+                    }
+                    assertThat(e, is(sameInstance(delegate.failure)));
+                });
+            });
+        });
+    }
+
+    private static EncryptionParameters parameters(byte key) {
+        return new EncryptionParameters(new SecretKeySpec(new byte[] {key}, "AES"), new byte[16]);
+    }
+
+    private static class RecordingWrapper implements DataEncryptionKeyWrapper<EncryptedSymmetricDataEncryptionKey> {
+
+        private final List<Integer> batches = new ArrayList<>();
+        private final List<Thread> threads = new ArrayList<>();
+        private RuntimeException failure;
+
+        @Override
+        public boolean supports(StoredDataEncryptionKey storedDataEncryptionKey) {
+            return true;
+        }
+
+        @Override
+        public EncryptedSymmetricDataEncryptionKey wrapEncryptionKey(EncryptionParameters dataEncryptionParameters) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public synchronized List<EncryptedSymmetricDataEncryptionKey> wrapEncryptionKeys(List<EncryptionParameters> dataEncryptionParameters) {
+            if (failure != null) {
+                throw failure;
+            }
+            batches.add(dataEncryptionParameters.size());
+            threads.add(Thread.currentThread());
+            return dataEncryptionParameters.stream()
+                    .map(parameters -> new EncryptedSymmetricDataEncryptionKey("test", "test", "1", "AES", parameters.getSecretKey().getEncoded(), parameters.getInitializationVector()))
+                    .toList();
+        }
+
+        @Override
+        public EncryptionParameters unwrapEncryptionKey(EncryptedSymmetricDataEncryptionKey encryptedDataEncryptionKey) {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
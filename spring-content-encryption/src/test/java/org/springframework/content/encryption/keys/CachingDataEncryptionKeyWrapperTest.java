@@ -0,0 +1,124 @@
+package org.springframework.content.encryption.keys;
+
+import com.github.paulcwarren.ginkgo4j.Ginkgo4jRunner;
+import java.time.Clock;
+import java.time.Duration;
+import javax.crypto.spec.SecretKeySpec;
+import org.junit.runner.RunWith;
+import org.springframework.content.encryption.engine.ContentEncryptionEngine.EncryptionParameters;
+import org.springframework.content.encryption.keys.StoredDataEncryptionKey.EncryptedSymmetricDataEncryptionKey;
+
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@RunWith(Ginkgo4jRunner.class)
+public class CachingDataEncryptionKeyWrapperTest {
+
+    private static final byte[] KEY = new byte[] {1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15, 16};
+    private static final byte[] IV = new byte[] {16, 15, 14, 13, 12, 11, 10, 9, 8, 7, 6, 5, 4, 3, 2, 1};
+
+    private DataEncryptionKeyWrapper<EncryptedSymmetricDataEncryptionKey> delegate;
+    private Clock clock;
+
+    private CachingDataEncryptionKeyWrapper<EncryptedSymmetricDataEncryptionKey> wrapper;
+
+    {
+        Describe("CachingDataEncryptionKeyWrapper", () -> {
+            BeforeEach(() -> {
+                delegate = mock(DataEncryptionKeyWrapper.class);
+                when(delegate.unwrapEncryptionKey(any())).thenAnswer(invocation -> new EncryptionParameters(new SecretKeySpec(KEY, "AES"), IV.clone()));
+
+                clock = mock(Clock.class);
+                when(clock.millis()).thenReturn(0L);
+
+                wrapper = new CachingDataEncryptionKeyWrapper<>(delegate, 2, Duration.ofMinutes(1), Duration.ofMinutes(1), clock);
+            });
+            AfterEach(() -> {
+                wrapper.close();
+            });
+            It("unwraps a key with the delegate once", () -> {
+                var first = wrapper.unwrapEncryptionKey(wrappedKey("a"));
+                var second = wrapper.unwrapEncryptionKey(wrappedKey("a"));
+
+                verify(delegate, times(1)).unwrapEncryptionKey(any());
+                assertThat(second.getSecretKey().getEncoded(), is(equalTo(first.getSecretKey().getEncoded())));
+                assertThat(second.getInitializationVector(), is(equalTo(IV)));
+                assertThat(wrapper.getHitCount(), is(1L));
+                assertThat(wrapper.getMissCount(), is(1L));
+            });
+            It("unwraps expired keys with the delegate again", () -> {
+                wrapper.unwrapEncryptionKey(wrappedKey("a"));
+                when(clock.millis()).thenReturn(Duration.ofMinutes(2).toMillis());
+                wrapper.unwrapEncryptionKey(wrappedKey("a"));
+
+                verify(delegate, times(2)).unwrapEncryptionKey(any());
+                assertThat(wrapper.getEvictionCount(), is(1L));
+            });
+            It("evicts expired keys that are not read again", () -> {
+                wrapper.unwrapEncryptionKey(wrappedKey("a"));
+                when(clock.millis()).thenReturn(Duration.ofSeconds(30).toMillis());
+                wrapper.unwrapEncryptionKey(wrappedKey("b"));
+
+                when(clock.millis()).thenReturn(Duration.ofSeconds(80).toMillis());
+                wrapper.evictExpired();
+
+                assertThat(wrapper.size(), is(1));
+                assertThat(wrapper.getEvictionCount(), is(1L));
+            });
+            It("sweeps expired keys periodically", () -> {
+                wrapper.close();
+                wrapper = new CachingDataEncryptionKeyWrapper<>(delegate, 2, Duration.ofMillis(10), Duration.ofMillis(10));
+                wrapper.unwrapEncryptionKey(wrappedKey("a"));
+
+                var deadline = System.currentTimeMillis() + 5_000;
+                while (wrapper.size() > 0 && System.currentTimeMillis() < deadline) {
+                    Thread.sleep(10);
+                }
+                assertThat(wrapper.size(), is(0));
+                assertThat(wrapper.getEvictionCount(), is(1L));
+            });
+            It("evicts all keys when it is closed", () -> {
+                wrapper.unwrapEncryptionKey(wrappedKey("a"));
+                wrapper.close();
+
+                assertThat(wrapper.size(), is(0));
+            });
+            It("evicts the least recently used key", () -> {
+                wrapper.unwrapEncryptionKey(wrappedKey("a"));
+                wrapper.unwrapEncryptionKey(wrappedKey("b"));
+                wrapper.unwrapEncryptionKey(wrappedKey("a"));
+                wrapper.unwrapEncryptionKey(wrappedKey("c"));
+
+                assertThat(wrapper.size(), is(2));
+                assertThat(wrapper.getEvictionCount(), is(1L));
+
+                wrapper.unwrapEncryptionKey(wrappedKey("a"));
+                verify(delegate, times(3)).unwrapEncryptionKey(any());
+            });
+            It("does not expose the cached key material", () -> {
+                var unwrapped = wrapper.unwrapEncryptionKey(wrappedKey("a"));
+                wrapper.invalidateAll();
+
+                assertThat(unwrapped.getSecretKey().getEncoded(), is(equalTo(KEY)));
+                assertThat(unwrapped.getInitializationVector(), is(equalTo(IV)));
+            });
+            It("caches keys that it wraps", () -> {
+                var parameters = new EncryptionParameters(new SecretKeySpec(KEY, "AES"), IV);
+                when(delegate.wrapEncryptionKey(parameters)).thenReturn(wrappedKey("a"));
+
+                wrapper.wrapEncryptionKey(parameters);
+                var unwrapped = wrapper.unwrapEncryptionKey(wrappedKey("a"));
+
+                verify(delegate, never()).unwrapEncryptionKey(any());
+                assertThat(unwrapped.getSecretKey().getEncoded(), is(equalTo(KEY)));
+            });
+        });
+    }
+
+    private static EncryptedSymmetricDataEncryptionKey wrappedKey(String keyData) {
+        return new EncryptedSymmetricDataEncryptionKey("vault-transit", "my-key", "1", "AES", keyData.getBytes(), IV);
+    }
+}
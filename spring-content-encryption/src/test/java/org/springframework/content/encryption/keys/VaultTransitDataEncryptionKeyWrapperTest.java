@@ -0,0 +1,102 @@
+package org.springframework.content.encryption.keys;
+
+import com.github.paulcwarren.ginkgo4j.Ginkgo4jRunner;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import javax.crypto.spec.SecretKeySpec;
+import org.junit.runner.RunWith;
+import org.springframework.content.encryption.engine.ContentEncryptionEngine.EncryptionParameters;
+import org.springframework.content.encryption.keys.StoredDataEncryptionKey.EncryptedSymmetricDataEncryptionKey;
+import org.springframework.vault.VaultException;
+import org.springframework.vault.core.VaultTransitOperations;
+import org.springframework.vault.support.Ciphertext;
+import org.springframework.vault.support.Plaintext;
+import org.springframework.vault.support.VaultEncryptionResult;
+import org.springframework.vault.support.VaultTransitContext;
+
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@RunWith(Ginkgo4jRunner.class)
+public class VaultTransitDataEncryptionKeyWrapperTest {
+
+    private VaultTransitOperations transitOperations;
+
+    private VaultTransitDataEncryptionKeyWrapper wrapper;
+
+    private List<EncryptedSymmetricDataEncryptionKey> wrapped;
+    private Exception e;
+
+    {
+        Describe("VaultTransitDataEncryptionKeyWrapper", () -> {
+            BeforeEach(() -> {
+                transitOperations = mock(VaultTransitOperations.class);
+                wrapper = new VaultTransitDataEncryptionKeyWrapper(transitOperations, "my-key");
+            });
+            Describe("#wrapEncryptionKeys", () -> {
+                JustBeforeEach(() -> {
+                    try {
+                        wrapped = wrapper.wrapEncryptionKeys(List.of(parameters((byte) 1), parameters((byte) 2)));
+                    } catch (Exception ex) {
+                        e = ex;
+                    }
+                });
+                AfterEach(() -> {
+                    e = null;
+                });
+                Context("given batch results without a key version", () -> {
+                    BeforeEach(() -> {
+                        when(transitOperations.encrypt(eq("my-key"), anyList())).thenReturn(List.of(
+                                new VaultEncryptionResult(Ciphertext.of("vault:v12:one")),
+                                new VaultEncryptionResult(Ciphertext.of("vault:v12:two"))
+                        ));
+                    });
+                    It("wraps all keys with a single batch_input request", () -> {
+                        verify(transitOperations).encrypt("my-key", List.of(Plaintext.of(new byte[] {1}), Plaintext.of(new byte[] {2})));
+                        verifyNoMoreInteractions(transitOperations);
+                    });
+                    It("parses the key version from the ciphertext", () -> {
+                        assertThat(wrapped, hasSize(2));
+                        assertThat(wrapped.get(0).getWrappingKeyVersion(), is("12"));
+                        assertThat(wrapped.get(0).getWrappingKeyId(), is("my-key"));
+                        assertThat(wrapped.get(0).getEncryptedKeyData(), is("vault:v12:one".getBytes(StandardCharsets.UTF_8)));
+                        assertThat(wrapped.get(1).getEncryptedKeyData(), is("vault:v12:two".getBytes(StandardCharsets.UTF_8)));
+                    });
+                });
+                Context("given batch results with a key version", () -> {
+                    BeforeEach(() -> {
+                        var context = VaultTransitContext.builder().keyVersion(3).build();
+                        when(transitOperations.encrypt(eq("my-key"), anyList())).thenReturn(List.of(
+                                new VaultEncryptionResult(Ciphertext.of("vault:v12:one").with(context)),
+                                new VaultEncryptionResult(Ciphertext.of("vault:v12:two").with(context))
+                        ));
+                    });
+                    It("uses the key version of the result", () -> {
+                        assertThat(wrapped.get(0).getWrappingKeyVersion(), is("3"));
+                        assertThat(wrapped.get(1).getWrappingKeyVersion(), is("3"));
+                    });
+                });
+                Context("given a batch result that failed", () -> {
+                    BeforeEach(() -> {
+                        when(transitOperations.encrypt(eq("my-key"), anyList())).thenReturn(List.of(
+                                new VaultEncryptionResult(Ciphertext.of("vault:v12:one")),
+                                new VaultEncryptionResult(new VaultException("encryption failed"))
+                        ));
+                    });
+                    It("throws the failure", () -> {
+                        assertThat(e, is(instanceOf(VaultException.class)));
+                        assertThat(e.getMessage(), containsString("encryption failed"));
+                    });
+                });
+            });
+        });
+    }
+
+    private static EncryptionParameters parameters(byte key) {
+        return new EncryptionParameters(new SecretKeySpec(new byte[] {key}, "AES"), new byte[16]);
+    }
+}
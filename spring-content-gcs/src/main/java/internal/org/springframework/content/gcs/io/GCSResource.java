@@ -6,16 +6,20 @@ import java.io.InputStream;
 import java.io.OutputStream;
 import java.net.URI;
 import java.net.URL;
+import java.nio.channels.Channels;
 
+import org.apache.commons.io.input.BoundedInputStream;
 import org.springframework.content.commons.io.DeletableResource;
+import org.springframework.content.commons.io.RangeableResource;
 import org.springframework.core.io.Resource;
 import org.springframework.core.io.WritableResource;
 import org.springframework.util.Assert;
 
+import com.google.cloud.ReadChannel;
 import com.google.cloud.storage.BlobId;
 import com.google.cloud.storage.Storage;
 
-public class GCSResource implements WritableResource, DeletableResource {
+public class GCSResource implements WritableResource, DeletableResource, RangeableResource {
 
 	private Storage client;
 	private Resource delegate;
@@ -94,6 +98,21 @@ public class GCSResource implements WritableResource, DeletableResource {
 		return delegate.getInputStream();
 	}
 
+	@Override
+	public void setRange(String range) {
+		// ranges are read with getInputStream(start, end)
+	}
+
+	@Override
+	public InputStream getInputStream(long start, long end) throws IOException {
+		ReadChannel reader = client.reader(BlobId.of(bucket, delegate.getFilename()));
+		reader.seek(start);
+		return BoundedInputStream.builder()
+				.setInputStream(Channels.newInputStream(reader))
+				.setMaxCount(end - start + 1)
+				.get();
+	}
+
 	@Override
 	public void delete() {
 		if (delegate.exists()) {
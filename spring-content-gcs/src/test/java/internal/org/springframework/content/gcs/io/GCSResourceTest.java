@@ -0,0 +1,83 @@
+package internal.org.springframework.content.gcs.io;
+
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.BeforeEach;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.Context;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.Describe;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.It;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.commons.io.IOUtils;
+import org.junit.runner.RunWith;
+import org.springframework.core.io.WritableResource;
+
+import com.github.paulcwarren.ginkgo4j.Ginkgo4jRunner;
+import com.google.cloud.ReadChannel;
+import com.google.cloud.storage.BlobId;
+import com.google.cloud.storage.Storage;
+
+@RunWith(Ginkgo4jRunner.class)
+public class GCSResourceTest {
+
+    private static final byte[] CONTENT = "0123456789abcdefghij".getBytes(StandardCharsets.UTF_8);
+
+    private Storage client;
+    private ReadChannel reader;
+    private WritableResource delegate;
+
+    private GCSResource resource;
+
+    {
+        Describe("GCSResource", () -> {
+            BeforeEach(() -> {
+                client = mock(Storage.class);
+
+                delegate = mock(WritableResource.class);
+                when(delegate.getFilename()).thenReturn("some-object");
+
+                resource = new GCSResource(client, "some-bucket", delegate);
+            });
+            Context("#getInputStream(start, end)", () -> {
+                BeforeEach(() -> {
+                    AtomicInteger position = new AtomicInteger();
+                    reader = mock(ReadChannel.class);
+                    when(reader.isOpen()).thenReturn(true);
+                    doAnswer(invocation -> {
+                        position.set(((Long) invocation.getArgument(0)).intValue());
+                        return null;
+                    }).when(reader).seek(anyLong());
+                    when(reader.read(any(ByteBuffer.class))).thenAnswer(invocation -> {
+                        ByteBuffer buffer = invocation.getArgument(0);
+                        if (position.get() >= CONTENT.length) {
+                            return -1;
+                        }
+                        int read = Math.min(buffer.remaining(), CONTENT.length - position.get());
+                        buffer.put(CONTENT, position.get(), read);
+                        position.addAndGet(read);
+                        return read;
+                    });
+                    when(client.reader(BlobId.of("some-bucket", "some-object"))).thenReturn(reader);
+                });
+                It("should read the range from the blob", () -> {
+                    try (InputStream in = resource.getInputStream(2, 5)) {
+                        assertThat(IOUtils.toString(in, StandardCharsets.UTF_8), is("2345"));
+                    }
+                    verify(reader).seek(2L);
+                    verify(delegate, never()).getInputStream();
+                });
+            });
+        });
+    }
+}
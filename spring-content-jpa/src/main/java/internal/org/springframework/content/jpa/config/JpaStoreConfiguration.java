@@ -10,6 +10,8 @@ import internal.org.springframework.content.jpa.io.GenericBlobResource;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.content.commons.io.ResourceMetadataCache;
+import org.springframework.content.jpa.config.JpaStoreConfigurer;
 import org.springframework.content.jpa.io.AbstractBlobResource;
 import org.springframework.content.jpa.io.BlobResourceLoader;
 import org.springframework.context.annotation.Bean;
@@ -25,9 +27,25 @@ public class JpaStoreConfiguration {
 
 	private static Log logger = LogFactory.getLog(JpaStoreConfiguration.class);
 
+	@Autowired(required = false)
+	private List<JpaStoreConfigurer> configurers;
+
+	@Autowired(required = false)
+	private ResourceMetadataCache metadataCache;
+
 	@Bean
 	public DelegatingBlobResourceLoader blobResourceLoader(DataSource ds, List<BlobResourceLoader> loaders) {
-		return new DelegatingBlobResourceLoader(ds, loaders);
+		JpaStorePropertiesImpl properties = new JpaStorePropertiesImpl();
+		if (configurers != null) {
+			for (JpaStoreConfigurer configurer : configurers) {
+				configurer.configure(properties);
+			}
+		}
+
+		DelegatingBlobResourceLoader loader = new DelegatingBlobResourceLoader(ds, loaders);
+		loader.setReadAheadBufferSize(properties.getReadAheadBufferSize());
+		loader.setMetadataCache(metadataCache);
+		return loader;
 	}
 
 	@Bean
@@ -1,5 +1,8 @@
 package internal.org.springframework.content.jpa.config;
 
+import java.util.Collections;
+import java.util.List;
+
 import org.aopalliance.aop.Advice;
 import org.springframework.aop.framework.ProxyFactory;
 import org.springframework.beans.factory.BeanFactory;
@@ -7,12 +10,16 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.content.commons.mappingcontext.MappingContext;
 import org.springframework.content.commons.repository.Store;
 import org.springframework.content.commons.store.factory.AbstractStoreFactoryBean;
+import org.springframework.content.jpa.store.JpaContentStore;
 import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.AnnotationTransactionAttributeSource;
 import org.springframework.transaction.interceptor.TransactionInterceptor;
 import org.springframework.util.Assert;
 
+import internal.org.springframework.content.commons.config.StoreFragment;
 import internal.org.springframework.content.jpa.io.DelegatingBlobResourceLoader;
+import internal.org.springframework.content.jpa.store.BatchDeleteOperations;
+import internal.org.springframework.content.jpa.store.BatchDeleteOperationsImpl;
 import internal.org.springframework.content.jpa.store.DefaultJpaStoreImpl;
 
 @SuppressWarnings("rawtypes")
@@ -40,6 +47,14 @@ public class JpaStoreFactoryBean extends AbstractStoreFactoryBean {
 		return new DefaultJpaStoreImpl(blobResourceLoader, mappingContext, copyBufferSize);
 	}
 
+	@Override
+	protected List<StoreFragment> getStoreImplFragments(Object target) {
+		if (JpaContentStore.class.isAssignableFrom(getStoreInterface())) {
+			return Collections.singletonList(new StoreFragment(BatchDeleteOperations.class, new BatchDeleteOperationsImpl((DefaultJpaStoreImpl) target, getApplicationEventPublisher(), isContentAddressable())));
+		}
+		return Collections.emptyList();
+	}
+
 	@Override
 	protected void addProxyAdvice(ProxyFactory result, BeanFactory beanFactory) {
 		super.addProxyAdvice(result, beanFactory);
@@ -0,0 +1,32 @@
+package internal.org.springframework.content.jpa.config;
+
+import org.springframework.content.jpa.config.JpaStoreProperties;
+import org.springframework.util.Assert;
+
+public class JpaStorePropertiesImpl implements JpaStoreProperties {
+
+	private int commitTimeout = -1;
+
+	private int readAheadBufferSize = 0;
+
+	@Override
+	public JpaStoreProperties commitTimeout(int seconds) {
+		this.commitTimeout = seconds;
+		return this;
+	}
+
+	@Override
+	public JpaStoreProperties readAheadBufferSize(int bytes) {
+		Assert.isTrue(bytes >= 0, "readAheadBufferSize must not be negative");
+		this.readAheadBufferSize = bytes;
+		return this;
+	}
+
+	public int getCommitTimeout() {
+		return commitTimeout;
+	}
+
+	public int getReadAheadBufferSize() {
+		return readAheadBufferSize;
+	}
+}
@@ -8,15 +8,25 @@ import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 
-import org.apache.commons.io.IOUtils;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
+import org.springframework.content.jpa.io.AbstractBlobResource;
 import org.springframework.content.jpa.io.BlobResource;
 import org.springframework.dao.DataAccessException;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.core.ResultSetExtractor;
 import org.springframework.jdbc.datasource.DataSourceUtils;
 
+/**
+ * Writes content to the BLOBS table.
+ * <p>
+ * Content is streamed, on the caller's thread and connection, into a {@link Blob} created with
+ * {@code Connection#createBlob()} and written to the database on close.  With drivers whose blobs are backed by
+ * server-side or file-backed storage, such as Oracle's temporary LOBs and H2's LOB storage, the content is never held
+ * in memory.
+ * <p>
+ * Databases whose drivers materialize such a blob in memory use {@link SpoolingBlobResourceOutputStream} instead.
+ */
 public class BlobResourceOutputStream extends OutputStream {
 
 	private static Log logger = LogFactory.getLog(BlobResourceOutputStream.class);
@@ -24,13 +34,11 @@ public class BlobResourceOutputStream extends OutputStream {
 	private BlobResource blobResource;
 	private JdbcTemplate template;
 
-	private Connection con;
-	private PreparedStatement ps;
-	private ResultSet rs;
 	private OutputStream os;
+	private Connection con;
 	private Blob blob;
-	private boolean insert;
-	
+	private boolean closed = false;
+
 	public BlobResourceOutputStream(BlobResource blobResource, JdbcTemplate template) {
 		this.blobResource = blobResource;
 		this.template = template;
@@ -39,84 +47,120 @@ public class BlobResourceOutputStream extends OutputStream {
 	protected BlobResource getResource() {
 		return blobResource;
 	}
-	
+
 	protected JdbcTemplate getTemplate() {
 		return template;
 	}
-	
+
 	@Override
 	public void write(int b) throws IOException {
+		getStream().write(b);
+	}
+
+	@Override
+	public void write(byte[] b, int off, int len) throws IOException {
+		getStream().write(b, off, len);
+	}
 
+	/**
+	 * Returns the stream content is written to, initializing it on first use.
+	 *
+	 * @return the stream
+	 * @throws IOException if the stream cannot be initialized
+	 */
+	protected OutputStream getStream() throws IOException {
+		if (closed) {
+			throw new IOException("Stream closed");
+		}
 		if (os == null) {
 			os = initializeStream();
 		}
-		
-		os.write(b);
+		return os;
 	}
-	
-	protected OutputStream initializeStream() {
-		
-		final Object rid = blobResource.getId();
-		con = DataSourceUtils.getConnection(template.getDataSource());
 
-		String sql = "SELECT id, content FROM BLOBS WHERE id=?";
+	protected OutputStream initializeStream() throws IOException {
+		con = DataSourceUtils.getConnection(template.getDataSource());
 		try {
-			ps = con.prepareStatement(sql, ResultSet.TYPE_SCROLL_SENSITIVE, ResultSet.CONCUR_UPDATABLE);
-			ps.setString(1, rid.toString());
-			rs = ps.executeQuery();
-			
-
-			if (!rs.next()) {
-				insert = true;
-				rs.moveToInsertRow();
-			} else { 
-			}
-			
-			blob = ps.getConnection().createBlob(); 
+			blob = con.createBlob();
 			return blob.setBinaryStream(1L);
-			
 		} catch (SQLException e) {
-			logger.error(String.format("intializing stream for blob resource %s", rid), e);
+			cleanUp();
+			throw new IOException(String.format("initializing stream for blob resource %s", blobResource.getId()), e);
 		}
-		
-		return null;
 	}
 
 	@Override
 	public void close() throws IOException {
-		
-		IOUtils.closeQuietly(os);
-		
+		if (closed) {
+			return;
+		}
+
+		// content may be empty
+		OutputStream stream = getStream();
+		closed = true;
+
+		try {
+			stream.close();
+			store();
+		} finally {
+			try {
+				cleanUp();
+			} finally {
+				if (blobResource instanceof AbstractBlobResource) {
+					((AbstractBlobResource) blobResource).evictMetadata();
+				}
+			}
+		}
+	}
+
+	/**
+	 * Stores the content written to the stream.  Called once, after the stream has been closed.
+	 *
+	 * @throws IOException if the content cannot be stored
+	 */
+	protected void store() throws IOException {
+		final String rid = blobResource.getId().toString();
 		try {
-			
-			rs.updateString(1, blobResource.getId().toString());
-			rs.updateBlob(2, blob);
-			
-			if (!insert) {
-				rs.updateRow();
-			} else {
-				rs.insertRow();
+			int updated;
+			try (PreparedStatement ps = con.prepareStatement("UPDATE BLOBS SET content=? WHERE id=?")) {
+				ps.setBlob(1, blob);
+				ps.setString(2, rid);
+				updated = ps.executeUpdate();
+			}
+
+			if (updated == 0) {
+				try (PreparedStatement ps = con.prepareStatement("INSERT INTO BLOBS (id, content) VALUES (?, ?)")) {
+					ps.setString(1, rid);
+					ps.setBlob(2, blob);
+					ps.executeUpdate();
+				}
+			}
+		} catch (SQLException e) {
+			throw new IOException(String.format("storing content for blob resource %s", rid), e);
+		}
+	}
+
+	/**
+	 * Releases what the stream holds once its content has been stored, or has failed to be stored.
+	 */
+	protected void cleanUp() {
+		try {
+			if (blob != null) {
+				blob.free();
 			}
 		} catch (SQLException e) {
-			logger.error(String.format("closing stream for blob resource %s", blobResource.getId()), e);
+			logger.debug(String.format("freeing blob for blob resource %s", blobResource.getId()), e);
 		} finally {
-			try {
-				rs.close();
-				ps.close();
+			if (con != null) {
 				DataSourceUtils.releaseConnection(con, template.getDataSource());
-			} catch (SQLException e) {
-				logger.error(String.format("closing resources for blob resource %s", blobResource.getId()), e);
 			}
+			blob = null;
+			con = null;
 		}
-		
-		super.close();
 	}
-	
-	
 
-	public Blob getBlob() { 
-		String sql = "SELECT id, content FROM BLOBS WHERE id='" + blobResource.getId() + "'";
-		return this.template.query(sql, new ResultSetExtractor<Blob>() {
+	public Blob getBlob() {
+		return this.template.query("SELECT id, content FROM BLOBS WHERE id=?", new ResultSetExtractor<Blob>() {
 			@Override
 			public Blob extractData(ResultSet rs)
 					throws SQLException, DataAccessException {
@@ -127,6 +171,6 @@ public class BlobResourceOutputStream extends OutputStream {
 					return null;
 				}
 			}
-		});
+		}, blobResource.getId().toString());
 	}
 }
@@ -3,15 +3,24 @@ package internal.org.springframework.content.jpa.io;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.content.commons.io.ResourceMetadataCache;
+import org.springframework.content.jpa.io.AbstractBlobResource;
 import org.springframework.content.jpa.io.BlobResourceLoader;
 import org.springframework.core.io.Resource;
 import org.springframework.core.io.ResourceLoader;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCallback;
+import org.springframework.jdbc.core.PreparedStatementCreator;
 import org.springframework.jdbc.datasource.DataSourceUtils;
 import org.springframework.util.ClassUtils;
 
 import javax.sql.DataSource;
 import java.sql.Connection;
+import java.sql.PreparedStatement;
 import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -20,14 +29,22 @@ public class DelegatingBlobResourceLoader implements ResourceLoader {
 
 	private static Log logger = LogFactory.getLog(DelegatingBlobResourceLoader.class);
 
+	static final int DELETE_BATCH_SIZE = 1000;
+
 	private DataSource ds;
+	private JdbcTemplate template;
 	private Map<String, BlobResourceLoader> loaders;
 
 	private String database = null;
 
+	private int readAheadBufferSize = 0;
+
+	private ResourceMetadataCache metadataCache;
+
 	@Autowired
 	public DelegatingBlobResourceLoader(DataSource ds, List<BlobResourceLoader> loaders) {
 		this.ds = ds;
+		this.template = new JdbcTemplate(ds);
 		this.loaders = new HashMap<>();
 		for (BlobResourceLoader loader : loaders) {
 			String database = loader.getDatabaseName();
@@ -37,8 +54,66 @@ public class DelegatingBlobResourceLoader implements ResourceLoader {
 		}
 	}
 
+	public void setReadAheadBufferSize(int readAheadBufferSize) {
+		this.readAheadBufferSize = readAheadBufferSize;
+	}
+
+	public void setMetadataCache(ResourceMetadataCache metadataCache) {
+		this.metadataCache = metadataCache;
+	}
+
 	@Override
 	public Resource getResource(String location) {
+		BlobResourceLoader loader = loaders.get(getDatabase());
+		if (loader == null) {
+			loader = loaders.get("GENERIC");
+		}
+		Resource resource = loader.getResource(location);
+		if (resource instanceof AbstractBlobResource) {
+			((AbstractBlobResource) resource).setReadAheadBufferSize(readAheadBufferSize);
+			((AbstractBlobResource) resource).setMetadataCache(metadataCache);
+		}
+		return resource;
+	}
+
+	/**
+	 * Deletes the blobs with the given ids.  Deletes are sent to the database in batches of a single parameterized
+	 * statement rather than one round-trip per blob.
+	 *
+	 * @param locations the ids of the blobs to delete
+	 * @return the number of blobs deleted
+	 */
+	public int deleteAll(Collection<String> locations) {
+		List<String> ids = new ArrayList<>(locations);
+
+		int deleted = 0;
+		for (int i = 0; i < ids.size(); i += DELETE_BATCH_SIZE) {
+			List<String> batch = ids.subList(i, Math.min(i + DELETE_BATCH_SIZE, ids.size()));
+
+			if ("PostgreSQL".equals(getDatabase())) {
+				// postgres content is stored in large objects that are not removed with the row that references them
+				template.execute((PreparedStatementCreator) (con) -> {
+					PreparedStatement ps = con.prepareStatement("SELECT lo_unlink(content) FROM BLOBS WHERE id = ANY(?)");
+					ps.setArray(1, con.createArrayOf("varchar", batch.toArray()));
+					return ps;
+				}, (PreparedStatementCallback<Void>) (ps) -> {
+					ps.executeQuery().close();
+					return null;
+				});
+			}
+
+			int[][] counts = template.batchUpdate("DELETE FROM BLOBS WHERE id=?", batch, batch.size(), (ps, id) -> ps.setString(1, id));
+			for (int[] batchCounts : counts) {
+				for (int count : batchCounts) {
+					// some drivers report batched statements as executed without an update count
+					deleted += (count == Statement.SUCCESS_NO_INFO) ? 1 : count;
+				}
+			}
+		}
+		return deleted;
+	}
+
+	private String getDatabase() {
 		if (database == null) {
 			Connection conn = DataSourceUtils.getConnection(ds);
 			try {
@@ -50,11 +125,7 @@ public class DelegatingBlobResourceLoader implements ResourceLoader {
 				DataSourceUtils.releaseConnection(conn, ds);
 			}
 		}
-		BlobResourceLoader loader = loaders.get(database);
-		if (loader == null) {
-			loader = loaders.get("GENERIC");
-		}
-		return loader.getResource(location);
+		return database;
 	}
 
 	@Override
@@ -1,5 +1,9 @@
 package internal.org.springframework.content.jpa.io;
 
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
 import org.springframework.content.jpa.io.AbstractBlobResource;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.transaction.PlatformTransactionManager;
@@ -11,7 +15,13 @@ public class MySQLBlobResource extends AbstractBlobResource {
 	}
 
 	@Override
-	protected String getSelectBlobSQL(Object id) {
-		return "SELECT id, 'content' as content FROM BLOBS WHERE id='" + id + "'";
+	protected String getSelectBlobSQL() {
+		return "SELECT id, 'content' as content FROM BLOBS WHERE id=?";
+	}
+
+	@Override
+	public OutputStream getOutputStream() throws IOException {
+		// Connector/J blobs are held in memory, so content is spooled and streamed with its length
+		return new BufferedOutputStream(new SpoolingBlobResourceOutputStream(this, this.getTemplate()));
 	}
 }
@@ -7,9 +7,9 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.sql.Connection;
+import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
-import java.sql.Statement;
 
 import javax.sql.DataSource;
 
@@ -36,8 +36,6 @@ public class PostgresBlobResource extends AbstractBlobResource {
 	public InputStream getInputStream() throws IOException {
 		final Object id = this.getId();
 
-		String sql = getSelectBlobSQL(id);
-
 		TransactionStatus status = null;
 		if (getTransactionManager() != null) {
 		    status = getTransactionManager().getTransaction(new DefaultTransactionDefinition());
@@ -47,11 +45,12 @@ public class PostgresBlobResource extends AbstractBlobResource {
 		Connection conn = DataSourceUtils.getConnection(ds);
 
 		InputStream is = null;
-		Statement stmt = null;
+		PreparedStatement stmt = null;
 		ResultSet rs = null;
 		try {
-			stmt = conn.createStatement();
-			rs = stmt.executeQuery(sql);
+			stmt = conn.prepareStatement(getSelectBlobSQL());
+			stmt.setString(1, id.toString());
+			rs = stmt.executeQuery();
 			if (!rs.next()) {
 				try {
 					rs.close();
@@ -78,7 +77,7 @@ public class PostgresBlobResource extends AbstractBlobResource {
 
 	@Override
 	public OutputStream getOutputStream() throws IOException {
-		return new BufferedOutputStream(new PostgresBlobResourceOutputStream(this, this.getTemplate()), 10);
+		return new BufferedOutputStream(new PostgresBlobResourceOutputStream(this, this.getTemplate()));
 	}
 
     @Override
@@ -86,16 +85,16 @@ public class PostgresBlobResource extends AbstractBlobResource {
         throws IOException {
 
         final Object id = this.getId();
-        String sql = getSelectBlobSQL(id);
 
         DataSource ds = this.getTemplate().getDataSource();
         Connection conn = DataSourceUtils.getConnection(ds);
 
-        Statement stmt = null;
+        PreparedStatement stmt = null;
         ResultSet rs = null;
         try {
-            stmt = conn.createStatement();
-            rs = stmt.executeQuery(sql);
+            stmt = conn.prepareStatement(getSelectBlobSQL());
+            stmt.setString(1, id.toString());
+            rs = stmt.executeQuery();
             if (!rs.next()) {
                 try {
                     rs.close();
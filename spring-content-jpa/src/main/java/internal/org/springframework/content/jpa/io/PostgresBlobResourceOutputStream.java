@@ -1,6 +1,5 @@
 package internal.org.springframework.content.jpa.io;
 
-import org.apache.commons.io.IOUtils;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.postgresql.largeobject.LargeObject;
@@ -22,7 +21,6 @@ public class PostgresBlobResourceOutputStream extends BlobResourceOutputStream {
 	private Connection con;
 	private PreparedStatement ps;
 	private ResultSet rs;
-	private OutputStream os;
 	private LargeObject lo;
 	private boolean insert;
 	
@@ -31,7 +29,7 @@ public class PostgresBlobResourceOutputStream extends BlobResourceOutputStream {
 	}
 	
 	@Override
-	protected OutputStream initializeStream() {
+	protected OutputStream initializeStream() throws IOException {
 		
 		final Object rid = this.getResource().getId();
 		con = DataSourceUtils.getConnection(this.getTemplate().getDataSource());
@@ -47,34 +45,27 @@ public class PostgresBlobResourceOutputStream extends BlobResourceOutputStream {
 				rs.moveToInsertRow();
 			} 
 			
+			// large objects are written to the server in pages as they are streamed
 			LargeObjectManager lobj = con.unwrap(org.postgresql.PGConnection.class).getLargeObjectAPI();
 			long oid = lobj.createLO(LargeObjectManager.READ | LargeObjectManager.WRITE);
 			lo = lobj.open(oid);
 			return lo.getOutputStream();
 			
 		} catch (SQLException e) {
-			logger.error(String.format("initializing postgres blob output stream for resource: %s", rid), e);
+			release();
+			throw new IOException(String.format("initializing postgres blob output stream for resource: %s", rid), e);
 		}
-		
-		return null;
 	}
 
 	@Override
-	public void close() throws IOException {
+	protected void store() throws IOException {
 		
 		Object rid = this.getResource().getId();
 		
-		IOUtils.closeQuietly(os);
-		
-		try {
-			lo.close();
-		} catch (SQLException e) {
-			logger.error(String.format("closing large object for resource %s", rid));
-		}
-		
 		Long oidToBeRemoved = null;
 		try {
-			
+			lo.close();
+
 			rs.updateString(1, rid.toString());
 			
 			if (!insert) {
@@ -88,22 +79,29 @@ public class PostgresBlobResourceOutputStream extends BlobResourceOutputStream {
 			} else {
 				rs.insertRow();
 			}
+
+			if (oidToBeRemoved != null) {
+				deleteReplacedLO(con, oidToBeRemoved);
+			}
 		} catch (SQLException e) {
-			logger.error(String.format("updating large object for resource %s", rid));
+			throw new IOException(String.format("updating large object for resource %s", rid), e);
 		} finally {
-			try {
+			release();
+		}
+	}
+
+	private void release() {
+		try {
+			if (rs != null) {
 				rs.close();
+			}
+			if (ps != null) {
 				ps.close();
-				
-				if (oidToBeRemoved != null) {
-					deleteReplacedLO(con, oidToBeRemoved);
-				}
-				
-				DataSourceUtils.releaseConnection(con, this.getTemplate().getDataSource());
-			} catch (SQLException e) {
-				logger.error(String.format("finalizing large object for resource %s", rid));
 			}
-			
+		} catch (SQLException e) {
+			logger.error(String.format("finalizing large object for resource %s", this.getResource().getId()), e);
+		} finally {
+			DataSourceUtils.releaseConnection(con, this.getTemplate().getDataSource());
 		}
 	}
 
@@ -119,8 +117,7 @@ public class PostgresBlobResourceOutputStream extends BlobResourceOutputStream {
 	}
 
 	public Blob getBlob() { 
-		String sql = "SELECT id, content FROM BLOBS WHERE id='" + this.getResource().getId() + "'";
-		return this.getTemplate().query(sql, new ResultSetExtractor<Blob>() {
+		return this.getTemplate().query("SELECT id, content FROM BLOBS WHERE id=?", new ResultSetExtractor<Blob>() {
 			@Override
 			public Blob extractData(ResultSet rs)
 					throws SQLException, DataAccessException {
@@ -131,6 +128,6 @@ public class PostgresBlobResourceOutputStream extends BlobResourceOutputStream {
 					return null;
 				}
 			}
-		});
+		}, this.getResource().getId().toString());
 	}
 }
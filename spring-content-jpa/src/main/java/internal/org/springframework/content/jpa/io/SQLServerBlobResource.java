@@ -2,12 +2,14 @@ package internal.org.springframework.content.jpa.io;
 
 import static java.lang.String.format;
 
+import java.io.BufferedOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.sql.Connection;
+import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
-import java.sql.Statement;
 
 import javax.sql.DataSource;
 
@@ -28,12 +30,16 @@ public class SQLServerBlobResource extends AbstractBlobResource {
 		super(id, template, txnMgr);
 	}
 
+	@Override
+	public OutputStream getOutputStream() throws IOException {
+		// mssql-jdbc blobs are held in memory, so content is spooled and streamed with its length
+		return new BufferedOutputStream(new SpoolingBlobResourceOutputStream(this, this.getTemplate()));
+	}
+
 	@Override
 	public InputStream getInputStream() throws IOException {
 		final Object id = getId();
 
-		String sql = getSelectBlobSQL(getId());
-
 		DataSource ds = getTemplate().getDataSource();
 		Connection conn = DataSourceUtils.getConnection(ds);
 		try {
@@ -42,16 +48,17 @@ public class SQLServerBlobResource extends AbstractBlobResource {
 			logger.error(format("setting autocommit to false whilst getting content %s", id), e);
 		}
 		InputStream is = null;
-		Statement stmt = null;
+		PreparedStatement stmt = null;
 		ResultSet rs = null;
 		try {
-			stmt = conn.createStatement(ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_UPDATABLE);
+			stmt = conn.prepareStatement(getSelectBlobSQL(), ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_UPDATABLE);
+			stmt.setString(1, id.toString());
 
 			if (stmt.isWrapperFor(com.microsoft.sqlserver.jdbc.SQLServerStatement.class)) {
 				SQLServerStatement SQLstmt = stmt.unwrap(com.microsoft.sqlserver.jdbc.SQLServerStatement.class);
 				SQLstmt.setResponseBuffering("adaptive");
 			}
-			rs = stmt.executeQuery(sql);
+			rs = stmt.executeQuery();
 
 			if (!rs.next())
 				return null;
@@ -0,0 +1,109 @@
+package internal.org.springframework.content.jpa.io;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.ref.Cleaner;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Blob;
+import java.util.UUID;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.output.DeferredFileOutputStream;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.content.jpa.io.BlobResource;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Writes content to the BLOBS table for databases whose drivers only stream binary parameters of a known length and
+ * materialize a {@link Blob} created with {@code Connection#createBlob()} in memory.
+ * <p>
+ * Content is spooled, in memory up to {@link #SPOOL_IN_MEMORY_THRESHOLD} bytes and to a temporary file beyond that,
+ * and written to the database on close with a single statement whose binary parameter is streamed with its length.
+ * <p>
+ * The spooled file is deleted once the content is stored, or fails to be stored.  Should the stream never be closed
+ * the file is deleted when the stream is garbage collected.
+ */
+public class SpoolingBlobResourceOutputStream extends BlobResourceOutputStream {
+
+	private static Log logger = LogFactory.getLog(SpoolingBlobResourceOutputStream.class);
+
+	static final int SPOOL_IN_MEMORY_THRESHOLD = 1024 * 1024;
+
+	private static final Cleaner CLEANER = Cleaner.create();
+
+	private DeferredFileOutputStream spool;
+	Path spoolFile;
+	private Cleaner.Cleanable spoolCleaner;
+
+	public SpoolingBlobResourceOutputStream(BlobResource blobResource, JdbcTemplate template) {
+		super(blobResource, template);
+	}
+
+	@Override
+	protected OutputStream initializeStream() throws IOException {
+		// only created once the threshold is exceeded
+		spoolFile = FileUtils.getTempDirectory().toPath().resolve("blob" + UUID.randomUUID() + ".tmp");
+		spoolCleaner = CLEANER.register(this, new SpoolFileCleaner(spoolFile));
+		spool = DeferredFileOutputStream.builder()
+				.setThreshold(SPOOL_IN_MEMORY_THRESHOLD)
+				.setOutputFile(spoolFile.toFile())
+				.get();
+		return spool;
+	}
+
+	@Override
+	protected void store() throws IOException {
+		final String rid = getResource().getId().toString();
+		try {
+			long length = spool.getByteCount();
+
+			int updated;
+			try (InputStream is = spool.toInputStream()) {
+				updated = getTemplate().update("UPDATE BLOBS SET content=? WHERE id=?", (ps) -> {
+					ps.setBinaryStream(1, is, length);
+					ps.setString(2, rid);
+				});
+			}
+
+			if (updated == 0) {
+				try (InputStream is = spool.toInputStream()) {
+					getTemplate().update("INSERT INTO BLOBS (id, content) VALUES (?, ?)", (ps) -> {
+						ps.setString(1, rid);
+						ps.setBinaryStream(2, is, length);
+					});
+				}
+			}
+		} catch (DataAccessException e) {
+			throw new IOException(String.format("storing content for blob resource %s", rid), e);
+		}
+	}
+
+	@Override
+	protected void cleanUp() {
+		if (spoolCleaner != null) {
+			spoolCleaner.clean();
+		}
+	}
+
+	private static final class SpoolFileCleaner implements Runnable {
+
+		private final Path file;
+
+		private SpoolFileCleaner(Path file) {
+			this.file = file;
+		}
+
+		@Override
+		public void run() {
+			try {
+				Files.deleteIfExists(file);
+			} catch (IOException e) {
+				logger.warn(String.format("deleting spooled blob content %s", file), e);
+			}
+		}
+	}
+}
@@ -0,0 +1,12 @@
+package internal.org.springframework.content.jpa.store;
+
+import java.util.Collection;
+
+/**
+ * Declares the batch operations of {@link org.springframework.content.jpa.store.JpaContentStore} that are
+ * implemented by {@link DefaultJpaStoreImpl}.
+ */
+public interface BatchDeleteOperations<S> {
+
+    void deleteAll(Collection<S> entities);
+}
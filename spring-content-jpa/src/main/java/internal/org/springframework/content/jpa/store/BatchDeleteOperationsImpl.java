@@ -0,0 +1,57 @@
+package internal.org.springframework.content.jpa.store;
+
+import java.io.Serializable;
+import java.util.Collection;
+
+import org.springframework.content.commons.store.ContentStore;
+import org.springframework.content.commons.store.StoreAccessException;
+import org.springframework.content.commons.store.events.AfterUnsetContentEvent;
+import org.springframework.content.commons.store.events.BeforeUnsetContentEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.util.Assert;
+
+/**
+ * Publishes the unset content events of each entity around the batched delete of the store so that event handlers
+ * see these deletions as they do those of {@code unsetContent}.
+ * <p>
+ * Batched deletes are not supported with content-addressable storage, where content may be shared by several entities
+ * and must only be deleted once nothing references it.
+ */
+public class BatchDeleteOperationsImpl<S> implements BatchDeleteOperations<S> {
+
+    private final DefaultJpaStoreImpl<S, ? extends Serializable> store;
+    private final ApplicationEventPublisher publisher;
+    private final boolean contentAddressable;
+
+    public BatchDeleteOperationsImpl(DefaultJpaStoreImpl<S, ? extends Serializable> store, ApplicationEventPublisher publisher) {
+        this(store, publisher, false);
+    }
+
+    public BatchDeleteOperationsImpl(DefaultJpaStoreImpl<S, ? extends Serializable> store, ApplicationEventPublisher publisher, boolean contentAddressable) {
+        this.store = store;
+        this.publisher = publisher;
+        this.contentAddressable = contentAddressable;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void deleteAll(Collection<S> entities) {
+        Assert.notNull(entities, "entities must not be null");
+        if (contentAddressable) {
+            throw new StoreAccessException("deleteAll is not supported with content-addressable storage; unset the content of each entity instead");
+        }
+
+        ContentStore<Object, Serializable> contentStore = (ContentStore<Object, Serializable>) (ContentStore<?, ?>) store;
+        for (S entity : entities) {
+            publisher.publishEvent(new BeforeUnsetContentEvent(entity, null, contentStore));
+        }
+
+        store.deleteAll(entities);
+
+        for (S entity : entities) {
+            AfterUnsetContentEvent after = new AfterUnsetContentEvent(entity, null, contentStore);
+            after.setResult(entity);
+            publisher.publishEvent(after);
+        }
+    }
+}
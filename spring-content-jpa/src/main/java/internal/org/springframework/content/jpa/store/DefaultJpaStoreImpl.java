@@ -8,6 +8,9 @@ import java.io.OutputStream;
 import java.io.Serializable;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 import java.util.UUID;
 
 import org.apache.commons.io.IOUtils;
@@ -39,11 +42,14 @@ import org.springframework.core.io.WritableResource;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.Assert;
 
+import internal.org.springframework.content.jpa.io.DelegatingBlobResourceLoader;
+
 public class DefaultJpaStoreImpl<S, SID extends Serializable>
 		implements org.springframework.content.commons.repository.Store<SID>,
         org.springframework.content.commons.repository.AssociativeStore<S, SID>,
         org.springframework.content.commons.repository.ContentStore<S, SID>,
-        ContentStore<S, SID> {
+        ContentStore<S, SID>,
+        BatchDeleteOperations<S> {
 
 	private static Log logger = LogFactory.getLog(DefaultJpaStoreImpl.class);
 
@@ -400,6 +406,44 @@ public class DefaultJpaStoreImpl<S, SID extends Serializable>
         return entity;
     }
 
+    @Transactional
+    @Override
+    public void deleteAll(Collection<S> entities) {
+        Assert.notNull(entities, "entities must not be null");
+
+        List<String> locations = new ArrayList<>(entities.size());
+        for (S entity : entities) {
+            Object contentId = BeanUtils.getFieldWithAnnotation(entity, ContentId.class);
+            if (contentId != null) {
+                locations.add(contentId.toString());
+            }
+        }
+
+        if (loader instanceof DelegatingBlobResourceLoader) {
+            ((DelegatingBlobResourceLoader) loader).deleteAll(locations);
+        } else {
+            for (String location : locations) {
+                Resource resource = loader.getResource(location);
+                if (resource instanceof DeletableResource) {
+                    try {
+                        ((DeletableResource) resource).delete();
+                    } catch (Exception e) {
+                        logger.error(format("Unexpected error deleting content %s", location));
+                        throw new StoreAccessException(format("Deleting content %s", location), e);
+                    }
+                }
+            }
+        }
+
+        for (S entity : entities) {
+            unassociate(entity);
+            Class<?> contentLenType = BeanUtils.getFieldWithAnnotationType(entity, ContentLength.class);
+            if (contentLenType != null) {
+                BeanUtils.setFieldWithAnnotation(entity, ContentLength.class, BeanUtils.getDefaultValueForType(contentLenType));
+            }
+        }
+    }
+
     protected Object convertToExternalContentIdType(S property, Object contentId) {
 		ConversionService converter = new DefaultConversionService();
 		if (converter.canConvert(TypeDescriptor.forObject(contentId),
@@ -4,4 +4,17 @@ public interface JpaStoreProperties {
 
 	JpaStoreProperties commitTimeout(int seconds);
 
+	/**
+	 * Size of the buffer used to read ahead of the consumer when streaming content out of the database.  Reading
+	 * ahead lets the JDBC driver fetch content in large blocks however small the reads of the consumer are.  The
+	 * default, 0, reads directly from the driver's stream.  Implementations that do not support reading ahead ignore
+	 * this setting.
+	 *
+	 * @param bytes the buffer size in bytes
+	 * @return the store properties
+	 */
+	default JpaStoreProperties readAheadBufferSize(int bytes) {
+		return this;
+	}
+
 }
@@ -2,15 +2,18 @@ package org.springframework.content.jpa.io;
 
 import static java.lang.String.format;
 
+import java.io.BufferedInputStream;
 import java.io.BufferedOutputStream;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.lang.reflect.Method;
 import java.net.URI;
 import java.net.URL;
 import java.sql.Blob;
 import java.sql.Connection;
+import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
@@ -19,12 +22,15 @@ import javax.sql.DataSource;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
+import org.springframework.content.commons.io.ResourceMetadata;
+import org.springframework.content.commons.io.ResourceMetadataCache;
 import org.springframework.core.io.Resource;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.core.ResultSetExtractor;
 import org.springframework.jdbc.datasource.DataSourceUtils;
 import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.TransactionStatus;
+import org.springframework.util.ReflectionUtils;
 
 import internal.org.springframework.content.jpa.io.BlobResourceOutputStream;
 
@@ -36,6 +42,13 @@ public abstract class AbstractBlobResource implements BlobResource {
     private JdbcTemplate template;
     private PlatformTransactionManager txnMgr;
 
+    // existence only ever changes to false through delete, so a positive result is safe to remember
+    private volatile boolean exists = false;
+
+    private int readAheadBufferSize = 0;
+
+    private ResourceMetadataCache metadataCache;
+
     public AbstractBlobResource(Object id, JdbcTemplate template, PlatformTransactionManager txnMgr) {
         this.id = id;
         this.template = template;
@@ -52,6 +65,7 @@ public abstract class AbstractBlobResource implements BlobResource {
     protected void setId(Object id) {
         synchronized (id) {
             this.id = id;
+            this.exists = false;
         }
     }
 
@@ -63,6 +77,39 @@ public abstract class AbstractBlobResource implements BlobResource {
         return txnMgr;
     }
 
+    public int getReadAheadBufferSize() {
+        return readAheadBufferSize;
+    }
+
+    /**
+     * Sets the size of the buffer used to read ahead of the consumer of the resource's input stream.
+     *
+     * @param readAheadBufferSize the buffer size in bytes, or 0 to read directly from the driver's stream
+     */
+    public void setReadAheadBufferSize(int readAheadBufferSize) {
+        this.readAheadBufferSize = readAheadBufferSize;
+    }
+
+    /**
+     * Sets the metadata cache shared with the other resources of the store.
+     *
+     * @param metadataCache a shared metadata cache, or null
+     */
+    public void setMetadataCache(ResourceMetadataCache metadataCache) {
+        this.metadataCache = metadataCache;
+    }
+
+    /**
+     * Discards the metadata remembered for this resource, and its entry in the shared metadata cache, if any.  Called
+     * once the resource's content has been written.
+     */
+    public void evictMetadata() {
+        this.exists = false;
+        if (this.metadataCache != null) {
+            this.metadataCache.evict(this);
+        }
+    }
+
     @Override
     public boolean isWritable() {
         return true;
@@ -70,17 +117,28 @@ public abstract class AbstractBlobResource implements BlobResource {
 
     @Override
     public OutputStream getOutputStream() throws IOException {
-        return new BufferedOutputStream(new BlobResourceOutputStream(this, template), 10);
+        return new BufferedOutputStream(new BlobResourceOutputStream(this, template));
     }
 
     @Override
     public boolean exists() {
 
-        final Object id = this.id;
+        if (this.exists) {
+            return true;
+        }
 
-        String sql = "SELECT COUNT(id) FROM BLOBS WHERE id='" + this.id + "'";
+        ResourceMetadata metadata = (this.metadataCache != null) ? this.metadataCache.get(this, this::loadMetadata) : loadMetadata();
+        boolean exists = metadata.exists();
+        if (exists) {
+            this.exists = true;
+        }
+        return exists;
+    }
 
-        return this.template.query(sql, new ResultSetExtractor<Boolean>() {
+    private ResourceMetadata loadMetadata() {
+        final Object id = this.id;
+
+        boolean exists = this.template.query("SELECT COUNT(id) FROM BLOBS WHERE id=?", new ResultSetExtractor<Boolean>() {
             @Override
             public Boolean extractData(ResultSet rs) {
                 try {
@@ -94,7 +152,8 @@ public abstract class AbstractBlobResource implements BlobResource {
 
                 return false;
             }
-        });
+        }, id.toString());
+        return exists ? new ResourceMetadata(true, 0L, 0L, null, null) : ResourceMetadata.NOT_FOUND;
     }
 
     @Override
@@ -144,24 +203,27 @@ public abstract class AbstractBlobResource implements BlobResource {
 
     @Override
     public String getDescription() {
-        return null;
+        return format("Blob resource [table = 'BLOBS', id = '%s', column = 'content']", getId());
     }
 
     @Override
     public InputStream getInputStream() throws IOException {
         final Object id = this.id;
 
-        String sql = getSelectBlobSQL(this.id);
-
         DataSource ds = this.template.getDataSource();
         Connection conn = DataSourceUtils.getConnection(ds);
 
         InputStream is = null;
-        Statement stmt = null;
+        PreparedStatement stmt = null;
         ResultSet rs = null;
         try {
-            stmt = conn.createStatement();
-            rs = stmt.executeQuery(sql);
+            if (overridesSelectBlobSQLForId()) {
+                stmt = conn.prepareStatement(getSelectBlobSQL(id));
+            } else {
+                stmt = conn.prepareStatement(getSelectBlobSQL());
+                stmt.setString(1, id.toString());
+            }
+            rs = stmt.executeQuery();
             if (!rs.next()) {
                 try {
                     rs.close();
@@ -186,13 +248,39 @@ public abstract class AbstractBlobResource implements BlobResource {
 
     @Override
     public void delete() throws IOException {
-        String sql = "DELETE FROM BLOBS WHERE id='" + this.id + "'";
-        this.template.update(sql);
+        try {
+            this.template.update("DELETE FROM BLOBS WHERE id=?", this.id.toString());
+        } finally {
+            evictMetadata();
+        }
     }
 
+    /**
+     * Returns the SQL that selects the id and content of a blob.  The id is bound as the statement's only parameter so
+     * that the database can reuse the statement's plan across blobs.
+     *
+     * @return the select statement
+     */
+    protected String getSelectBlobSQL() {
+        return "SELECT id, content FROM BLOBS WHERE id=?";
+    }
 
+    /**
+     * Returns the SQL that selects the id and content of the given blob, with the id inlined.  Subclasses that still
+     * override this method have their statement used as is.
+     *
+     * @param id the id of the blob
+     * @return the select statement
+     * @deprecated override {@link #getSelectBlobSQL()} instead
+     */
+    @Deprecated
     protected String getSelectBlobSQL(Object id) {
-        return "SELECT id, content FROM BLOBS WHERE id='" + id + "'";
+        return getSelectBlobSQL();
+    }
+
+    private boolean overridesSelectBlobSQLForId() {
+        Method method = ReflectionUtils.findMethod(getClass(), "getSelectBlobSQL", Object.class);
+        return method != null && method.getDeclaringClass() != AbstractBlobResource.class;
     }
 
     public class ClosingInputStream extends InputStream {
@@ -208,7 +296,7 @@ public abstract class AbstractBlobResource implements BlobResource {
 
         public ClosingInputStream(Object id, InputStream actual, ResultSet rs, Statement stmt, TransactionStatus txnStatus, PlatformTransactionManager txnMgr, Connection conn, DataSource ds) {
             this.id = id;
-            this.actual = actual;
+            this.actual = (readAheadBufferSize > 0) ? new BufferedInputStream(actual, readAheadBufferSize) : actual;
             this.rs = rs;
             this.stmt = stmt;
             this.txnStatus = txnStatus;
@@ -222,13 +310,42 @@ public abstract class AbstractBlobResource implements BlobResource {
             try {
                 return actual.read();
             } catch (IOException ioe) {
-              if (txnStatus != null && txnStatus.isCompleted() == false) {
-                  txnMgr.rollback(txnStatus);
-              }
+              rollback();
               throw ioe;
             }
         }
 
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            try {
+                return actual.read(b, off, len);
+            } catch (IOException ioe) {
+                rollback();
+                throw ioe;
+            }
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            try {
+                return actual.skip(n);
+            } catch (IOException ioe) {
+                rollback();
+                throw ioe;
+            }
+        }
+
+        @Override
+        public int available() throws IOException {
+            return actual.available();
+        }
+
+        private void rollback() {
+            if (txnStatus != null && txnStatus.isCompleted() == false) {
+                txnMgr.rollback(txnStatus);
+            }
+        }
+
         @Override
         public void close() {
 
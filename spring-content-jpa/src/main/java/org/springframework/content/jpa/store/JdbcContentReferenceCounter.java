@@ -0,0 +1,89 @@
+package org.springframework.content.jpa.store;
+
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.springframework.content.commons.store.ContentReferenceCounter;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Keeps the reference counts of content-addressed blobs in the {@code CONTENT_REFERENCES} table, created by the JPA
+ * store's schema scripts.
+ * <p>
+ * Every count is changed in a transaction of its own.  A blob is deleted in the same transaction that finds it is no
+ * longer referenced, while its row is locked, so that a concurrent {@link #increment(Class, String)} waits for the
+ * deletion and then counts a new reference.
+ * <p>
+ * Because counts are committed independently of the caller's transaction, a rolled back change leaves a count too
+ * high, keeping content that is no longer referenced rather than deleting content that is.
+ */
+public class JdbcContentReferenceCounter implements ContentReferenceCounter {
+
+    private static final String UPDATE = "UPDATE CONTENT_REFERENCES SET ref_count = ref_count + ? WHERE store_name = ? AND content_id = ?";
+    private static final String INSERT = "INSERT INTO CONTENT_REFERENCES (store_name, content_id, ref_count) VALUES (?, ?, 1)";
+    private static final String SELECT = "SELECT ref_count FROM CONTENT_REFERENCES WHERE store_name = ? AND content_id = ?";
+    private static final String DELETE = "DELETE FROM CONTENT_REFERENCES WHERE store_name = ? AND content_id = ?";
+
+    private static final int MAX_INSERT_ATTEMPTS = 3;
+
+    private final JdbcTemplate template;
+    private final TransactionTemplate transactionTemplate;
+
+    public JdbcContentReferenceCounter(DataSource dataSource) {
+        this(new JdbcTemplate(dataSource), new DataSourceTransactionManager(dataSource));
+    }
+
+    public JdbcContentReferenceCounter(JdbcTemplate template, PlatformTransactionManager txnMgr) {
+        this.template = template;
+        this.transactionTemplate = new TransactionTemplate(txnMgr);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @Override
+    public long increment(Class<?> storeInterface, String contentId) {
+        String storeName = storeInterface.getName();
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(status -> {
+                    if (template.update(UPDATE, 1, storeName, contentId) == 0) {
+                        template.update(INSERT, storeName, contentId);
+                        return 1L;
+                    }
+                    return count(storeName, contentId);
+                });
+            } catch (DuplicateKeyException e) {
+                // the first reference was inserted concurrently, it is updated on the next attempt
+                if (attempt >= MAX_INSERT_ATTEMPTS) {
+                    throw e;
+                }
+            }
+        }
+    }
+
+    @Override
+    public long decrementAndDeleteIfZero(Class<?> storeInterface, String contentId, Runnable delete) {
+        String storeName = storeInterface.getName();
+        return transactionTemplate.execute(status -> {
+            // locks the row until the blob is deleted
+            template.update(UPDATE, -1, storeName, contentId);
+            long count = count(storeName, contentId);
+            if (count > 0) {
+                return count;
+            }
+            delete.run();
+            template.update(DELETE, storeName, contentId);
+            return 0L;
+        });
+    }
+
+    private long count(String storeName, String contentId) {
+        List<Long> counts = template.queryForList(SELECT, Long.class, storeName, contentId);
+        return counts.isEmpty() ? 0L : counts.get(0);
+    }
+}
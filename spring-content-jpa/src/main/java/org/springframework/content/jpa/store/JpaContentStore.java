@@ -1,8 +1,25 @@
 package org.springframework.content.jpa.store;
 
 import java.io.Serializable;
+import java.util.Collection;
 
 import org.springframework.content.commons.store.ContentStore;
 
 public interface JpaContentStore<T, CID extends Serializable> extends ContentStore<T, CID> {
+
+    /**
+     * Unsets the content of the given entities, deleting their content in batches rather than one statement per
+     * entity.  Unset content events are published for each entity, as they are by {@link #unsetContent(Object)}.
+     * <p>
+     * The default implementation unsets the content of each entity in turn.
+     *
+     * @param entities the entities whose content to delete
+     * @throws org.springframework.content.commons.store.StoreAccessException when content-addressable storage is
+     * enabled, as content may be shared with other entities
+     */
+    default void deleteAll(Collection<T> entities) {
+        for (T entity : entities) {
+            unsetContent(entity);
+        }
+    }
 }
@@ -1 +1,2 @@
-DROP TABLE IF EXISTS BLOBS
\ No newline at end of file
+DROP TABLE IF EXISTS BLOBS
+DROP TABLE IF EXISTS CONTENT_REFERENCES
\ No newline at end of file
@@ -1 +1,2 @@
 DROP TABLE BLOBS;
+DROP TABLE CONTENT_REFERENCES;
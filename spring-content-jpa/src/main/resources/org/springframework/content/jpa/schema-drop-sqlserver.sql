@@ -1 +1,2 @@
-IF EXISTS (SELECT * FROM sysobjects WHERE name='BLOBS' AND xtype='U') DROP TABLE BLOBS
\ No newline at end of file
+IF EXISTS (SELECT * FROM sysobjects WHERE name='BLOBS' AND xtype='U') DROP TABLE BLOBS
+IF EXISTS (SELECT * FROM sysobjects WHERE name='CONTENT_REFERENCES' AND xtype='U') DROP TABLE CONTENT_REFERENCES
\ No newline at end of file
@@ -1,2 +1,3 @@
 CREATE TABLE BLOBS (id INTEGER GENERATED BY DEFAULT AS IDENTITY (START WITH 1), content BLOB, PRIMARY KEY ( id ))
-ALTER TABLE BLOBS ALTER COLUMN id VARCHAR(36)
\ No newline at end of file
+ALTER TABLE BLOBS ALTER COLUMN id VARCHAR(64)
+CREATE TABLE CONTENT_REFERENCES (store_name VARCHAR(255) NOT NULL, content_id VARCHAR(64) NOT NULL, ref_count BIGINT NOT NULL, PRIMARY KEY (store_name, content_id))
\ No newline at end of file
@@ -3,4 +3,10 @@ CREATE TABLE IF NOT EXISTS BLOBS (
   content longblob,
   PRIMARY KEY (id)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8;
-ALTER TABLE BLOBS MODIFY id VARCHAR(36) NOT NULL
\ No newline at end of file
+ALTER TABLE BLOBS MODIFY id VARCHAR(64) NOT NULL;
+CREATE TABLE IF NOT EXISTS CONTENT_REFERENCES (
+  store_name VARCHAR(255) NOT NULL,
+  content_id VARCHAR(64) NOT NULL,
+  ref_count BIGINT NOT NULL,
+  PRIMARY KEY (store_name, content_id)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8
\ No newline at end of file
@@ -1,5 +1,13 @@
 CREATE TABLE BLOBS
 (
-    id VARCHAR(36) PRIMARY KEY,
+    id VARCHAR(64) PRIMARY KEY,
     content BLOB
 );
+
+CREATE TABLE CONTENT_REFERENCES
+(
+    store_name VARCHAR(255) NOT NULL,
+    content_id VARCHAR(64) NOT NULL,
+    ref_count NUMBER(19) NOT NULL,
+    PRIMARY KEY (store_name, content_id)
+);
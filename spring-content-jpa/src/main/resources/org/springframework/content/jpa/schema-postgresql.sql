@@ -2,4 +2,10 @@ CREATE TABLE IF NOT EXISTS BLOBS (
 	id SERIAL PRIMARY KEY,
 	content oid
 );
-ALTER TABLE BLOBS ALTER COLUMN id TYPE VARCHAR(36)
+ALTER TABLE BLOBS ALTER COLUMN id TYPE VARCHAR(64);
+CREATE TABLE IF NOT EXISTS CONTENT_REFERENCES (
+	store_name VARCHAR(255) NOT NULL,
+	content_id VARCHAR(64) NOT NULL,
+	ref_count BIGINT NOT NULL,
+	PRIMARY KEY (store_name, content_id)
+)
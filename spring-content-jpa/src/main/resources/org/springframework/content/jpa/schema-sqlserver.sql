@@ -1,2 +1,3 @@
-IF NOT EXISTS (SELECT * FROM sysobjects WHERE name='BLOBS' AND xtype='U') CREATE TABLE BLOBS ( id VARCHAR(36) NOT NULL, content varBinary(MAX) );
+IF NOT EXISTS (SELECT * FROM sysobjects WHERE name='BLOBS' AND xtype='U') CREATE TABLE BLOBS ( id VARCHAR(64) NOT NULL, content varBinary(MAX) );
 ALTER TABLE BLOBS ADD CONSTRAINT pk_id PRIMARY KEY (id);
+IF NOT EXISTS (SELECT * FROM sysobjects WHERE name='CONTENT_REFERENCES' AND xtype='U') CREATE TABLE CONTENT_REFERENCES ( store_name VARCHAR(255) NOT NULL, content_id VARCHAR(64) NOT NULL, ref_count BIGINT NOT NULL, PRIMARY KEY (store_name, content_id) );
@@ -0,0 +1,138 @@
+package internal.org.springframework.content.jpa.io;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import javax.sql.DataSource;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.content.jpa.io.AbstractBlobResource;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Compares the time each database's blob resource takes to write content through its output stream.  H2 and HSQLDB
+ * use {@link BlobResourceOutputStream}, MySQL and SQL Server {@link SpoolingBlobResourceOutputStream} and PostgreSQL
+ * {@link PostgresBlobResourceOutputStream}.  MySQL, PostgreSQL and SQL Server are started with Testcontainers.
+ * <p>
+ * Run with {@code mvn -pl spring-content-jpa test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=internal.org.springframework.content.jpa.io.BlobResourceOutputStreamBenchmark}.  Add the
+ * {@code gc} profiler to compare how much each stream allocates.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BlobResourceOutputStreamBenchmark {
+
+    @Param({"H2", "HSQLDB", "MySQL", "PostgreSQL", "SQLServer"})
+    private String database;
+
+    @Param({"1048576", "16777216"})
+    private int contentSize;
+
+    // the size of the buffer the caller writes with
+    @Param({"8192"})
+    private int writeSize;
+
+    private JdbcTemplate template;
+    private TransactionTemplate transactions;
+    private AbstractBlobResource resource;
+    private byte[] content;
+
+    @Setup
+    public void setup() {
+        DataSource ds = switch (database) {
+            case "H2" -> new EmbeddedDatabaseBuilder().setType(EmbeddedDatabaseType.H2).generateUniqueName(true).build();
+            case "HSQLDB" -> new EmbeddedDatabaseBuilder().setType(EmbeddedDatabaseType.HSQL).generateUniqueName(true).build();
+            case "MySQL" -> dataSource("jdbc:tc:mysql:5.7.34:///databasename?TC_TMPFS=/testtmpfs:rw&TC_DAEMON=true&emulateLocators=true", "test", "test");
+            case "PostgreSQL" -> dataSource("jdbc:tc:postgresql:12:///databasename?TC_TMPFS=/testtmpfs:rw&TC_DAEMON=true", "test", "test");
+            case "SQLServer" -> dataSource("jdbc:tc:sqlserver:///databasename?TC_TMPFS=/testtmpfs:rw&TC_DAEMON=true", "SA", "A_Str0ng_Required_Password");
+            default -> throw new IllegalArgumentException(database);
+        };
+
+        String schema = switch (database) {
+            case "H2" -> "h2";
+            case "HSQLDB" -> "hsqldb";
+            case "MySQL" -> "mysql";
+            case "PostgreSQL" -> "postgresql";
+            case "SQLServer" -> "sqlserver";
+            default -> throw new IllegalArgumentException(database);
+        };
+        ResourceDatabasePopulator populator = new ResourceDatabasePopulator();
+        populator.addScript(new ClassPathResource("org/springframework/content/jpa/schema-drop-" + schema + ".sql"));
+        populator.addScript(new ClassPathResource("org/springframework/content/jpa/schema-" + schema + ".sql"));
+        populator.setIgnoreFailedDrops(true);
+        populator.execute(ds);
+
+        template = new JdbcTemplate(ds);
+        DataSourceTransactionManager txnMgr = new DataSourceTransactionManager(ds);
+        transactions = new TransactionTemplate(txnMgr);
+
+        String id = UUID.randomUUID().toString();
+        resource = switch (database) {
+            case "MySQL" -> new MySQLBlobResource(id, template, txnMgr);
+            case "PostgreSQL" -> new PostgresBlobResource(id, template, txnMgr);
+            case "SQLServer" -> new SQLServerBlobResource(id, template, txnMgr);
+            default -> new GenericBlobResource(id, template, txnMgr);
+        };
+
+        content = new byte[contentSize];
+        new Random(1).nextBytes(content);
+    }
+
+    @Benchmark
+    public int write() {
+        // large objects can only be written within a transaction
+        return transactions.execute((status) -> {
+            try (OutputStream os = resource.getOutputStream()) {
+                for (int off = 0; off < content.length; off += writeSize) {
+                    os.write(content, off, Math.min(writeSize, content.length - off));
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return content.length;
+        });
+    }
+
+    private static DataSource dataSource(String url, String username, String password) {
+        DriverManagerDataSource ds = new DriverManagerDataSource();
+        ds.setUrl(url);
+        ds.setUsername(username);
+        ds.setPassword(password);
+        return ds;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(BlobResourceOutputStreamBenchmark.class.getSimpleName())
+                .build()
+        ).run();
+    }
+}
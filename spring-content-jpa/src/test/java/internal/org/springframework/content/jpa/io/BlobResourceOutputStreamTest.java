@@ -0,0 +1,128 @@
+package internal.org.springframework.content.jpa.io;
+
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.BeforeEach;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.Context;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.Describe;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.It;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.JustBeforeEach;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.sql.Blob;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Random;
+
+import javax.sql.DataSource;
+
+import org.junit.runner.RunWith;
+import org.springframework.content.jpa.io.BlobResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.github.paulcwarren.ginkgo4j.Ginkgo4jRunner;
+
+@RunWith(Ginkgo4jRunner.class)
+public class BlobResourceOutputStreamTest {
+
+    private BlobResourceOutputStream os;
+
+    private BlobResource resource;
+    private DataSource ds;
+    private Connection conn;
+    private Blob blob;
+    private ByteArrayOutputStream blobContent;
+    private PreparedStatement update;
+    private PreparedStatement insert;
+
+    private byte[] content;
+    private IOException closeException;
+
+    {
+        Describe("BlobResourceOutputStream", () -> {
+            BeforeEach(() -> {
+                closeException = null;
+                resource = mock(BlobResource.class);
+                when(resource.getId()).thenReturn("12345");
+
+                ds = mock(DataSource.class);
+                conn = mock(Connection.class);
+                blob = mock(Blob.class);
+                blobContent = new ByteArrayOutputStream();
+                update = mock(PreparedStatement.class);
+                insert = mock(PreparedStatement.class);
+
+                when(ds.getConnection()).thenReturn(conn);
+                when(conn.createBlob()).thenReturn(blob);
+                when(blob.setBinaryStream(1L)).thenReturn(blobContent);
+                when(conn.prepareStatement("UPDATE BLOBS SET content=? WHERE id=?")).thenReturn(update);
+                when(conn.prepareStatement("INSERT INTO BLOBS (id, content) VALUES (?, ?)")).thenReturn(insert);
+
+                when(update.executeUpdate()).thenReturn(1);
+                when(insert.executeUpdate()).thenReturn(1);
+
+                os = new BlobResourceOutputStream(resource, new JdbcTemplate(ds));
+            });
+            JustBeforeEach(() -> {
+                int off = 0;
+                while (off < content.length) {
+                    int len = Math.min(4096, content.length - off);
+                    os.write(content, off, len);
+                    off += len;
+                }
+                try {
+                    os.close();
+                } catch (IOException e) {
+                    closeException = e;
+                }
+            });
+            Context("given content", () -> {
+                BeforeEach(() -> {
+                    content = new byte[1024 * 1024 * 2];
+                    new Random(1).nextBytes(content);
+                });
+                It("should stream the content into the driver's blob", () -> {
+                    assertThat(blobContent.toByteArray(), is(content));
+                });
+                It("should update the blob on the connection the blob was created on", () -> {
+                    verify(update).setBlob(1, blob);
+                    verify(update).setString(2, "12345");
+                    verify(insert, never()).executeUpdate();
+                });
+                It("should free the blob and release the connection", () -> {
+                    verify(blob).free();
+                    verify(conn).close();
+                });
+                Context("given the blob cannot be stored", () -> {
+                    BeforeEach(() -> {
+                        when(update.executeUpdate()).thenThrow(new SQLException("badness"));
+                    });
+                    It("should fail, free the blob and release the connection", () -> {
+                        assertThat(closeException, is(not(nullValue())));
+                        verify(blob).free();
+                        verify(conn).close();
+                    });
+                });
+            });
+            Context("given the blob does not exist", () -> {
+                BeforeEach(() -> {
+                    content = new byte[] {1, 2, 3};
+                    when(update.executeUpdate()).thenReturn(0);
+                });
+                It("should insert the blob", () -> {
+                    verify(insert).setString(1, "12345");
+                    verify(insert).setBlob(2, blob);
+                    verify(insert).executeUpdate();
+                });
+            });
+        });
+    }
+}
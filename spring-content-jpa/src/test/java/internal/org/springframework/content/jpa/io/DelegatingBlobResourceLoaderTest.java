@@ -11,11 +11,14 @@ import org.springframework.transaction.PlatformTransactionManager;
 import javax.sql.DataSource;
 import java.sql.Connection;
 import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.*;
 import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.mockito.Matchers.anyObject;
 import static org.mockito.Mockito.*;
@@ -35,6 +38,10 @@ public class DelegatingBlobResourceLoaderTest {
 
 	private Resource resource;
 
+	private Connection conn;
+	private PreparedStatement ps;
+	private int deleted;
+
 	{
 		Describe("DelegatingBlobResourceLoader", () -> {
 			Context("#getResource", () -> {
@@ -84,6 +91,37 @@ public class DelegatingBlobResourceLoaderTest {
 							});
 						});
 			});
+			Context("#deleteAll", () -> {
+				BeforeEach(() -> {
+					ds = mock(DataSource.class);
+					conn = mock(Connection.class);
+					DatabaseMetaData metadata = mock(DatabaseMetaData.class);
+					ps = mock(PreparedStatement.class);
+					when(ds.getConnection()).thenReturn(conn);
+					when(conn.getMetaData()).thenReturn(metadata);
+					when(metadata.getDatabaseProductName()).thenReturn("H2");
+					when(metadata.supportsBatchUpdates()).thenReturn(true);
+					when(conn.prepareStatement("DELETE FROM BLOBS WHERE id=?")).thenReturn(ps);
+					when(ps.getConnection()).thenReturn(conn);
+					when(ps.executeBatch()).thenReturn(new int[] {1, 1, 0});
+
+					loaders = new ArrayList<>();
+				});
+				JustBeforeEach(() -> {
+					service = new DelegatingBlobResourceLoader(ds, loaders);
+					deleted = service.deleteAll(Arrays.asList("one", "two", "three"));
+				});
+				It("should delete the blobs in a single batch", () -> {
+					verify(conn).prepareStatement("DELETE FROM BLOBS WHERE id=?");
+					verify(ps).setString(1, "one");
+					verify(ps).setString(1, "two");
+					verify(ps).setString(1, "three");
+					verify(ps, times(3)).addBatch();
+					verify(ps).executeBatch();
+					verify(ps, never()).executeUpdate();
+					assertThat(deleted, is(2));
+				});
+			});
 		});
 	}
 }
@@ -8,18 +8,25 @@ import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.JustBeforeEach;
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.CoreMatchers.nullValue;
 import static org.hamcrest.MatcherAssert.assertThat;
-import static org.mockito.ArgumentMatchers.anyObject;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.sql.Blob;
 import java.sql.Connection;
+import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
-import java.sql.Statement;
 
 import javax.sql.DataSource;
 
+import org.apache.commons.io.IOUtils;
 import org.junit.runner.RunWith;
+import org.springframework.content.commons.io.ResourceMetadataCache;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.datasource.DataSourceTransactionManager;
 import org.springframework.transaction.PlatformTransactionManager;
@@ -37,7 +44,7 @@ public class GenericBlobResourceTest {
 
 	private DataSource ds;
 	private Connection conn;
-	private Statement statement;
+	private PreparedStatement statement;
 	private ResultSet rs;
 
 	private Object result;
@@ -48,16 +55,17 @@ public class GenericBlobResourceTest {
 				ds = mock(DataSource.class);
 				template = new JdbcTemplate(ds);
 				txnMgr = new DataSourceTransactionManager(ds);
+				id = "12345";
 			});
 			Context("#exists", () -> {
 				BeforeEach(() -> {
 					conn = mock(Connection.class);
-					statement = mock(Statement.class);
+					statement = mock(PreparedStatement.class);
 					rs = mock(ResultSet.class);
 
 					when(ds.getConnection()).thenReturn(conn);
-					when(conn.createStatement()).thenReturn(statement);
-					when(statement.executeQuery(anyObject())).thenReturn(rs);
+					when(conn.prepareStatement(anyString())).thenReturn(statement);
+					when(statement.executeQuery()).thenReturn(rs);
 				});
 				JustBeforeEach(() -> {
 					resource = new GenericBlobResource(id, template, txnMgr);
@@ -71,16 +79,50 @@ public class GenericBlobResourceTest {
 						assertThat(result, is(false));
 					});
 				});
+				Context("given the blob exists", () -> {
+					BeforeEach(() -> {
+						when(rs.next()).thenReturn(true);
+						when(rs.getInt(1)).thenReturn(1);
+					});
+					It("should query the blob by a parameter", () -> {
+						assertThat(result, is(true));
+						verify(conn).prepareStatement("SELECT COUNT(id) FROM BLOBS WHERE id=?");
+						verify(statement).setString(1, "12345");
+					});
+				});
+				Context("given a shared metadata cache", () -> {
+					BeforeEach(() -> {
+						when(rs.next()).thenReturn(true);
+						when(rs.getInt(1)).thenReturn(1);
+					});
+					It("should describe the blob by table, id and column", () -> {
+						assertThat(resource.getDescription(), is("Blob resource [table = 'BLOBS', id = '12345', column = 'content']"));
+					});
+					It("should answer a second lookup of the same blob from the cache", () -> {
+						ResourceMetadataCache cache = new ResourceMetadataCache();
+
+						GenericBlobResource first = new GenericBlobResource(id, template, txnMgr);
+						first.setMetadataCache(cache);
+						GenericBlobResource second = new GenericBlobResource(id, template, txnMgr);
+						second.setMetadataCache(cache);
+
+						assertThat(first.exists(), is(true));
+						assertThat(second.exists(), is(true));
+						assertThat(cache.size(), is(1));
+						// one query from the JustBeforeEach, one from the first cached lookup
+						verify(statement, times(2)).executeQuery();
+					});
+				});
 			});
 			Context("#getInputStream", () -> {
 				BeforeEach(() -> {
 					conn = mock(Connection.class);
-					statement = mock(Statement.class);
+					statement = mock(PreparedStatement.class);
 					rs = mock(ResultSet.class);
 
 					when(ds.getConnection()).thenReturn(conn);
-					when(conn.createStatement()).thenReturn(statement);
-					when(statement.executeQuery(anyObject())).thenReturn(rs);
+					when(conn.prepareStatement(anyString())).thenReturn(statement);
+					when(statement.executeQuery()).thenReturn(rs);
 				});
 				JustBeforeEach(() -> {
 					resource = new GenericBlobResource(id, template, txnMgr);
@@ -94,6 +136,44 @@ public class GenericBlobResourceTest {
 						assertThat(result, is(nullValue()));
 					});
 				});
+				Context("given a blob", () -> {
+					BeforeEach(() -> {
+						Blob blob = mock(Blob.class);
+						when(rs.next()).thenReturn(true);
+						when(rs.getBlob(2)).thenReturn(blob);
+						when(blob.getBinaryStream()).thenReturn(new ByteArrayInputStream(new byte[] {1, 2, 3, 4, 5}));
+					});
+					It("should read the content in bulk", () -> {
+						byte[] buffer = new byte[5];
+						assertThat(((InputStream) result).read(buffer, 0, 5), is(5));
+						assertThat(buffer, is(new byte[] {1, 2, 3, 4, 5}));
+						assertThat(((InputStream) result).read(buffer, 0, 5), is(-1));
+					});
+				});
+			});
+			Context("#getInputStream with a read-ahead buffer", () -> {
+				BeforeEach(() -> {
+					conn = mock(Connection.class);
+					statement = mock(PreparedStatement.class);
+					rs = mock(ResultSet.class);
+
+					when(ds.getConnection()).thenReturn(conn);
+					when(conn.prepareStatement(anyString())).thenReturn(statement);
+					when(statement.executeQuery()).thenReturn(rs);
+
+					Blob blob = mock(Blob.class);
+					when(rs.next()).thenReturn(true);
+					when(rs.getBlob(2)).thenReturn(blob);
+					when(blob.getBinaryStream()).thenReturn(new ByteArrayInputStream(new byte[] {1, 2, 3, 4, 5}));
+				});
+				JustBeforeEach(() -> {
+					resource = new GenericBlobResource(id, template, txnMgr);
+					resource.setReadAheadBufferSize(4);
+					result = resource.getInputStream();
+				});
+				It("should return the content", () -> {
+					assertThat(IOUtils.toByteArray((InputStream) result), is(new byte[] {1, 2, 3, 4, 5}));
+				});
 			});
 		});
 	}
@@ -0,0 +1,129 @@
+package internal.org.springframework.content.jpa.io;
+
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.BeforeEach;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.Context;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.Describe;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.It;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.JustBeforeEach;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Random;
+
+import javax.sql.DataSource;
+
+import org.apache.commons.io.IOUtils;
+import org.junit.runner.RunWith;
+import org.springframework.content.jpa.io.BlobResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.github.paulcwarren.ginkgo4j.Ginkgo4jRunner;
+
+@RunWith(Ginkgo4jRunner.class)
+public class SpoolingBlobResourceOutputStreamTest {
+
+    private SpoolingBlobResourceOutputStream os;
+
+    private BlobResource resource;
+    private DataSource ds;
+    private Connection conn;
+    private PreparedStatement update;
+    private PreparedStatement insert;
+
+    private byte[] content;
+    private byte[] stored;
+    private IOException closeException;
+
+    {
+        Describe("SpoolingBlobResourceOutputStream", () -> {
+            BeforeEach(() -> {
+                closeException = null;
+                resource = mock(BlobResource.class);
+                when(resource.getId()).thenReturn("12345");
+
+                ds = mock(DataSource.class);
+                conn = mock(Connection.class);
+                update = mock(PreparedStatement.class);
+                insert = mock(PreparedStatement.class);
+
+                when(ds.getConnection()).thenReturn(conn);
+                when(conn.prepareStatement("UPDATE BLOBS SET content=? WHERE id=?")).thenReturn(update);
+                when(conn.prepareStatement("INSERT INTO BLOBS (id, content) VALUES (?, ?)")).thenReturn(insert);
+
+                when(update.executeUpdate()).thenReturn(1);
+                when(insert.executeUpdate()).thenReturn(1);
+
+                os = new SpoolingBlobResourceOutputStream(resource, new JdbcTemplate(ds));
+            });
+            JustBeforeEach(() -> {
+                int off = 0;
+                while (off < content.length) {
+                    int len = Math.min(4096, content.length - off);
+                    os.write(content, off, len);
+                    off += len;
+                }
+                try {
+                    os.close();
+                } catch (IOException e) {
+                    closeException = e;
+                }
+            });
+            Context("given content larger than the in-memory threshold", () -> {
+                BeforeEach(() -> {
+                    content = new byte[SpoolingBlobResourceOutputStream.SPOOL_IN_MEMORY_THRESHOLD * 2];
+                    new Random(1).nextBytes(content);
+
+                    doAnswer((invocation) -> {
+                        stored = IOUtils.toByteArray((InputStream) invocation.getArgument(1));
+                        return null;
+                    }).when(update).setBinaryStream(eq(1), any(InputStream.class), anyLong());
+                });
+                It("should update the blob streaming the content with its length", () -> {
+                    verify(update).setBinaryStream(eq(1), any(InputStream.class), eq((long) content.length));
+                    verify(update).setString(2, "12345");
+                    assertThat(stored, is(content));
+                    verify(insert, never()).executeUpdate();
+                });
+                It("should delete the spooled content", () -> {
+                    assertThat(Files.exists(os.spoolFile), is(false));
+                });
+                Context("given the blob cannot be stored", () -> {
+                    BeforeEach(() -> {
+                        when(update.executeUpdate()).thenThrow(new SQLException("badness"));
+                    });
+                    It("should fail and delete the spooled content", () -> {
+                        assertThat(closeException, is(not(nullValue())));
+                        assertThat(Files.exists(os.spoolFile), is(false));
+                    });
+                });
+            });
+            Context("given the blob does not exist", () -> {
+                BeforeEach(() -> {
+                    content = new byte[] {1, 2, 3};
+                    when(update.executeUpdate()).thenReturn(0);
+                });
+                It("should insert the blob", () -> {
+                    verify(insert).setString(1, "12345");
+                    verify(insert).setBinaryStream(eq(2), any(InputStream.class), eq(3L));
+                    verify(insert).executeUpdate();
+                });
+            });
+        });
+    }
+}
@@ -0,0 +1,93 @@
+package internal.org.springframework.content.jpa.store;
+
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.BeforeEach;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.Context;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.Describe;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.It;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.JustBeforeEach;
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.springframework.content.commons.store.events.AfterUnsetContentEvent;
+import org.springframework.content.commons.store.events.BeforeUnsetContentEvent;
+import org.springframework.content.commons.store.StoreAccessException;
+import org.springframework.content.commons.store.events.StoreEvent;
+import org.springframework.context.ApplicationEventPublisher;
+
+import com.github.paulcwarren.ginkgo4j.Ginkgo4jRunner;
+
+@RunWith(Ginkgo4jRunner.class)
+public class BatchDeleteOperationsImplTest {
+
+    private BatchDeleteOperationsImpl<Object> operations;
+
+    private DefaultJpaStoreImpl<Object, String> store;
+    private ApplicationEventPublisher publisher;
+
+    private List<Object> entities;
+    private Exception e;
+
+    {
+        Describe("#deleteAll", () -> {
+            BeforeEach(() -> {
+                store = mock(DefaultJpaStoreImpl.class);
+                publisher = mock(ApplicationEventPublisher.class);
+                operations = new BatchDeleteOperationsImpl<>(store, publisher);
+                entities = Arrays.asList(new Object(), new Object());
+            });
+            JustBeforeEach(() -> {
+                operations.deleteAll(entities);
+            });
+            It("should publish unset content events for each entity around the batched delete", () -> {
+                ArgumentCaptor<StoreEvent> events = ArgumentCaptor.forClass(StoreEvent.class);
+                InOrder inOrder = inOrder(publisher, store);
+                inOrder.verify(publisher, times(2)).publishEvent(events.capture());
+                inOrder.verify(store).deleteAll(entities);
+                inOrder.verify(publisher, times(2)).publishEvent(events.capture());
+
+                List<StoreEvent> published = events.getAllValues();
+                assertThat(published.get(0), instanceOf(BeforeUnsetContentEvent.class));
+                assertThat(published.get(0).getSource(), is(entities.get(0)));
+                assertThat(published.get(1).getSource(), is(entities.get(1)));
+                assertThat(published.get(2), instanceOf(AfterUnsetContentEvent.class));
+                assertThat(published.get(2).getSource(), is(entities.get(0)));
+                assertThat(published.get(3).getSource(), is(entities.get(1)));
+            });
+        });
+        Describe("#deleteAll with content-addressable storage", () -> {
+            BeforeEach(() -> {
+                store = mock(DefaultJpaStoreImpl.class);
+                publisher = mock(ApplicationEventPublisher.class);
+                operations = new BatchDeleteOperationsImpl<>(store, publisher, true);
+                entities = Arrays.asList(new Object(), new Object());
+            });
+            JustBeforeEach(() -> {
+                try {
+                    operations.deleteAll(entities);
+                } catch (Exception ex) {
+                    e = ex;
+                }
+            });
+            Context("given content may be shared by several entities", () -> {
+                It("should refuse to delete it in a batch", () -> {
+                    assertThat(e, instanceOf(StoreAccessException.class));
+                    verify(store, never()).deleteAll(entities);
+                    verifyNoInteractions(publisher);
+                });
+            });
+        });
+    }
+}
@@ -27,6 +27,7 @@ import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.util.Arrays;
 import java.util.Random;
 import java.util.UUID;
 
@@ -43,6 +44,7 @@ import org.springframework.core.io.Resource;
 
 import com.github.paulcwarren.ginkgo4j.Ginkgo4jRunner;
 
+import internal.org.springframework.content.jpa.io.DelegatingBlobResourceLoader;
 import internal.org.springframework.content.jpa.io.GenericBlobResource;
 
 @RunWith(Ginkgo4jRunner.class)
@@ -51,6 +53,7 @@ public class DefaultJpaStoreImplTest {
 	private DefaultJpaStoreImpl<Object, String> store;
 
 	private BlobResourceLoader blobResourceLoader;
+	private DelegatingBlobResourceLoader delegatingLoader;
 
 	private TestEntity entity;
 	private JakartaTestEntity jakartaAnnotatedEntity;
@@ -87,6 +90,38 @@ public class DefaultJpaStoreImplTest {
 								});
 					});
 				});
+				Context("#deleteAll", () -> {
+					Context("given a delegating blob resource loader", () -> {
+						BeforeEach(() -> {
+							delegatingLoader = mock(DelegatingBlobResourceLoader.class);
+						});
+						JustBeforeEach(() -> {
+							entity = new TestEntity("1");
+							entity.setContentLen(10L);
+							new DefaultJpaStoreImpl<Object, String>(delegatingLoader, null, 8096).deleteAll(Arrays.asList(entity, new TestEntity("2")));
+						});
+						It("should delete the blobs in a batch", () -> {
+							verify(delegatingLoader).deleteAll(Arrays.asList("1", "2"));
+							verify(delegatingLoader, never()).getResource(anyObject());
+						});
+						It("should unset the content of each entity", () -> {
+							assertThat(entity.getContentId(), is(nullValue()));
+							assertThat(entity.getContentLen(), is(0L));
+						});
+					});
+					Context("given a blob resource loader", () -> {
+						BeforeEach(() -> {
+							blobResource = mock(BlobResource.class);
+							when(blobResourceLoader.getResource("1")).thenReturn(blobResource);
+						});
+						JustBeforeEach(() -> {
+							store.deleteAll(Arrays.asList(new TestEntity("1")));
+						});
+						It("should delete each blob", () -> {
+							verify(blobResource).delete();
+						});
+					});
+				});
 			});
 			Describe("AssociativeStore", () -> {
 				BeforeEach(() -> {
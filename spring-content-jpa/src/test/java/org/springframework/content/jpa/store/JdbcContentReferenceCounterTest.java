@@ -0,0 +1,113 @@
+package org.springframework.content.jpa.store;
+
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.AfterEach;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.BeforeEach;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.Context;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.Describe;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.It;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.runner.RunWith;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import com.github.paulcwarren.ginkgo4j.Ginkgo4jConfiguration;
+import com.github.paulcwarren.ginkgo4j.Ginkgo4jRunner;
+
+@RunWith(Ginkgo4jRunner.class)
+@Ginkgo4jConfiguration(threads = 1)
+public class JdbcContentReferenceCounterTest {
+
+    private static final String CONTENT_ID = "2c26b46b68ffc68ff99b453c1d30413413422d706483bfa0f98a5e886266e7ae";
+
+    private EmbeddedDatabase db;
+    private JdbcContentReferenceCounter counter;
+
+    {
+        Describe("JdbcContentReferenceCounter", () -> {
+            BeforeEach(() -> {
+                db = new EmbeddedDatabaseBuilder()
+                        .setType(EmbeddedDatabaseType.H2)
+                        .setName(UUID.randomUUID().toString())
+                        .addScript("org/springframework/content/jpa/schema-h2.sql")
+                        .build();
+                counter = new JdbcContentReferenceCounter(db);
+            });
+            AfterEach(() -> {
+                db.shutdown();
+            });
+            Context("#increment", () -> {
+                It("should count the references to a blob of a store", () -> {
+                    assertThat(counter.increment(String.class, CONTENT_ID), is(1L));
+                    assertThat(counter.increment(String.class, CONTENT_ID), is(2L));
+                    assertThat(counter.increment(Integer.class, CONTENT_ID), is(1L));
+                });
+            });
+            Context("#decrementAndDeleteIfZero", () -> {
+                It("should only delete the blob once it is no longer referenced", () -> {
+                    counter.increment(String.class, CONTENT_ID);
+                    counter.increment(String.class, CONTENT_ID);
+
+                    AtomicBoolean deleted = new AtomicBoolean(false);
+                    assertThat(counter.decrementAndDeleteIfZero(String.class, CONTENT_ID, () -> deleted.set(true)), is(1L));
+                    assertThat(deleted.get(), is(false));
+
+                    assertThat(counter.decrementAndDeleteIfZero(String.class, CONTENT_ID, () -> deleted.set(true)), is(0L));
+                    assertThat(deleted.get(), is(true));
+
+                    assertThat(counter.increment(String.class, CONTENT_ID), is(1L));
+                });
+                It("should delete a blob that was never counted", () -> {
+                    AtomicBoolean deleted = new AtomicBoolean(false);
+                    assertThat(counter.decrementAndDeleteIfZero(String.class, CONTENT_ID, () -> deleted.set(true)), is(0L));
+                    assertThat(deleted.get(), is(true));
+                });
+                It("should keep the count when the blob can not be deleted", () -> {
+                    counter.increment(String.class, CONTENT_ID);
+                    try {
+                        counter.decrementAndDeleteIfZero(String.class, CONTENT_ID, () -> {
+                            throw new IllegalStateException("badness");
+                        });
+                    } catch (IllegalStateException ise) {
+                        // expected
+                    }
+                    assertThat(counter.increment(String.class, CONTENT_ID), is(2L));
+                });
+                It("should make a concurrent increment wait for the deletion", () -> {
+                    counter.increment(String.class, CONTENT_ID);
+
+                    List<String> events = new CopyOnWriteArrayList<>();
+                    CountDownLatch deleting = new CountDownLatch(1);
+                    CompletableFuture<Long> released = CompletableFuture.supplyAsync(() -> counter.decrementAndDeleteIfZero(String.class, CONTENT_ID, () -> {
+                        deleting.countDown();
+                        try {
+                            Thread.sleep(200);
+                        } catch (InterruptedException ie) {
+                            Thread.currentThread().interrupt();
+                        }
+                        events.add("deleted");
+                    }));
+
+                    deleting.await(5, TimeUnit.SECONDS);
+                    long count = counter.increment(String.class, CONTENT_ID);
+                    events.add("incremented");
+
+                    assertThat(released.get(5, TimeUnit.SECONDS), is(0L));
+                    assertThat(count, is(1L));
+                    assertThat(events, contains("deleted", "incremented"));
+                });
+            });
+        });
+    }
+}
@@ -1,15 +1,25 @@
 package internal.org.springframework.content.mongo.config;
 
+import java.util.function.Supplier;
+
 import org.springframework.aop.framework.ProxyFactory;
 import org.springframework.beans.factory.BeanFactory;
+
+import org.springframework.beans.factory.NoSuchBeanDefinitionException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.content.commons.io.ResourceMetadataCache;
 import org.springframework.content.commons.mappingcontext.MappingContext;
 import org.springframework.content.commons.repository.Store;
 import org.springframework.content.commons.store.factory.AbstractStoreFactoryBean;
 import org.springframework.content.commons.utils.PlacementService;
+import org.springframework.data.mongodb.MongoDatabaseFactory;
 import org.springframework.data.mongodb.gridfs.GridFsTemplate;
 import org.springframework.versions.LockingAndVersioningProxyFactory;
 
+import com.mongodb.client.gridfs.GridFSBucket;
+import com.mongodb.client.gridfs.GridFSBuckets;
+
 import internal.org.springframework.content.mongo.store.DefaultMongoStoreImpl;
 
 public class MongoStoreFactoryBean extends AbstractStoreFactoryBean {
@@ -26,6 +36,18 @@ public class MongoStoreFactoryBean extends AbstractStoreFactoryBean {
 	@Autowired(required=false)
     private LockingAndVersioningProxyFactory versioning;
 
+	@Autowired(required=false)
+	private ResourceMetadataCache metadataCache;
+
+	@Autowired(required=false)
+	private MongoDatabaseFactory mongoDatabaseFactory;
+
+	@Value("${spring.content.mongo.gridfs.bucket:${spring.data.mongodb.gridfs.bucket:fs}}")
+	private String bucket;
+
+	@Value("${spring.content.mongo.gridfs.chunk-size:261120}")
+	private int chunkSize;
+
 	protected MongoStoreFactoryBean(Class<? extends Store> storeInterface) {
 		super(storeInterface);
 	}
@@ -44,6 +66,14 @@ public class MongoStoreFactoryBean extends AbstractStoreFactoryBean {
 
 	@Override
 	protected Object getContentStoreImpl() {
-		return new DefaultMongoStoreImpl(gridFs, mappingContext, mongoStorePlacementService);
+		return new DefaultMongoStoreImpl(gridFs, getBucketSupplier(mongoDatabaseFactory, bucket, chunkSize), mappingContext, mongoStorePlacementService, metadataCache);
+	}
+
+	static Supplier<GridFSBucket> getBucketSupplier(MongoDatabaseFactory mongoDatabaseFactory, String bucket, int chunkSize) {
+		if (mongoDatabaseFactory == null) {
+			throw new NoSuchBeanDefinitionException(MongoDatabaseFactory.class.getCanonicalName());
+		}
+		// resolved per use, as GridFsTemplate does, so that the database of the current session is used
+		return () -> GridFSBuckets.create(mongoDatabaseFactory.getMongoDatabase(), bucket).withChunkSizeBytes(chunkSize);
 	}
 }
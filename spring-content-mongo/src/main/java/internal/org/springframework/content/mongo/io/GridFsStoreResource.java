@@ -1,9 +1,13 @@
 package internal.org.springframework.content.mongo.io;
 
+import com.mongodb.client.gridfs.GridFSBucket;
+import com.mongodb.client.gridfs.GridFSUploadStream;
 import com.mongodb.client.gridfs.model.GridFSFile;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.springframework.content.commons.io.DeletableResource;
+import org.springframework.content.commons.io.ResourceMetadata;
+import org.springframework.content.commons.io.ResourceMetadataCache;
 import org.springframework.core.io.Resource;
 import org.springframework.core.io.WritableResource;
 import org.springframework.data.mongodb.gridfs.GridFsResource;
@@ -13,7 +17,9 @@ import org.springframework.util.Assert;
 import java.io.*;
 import java.net.URI;
 import java.net.URL;
+import java.util.Optional;
 import java.util.concurrent.CountDownLatch;
+import java.util.function.Supplier;
 
 import static org.springframework.data.mongodb.core.query.Query.query;
 import static org.springframework.data.mongodb.gridfs.GridFsCriteria.whereFilename;
@@ -26,6 +32,11 @@ public class GridFsStoreResource
 	private GridFsResource delegate;
 	private String location;
 	private GridFsTemplate gridfs;
+	private Supplier<GridFSBucket> bucket;
+	private ResourceMetadataCache metadataCache;
+
+	// the file found at location, looked up at most once until the resource is written or deleted
+	private volatile Optional<GridFSFile> file;
 
 	public GridFsStoreResource(Resource delegate, GridFsTemplate gridfs) {
 		Assert.isInstanceOf(GridFsResource.class,
@@ -35,18 +46,35 @@ public class GridFsStoreResource
 	}
 
 	public GridFsStoreResource(String location, GridFsTemplate gridfs) {
+		this(location, gridfs, null);
+	}
+
+	public GridFsStoreResource(String location, GridFsTemplate gridfs, ResourceMetadataCache metadataCache) {
+		this(location, gridfs, null, metadataCache);
+	}
+
+	/**
+	 * @param location the filename of the resource
+	 * @param gridfs the template used to find, read and delete the resource
+	 * @param bucket supplies the bucket that content is written to through an upload stream. When null content is
+	 *               written through the template on a separate thread.
+	 * @param metadataCache a shared metadata cache, or null
+	 */
+	public GridFsStoreResource(String location, GridFsTemplate gridfs, Supplier<GridFSBucket> bucket, ResourceMetadataCache metadataCache) {
 		Assert.notNull(location, "location must be specified");
 		Assert.notNull(location, "gridfs must be specified");
 		this.location = location;
 		this.gridfs = gridfs;
+		this.bucket = bucket;
+		this.metadataCache = metadataCache;
 	}
 
 	public long contentLength() throws IOException {
-		GridFSFile file = gridfs.findOne(query(whereFilename().is(location)));
-		if (file == null) {
+		ResourceMetadata metadata = getMetadata();
+		if (!metadata.exists()) {
 			return 0L;
 		}
-		return file.getLength();
+		return metadata.contentLength();
 	}
 
 	public String getFilename() throws IllegalStateException {
@@ -54,15 +82,15 @@ public class GridFsStoreResource
 	}
 
 	public long lastModified() throws IOException {
-		GridFSFile file = gridfs.findOne(query(whereFilename().is(location)));
-		if (file == null) {
+		ResourceMetadata metadata = getMetadata();
+		if (!metadata.exists()) {
 			return -1L;
 		}
-		return file.getUploadDate().getTime();
+		return metadata.lastModified();
 	}
 
 	public Object getId() {
-		GridFSFile file = gridfs.findOne(query(whereFilename().is(location)));
+		GridFSFile file = findFile();
 		if (file == null) {
 			return null;
 		}
@@ -70,7 +98,7 @@ public class GridFsStoreResource
 	}
 
 	public boolean exists() {
-		return gridfs.findOne(query(whereFilename().is(location))) != null;
+		return getMetadata().exists();
 	}
 
 	public boolean isOpen() {
@@ -78,11 +106,11 @@ public class GridFsStoreResource
 	}
 
 	public InputStream getInputStream() throws IOException, IllegalStateException {
-		GridFSFile file = gridfs.findOne(query(whereFilename().is(location)));
+		GridFSFile file = findFile();
 		if (file == null) {
 			return null;
 		}
-		return gridfs.getResource(location).getInputStream();
+		return gridfs.getResource(file).getInputStream();
 	}
 
 	public String getDescription() {
@@ -121,6 +149,10 @@ public class GridFsStoreResource
 
 	@Override
 	public OutputStream getOutputStream() throws IOException {
+		if (bucket != null) {
+			return new GridFsUploadOutputStream(bucket.get().openUploadStream(location));
+		}
+
 		final GridFsStoreResource resource = this;
 
 		final PipedInputStream is = new PipedInputStream();
@@ -152,6 +184,7 @@ public class GridFsStoreResource
 					}
 					finally {
 						firstWrite = false;
+						evictMetadata();
 					}
 				}
 			}
@@ -161,7 +194,7 @@ public class GridFsStoreResource
 				super.close();
 
 				synchronized (resource) {
-					return;
+					evictMetadata();
 				}
 			}
 		};
@@ -188,9 +221,112 @@ public class GridFsStoreResource
 
 	@Override
 	public void delete() {
-		if (gridfs.findOne(query(whereFilename().is(location))) == null) {
+		if (findFile() == null) {
 			return;
 		}
-		gridfs.delete(query(whereFilename().is(location)));
+		try {
+			gridfs.delete(query(whereFilename().is(location)));
+		}
+		finally {
+			evictMetadata();
+		}
+	}
+
+	private GridFSFile findFile() {
+		Optional<GridFSFile> file = this.file;
+		if (file == null) {
+			file = Optional.ofNullable(gridfs.findOne(query(whereFilename().is(location))));
+			this.file = file;
+		}
+		return file.orElse(null);
+	}
+
+	private ResourceMetadata getMetadata() {
+		if (metadataCache == null) {
+			return toMetadata(findFile());
+		}
+		return metadataCache.get(this, () -> toMetadata(findFile()));
+	}
+
+	private static ResourceMetadata toMetadata(GridFSFile file) {
+		if (file == null) {
+			return ResourceMetadata.NOT_FOUND;
+		}
+		return new ResourceMetadata(true, file.getLength(), file.getUploadDate().getTime(), null, null);
+	}
+
+	private void evictMetadata() {
+		this.file = null;
+		if (metadataCache != null) {
+			metadataCache.evict(this);
+		}
+	}
+
+	/**
+	 * Writes content straight to GridFS chunks on the caller's thread.  Once the new file is complete any previous
+	 * files with the same filename are deleted so that readers see either the old or the new content, never none.
+	 */
+	private class GridFsUploadOutputStream extends OutputStream {
+
+		private final GridFSUploadStream upload;
+
+		private boolean closed = false;
+
+		private GridFsUploadOutputStream(GridFSUploadStream upload) {
+			this.upload = upload;
+		}
+
+		@Override
+		public void write(int b) throws IOException {
+			try {
+				upload.write(b);
+			}
+			catch (RuntimeException e) {
+				abort();
+				throw new IOException(String.format("writing content to %s", location), e);
+			}
+		}
+
+		@Override
+		public void write(byte[] b, int off, int len) throws IOException {
+			try {
+				upload.write(b, off, len);
+			}
+			catch (RuntimeException e) {
+				abort();
+				throw new IOException(String.format("writing content to %s", location), e);
+			}
+		}
+
+		@Override
+		public void close() throws IOException {
+			if (closed) {
+				return;
+			}
+			closed = true;
+
+			try {
+				upload.close();
+				gridfs.delete(query(whereFilename().is(location).and("_id").ne(upload.getObjectId())));
+			}
+			catch (RuntimeException e) {
+				throw new IOException(String.format("storing content to %s", location), e);
+			}
+			finally {
+				evictMetadata();
+			}
+		}
+
+		private void abort() {
+			if (!closed) {
+				closed = true;
+				try {
+					upload.abort();
+				}
+				catch (RuntimeException e) {
+					logger.warn(String.format("aborting upload of content to %s", location), e);
+				}
+			}
+		}
 	}
 }
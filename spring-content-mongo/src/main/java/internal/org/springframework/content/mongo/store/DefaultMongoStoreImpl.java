@@ -10,12 +10,14 @@ import java.io.Serializable;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Field;
 import java.util.UUID;
+import java.util.function.Supplier;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.bson.types.ObjectId;
 import org.springframework.content.commons.annotations.ContentId;
 import org.springframework.content.commons.annotations.ContentLength;
+import org.springframework.content.commons.io.ResourceMetadataCache;
 import org.springframework.content.commons.mappingcontext.ContentProperty;
 import org.springframework.content.commons.mappingcontext.MappingContext;
 import org.springframework.content.commons.property.PropertyPath;
@@ -34,6 +36,8 @@ import org.springframework.data.mongodb.gridfs.GridFsTemplate;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.Assert;
 
+import com.mongodb.client.gridfs.GridFSBucket;
+
 import internal.org.springframework.content.mongo.io.GridFsStoreResource;
 
 public class DefaultMongoStoreImpl<S, SID extends Serializable>
@@ -49,12 +53,26 @@ public class DefaultMongoStoreImpl<S, SID extends Serializable>
 
     private MappingContext mappingContext;
 
+    private ResourceMetadataCache metadataCache;
+
+    private Supplier<GridFSBucket> gridFsBucket;
+
 	public DefaultMongoStoreImpl(GridFsTemplate gridFs, MappingContext mappingContext, PlacementService placer) {
+		this(gridFs, mappingContext, placer, null);
+	}
+
+	public DefaultMongoStoreImpl(GridFsTemplate gridFs, MappingContext mappingContext, PlacementService placer, ResourceMetadataCache metadataCache) {
+		this(gridFs, null, mappingContext, placer, metadataCache);
+	}
+
+	public DefaultMongoStoreImpl(GridFsTemplate gridFs, Supplier<GridFSBucket> gridFsBucket, MappingContext mappingContext, PlacementService placer, ResourceMetadataCache metadataCache) {
 		Assert.notNull(gridFs, "gridFs cannot be null");
 		Assert.notNull(placer, "placer cannot be null");
 
 		this.gridFs = gridFs;
+		this.gridFsBucket = gridFsBucket;
 		this.placer = placer;
+		this.metadataCache = metadataCache;
 
 		this.mappingContext = mappingContext;
         this.mappingContext = mappingContext;
@@ -70,7 +88,7 @@ public class DefaultMongoStoreImpl<S, SID extends Serializable>
 	    }
 
 	    String location = placer.convert(id, String.class);
-		return new GridFsStoreResource(location, gridFs);
+		return new GridFsStoreResource(location, gridFs, gridFsBucket, metadataCache);
 	}
 
 	@Override
@@ -84,7 +102,7 @@ public class DefaultMongoStoreImpl<S, SID extends Serializable>
 
 		    if (objectId != null) {
 		        String location = placer.convert(objectId, String.class);
-		        return new GridFsStoreResource(location, gridFs);
+		        return new GridFsStoreResource(location, gridFs, gridFsBucket, metadataCache);
 		    }
 		}
 
@@ -113,7 +131,7 @@ public class DefaultMongoStoreImpl<S, SID extends Serializable>
 
             if (objectId != null) {
                 String location = placer.convert(objectId, String.class);
-                return new GridFsStoreResource(location, gridFs);
+                return new GridFsStoreResource(location, gridFs, gridFsBucket, metadataCache);
             }
         }
 
@@ -0,0 +1,58 @@
+package internal.org.springframework.content.mongo.config;
+
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.BeforeEach;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.Context;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.Describe;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.It;
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.NoSuchBeanDefinitionException;
+import org.springframework.data.mongodb.MongoDatabaseFactory;
+
+import com.github.paulcwarren.ginkgo4j.Ginkgo4jRunner;
+import com.mongodb.client.MongoDatabase;
+import com.mongodb.client.gridfs.GridFSBucket;
+import com.mongodb.client.gridfs.model.GridFSFile;
+
+@RunWith(Ginkgo4jRunner.class)
+public class MongoStoreFactoryBeanTest {
+
+    private MongoDatabaseFactory factory;
+    private MongoDatabase database;
+
+    {
+        Describe("#getBucketSupplier", () -> {
+            Context("given a MongoDatabaseFactory", () -> {
+                BeforeEach(() -> {
+                    database = mock(MongoDatabase.class, RETURNS_DEEP_STUBS);
+                    factory = mock(MongoDatabaseFactory.class);
+                    when(factory.getMongoDatabase()).thenReturn(database);
+                });
+                It("should create the configured bucket in the factory's database", () -> {
+                    GridFSBucket bucket = MongoStoreFactoryBean.getBucketSupplier(factory, "some-bucket", 1024).get();
+                    assertThat(bucket.getBucketName(), is("some-bucket"));
+                    assertThat(bucket.getChunkSizeBytes(), is(1024));
+                    verify(database).getCollection("some-bucket.files", GridFSFile.class);
+                });
+            });
+            Context("given no MongoDatabaseFactory", () -> {
+                It("should fail", () -> {
+                    Exception e = null;
+                    try {
+                        MongoStoreFactoryBean.getBucketSupplier(null, "some-bucket", 1024);
+                    } catch (Exception ex) {
+                        e = ex;
+                    }
+                    assertThat(e, is(instanceOf(NoSuchBeanDefinitionException.class)));
+                });
+            });
+        });
+    }
+}
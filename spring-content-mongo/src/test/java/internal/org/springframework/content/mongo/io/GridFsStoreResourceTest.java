@@ -0,0 +1,94 @@
+package internal.org.springframework.content.mongo.io;
+
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.BeforeEach;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.Context;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.Describe;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.It;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.JustBeforeEach;
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+import org.bson.types.ObjectId;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.gridfs.GridFsTemplate;
+
+import com.github.paulcwarren.ginkgo4j.Ginkgo4jRunner;
+import com.mongodb.MongoException;
+import com.mongodb.client.gridfs.GridFSBucket;
+import com.mongodb.client.gridfs.GridFSUploadStream;
+
+@RunWith(Ginkgo4jRunner.class)
+public class GridFsStoreResourceTest {
+
+    private GridFsStoreResource resource;
+
+    private GridFsTemplate gridfs;
+    private GridFSBucket bucket;
+    private GridFSUploadStream upload;
+
+    private OutputStream os;
+
+    {
+        Describe("GridFsStoreResource", () -> {
+            BeforeEach(() -> {
+                gridfs = mock(GridFsTemplate.class);
+                bucket = mock(GridFSBucket.class);
+                upload = mock(GridFSUploadStream.class);
+
+                when(bucket.openUploadStream("some-location")).thenReturn(upload);
+                when(upload.getObjectId()).thenReturn(new ObjectId());
+
+                resource = new GridFsStoreResource("some-location", gridfs, () -> bucket, null);
+            });
+            Context("#getOutputStream", () -> {
+                JustBeforeEach(() -> {
+                    os = resource.getOutputStream();
+                });
+                Context("when content is written", () -> {
+                    JustBeforeEach(() -> {
+                        os.write(new byte[] {1, 2, 3}, 0, 3);
+                        os.close();
+                    });
+                    It("should write the content to the upload stream", () -> {
+                        verify(upload).write(any(byte[].class), eq(0), eq(3));
+                        verify(upload).close();
+                        verify(gridfs, never()).store(any(InputStream.class), any(String.class));
+                    });
+                    It("should delete previous files other than the one uploaded", () -> {
+                        ArgumentCaptor<Query> captor = ArgumentCaptor.forClass(Query.class);
+                        verify(gridfs).delete(captor.capture());
+                        assertThat(captor.getValue().getQueryObject().toJson(), containsString("\"$ne\""));
+                    });
+                });
+                Context("when writing fails", () -> {
+                    BeforeEach(() -> {
+                        doThrow(new MongoException("badness")).when(upload).write(any(byte[].class), anyInt(), anyInt());
+                    });
+                    It("should abort the upload", () -> {
+                        try {
+                            os.write(new byte[] {1, 2, 3}, 0, 3);
+                        } catch (IOException e) {
+                        }
+                        verify(upload).abort();
+                        os.close();
+                        verify(upload, never()).close();
+                    });
+                });
+            });
+        });
+    }
+}
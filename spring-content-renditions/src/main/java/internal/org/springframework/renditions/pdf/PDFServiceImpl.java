@@ -1,5 +1,6 @@
 package internal.org.springframework.renditions.pdf;
 
+import org.apache.pdfbox.io.MemoryUsageSetting;
 import org.apache.pdfbox.pdmodel.PDDocument;
 import org.apache.pdfbox.rendering.PDFRenderer;
 import org.apache.pdfbox.tools.imageio.ImageIOUtil;
@@ -17,6 +18,11 @@ public class PDFServiceImpl implements PDFService {
         return PDDocument.load(stream);
     }
 
+    @Override
+    public PDDocument load(InputStream stream, MemoryUsageSetting memUsageSetting) throws IOException {
+        return PDDocument.load(stream, memUsageSetting);
+    }
+
     @Override
     public PDFRenderer renderer(PDDocument doc) {
         return new PDFRenderer(doc);
@@ -26,4 +32,9 @@ public class PDFServiceImpl implements PDFService {
     public void writeImage(BufferedImage bim, String format, OutputStream out) throws IOException {
         ImageIOUtil.writeImage(bim, "jpeg", out);
     }
+
+    @Override
+    public void writeImage(BufferedImage bim, String format, OutputStream out, int dpi, float quality) throws IOException {
+        ImageIOUtil.writeImage(bim, format, out, dpi, quality);
+    }
 }
@@ -0,0 +1,276 @@
+package org.springframework.content.renditions;
+
+import java.io.ByteArrayInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.io.output.DeferredFileOutputStream;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.content.commons.renditions.RenditionKey;
+import org.springframework.content.commons.renditions.RenditionProvider;
+import org.springframework.content.commons.renditions.RenditionService;
+import org.springframework.content.commons.renditions.RenditionUnavailableException;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.util.Assert;
+
+import internal.org.springframework.content.commons.renditions.RenditionServiceImpl;
+
+/**
+ * A {@link RenditionService} that bounds the number of conversions each {@link RenditionProvider} performs at once
+ * and shares a single conversion between concurrent requests for the same rendition.
+ * <p>
+ * Conversions are run on a pool of threads per provider, or per chain of providers, of at most {@code maxConcurrentConversions} threads.
+ * Conversions beyond that are queued and, when the queue holds {@code maxQueuedConversions} conversions, rejected
+ * with a {@link RenditionUnavailableException}.
+ * <p>
+ * Requests for a rendition that is already being converted wait for that conversion rather than starting their own.
+ * When they do the rendition is spooled, in memory up to {@link #SPOOL_IN_MEMORY_THRESHOLD} bytes and to a temporary
+ * file beyond that, so that each request can read it.
+ */
+public class RenditionScheduler implements RenditionService, DisposableBean {
+
+    private static final Log logger = LogFactory.getLog(RenditionScheduler.class);
+
+    static final int SPOOL_IN_MEMORY_THRESHOLD = 1024 * 1024;
+
+    private final RenditionServiceImpl delegate;
+    private final int maxConcurrentConversions;
+    private final int maxQueuedConversions;
+
+    private final ConcurrentMap<List<RenditionProvider>, ThreadPoolExecutor> executors = new ConcurrentHashMap<>();
+    private final ConcurrentMap<RenditionKey, Conversion> conversions = new ConcurrentHashMap<>();
+
+    public RenditionScheduler(RenditionServiceImpl delegate, int maxConcurrentConversions, int maxQueuedConversions) {
+        Assert.notNull(delegate, "delegate must not be null");
+        Assert.isTrue(maxConcurrentConversions > 0, "maxConcurrentConversions must be greater than 0");
+        Assert.isTrue(maxQueuedConversions >= 0, "maxQueuedConversions must not be negative");
+        this.delegate = delegate;
+        this.maxConcurrentConversions = maxConcurrentConversions;
+        this.maxQueuedConversions = maxQueuedConversions;
+    }
+
+    @Override
+    public boolean canConvert(String fromMimeType, String toMimeType) {
+        return delegate.canConvert(fromMimeType, toMimeType);
+    }
+
+    @Override
+    public String[] conversions(String fromMimeType) {
+        return delegate.conversions(fromMimeType);
+    }
+
+    @Override
+    public InputStream convert(String fromMimeType, InputStream fromInputSource, String toMimeType) {
+        return convert(null, fromMimeType, fromInputSource, toMimeType);
+    }
+
+    @Override
+    public InputStream convert(RenditionKey key, String fromMimeType, InputStream fromInputSource, String toMimeType) {
+        List<RenditionProvider> providers = delegate.getProviders(fromMimeType, toMimeType);
+        if (providers.isEmpty()) {
+            return null;
+        }
+
+        Callable<InputStream> task = () -> delegate.convert(fromMimeType, fromInputSource, toMimeType);
+        if (key == null) {
+            return await(submit(providers, task));
+        }
+
+        Conversion[] started = new Conversion[1];
+        Conversion conversion = conversions.compute(key, (k, existing) -> {
+            if (existing == null) {
+                started[0] = new Conversion();
+                return started[0];
+            }
+            existing.followers++;
+            return existing;
+        });
+
+        if (started[0] == null) {
+            return conversion.await();
+        }
+
+        InputStream rendition;
+        try {
+            rendition = await(submit(providers, task));
+        } catch (RuntimeException e) {
+            complete(key);
+            conversion.result.completeExceptionally(e);
+            throw e;
+        }
+
+        int followers = complete(key);
+        if (rendition == null || followers == 0) {
+            conversion.result.complete(null);
+            return rendition;
+        }
+
+        Spool spool;
+        try {
+            spool = new Spool(rendition, followers + 1);
+        } catch (IOException e) {
+            RenditionException re = new RenditionException(String.format("Failed to spool rendition %s", key), e);
+            conversion.result.completeExceptionally(re);
+            throw re;
+        }
+        conversion.result.complete(spool);
+        return spool.open();
+    }
+
+    @Override
+    public void destroy() {
+        executors.values().forEach(ThreadPoolExecutor::shutdownNow);
+    }
+
+    // returns the number of requests that are waiting for the conversion
+    private int complete(RenditionKey key) {
+        int[] followers = new int[1];
+        conversions.computeIfPresent(key, (k, conversion) -> {
+            followers[0] = conversion.followers;
+            return null;
+        });
+        return followers[0];
+    }
+
+    private Future<InputStream> submit(List<RenditionProvider> providers, Callable<InputStream> task) {
+        ThreadPoolExecutor executor = executors.computeIfAbsent(providers, this::createExecutor);
+        try {
+            return executor.submit(task);
+        } catch (RejectedExecutionException e) {
+            throw new RenditionUnavailableException(String.format("Too many renditions queued for %s", providers.stream().map((p) -> p.getClass().getName()).collect(Collectors.joining(" -> "))));
+        }
+    }
+
+    private ThreadPoolExecutor createExecutor(List<RenditionProvider> providers) {
+        BlockingQueue<Runnable> queue = (maxQueuedConversions > 0) ? new ArrayBlockingQueue<>(maxQueuedConversions) : new SynchronousQueue<>();
+
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("rendition-" + providers.stream().map((p) -> p.getClass().getSimpleName()).collect(Collectors.joining("-")) + "-");
+        threadFactory.setDaemon(true);
+
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(maxConcurrentConversions, maxConcurrentConversions, 60L, TimeUnit.SECONDS, queue, threadFactory);
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    private static InputStream await(Future<InputStream> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new RenditionException("Interrupted whilst waiting for rendition", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new RenditionException("Failed to convert rendition", e.getCause());
+        }
+    }
+
+    private static class Conversion {
+
+        private final CompletableFuture<Spool> result = new CompletableFuture<>();
+
+        // guarded by the conversions map
+        private int followers = 0;
+
+        private InputStream await() {
+            Spool spool;
+            try {
+                spool = result.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RenditionException("Interrupted whilst waiting for rendition", e);
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof RuntimeException) {
+                    throw (RuntimeException) e.getCause();
+                }
+                throw new RenditionException("Failed to convert rendition", e.getCause());
+            }
+            return (spool != null) ? spool.open() : null;
+        }
+    }
+
+    /**
+     * A rendition that is read by several requests.  A rendition spooled to a file is deleted once each request has
+     * closed its stream.
+     */
+    private static class Spool {
+
+        private final DeferredFileOutputStream os;
+        private final AtomicInteger readers;
+
+        private Spool(InputStream rendition, int readers) throws IOException {
+            this.readers = new AtomicInteger(readers);
+            this.os = DeferredFileOutputStream.builder()
+                    .setThreshold(SPOOL_IN_MEMORY_THRESHOLD)
+                    .setDirectory(FileUtils.getTempDirectory())
+                    .setPrefix("rendition")
+                    .setSuffix(".tmp")
+                    .get();
+            try (InputStream is = rendition) {
+                IOUtils.copyLarge(is, os);
+            } finally {
+                os.close();
+            }
+        }
+
+        private InputStream open() {
+            if (os.isInMemory()) {
+                return new ByteArrayInputStream(os.getData());
+            }
+
+            try {
+                return new FilterInputStream(Files.newInputStream(os.getPath())) {
+                    private boolean closed = false;
+
+                    @Override
+                    public void close() throws IOException {
+                        try {
+                            super.close();
+                        } finally {
+                            if (!closed) {
+                                closed = true;
+                                release();
+                            }
+                        }
+                    }
+                };
+            } catch (IOException e) {
+                release();
+                throw new RenditionException("Failed to read spooled rendition", e);
+            }
+        }
+
+        private void release() {
+            if (readers.decrementAndGet() == 0) {
+                try {
+                    Files.deleteIfExists(os.getPath());
+                } catch (IOException e) {
+                    logger.warn(String.format("Failed to delete spooled rendition %s", os.getPath()), e);
+                }
+            }
+        }
+    }
+}
@@ -1,7 +1,9 @@
 package org.springframework.content.renditions.config;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.content.commons.renditions.RenditionProvider;
 import org.springframework.content.commons.renditions.RenditionService;
+import org.springframework.content.renditions.RenditionScheduler;
 import org.springframework.content.renditions.renderers.PdfToJpegRenderer;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.ComponentScan;
@@ -13,8 +15,15 @@ import internal.org.springframework.content.commons.renditions.RenditionServiceI
 @ComponentScan(basePackageClasses=PdfToJpegRenderer.class)
 public class RenditionsConfiguration {
 
+    @Value("${spring.content.renditions.max-concurrent-conversions:0}")
+    private int maxConcurrentConversions = 0;
+
+    @Value("${spring.content.renditions.max-queued-conversions:100}")
+    private int maxQueuedConversions = 100;
+
     @Bean
     public RenditionService renditionService(RenditionProvider... providers) {
-        return new RenditionServiceImpl(providers);
+        int concurrency = (maxConcurrentConversions > 0) ? maxConcurrentConversions : Runtime.getRuntime().availableProcessors();
+        return new RenditionScheduler(new RenditionServiceImpl(providers), concurrency, maxQueuedConversions);
     }
 }
@@ -1,38 +1,103 @@
 package org.springframework.content.renditions.renderers;
 
 import internal.org.springframework.renditions.pdf.PDFServiceImpl;
-import org.apache.commons.io.IOUtils;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
-import org.apache.pdfbox.io.ScratchFile;
+import org.apache.pdfbox.io.MemoryUsageSetting;
 import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
 import org.apache.pdfbox.rendering.ImageType;
 import org.apache.pdfbox.rendering.PDFRenderer;
-import org.apache.pdfbox.tools.imageio.ImageIOUtil;
-import org.springframework.content.commons.io.FileRemover;
-import org.springframework.content.commons.io.ObservableInputStream;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.content.commons.renditions.RenditionProvider;
+import org.springframework.content.commons.renditions.RenditionUnavailableException;
 import org.springframework.content.renditions.RenditionException;
 import org.springframework.renditions.poi.PDFService;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.util.Assert;
 
 import java.awt.image.BufferedImage;
 import java.io.File;
-import java.io.FileInputStream;
-import java.io.FileOutputStream;
+import java.io.FilterInputStream;
+import java.io.FilterOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
 import java.io.PipedInputStream;
 import java.io.PipedOutputStream;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
+/**
+ * Renders a page of a pdf document as a jpeg image.
+ * <p>
+ * Documents are loaded with at most {@code maxMainMemoryBytes} of heap, the remainder being buffered in a scratch file
+ * of at most {@code maxScratchBytes}.  The page is rendered at {@code dpi}, reduced so that the image fits within
+ * {@code maxWidth} by {@code maxHeight} pixels when either is set.  The image is encoded on a separate thread straight
+ * into a pipe that the returned stream reads from, so the encoded image is neither held in memory nor written to a
+ * temporary file.
+ * <p>
+ * Images are encoded on a pool of at most {@code maxConcurrentEncodings} threads, queueing at most
+ * {@code maxQueuedEncodings} encodings.  The rendition is returned once the encoding has written its first bytes, so
+ * that an encoding that fails to start fails the rendition rather than the stream.  An encoding whose rendition is
+ * closed, or not read for {@code writeTimeout} milliseconds, is abandoned.
+ */
 @Service
-public class PdfToJpegRenderer implements RenditionProvider {
+public class PdfToJpegRenderer implements RenditionProvider, DisposableBean {
 
 	private static Log logger = LogFactory.getLog(PdfToJpegRenderer.class);
 
+	static final int PIPE_SIZE = 64 * 1024;
+
+	private static final float POINTS_PER_INCH = 72;
+
 	private PDFService pdfService;
 
+	@Value("${spring.content.renditions.pdf.dpi:300}")
+	private int dpi = 300;
+
+	@Value("${spring.content.renditions.pdf.page:0}")
+	private int page = 0;
+
+	@Value("${spring.content.renditions.pdf.max-width:0}")
+	private int maxWidth = 0;
+
+	@Value("${spring.content.renditions.pdf.max-height:0}")
+	private int maxHeight = 0;
+
+	@Value("${spring.content.renditions.pdf.quality:1.0}")
+	private float quality = 1.0f;
+
+	@Value("${spring.content.renditions.pdf.max-main-memory-bytes:16777216}")
+	private long maxMainMemoryBytes = 16L * 1024L * 1024L;
+
+	@Value("${spring.content.renditions.pdf.max-scratch-bytes:1073741824}")
+	private long maxScratchBytes = 1024L * 1024L * 1024L;
+
+	@Value("${spring.content.renditions.pdf.scratch-dir:#{null}}")
+	private File scratchDir = null;
+
+	@Value("${spring.content.renditions.pdf.max-concurrent-encodings:0}")
+	private int maxConcurrentEncodings = 0;
+
+	@Value("${spring.content.renditions.pdf.max-queued-encodings:100}")
+	private int maxQueuedEncodings = 100;
+
+	@Value("${spring.content.renditions.pdf.write-timeout:60000}")
+	private long writeTimeout = 60_000L;
+
+	private ThreadPoolExecutor encoders;
+
 	public PdfToJpegRenderer() {
 		this.pdfService = new PDFServiceImpl();
 	};
@@ -41,6 +106,55 @@ public class PdfToJpegRenderer implements RenditionProvider {
 		this.pdfService = pdfService;
 	}
 
+	public void setDpi(int dpi) {
+		Assert.isTrue(dpi > 0, "dpi must be greater than 0");
+		this.dpi = dpi;
+	}
+
+	public void setPage(int page) {
+		Assert.isTrue(page >= 0, "page must not be negative");
+		this.page = page;
+	}
+
+	public void setMaxWidth(int maxWidth) {
+		this.maxWidth = maxWidth;
+	}
+
+	public void setMaxHeight(int maxHeight) {
+		this.maxHeight = maxHeight;
+	}
+
+	public void setQuality(float quality) {
+		Assert.isTrue(quality > 0 && quality <= 1, "quality must be greater than 0 and at most 1");
+		this.quality = quality;
+	}
+
+	public void setMaxMainMemoryBytes(long maxMainMemoryBytes) {
+		this.maxMainMemoryBytes = maxMainMemoryBytes;
+	}
+
+	public void setMaxScratchBytes(long maxScratchBytes) {
+		this.maxScratchBytes = maxScratchBytes;
+	}
+
+	public void setScratchDir(File scratchDir) {
+		this.scratchDir = scratchDir;
+	}
+
+	public void setMaxConcurrentEncodings(int maxConcurrentEncodings) {
+		this.maxConcurrentEncodings = maxConcurrentEncodings;
+	}
+
+	public void setMaxQueuedEncodings(int maxQueuedEncodings) {
+		Assert.isTrue(maxQueuedEncodings >= 0, "maxQueuedEncodings must not be negative");
+		this.maxQueuedEncodings = maxQueuedEncodings;
+	}
+
+	public void setWriteTimeout(long writeTimeout) {
+		Assert.isTrue(writeTimeout > 0, "writeTimeout must be greater than 0");
+		this.writeTimeout = writeTimeout;
+	}
+
 	@Override
 	public String consumes() {
 		return "application/pdf";
@@ -51,30 +165,20 @@ public class PdfToJpegRenderer implements RenditionProvider {
 		return new String[] { "image/jpg" };
 	}
 
-	@SuppressWarnings("resource")
 	@Override
 	public InputStream convert(InputStream fromInputSource, String toMimeType) {
 
 		Assert.notNull(fromInputSource, "input source must not be null");
 
+		BufferedImage bim = null;
+		boolean rendered = false;
 		PDDocument document = null;
 		try {
-			document = pdfService.load(fromInputSource);
-			PDFRenderer pdfRenderer = pdfService.renderer(document);
-			if (document.getNumberOfPages() > 0) {
-  				BufferedImage bim = pdfRenderer.renderImageWithDPI(0, 300, ImageType.RGB);
-  				File tmp = File.createTempFile("pdftojpegrenderer", ".tmp");
-  				tmp.deleteOnExit();
-				FileOutputStream out = new FileOutputStream(tmp);
-				try {
-					pdfService.writeImage(bim, "jpeg", out);
-				} catch (IOException e) {
-					logger.error("Error writing buffered image to output stream");
-					throw new RenditionException("Error writing buffered image to output stream", e);
-				} finally {
-					IOUtils.closeQuietly(out);
-				}
-				return new ObservableInputStream(new FileInputStream(tmp), new FileRemover(tmp));
+			document = pdfService.load(fromInputSource, memoryUsageSetting());
+			if (document.getNumberOfPages() > page) {
+				PDFRenderer pdfRenderer = pdfService.renderer(document);
+				bim = pdfRenderer.renderImageWithDPI(page, dpi(document), ImageType.RGB);
+				rendered = true;
 			}
 		} catch (IOException e) {
 			logger.error("Error rendering application/pdf to image/jpeg");
@@ -82,6 +186,7 @@ public class PdfToJpegRenderer implements RenditionProvider {
 		} finally {
 			try {
 				if (document != null) {
+					// releases the scratch file before the image is encoded
 					document.close();
 				}
 			} catch (IOException e) {
@@ -89,6 +194,236 @@ public class PdfToJpegRenderer implements RenditionProvider {
 			}
 		}
 
-		return null;
+		if (!rendered) {
+			return null;
+		}
+
+		return encode(bim);
+	}
+
+	private MemoryUsageSetting memoryUsageSetting() {
+		MemoryUsageSetting setting = MemoryUsageSetting.setupMixed(maxMainMemoryBytes, maxScratchBytes);
+		if (scratchDir != null) {
+			setting.setTempDir(scratchDir);
+		}
+		return setting;
+	}
+
+	// the configured dpi, reduced so that the page fits the maximum image size
+	private float dpi(PDDocument document) {
+		float dpi = this.dpi;
+		if (maxWidth <= 0 && maxHeight <= 0) {
+			return dpi;
+		}
+
+		PDPage pdPage = document.getPage(page);
+		PDRectangle box = pdPage.getCropBox();
+		float width = box.getWidth();
+		float height = box.getHeight();
+		if (pdPage.getRotation() % 180 != 0) {
+			width = box.getHeight();
+			height = box.getWidth();
+		}
+
+		if (maxWidth > 0 && width > 0) {
+			dpi = Math.min(dpi, maxWidth * POINTS_PER_INCH / width);
+		}
+		if (maxHeight > 0 && height > 0) {
+			dpi = Math.min(dpi, maxHeight * POINTS_PER_INCH / height);
+		}
+		return dpi;
+	}
+
+	private InputStream encode(BufferedImage bim) {
+		PipedInputStream in = new PipedInputStream(PIPE_SIZE);
+		PipedOutputStream pipe;
+		try {
+			pipe = new PipedOutputStream(in);
+		} catch (IOException e) {
+			throw new RenditionException("Error connecting rendition pipe", e);
+		}
+
+		EncodedImageInputStream image = new EncodedImageInputStream(in);
+		CompletableFuture<Void> started = new CompletableFuture<>();
+		OutputStream out = new TimedPipeOutputStream(pipe, in, image, writeTimeout, started);
+		try {
+			encoders().execute(() -> {
+				try {
+					pdfService.writeImage(bim, "jpeg", out, dpi, quality);
+				} catch (IOException | RuntimeException e) {
+					if (image.closed) {
+						logger.debug("Rendition closed before the image was written", e);
+					} else {
+						logger.error("Error writing buffered image to output stream");
+						// recorded before the pipe is closed so that the reader fails rather than ends
+						image.failure = e;
+					}
+					started.completeExceptionally(e);
+				} finally {
+					started.complete(null);
+					try {
+						out.close();
+					} catch (IOException e) {
+						// silent
+					}
+				}
+			});
+		} catch (RejectedExecutionException e) {
+			throw new RenditionUnavailableException("Too many application/pdf to image/jpeg renditions queued");
+		}
+
+		try {
+			started.get();
+		} catch (InterruptedException e) {
+			closeQuietly(image);
+			Thread.currentThread().interrupt();
+			throw new RenditionException("Interrupted whilst writing buffered image to output stream", e);
+		} catch (ExecutionException e) {
+			closeQuietly(image);
+			throw new RenditionException("Error writing buffered image to output stream", e.getCause());
+		}
+		return image;
+	}
+
+	private synchronized ThreadPoolExecutor encoders() {
+		if (encoders == null) {
+			int threads = (maxConcurrentEncodings > 0) ? maxConcurrentEncodings : Runtime.getRuntime().availableProcessors();
+			BlockingQueue<Runnable> queue = (maxQueuedEncodings > 0) ? new ArrayBlockingQueue<>(maxQueuedEncodings) : new SynchronousQueue<>();
+			encoders = new ThreadPoolExecutor(threads, threads, 60L, TimeUnit.SECONDS, queue, encoderThreadFactory());
+			encoders.allowCoreThreadTimeOut(true);
+		}
+		return encoders;
+	}
+
+	@Override
+	public synchronized void destroy() {
+		if (encoders != null) {
+			// interrupts encodings blocked on a full pipe
+			encoders.shutdownNow();
+		}
+	}
+
+	private static CustomizableThreadFactory encoderThreadFactory() {
+		CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("pdf-to-jpeg-");
+		threadFactory.setDaemon(true);
+		return threadFactory;
+	}
+
+	private static void closeQuietly(InputStream in) {
+		try {
+			in.close();
+		} catch (IOException e) {
+			// silent
+		}
+	}
+
+	/**
+	 * Reads the encoded image from the pipe and fails, rather than ending, when the image could not be encoded.
+	 */
+	private static class EncodedImageInputStream extends FilterInputStream {
+
+		private volatile Exception failure;
+		private volatile boolean closed = false;
+
+		private EncodedImageInputStream(PipedInputStream in) {
+			super(in);
+		}
+
+		@Override
+		public int read() throws IOException {
+			int b = super.read();
+			if (b == -1) {
+				checkFailure();
+			}
+			return b;
+		}
+
+		@Override
+		public int read(byte[] b, int off, int len) throws IOException {
+			int n = super.read(b, off, len);
+			if (n == -1) {
+				checkFailure();
+			}
+			return n;
+		}
+
+		@Override
+		public void close() throws IOException {
+			closed = true;
+			super.close();
+			synchronized (in) {
+				// wakes an encoding waiting for room in the pipe
+				in.notifyAll();
+			}
+		}
+
+		private void checkFailure() throws IOException {
+			if (failure != null) {
+				throw new IOException("Error writing buffered image to output stream", failure);
+			}
+		}
+	}
+
+	/**
+	 * Writes no more to the pipe than it has room for, so that an encoding fails rather than blocks forever when its
+	 * rendition is closed or is not read for {@code timeout} milliseconds.
+	 */
+	private static class TimedPipeOutputStream extends FilterOutputStream {
+
+		private final PipedInputStream in;
+		private final EncodedImageInputStream image;
+		private final long timeout;
+		private final CompletableFuture<Void> started;
+
+		private TimedPipeOutputStream(PipedOutputStream out, PipedInputStream in, EncodedImageInputStream image, long timeout, CompletableFuture<Void> started) {
+			super(out);
+			this.in = in;
+			this.image = image;
+			this.timeout = timeout;
+			this.started = started;
+		}
+
+		@Override
+		public void write(int b) throws IOException {
+			write(new byte[] {(byte) b}, 0, 1);
+		}
+
+		@Override
+		public void write(byte[] b, int off, int len) throws IOException {
+			while (len > 0) {
+				int n = Math.min(len, awaitSpace());
+				out.write(b, off, n);
+				started.complete(null);
+				off += n;
+				len -= n;
+			}
+		}
+
+		private int awaitSpace() throws IOException {
+			long deadline = System.currentTimeMillis() + timeout;
+			synchronized (in) {
+				while (true) {
+					if (image.closed) {
+						throw new IOException("Rendition closed");
+					}
+					int space = PIPE_SIZE - in.available();
+					if (space > 0) {
+						return space;
+					}
+
+					long remaining = deadline - System.currentTimeMillis();
+					if (remaining <= 0) {
+						throw new InterruptedIOException(String.format("Rendition not read for %dms", timeout));
+					}
+					try {
+						// the pipe's reader only notifies once it has emptied the pipe
+						in.wait(Math.min(remaining, 1000L));
+					} catch (InterruptedException e) {
+						Thread.currentThread().interrupt();
+						throw new InterruptedIOException("Interrupted whilst waiting for the rendition to be read");
+					}
+				}
+			}
+		}
 	}
 }
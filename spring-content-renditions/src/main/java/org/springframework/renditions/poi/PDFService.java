@@ -1,5 +1,6 @@
 package org.springframework.renditions.poi;
 
+import org.apache.pdfbox.io.MemoryUsageSetting;
 import org.apache.pdfbox.pdmodel.PDDocument;
 import org.apache.pdfbox.rendering.PDFRenderer;
 
@@ -12,7 +13,15 @@ public interface PDFService {
 
 	PDDocument load(InputStream stream) throws IOException;
 
+	default PDDocument load(InputStream stream, MemoryUsageSetting memUsageSetting) throws IOException {
+		return load(stream);
+	}
+
 	PDFRenderer renderer(PDDocument doc);
 
 	void writeImage(BufferedImage bim, String format, OutputStream out) throws IOException;
+
+	default void writeImage(BufferedImage bim, String format, OutputStream out, int dpi, float quality) throws IOException {
+		writeImage(bim, format, out);
+	}
 }
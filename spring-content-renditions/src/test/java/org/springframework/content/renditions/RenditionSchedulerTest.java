@@ -0,0 +1,117 @@
+package org.springframework.content.renditions;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.commons.io.IOUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.content.commons.renditions.RenditionKey;
+import org.springframework.content.commons.renditions.RenditionProvider;
+import org.springframework.content.commons.renditions.RenditionUnavailableException;
+
+import internal.org.springframework.content.commons.renditions.RenditionServiceImpl;
+
+public class RenditionSchedulerTest {
+
+	private RenditionScheduler scheduler;
+
+	private BlockingProvider provider;
+
+	private ExecutorService requests;
+
+	@Before
+	public void setUp() {
+		provider = new BlockingProvider();
+		scheduler = new RenditionScheduler(new RenditionServiceImpl(provider), 1, 0);
+		requests = Executors.newCachedThreadPool();
+	}
+
+	@After
+	public void tearDown() {
+		provider.release.countDown();
+		requests.shutdownNow();
+		scheduler.destroy();
+	}
+
+	@Test
+	public void testConcurrentRequestsShareOneConversion() throws Exception {
+		RenditionKey key = new RenditionKey("12345", "1", "image/jpeg");
+
+		Future<byte[]> first = requests.submit(() -> render(key));
+		assertThat(provider.started.await(10, TimeUnit.SECONDS), is(true));
+
+		Thread[] follower = new Thread[1];
+		Future<byte[]> second = requests.submit(() -> {
+			follower[0] = Thread.currentThread();
+			return render(key);
+		});
+		awaitWaiting(follower);
+
+		provider.release.countDown();
+
+		assertThat(first.get(10, TimeUnit.SECONDS), is(new byte[] {1, 2, 3}));
+		assertThat(second.get(10, TimeUnit.SECONDS), is(new byte[] {1, 2, 3}));
+		assertThat(provider.conversions.get(), is(1));
+	}
+
+	@Test(expected = RenditionUnavailableException.class)
+	public void testConversionsBeyondTheQueueDepthAreRejected() throws Exception {
+		requests.submit(() -> render(new RenditionKey("12345", "1", "image/jpeg")));
+		assertThat(provider.started.await(10, TimeUnit.SECONDS), is(true));
+
+		scheduler.convert(new RenditionKey("67890", "1", "image/jpeg"), "application/pdf", new ByteArrayInputStream(new byte[0]), "image/jpeg");
+	}
+
+	private byte[] render(RenditionKey key) throws Exception {
+		try (InputStream is = scheduler.convert(key, "application/pdf", new ByteArrayInputStream(new byte[0]), "image/jpeg")) {
+			return IOUtils.toByteArray(is);
+		}
+	}
+
+	private static void awaitWaiting(Thread[] thread) throws InterruptedException {
+		long deadline = System.currentTimeMillis() + 10000;
+		while ((thread[0] == null || thread[0].getState() != Thread.State.WAITING) && System.currentTimeMillis() < deadline) {
+			Thread.sleep(10);
+		}
+	}
+
+	private static class BlockingProvider implements RenditionProvider {
+
+		private final CountDownLatch started = new CountDownLatch(1);
+		private final CountDownLatch release = new CountDownLatch(1);
+		private final AtomicInteger conversions = new AtomicInteger();
+
+		@Override
+		public String consumes() {
+			return "application/pdf";
+		}
+
+		@Override
+		public String[] produces() {
+			return new String[] {"image/jpeg"};
+		}
+
+		@Override
+		public InputStream convert(InputStream fromInputSource, String toMimeType) {
+			conversions.incrementAndGet();
+			started.countDown();
+			try {
+				release.await();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			return new ByteArrayInputStream(new byte[] {1, 2, 3});
+		}
+	}
+}
@@ -2,19 +2,30 @@ package org.springframework.content.renditions.renderers;
 
 import com.github.paulcwarren.ginkgo4j.Ginkgo4jConfiguration;
 import com.github.paulcwarren.ginkgo4j.Ginkgo4jRunner;
+import org.apache.commons.io.IOUtils;
+import org.apache.pdfbox.io.MemoryUsageSetting;
 import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
 import org.apache.pdfbox.rendering.ImageType;
 import org.apache.pdfbox.rendering.PDFRenderer;
 import org.junit.runner.RunWith;
+import org.mockito.AdditionalMatchers;
 import org.springframework.content.commons.renditions.RenditionProvider;
+import org.springframework.content.commons.renditions.RenditionUnavailableException;
 import org.springframework.content.renditions.RenditionException;
 import org.springframework.renditions.poi.PDFService;
 
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InterruptedIOException;
 import java.io.OutputStream;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.AfterEach;
 import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.BeforeEach;
 import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.Context;
 import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.Describe;
@@ -29,6 +40,7 @@ import static org.hamcrest.core.IsInstanceOf.instanceOf;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.ArgumentMatchers.isA;
 import static org.mockito.Matchers.anyObject;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
@@ -46,14 +58,25 @@ public class PdfToJpegRendererTest {
 
 	private InputStream input;
 	private String mimeType;
+	private InputStream result;
 
 	private Exception e;
 
+	private boolean read;
+	private CompletableFuture<IOException> writeFailure;
+
 	{
 		Describe("WordToJpegRenderer", () -> {
 			BeforeEach(() -> {
 				pdf = mock(PDFService.class);
 				renderer = new PdfToJpegRenderer(pdf);
+
+				e = null;
+				result = null;
+				read = true;
+			});
+			AfterEach(() -> {
+				((PdfToJpegRenderer) renderer).destroy();
 			});
 			Context("#consumes", () -> {
 				It("should return word ml mimetype", () -> {
@@ -69,7 +92,11 @@ public class PdfToJpegRendererTest {
 			Context("#convert", () -> {
 				JustBeforeEach(() -> {
 					try {
-						renderer.convert(input, mimeType);
+						result = renderer.convert(input, mimeType);
+						if (result != null && read) {
+							// the image is written to the returned stream by another thread
+							IOUtils.toByteArray(result);
+						}
 					}
 					catch (Exception e) {
 						this.e = e;
@@ -78,7 +105,7 @@ public class PdfToJpegRendererTest {
 				Context("given an input stream and a mimetype", () -> {
 					BeforeEach(() -> {
 						doc = mock(PDDocument.class);
-						when(pdf.load(anyObject())).thenReturn(doc);
+						when(pdf.load(anyObject(), isA(MemoryUsageSetting.class))).thenReturn(doc);
 						pdfRenderer = mock(PDFRenderer.class);
 						when(pdf.renderer(doc)).thenReturn(pdfRenderer);
 
@@ -92,7 +119,109 @@ public class PdfToJpegRendererTest {
 							verify(pdfRenderer).renderImageWithDPI(0, 300, ImageType.RGB);
 						});
 						It("should output the rendered image", () -> {
-							verify(pdf).writeImage(anyObject(), eq("jpeg"), isA(OutputStream.class));
+							verify(pdf).writeImage(anyObject(), eq("jpeg"), isA(OutputStream.class), eq(300), eq(1.0f));
+						});
+						It("should close the document before the image is read", () -> {
+							verify(doc).close();
+						});
+						Context("when the image fails to be written", () -> {
+							BeforeEach(() -> {
+								doThrow(IOException.class).when(pdf).writeImage(anyObject(), eq("jpeg"), isA(OutputStream.class), eq(300), eq(1.0f));
+							});
+							It("should throw a RenditionException", () -> {
+								assertThat(e, is(instanceOf(RenditionException.class)));
+							});
+						});
+						Context("when the image fails part way through being written", () -> {
+							BeforeEach(() -> {
+								doAnswer((invocation) -> {
+									invocation.getArgument(2, OutputStream.class).write(new byte[] {1, 2, 3});
+									throw new IOException();
+								}).when(pdf).writeImage(anyObject(), eq("jpeg"), isA(OutputStream.class), eq(300), eq(1.0f));
+							});
+							It("should fail the rendition rather than end it", () -> {
+								assertThat(e, is(instanceOf(IOException.class)));
+							});
+						});
+						Context("when the rendition is not read", () -> {
+							BeforeEach(() -> {
+								read = false;
+								writeFailure = new CompletableFuture<>();
+								doAnswer((invocation) -> {
+									try {
+										invocation.getArgument(2, OutputStream.class).write(new byte[PdfToJpegRenderer.PIPE_SIZE * 2]);
+										writeFailure.complete(null);
+									} catch (IOException e) {
+										writeFailure.complete(e);
+										throw e;
+									}
+									return null;
+								}).when(pdf).writeImage(anyObject(), eq("jpeg"), isA(OutputStream.class), eq(300), eq(1.0f));
+							});
+							Context("when the write timeout expires", () -> {
+								BeforeEach(() -> {
+									((PdfToJpegRenderer) renderer).setWriteTimeout(100L);
+								});
+								It("should abandon the encoding", () -> {
+									assertThat(writeFailure.get(5, TimeUnit.SECONDS), is(instanceOf(InterruptedIOException.class)));
+								});
+							});
+							It("should abandon the encoding once the rendition is closed", () -> {
+								result.close();
+								assertThat(writeFailure.get(5, TimeUnit.SECONDS), is(instanceOf(IOException.class)));
+							});
+						});
+						Context("when too many renditions are queued", () -> {
+							BeforeEach(() -> {
+								CountDownLatch encoding = new CountDownLatch(1);
+								doAnswer((invocation) -> {
+									encoding.countDown();
+									try {
+										// until the renderer is destroyed
+										new CountDownLatch(1).await();
+									} catch (InterruptedException e) {
+										throw new IOException(e);
+									}
+									return null;
+								}).when(pdf).writeImage(anyObject(), eq("jpeg"), isA(OutputStream.class), eq(300), eq(1.0f));
+
+								((PdfToJpegRenderer) renderer).setMaxConcurrentEncodings(1);
+								((PdfToJpegRenderer) renderer).setMaxQueuedEncodings(0);
+								Thread other = new Thread(() -> {
+									try {
+										renderer.convert(new ByteArrayInputStream(new byte[0]), mimeType);
+									} catch (RuntimeException e) {
+										// the encoding is abandoned when the renderer is destroyed
+									}
+								});
+								other.setDaemon(true);
+								other.start();
+								encoding.await(5, TimeUnit.SECONDS);
+							});
+							It("should throw a RenditionUnavailableException", () -> {
+								assertThat(e, is(instanceOf(RenditionUnavailableException.class)));
+							});
+						});
+						Context("when a maximum size is configured", () -> {
+							BeforeEach(() -> {
+								PDPage page = mock(PDPage.class);
+								when(page.getCropBox()).thenReturn(PDRectangle.A4);
+								when(doc.getPage(0)).thenReturn(page);
+
+								((PdfToJpegRenderer) renderer).setMaxWidth(595);
+							});
+							It("should reduce the dpi so that the page fits", () -> {
+								verify(pdfRenderer).renderImageWithDPI(eq(0), AdditionalMatchers.eq(72.0f, 0.5f), eq(ImageType.RGB));
+							});
+						});
+						Context("when the configured page does not exist", () -> {
+							BeforeEach(() -> {
+								((PdfToJpegRenderer) renderer).setPage(1);
+							});
+							It("should not render a rendition", () -> {
+								assertThat(result, is(nullValue()));
+								verify(doc).close();
+							});
 						});
 						Context("when the pdf document fails to return a thumbnail", () -> {
 							BeforeEach(() -> {
@@ -109,7 +238,7 @@ public class PdfToJpegRendererTest {
 					});
 					Context("when the input stream is not a valid pdf file", () -> {
 						BeforeEach(() -> {
-							doThrow(IOException.class).when(pdf).load(anyObject());
+							doThrow(IOException.class).when(pdf).load(anyObject(), isA(MemoryUsageSetting.class));
 						});
 						It("should throw a RenditionException", () -> {
 							assertThat(e, is(not(nullValue())));
@@ -7,9 +7,9 @@ import java.io.InputStream;
 import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
@@ -20,6 +20,7 @@ import org.slf4j.LoggerFactory;
 import org.springframework.content.commons.io.RangeableResource;
 import org.springframework.content.commons.mappingcontext.ContentProperty;
 import org.springframework.content.commons.property.PropertyPath;
+import org.springframework.content.commons.renditions.RenditionUnavailableException;
 import org.springframework.content.commons.repository.AssociativeStore;
 import org.springframework.content.commons.repository.ContentStore;
 import org.springframework.content.commons.storeservice.StoreInfo;
@@ -41,12 +42,13 @@ import internal.org.springframework.content.rest.io.AssociatedStoreResource;
 import internal.org.springframework.content.rest.io.RenderedResource;
 import internal.org.springframework.content.rest.io.StoreResource;
 import internal.org.springframework.content.rest.mappings.StoreByteRangeHttpRequestHandler;
+import internal.org.springframework.content.rest.utils.HeaderUtils;
 
 public class AssociativeStoreContentService implements ContentService {
 
     private static final Logger logger = LoggerFactory.getLogger(AssociativeStoreContentService.class);
 
-    private static final Map<Class<?>, StoreExportedMethodsMap> storeExportedMethods = new HashMap<>();
+    private static final Map<Class<?>, StoreExportedMethodsMap> storeExportedMethods = new ConcurrentHashMap<>();
 
     private final RestConfiguration config;
     private final StoreInfo store;
@@ -129,6 +131,9 @@ public class AssociativeStoreContentService implements ContentService {
 
             request.setAttribute("SPRING_CONTENT_RESOURCE", resource);
             request.setAttribute("SPRING_CONTENT_CONTENTTYPE", producedResourceType);
+        } catch (RenditionUnavailableException e) {
+
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, e.getMessage(), e);
         } catch (Exception e) {
 
             logger.error("Unable to retrieve content", e);
@@ -232,13 +237,7 @@ public class AssociativeStoreContentService implements ContentService {
 
     public static StoreExportedMethodsMap getExportedMethodsFor(Class<?> storeInterfaceClass) {
 
-        StoreExportedMethodsMap exportMap = storeExportedMethods.get(storeInterfaceClass);
-        if (exportMap == null) {
-            storeExportedMethods.put(storeInterfaceClass, new StoreExportedMethodsMap(storeInterfaceClass));
-            exportMap = storeExportedMethods.get(storeInterfaceClass);
-        }
-
-        return exportMap;
+        return storeExportedMethods.computeIfAbsent(storeInterfaceClass, StoreExportedMethodsMap::new);
     }
 
     public static class StoreExportedMethodsMap {
@@ -344,8 +343,9 @@ public class AssociativeStoreContentService implements ContentService {
     }
 
     private void configureResourceForByteRangeRequest(RangeableResource resource, HttpHeaders headers) {
-        if (headers.containsKey(HttpHeaders.RANGE)) {
-            resource.setRange(headers.getFirst(HttpHeaders.RANGE));
+        String range = HeaderUtils.singleRange(headers.getFirst(HttpHeaders.RANGE));
+        if (range != null) {
+            resource.setRange(range);
         }
     }
 }
@@ -7,6 +7,7 @@ import internal.org.springframework.content.rest.io.RenderedResource;
 import internal.org.springframework.content.rest.io.StoreResource;
 import internal.org.springframework.content.rest.mappingcontext.ContentPropertyToExportedContext;
 import internal.org.springframework.content.rest.mappings.StoreByteRangeHttpRequestHandler;
+import internal.org.springframework.content.rest.utils.HeaderUtils;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.apache.commons.io.FileUtils;
@@ -16,6 +17,7 @@ import org.springframework.content.commons.io.RangeableResource;
 import org.springframework.content.commons.mappingcontext.ContentProperty;
 import org.springframework.content.commons.mappingcontext.MappingContext;
 import org.springframework.content.commons.property.PropertyPath;
+import org.springframework.content.commons.renditions.RenditionUnavailableException;
 import org.springframework.content.commons.repository.ContentStore;
 import org.springframework.content.commons.repository.SetContentParams;
 import org.springframework.content.commons.repository.Store;
@@ -41,7 +43,11 @@ import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.Serializable;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Method;
+import java.lang.reflect.UndeclaredThrowableException;
 import java.nio.file.Files;
 import java.util.*;
 
@@ -51,19 +57,17 @@ public class ContentStoreContentService implements ContentService {
 
     private static final Logger logger = LoggerFactory.getLogger(ContentStoreContentService.class);
 
-    private static final Map<String, StoreExportedMethodsMap> storeExportedMethods = new HashMap<>();
-
     private final RestConfiguration config;
     private final RepositoryInvoker repoInvoker;
     private final MappingContext mappingContext;
-    private final ContentPropertyToExportedContext exportContext;
+    private final StoreExportedMethodsTable exportedMethods;
     private final StoreByteRangeHttpRequestHandler byteRangeRestRequestHandler;
 
-    public ContentStoreContentService(RestConfiguration config, StoreInfo store, RepositoryInvoker repoInvoker, MappingContext mappingContext, ContentPropertyToExportedContext exportContext, StoreByteRangeHttpRequestHandler byteRangeRestRequestHandler) {
+    public ContentStoreContentService(RestConfiguration config, StoreInfo store, RepositoryInvoker repoInvoker, MappingContext mappingContext, StoreExportedMethodsTable exportedMethods, StoreByteRangeHttpRequestHandler byteRangeRestRequestHandler) {
         this.config = config;
         this.repoInvoker = repoInvoker;
         this.mappingContext = mappingContext;
-        this.exportContext = exportContext;
+        this.exportedMethods = exportedMethods;
         this.byteRangeRestRequestHandler = byteRangeRestRequestHandler;
     }
 
@@ -74,7 +78,7 @@ public class ContentStoreContentService implements ContentService {
         AssociatedStoreResource storeResource = (AssociatedStoreResource)resource;
         ContentProperty property = storeResource.getContentProperty();
 
-        Method[] methodsToUse = getExportedMethodsFor(storeResource.getStoreInfo().getInterface(), storeResource.getPropertyPath(), exportContext).getContentMethods();
+        Method[] methodsToUse = exportedMethods.getExportedMethodsFor(storeResource.getStoreInfo().getInterface(), storeResource.getPropertyPath()).getContentMethods();
 
         if (methodsToUse.length > 1) {
             throw new IllegalStateException("Too many getContent methods");
@@ -122,6 +126,9 @@ public class ContentStoreContentService implements ContentService {
 
             request.setAttribute("SPRING_CONTENT_RESOURCE", resource);
             request.setAttribute("SPRING_CONTENT_CONTENTTYPE", producedResourceType);
+        } catch (RenditionUnavailableException e) {
+
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, e.getMessage(), e);
         } catch (Exception e) {
 
             logger.error("Unable to retrieve content", e);
@@ -163,7 +170,8 @@ public class ContentStoreContentService implements ContentService {
             property.setOriginalFileName(domainObject, source.getFilename());
         }
 
-        Method[] methodsToUse = getExportedMethodsFor(storeResource.getStoreInfo().getInterface(), storeResource.getPropertyPath(), exportContext).setContentMethods();
+        StoreExportedMethodsMap exports = exportedMethods.getExportedMethodsFor(storeResource.getStoreInfo().getInterface(), storeResource.getPropertyPath());
+        Method[] methodsToUse = exports.setContentMethods();
 
         if (methodsToUse.length > 1) {
             RestConfiguration.DomainTypeConfig dtConfig = config.forDomainType(storeResource.getStoreInfo().getDomainObjectClass());
@@ -219,8 +227,7 @@ public class ContentStoreContentService implements ContentService {
 
         try {
             Object targetObj = storeResource.getStoreInfo().getImplementation(ContentStore.class);
-            ReflectionUtils.makeAccessible(methodToUse);
-            Object updatedDomainObj = ReflectionUtils.invokeMethod(methodToUse, targetObj, argsList.toArray());
+            Object updatedDomainObj = exports.invoke(methodToUse, targetObj, argsList.toArray());
 
             repoInvoker.invokeSave(updatedDomainObj);
         } finally {
@@ -234,7 +241,8 @@ public class ContentStoreContentService implements ContentService {
         AssociatedStoreResource storeResource = (AssociatedStoreResource)resource;
         ContentProperty property = storeResource.getContentProperty();
 
-        Method[] methodsToUse = getExportedMethodsFor(storeResource.getStoreInfo().getInterface(), storeResource.getPropertyPath(), exportContext).unsetContentMethods();
+        StoreExportedMethodsMap exports = exportedMethods.getExportedMethodsFor(storeResource.getStoreInfo().getInterface(), storeResource.getPropertyPath());
+        Method[] methodsToUse = exports.unsetContentMethods();
 
         if (methodsToUse.length == 0) {
             throw new MethodNotAllowedException();
@@ -265,9 +273,7 @@ public class ContentStoreContentService implements ContentService {
             unsetParams = params;
         }
 
-        ReflectionUtils.makeAccessible(methodsToUse[0]);
-
-        Object updatedDomainObj = ReflectionUtils.invokeMethod(methodsToUse[0], targetObj, updateObject, storeResource.getPropertyPath(), unsetParams);
+        Object updatedDomainObj = exports.invoke(methodsToUse[0], targetObj, updateObject, storeResource.getPropertyPath(), unsetParams);
 
         updateObject = updatedDomainObj;
         property.setMimeType(updateObject, null);
@@ -332,8 +338,9 @@ public class ContentStoreContentService implements ContentService {
     }
 
     private void configureResourceForByteRangeRequest(RangeableResource resource, HttpHeaders headers) {
-        if (headers.containsKey(HttpHeaders.RANGE)) {
-            resource.setRange(headers.getFirst(HttpHeaders.RANGE));
+        String range = HeaderUtils.singleRange(headers.getFirst(HttpHeaders.RANGE));
+        if (range != null) {
+            resource.setRange(range);
         }
     }
 
@@ -371,17 +378,6 @@ public class ContentStoreContentService implements ContentService {
         return storedRenditionResource;
     }
 
-    public static StoreExportedMethodsMap getExportedMethodsFor(Class<? extends Store> storeInterfaceClass, PropertyPath path, ContentPropertyToExportedContext exportContext) {
-
-        StoreExportedMethodsMap exportMap = storeExportedMethods.get(storeInterfaceClass.getCanonicalName()+"#"+path.toString());
-        if (exportMap == null) {
-            storeExportedMethods.put(storeInterfaceClass.getCanonicalName()+"#"+path.toString(), new StoreExportedMethodsMap(storeInterfaceClass, path, exportContext));
-            exportMap = storeExportedMethods.get(storeInterfaceClass.getCanonicalName()+"#"+path.toString());
-        }
-
-        return exportMap;
-    }
-
     public static class StoreExportedMethodsMap {
 
         private static Method[] SETCONTENT_METHODS_3x = null;
@@ -420,6 +416,7 @@ public class ContentStoreContentService implements ContentService {
         private Method[] getContentMethods;
         private Method[] setContentMethods;
         private Method[] unsetContentMethods;
+        private final Map<Method, MethodHandle> handles = new HashMap<>();
 
         public StoreExportedMethodsMap(Class<? extends Store> storeInterface, PropertyPath path, ContentPropertyToExportedContext exportContext) {
             this.storeInterface = storeInterface;
@@ -432,6 +429,12 @@ public class ContentStoreContentService implements ContentService {
                 this.setContentMethods = calculateExports(SETCONTENT_METHODS_2x, path, exportContext);
                 this.unsetContentMethods = calculateExports(UNSETCONTENT_METHODS_2x, path, exportContext);
             }
+            for (Method method : this.setContentMethods) {
+                this.handles.put(method, handleFor(method));
+            }
+            for (Method method : this.unsetContentMethods) {
+                this.handles.put(method, handleFor(method));
+            }
         }
 
         public Method[] getContentMethods() {
@@ -446,6 +449,40 @@ public class ContentStoreContentService implements ContentService {
             return this.unsetContentMethods;
         }
 
+        /**
+         * Invokes an exported method on a store through its pre-resolved method handle.
+         *
+         * @param method one of the exported set or unset content methods
+         * @param store the store to invoke the method on
+         * @param args the method's arguments
+         * @return the method's result
+         */
+        public Object invoke(Method method, Object store, Object... args) {
+            MethodHandle handle = this.handles.get(method);
+            if (handle == null) {
+                ReflectionUtils.makeAccessible(method);
+                return ReflectionUtils.invokeMethod(method, store, args);
+            }
+            try {
+                return (Object) handle.invokeExact(store, args);
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable t) {
+                throw new UndeclaredThrowableException(t);
+            }
+        }
+
+        // adapts the method to (Object store, Object[] args)Object so that it can be invoked exactly
+        private static MethodHandle handleFor(Method method) {
+            try {
+                return MethodHandles.publicLookup().unreflect(method)
+                        .asSpreader(Object[].class, method.getParameterCount())
+                        .asType(MethodType.methodType(Object.class, Object.class, Object[].class));
+            } catch (IllegalAccessException e) {
+                throw new IllegalStateException(format("Unable to access %s", method), e);
+            }
+        }
+
         private Method[] calculateExports(Method[] storeMethods, PropertyPath path, ContentPropertyToExportedContext exportContext) {
 
             List<Method> exportedMethods = new ArrayList<>();
@@ -15,6 +15,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.content.commons.io.DeletableResource;
 import org.springframework.content.commons.io.RangeableResource;
+import org.springframework.content.commons.renditions.RenditionUnavailableException;
 import org.springframework.core.io.Resource;
 import org.springframework.core.io.WritableResource;
 import org.springframework.http.HttpHeaders;
@@ -27,6 +28,7 @@ import internal.org.springframework.content.rest.controllers.MethodNotAllowedExc
 import internal.org.springframework.content.rest.io.RenderableResource;
 import internal.org.springframework.content.rest.io.RenderedResource;
 import internal.org.springframework.content.rest.mappings.StoreByteRangeHttpRequestHandler;
+import internal.org.springframework.content.rest.utils.HeaderUtils;
 
 public class StoreContentService implements ContentService {
 
@@ -73,6 +75,9 @@ public class StoreContentService implements ContentService {
 
             request.setAttribute("SPRING_CONTENT_RESOURCE", resource);
             request.setAttribute("SPRING_CONTENT_CONTENTTYPE", producedResourceType);
+        } catch (RenditionUnavailableException e) {
+
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, e.getMessage(), e);
         } catch (Exception e) {
 
             logger.error("Unable to retrieve content", e);
@@ -122,8 +127,9 @@ public class StoreContentService implements ContentService {
     }
 
     private void configureResourceForByteRangeRequest(RangeableResource resource, HttpHeaders headers) {
-        if (headers.containsKey(HttpHeaders.RANGE)) {
-            resource.setRange(headers.getFirst(HttpHeaders.RANGE));
+        String range = HeaderUtils.singleRange(headers.getFirst(HttpHeaders.RANGE));
+        if (range != null) {
+            resource.setRange(range);
         }
     }
 }
@@ -0,0 +1,65 @@
+package internal.org.springframework.content.rest.contentservice;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.content.commons.property.PropertyPath;
+import org.springframework.content.commons.repository.ContentStore;
+import org.springframework.content.commons.repository.Store;
+import org.springframework.content.commons.storeservice.StoreInfo;
+import org.springframework.content.commons.storeservice.Stores;
+
+import internal.org.springframework.content.rest.contentservice.ContentStoreContentService.StoreExportedMethodsMap;
+import internal.org.springframework.content.rest.mappingcontext.ContentPropertyToExportedContext;
+
+/**
+ * Dispatch table of the content store methods exported for each store interface and content property path.
+ * <p>
+ * The table is built once, by {@link #warmUp(Stores)}, when all stores are registered and is never modified
+ * afterwards so that lookups are lock-free.  Lookups that miss the table, for example for a store registered after
+ * warm up, are resolved on demand and cached.
+ */
+public class StoreExportedMethodsTable {
+
+    private final ContentPropertyToExportedContext exportContext;
+
+    private volatile Map<Key, StoreExportedMethodsMap> table = Collections.emptyMap();
+    private final Map<Key, StoreExportedMethodsMap> misses = new ConcurrentHashMap<>();
+
+    public StoreExportedMethodsTable(ContentPropertyToExportedContext exportContext) {
+        this.exportContext = exportContext;
+    }
+
+    public void warmUp(Stores stores) {
+        Map<Key, StoreExportedMethodsMap> table = new HashMap<>();
+        for (StoreInfo info : stores.getStores(Stores.MATCH_ALL)) {
+            Class<? extends Store> storeInterface = info.getInterface();
+            Class<?> domainClass = info.getDomainObjectClass();
+            if (domainClass == null || !isContentStore(storeInterface)) {
+                continue;
+            }
+            for (String path : exportContext.getMappings(domainClass).keySet()) {
+                PropertyPath propertyPath = PropertyPath.from(path);
+                table.put(new Key(storeInterface, propertyPath), new StoreExportedMethodsMap(storeInterface, propertyPath, exportContext));
+            }
+        }
+        this.table = Collections.unmodifiableMap(table);
+    }
+
+    public StoreExportedMethodsMap getExportedMethodsFor(Class<? extends Store> storeInterface, PropertyPath path) {
+        Key key = new Key(storeInterface, path);
+        StoreExportedMethodsMap methods = table.get(key);
+        if (methods == null) {
+            methods = misses.computeIfAbsent(key, k -> new StoreExportedMethodsMap(storeInterface, path, exportContext));
+        }
+        return methods;
+    }
+
+    private static boolean isContentStore(Class<?> storeInterface) {
+        return ContentStore.class.isAssignableFrom(storeInterface) || org.springframework.content.commons.store.ContentStore.class.isAssignableFrom(storeInterface);
+    }
+
+    private record Key(Class<?> storeInterface, PropertyPath path) {}
+}
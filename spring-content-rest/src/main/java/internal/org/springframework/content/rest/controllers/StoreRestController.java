@@ -7,7 +7,6 @@ import java.util.Date;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 
-import internal.org.springframework.content.rest.mappingcontext.ContentPropertyToExportedContext;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.BeansException;
@@ -35,6 +34,8 @@ import org.springframework.web.multipart.MultipartFile;
 import internal.org.springframework.content.rest.annotations.ContentRestController;
 import internal.org.springframework.content.rest.contentservice.ContentService;
 import internal.org.springframework.content.rest.contentservice.ContentServiceFactory;
+import internal.org.springframework.content.rest.contentservice.StoreExportedMethodsTable;
+import internal.org.springframework.content.rest.io.AssociatedStoreResource;
 import internal.org.springframework.content.rest.io.InputStreamResource;
 import internal.org.springframework.content.rest.io.StoreResource;
 import internal.org.springframework.content.rest.mappings.StoreByteRangeHttpRequestHandler;
@@ -69,7 +70,7 @@ public class StoreRestController implements InitializingBean  {
     private MappingContext mappingContext;
 
     @Autowired
-    private ContentPropertyToExportedContext exportedMappingContext;
+    private StoreExportedMethodsTable exportedMethods;
 
     private ContentServiceFactory contentServiceFactory;
 
@@ -83,7 +84,18 @@ public class StoreRestController implements InitializingBean  {
             StoreResource storeResource)
                     throws MethodNotAllowedException {
 
-        if (storeResource == null || storeResource.exists() == false) {
+        if (storeResource == null) {
+            throw new ResourceNotFoundException();
+        }
+
+        // a content digest on the entity answers conditional requests without a round-trip to the store
+        if (storeResource instanceof AssociatedStoreResource && ((AssociatedStoreResource<?>) storeResource).getContentDigest() != null) {
+            if (new ServletWebRequest(request, response).checkNotModified(storeResource.getETag().toString())) {
+                return;
+            }
+        }
+
+        if (storeResource.exists() == false) {
             throw new ResourceNotFoundException();
         }
 
@@ -229,6 +241,6 @@ public class StoreRestController implements InitializingBean  {
             this.repoInvokerFactory = new DefaultRepositoryInvokerFactory(this.repositories);
         }
 
-        contentServiceFactory = new ContentServiceFactory(config, repositories, repoInvokerFactory, stores, mappingContext, exportedMappingContext, byteRangeRestRequestHandler);
+        contentServiceFactory = new ContentServiceFactory(config, repositories, repoInvokerFactory, stores, mappingContext, exportedMethods, byteRangeRestRequestHandler);
     }
 }
\ No newline at end of file
@@ -9,6 +9,7 @@ import org.springframework.core.io.Resource;
 import org.springframework.web.context.request.NativeWebRequest;
 
 import internal.org.springframework.content.rest.io.AssociatedStoreResourceImpl;
+import internal.org.springframework.content.rest.utils.HeaderUtils;
 
 public class AssociativeStoreResourceResolver implements ResourceResolver {
 
@@ -25,7 +26,7 @@ public class AssociativeStoreResourceResolver implements ResourceResolver {
 
     @Override
     public Resource resolve(NativeWebRequest nativeWebRequest, StoreInfo info, Object domainObj, PropertyPath propertyPath) {
-        GetResourceParams params = GetResourceParams.builder().range(nativeWebRequest.getHeader("Range")).build();
+        GetResourceParams params = GetResourceParams.builder().range(HeaderUtils.singleRange(nativeWebRequest.getHeader("Range"))).build();
         Resource r = info.getImplementation(AssociativeStore.class).getResource(domainObj, propertyPath, params);
         return new AssociatedStoreResourceImpl(info, domainObj, propertyPath, mappingContext.getContentProperty(domainObj.getClass(), propertyPath.getName()), r);
     }
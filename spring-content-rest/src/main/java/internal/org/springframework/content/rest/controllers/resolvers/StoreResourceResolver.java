@@ -10,6 +10,7 @@ import org.springframework.core.io.Resource;
 import org.springframework.web.context.request.NativeWebRequest;
 
 import internal.org.springframework.content.rest.io.AssociatedStoreResourceImpl;
+import internal.org.springframework.content.rest.utils.HeaderUtils;
 
 public class StoreResourceResolver implements ResourceResolver {
 
@@ -26,7 +27,7 @@ public class StoreResourceResolver implements ResourceResolver {
 
     @Override
     public Resource resolve(NativeWebRequest nativeWebRequest, StoreInfo info, Object domainObj, PropertyPath property) {
-        GetResourceParams params = GetResourceParams.builder().range(nativeWebRequest.getHeader("Range")).build();
+        GetResourceParams params = GetResourceParams.builder().range(HeaderUtils.singleRange(nativeWebRequest.getHeader("Range"))).build();
         Resource r = info.getImplementation(AssociativeStore.class).getResource(domainObj, property, params);
         return new AssociatedStoreResourceImpl(info, domainObj, property, mappingContext.getContentProperty(domainObj.getClass(), property.getName()), r);
     }
@@ -12,4 +12,9 @@ public interface AssociatedStoreResource<S> extends WritableResource, StoreResou
     PropertyPath getPropertyPath();
 
     ContentProperty getContentProperty();
+
+    /**
+     * @return the {@code @ContentDigest} recorded on the association, or null
+     */
+    Object getContentDigest();
 }
@@ -128,10 +128,17 @@ public class AssociatedStoreResourceImpl<S> implements HttpResource, AssociatedS
         return null;
     }
 
+    @Override
+    public Object getContentDigest() {
+        ContentProperty property = this.getContentProperty();
+        return property != null ? property.getContentDigest(this.getAssociation()) : null;
+    }
+
     @Override
     public Object getETag() {
 
-        Object etag = null;
+        // the digest changes with the content only, unlike the entity version
+        Object etag = getContentDigest();
 
     //        if (property != null) {
     //            etag = BeanUtils.getFieldWithAnnotation(property, Version.class);
@@ -296,4 +303,12 @@ public class AssociatedStoreResourceImpl<S> implements HttpResource, AssociatedS
             ((RangeableResource)original).setRange(range);
         }
     }
+
+    @Override
+    public InputStream getInputStream(long start, long end) throws IOException {
+        if (original instanceof RangeableResource) {
+            return ((RangeableResource)original).getInputStream(start, end);
+        }
+        return AssociatedStoreResource.super.getInputStream(start, end);
+    }
 }
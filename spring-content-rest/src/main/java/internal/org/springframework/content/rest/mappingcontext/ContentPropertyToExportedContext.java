@@ -5,28 +5,23 @@ import org.springframework.content.commons.mappingcontext.ClassWalker;
 import java.util.HashMap;
 import java.util.Locale;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 public class ContentPropertyToExportedContext {
 
-    private Map<Class<?>, Map<String, Boolean>> mappings = new HashMap<Class<?>, Map<String,Boolean>>();
+    private Map<Class<?>, Map<String, Boolean>> mappings = new ConcurrentHashMap<>();
 
     public Map<String, Boolean> getMappings(Class<?> domainClass) {
 
-        Map<String, Boolean> mappings = this.mappings.get(domainClass);
-        if (mappings == null) {
-            mappings = resolveMappings(domainClass);
-        }
-        return mappings;
+        return this.mappings.computeIfAbsent(domainClass, this::resolveMappings);
     }
 
     private Map<String,Boolean> resolveMappings(Class<?> domainClass) {
         RestResourceMappingBuilder visitor = new RestResourceMappingBuilder((restResource -> String.valueOf(restResource.exported())));
         ClassWalker walker = new ClassWalker(visitor);
         walker.accept(domainClass);
-        Map<String,String> mappings = visitor.getMappings();
-        this.mappings.put(domainClass, collapse(mappings));
-        return this.mappings.get(domainClass);
+        return collapse(visitor.getMappings());
     }
 
     private Map<String, Boolean> collapse(Map<String, String> mappings) {
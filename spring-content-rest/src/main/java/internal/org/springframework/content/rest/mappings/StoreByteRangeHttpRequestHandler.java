@@ -7,7 +7,6 @@ import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.core.io.Resource;
 import org.springframework.http.MediaType;
 import org.springframework.http.converter.ResourceHttpMessageConverter;
-import org.springframework.http.converter.ResourceRegionHttpMessageConverter;
 import org.springframework.web.servlet.resource.ResourceHttpRequestHandler;
 
 public class StoreByteRangeHttpRequestHandler extends ResourceHttpRequestHandler {
@@ -31,6 +30,6 @@ public class StoreByteRangeHttpRequestHandler extends ResourceHttpRequestHandler
 	@Override
 	public void afterPropertiesSet() throws Exception {
 		this.setResourceHttpMessageConverter(new ResourceHttpMessageConverter());
-		this.setResourceRegionHttpMessageConverter(new ResourceRegionHttpMessageConverter());
+		this.setResourceRegionHttpMessageConverter(new StoreResourceRegionHttpMessageConverter());
 	}
 }
@@ -0,0 +1,152 @@
+package internal.org.springframework.content.rest.mappings;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.content.commons.io.RangeableResource;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.ResourceRegion;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.http.converter.ResourceRegionHttpMessageConverter;
+import org.springframework.lang.Nullable;
+import org.springframework.util.MimeTypeUtils;
+import org.springframework.util.StreamUtils;
+
+/**
+ * Writes the byte ranges of a {@link RangeableResource} by reading each range from the resource with
+ * {@link RangeableResource#getInputStream(long, long)}, rather than skipping through a stream over the whole resource.
+ * <p>
+ * Ranges of a multi-range request that overlap or are adjacent are coalesced.  The remaining ranges are read and
+ * written one at a time as a {@code multipart/byteranges} body so that the content is never buffered.
+ */
+public class StoreResourceRegionHttpMessageConverter extends ResourceRegionHttpMessageConverter {
+
+    @Override
+    @SuppressWarnings("unchecked")
+    protected void writeInternal(Object object, @Nullable Type type, HttpOutputMessage outputMessage)
+            throws IOException, HttpMessageNotWritableException {
+
+        if (object instanceof ResourceRegion && ((ResourceRegion) object).getResource() instanceof RangeableResource) {
+            writeRange((ResourceRegion) object, outputMessage);
+        } else if (object instanceof Collection && isRangeable((Collection<ResourceRegion>) object)) {
+            List<ResourceRegion> ranges = coalesce((Collection<ResourceRegion>) object);
+            if (ranges.size() == 1) {
+                writeRange(ranges.get(0), outputMessage);
+            } else {
+                writeRanges(ranges, outputMessage);
+            }
+        } else {
+            super.writeInternal(object, type, outputMessage);
+        }
+    }
+
+    private static boolean isRangeable(Collection<ResourceRegion> regions) {
+        Resource resource = null;
+        for (ResourceRegion region : regions) {
+            if (resource != null && resource != region.getResource()) {
+                return false;
+            }
+            resource = region.getResource();
+        }
+        return resource instanceof RangeableResource;
+    }
+
+    /**
+     * Merges ranges that overlap or are adjacent.  Ranges keep the order in which they were requested, a merged range
+     * taking the place of the first of its ranges.
+     */
+    static List<ResourceRegion> coalesce(Collection<ResourceRegion> regions) {
+        Resource resource = null;
+        List<long[]> ranges = new ArrayList<>();
+        for (ResourceRegion region : regions) {
+            resource = region.getResource();
+
+            long start = region.getPosition();
+            long end = start + region.getCount();
+            int index = ranges.size();
+            for (int i = ranges.size() - 1; i >= 0; i--) {
+                long[] range = ranges.get(i);
+                if (start <= range[1] && range[0] <= end) {
+                    start = Math.min(start, range[0]);
+                    end = Math.max(end, range[1]);
+                    ranges.remove(i);
+                    index = i;
+                }
+            }
+            ranges.add(index, new long[] {start, end});
+        }
+
+        List<ResourceRegion> coalesced = new ArrayList<>(ranges.size());
+        for (long[] range : ranges) {
+            coalesced.add(new ResourceRegion(resource, range[0], range[1] - range[0]));
+        }
+        return coalesced;
+    }
+
+    private void writeRange(ResourceRegion region, HttpOutputMessage outputMessage) throws IOException {
+        HttpHeaders responseHeaders = outputMessage.getHeaders();
+
+        long resourceLength = region.getResource().contentLength();
+        long start = region.getPosition();
+        long end = Math.min(start + region.getCount() - 1, resourceLength - 1);
+
+        responseHeaders.add(HttpHeaders.CONTENT_RANGE, "bytes " + start + '-' + end + '/' + resourceLength);
+        responseHeaders.setContentLength(end - start + 1);
+
+        try (InputStream in = ((RangeableResource) region.getResource()).getInputStream(start, end)) {
+            StreamUtils.copy(in, outputMessage.getBody());
+        }
+    }
+
+    private void writeRanges(List<ResourceRegion> regions, HttpOutputMessage outputMessage) throws IOException {
+        HttpHeaders responseHeaders = outputMessage.getHeaders();
+
+        MediaType contentType = responseHeaders.getContentType();
+        String boundary = MimeTypeUtils.generateMultipartBoundaryString();
+        responseHeaders.set(HttpHeaders.CONTENT_TYPE, "multipart/byteranges; boundary=" + boundary);
+
+        // every region is of the same resource, whose length may cost a round-trip to the store
+        long resourceLength = regions.get(0).getResource().contentLength();
+
+        OutputStream out = outputMessage.getBody();
+        for (ResourceRegion region : regions) {
+            long start = region.getPosition();
+            long end = Math.min(start + region.getCount() - 1, resourceLength - 1);
+
+            println(out);
+            print(out, "--" + boundary);
+            println(out);
+            if (contentType != null) {
+                print(out, "Content-Type: " + contentType);
+                println(out);
+            }
+            print(out, "Content-Range: bytes " + start + '-' + end + '/' + resourceLength);
+            println(out);
+            println(out);
+
+            try (InputStream in = ((RangeableResource) region.getResource()).getInputStream(start, end)) {
+                StreamUtils.copy(in, out);
+            }
+        }
+        println(out);
+        print(out, "--" + boundary + "--");
+    }
+
+    private static void println(OutputStream os) throws IOException {
+        os.write('\r');
+        os.write('\n');
+    }
+
+    private static void print(OutputStream os, String buf) throws IOException {
+        os.write(buf.getBytes(StandardCharsets.US_ASCII));
+    }
+}
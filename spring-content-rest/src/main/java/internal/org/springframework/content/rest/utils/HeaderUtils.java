@@ -17,6 +17,7 @@ import org.springframework.core.convert.support.ConfigurableConversionService;
 import org.springframework.core.convert.support.DefaultConversionService;
 import org.springframework.data.convert.Jsr310Converters;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
 import org.springframework.http.HttpStatus;
 import org.springframework.lang.Nullable;
 import org.springframework.util.StringUtils;
@@ -170,6 +171,24 @@ public class HeaderUtils {
         return dateValue;
     }
 
+    /**
+     * Returns the Range header value when it requests a single byte range, otherwise null.
+     * <p>
+     * The parts of a multi-range request are read one at a time with
+     * {@link org.springframework.content.commons.io.RangeableResource#getInputStream(long, long)} so the header is
+     * not passed to the resource.
+     */
+    public static String singleRange(@Nullable String rangeHeader) {
+        if (!StringUtils.hasText(rangeHeader)) {
+            return null;
+        }
+        try {
+            return HttpRange.parseRanges(rangeHeader).size() == 1 ? rangeHeader : null;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
     public static  long parseDateValue(@Nullable String headerValue) {
         if (headerValue == null) {
             // No header value sent at all
@@ -5,6 +5,7 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.net.URI;
 import java.net.URL;
+import java.util.function.Function;
 
 import internal.org.springframework.content.rest.annotations.ContentStoreRestResource;
 import org.atteo.evo.inflector.English;
@@ -21,20 +22,13 @@ import static org.springframework.util.StringUtils.trimTrailingCharacter;
 
 public final class StoreUtils {
 
+	private static final Function<StoreInfo, String> STORE_PATH = StoreUtils::storePath;
+
 	private StoreUtils() {
 	}
 
 	public static StoreFilter withStorePath(String storePath) {
-		return new StoreFilter() {
-			@Override
-			public String name() {
-				return storePath;
-			}
-			@Override
-			public boolean matches(StoreInfo info) {
-				return storePath.equals(storePath(info));
-			}
-		};
+		return new IndexedStoreFilter<String>(storePath, STORE_PATH, storePath);
 	}
 
 	public static String storePath(StoreInfo info) {
@@ -13,6 +13,7 @@ import internal.org.springframework.content.rest.mappingcontext.ContentPropertyT
 import internal.org.springframework.content.rest.mappingcontext.ContentPropertyToLinkrelMappingContext;
 import org.springframework.beans.factory.InitializingBean;
 import org.springframework.beans.factory.NoSuchBeanDefinitionException;
+import org.springframework.beans.factory.SmartInitializingSingleton;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.content.commons.mappingcontext.MappingContext;
 import org.springframework.content.commons.storeservice.StoreResolver;
@@ -38,6 +39,7 @@ import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
 
 import internal.org.springframework.content.commons.storeservice.StoresImpl;
+import internal.org.springframework.content.rest.contentservice.StoreExportedMethodsTable;
 import internal.org.springframework.content.rest.controllers.ResourceHandlerMethodArgumentResolver;
 import internal.org.springframework.content.rest.controllers.resolvers.DefaultEntityResolver;
 import internal.org.springframework.content.rest.controllers.resolvers.EntityResolvers;
@@ -199,6 +201,17 @@ public class RestConfiguration implements InitializingBean {
 		return new ContentPropertyToExportedContext();
 	}
 
+	@Bean
+	StoreExportedMethodsTable storeExportedMethodsTable(ContentPropertyToExportedContext exportedContentPropertyContext) {
+		return new StoreExportedMethodsTable(exportedContentPropertyContext);
+	}
+
+    @Bean
+    SmartInitializingSingleton storeExportedMethodsWarmUp(StoreExportedMethodsTable storeExportedMethodsTable, Stores stores) {
+        // build the dispatch table once all stores are registered rather than on the first request
+        return () -> storeExportedMethodsTable.warmUp(stores);
+    }
+
 	@Bean
 	ContentPropertyToLinkrelMappingContext linkrelMappingContext() {
 		return new ContentPropertyToLinkrelMappingContext();
@@ -1,10 +1,10 @@
 package org.springframework.data.rest.extensions.entitycontent;
 
 import internal.org.springframework.content.rest.contentservice.ContentStoreContentService;
+import internal.org.springframework.content.rest.contentservice.StoreExportedMethodsTable;
 import internal.org.springframework.content.rest.controllers.BadRequestException;
 import internal.org.springframework.content.rest.controllers.MethodNotAllowedException;
 import internal.org.springframework.content.rest.controllers.resolvers.AssociativeStoreResourceResolver;
-import internal.org.springframework.content.rest.mappingcontext.ContentPropertyToExportedContext;
 import internal.org.springframework.content.rest.mappingcontext.ContentPropertyToRequestMappingContext;
 import internal.org.springframework.content.rest.mappings.StoreByteRangeHttpRequestHandler;
 import internal.org.springframework.content.rest.utils.ControllerUtils;
@@ -60,7 +60,7 @@ public class RepositoryEntityMultipartController {
     private RepositoryInvokerFactory repoInvokerFactory;
     private ContentPropertyToRequestMappingContext requestMappingContext;
     private MappingContext mappingContext;
-    private ContentPropertyToExportedContext exportedMappingContext;
+    private StoreExportedMethodsTable exportedMethods;
     private StoreByteRangeHttpRequestHandler byteRangeRestRequestHandler;
     private Stores stores;
     private SelfLinkProvider selfLinkProvider;
@@ -68,14 +68,14 @@ public class RepositoryEntityMultipartController {
     private ApplicationEventPublisher publisher;
 
     @Autowired
-    public RepositoryEntityMultipartController(RestConfiguration restConfig, RepositoryInvokerFactory repoInvokerFactory, ContentPropertyToRequestMappingContext requestMappingContext, SelfLinkProvider selfLinkProvider, Stores stores, MappingContext mappingContext, ContentPropertyToExportedContext exportedMappingContext, StoreByteRangeHttpRequestHandler byteRangeRestRequestHandler, @Qualifier("entityMultipartHttpMessageConverterConfigurer") RepositoryRestConfigurer configurer, HttpHeadersPreparer headersPreparer, ApplicationEventPublisher publisher) {
+    public RepositoryEntityMultipartController(RestConfiguration restConfig, RepositoryInvokerFactory repoInvokerFactory, ContentPropertyToRequestMappingContext requestMappingContext, SelfLinkProvider selfLinkProvider, Stores stores, MappingContext mappingContext, StoreExportedMethodsTable exportedMethods, StoreByteRangeHttpRequestHandler byteRangeRestRequestHandler, @Qualifier("entityMultipartHttpMessageConverterConfigurer") RepositoryRestConfigurer configurer, HttpHeadersPreparer headersPreparer, ApplicationEventPublisher publisher) {
         this.restConfig = restConfig;
         this.repoInvokerFactory = repoInvokerFactory;
         this.requestMappingContext = requestMappingContext;
         this.selfLinkProvider = selfLinkProvider;
         this.stores = stores;
         this.mappingContext = mappingContext;
-        this.exportedMappingContext = exportedMappingContext;
+        this.exportedMethods = exportedMethods;
         this.byteRangeRestRequestHandler = byteRangeRestRequestHandler;
         this.headersPreparer = headersPreparer;
         this.publisher = publisher;
@@ -114,7 +114,7 @@ public class RepositoryEntityMultipartController {
 
         StoreInfo info = this.stores.getStore(Store.class, StoreUtils.withStorePath(store));
         if (info != null) {
-            ContentStoreContentService service = new ContentStoreContentService(restConfig, info, repoInvokerFactory.getInvokerFor(domainType), mappingContext, exportedMappingContext, byteRangeRestRequestHandler);
+            ContentStoreContentService service = new ContentStoreContentService(restConfig, info, repoInvokerFactory.getInvokerFor(domainType), mappingContext, exportedMethods, byteRangeRestRequestHandler);
             MultiValueMap<String, MultipartFile> files = req.getMultiFileMap();
             for (String path : files.keySet()) {
                 MultipartFile file = files.get(path).get(0);
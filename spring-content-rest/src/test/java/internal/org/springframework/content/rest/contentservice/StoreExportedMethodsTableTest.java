@@ -0,0 +1,93 @@
+package internal.org.springframework.content.rest.contentservice;
+
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.BeforeEach;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.Context;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.Describe;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.It;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.lang.reflect.Method;
+
+import org.junit.runner.RunWith;
+import org.springframework.content.commons.annotations.ContentId;
+import org.springframework.content.commons.annotations.ContentLength;
+import org.springframework.content.commons.property.PropertyPath;
+import org.springframework.content.commons.store.ContentStore;
+import org.springframework.content.commons.store.UnsetContentParams;
+import org.springframework.content.commons.storeservice.StoreInfo;
+import org.springframework.content.commons.storeservice.Stores;
+
+import com.github.paulcwarren.ginkgo4j.Ginkgo4jRunner;
+
+import internal.org.springframework.content.rest.contentservice.ContentStoreContentService.StoreExportedMethodsMap;
+import internal.org.springframework.content.rest.mappingcontext.ContentPropertyToExportedContext;
+
+@RunWith(Ginkgo4jRunner.class)
+public class StoreExportedMethodsTableTest {
+
+    private StoreExportedMethodsTable table;
+    private Stores stores;
+
+    {
+        Describe("StoreExportedMethodsTable", () -> {
+            BeforeEach(() -> {
+                StoreInfo info = mock(StoreInfo.class);
+                doReturn(TestStore.class).when(info).getInterface();
+                doReturn(TestEntity.class).when(info).getDomainObjectClass();
+
+                stores = mock(Stores.class);
+                when(stores.getStores(Stores.MATCH_ALL)).thenReturn(new StoreInfo[] {info});
+
+                table = new StoreExportedMethodsTable(new ContentPropertyToExportedContext());
+            });
+            Context("given it has been warmed up", () -> {
+                BeforeEach(() -> {
+                    table.warmUp(stores);
+                });
+                It("returns the exported methods for a store and content property", () -> {
+                    StoreExportedMethodsMap methods = table.getExportedMethodsFor(TestStore.class, PropertyPath.from("content"));
+
+                    assertThat(methods.getContentMethods().length, is(1));
+                    assertThat(methods.setContentMethods().length, is(2));
+                    assertThat(methods.unsetContentMethods().length, is(1));
+                    assertThat(table.getExportedMethodsFor(TestStore.class, PropertyPath.from("content")), is(sameInstance(methods)));
+                });
+                It("invokes an exported method on a store", () -> {
+                    TestStore store = mock(TestStore.class);
+                    TestEntity entity = new TestEntity();
+                    UnsetContentParams params = UnsetContentParams.builder().build();
+                    when(store.unsetContent(entity, PropertyPath.from("content"), params)).thenReturn(entity);
+
+                    StoreExportedMethodsMap methods = table.getExportedMethodsFor(TestStore.class, PropertyPath.from("content"));
+                    Method unsetContent = methods.unsetContentMethods()[0];
+
+                    assertThat(methods.invoke(unsetContent, store, entity, PropertyPath.from("content"), params), is(sameInstance(entity)));
+                    verify(store).unsetContent(entity, PropertyPath.from("content"), params);
+                });
+            });
+            Context("given it has not been warmed up", () -> {
+                It("resolves and caches the exported methods on demand", () -> {
+                    StoreExportedMethodsMap methods = table.getExportedMethodsFor(TestStore.class, PropertyPath.from("content"));
+
+                    assertThat(methods.setContentMethods().length, is(2));
+                    assertThat(table.getExportedMethodsFor(TestStore.class, PropertyPath.from("content")), is(sameInstance(methods)));
+                });
+            });
+        });
+    }
+
+    public static class TestEntity {
+        @ContentId
+        private String contentId;
+        @ContentLength
+        private Long contentLength;
+    }
+
+    public interface TestStore extends ContentStore<TestEntity, String> {}
+}
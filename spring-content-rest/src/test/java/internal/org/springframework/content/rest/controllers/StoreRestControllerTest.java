@@ -0,0 +1,85 @@
+package internal.org.springframework.content.rest.controllers;
+
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.BeforeEach;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.Context;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.Describe;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.It;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.JustBeforeEach;
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.junit.runner.RunWith;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import com.github.paulcwarren.ginkgo4j.Ginkgo4jRunner;
+
+import internal.org.springframework.content.rest.io.AssociatedStoreResource;
+
+@SuppressWarnings({ "rawtypes" })
+@RunWith(Ginkgo4jRunner.class)
+public class StoreRestControllerTest {
+
+    private static final String DIGEST = "2c26b46b68ffc68ff99b453c1d30413413422d706483bfa0f98a5e886266e7ae";
+
+    private StoreRestController controller;
+
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+    private AssociatedStoreResource resource;
+
+    private Exception e;
+
+    {
+        Describe("#getContent", () -> {
+            BeforeEach(() -> {
+                controller = new StoreRestController();
+                request = new MockHttpServletRequest("GET", "/testEntities/1/content");
+                response = new MockHttpServletResponse();
+                resource = mock(AssociatedStoreResource.class);
+                e = null;
+            });
+            JustBeforeEach(() -> {
+                try {
+                    controller.getContent(request, response, new HttpHeaders(), resource);
+                } catch (Exception ex) {
+                    e = ex;
+                }
+            });
+            Context("given a content digest", () -> {
+                BeforeEach(() -> {
+                    when(resource.getContentDigest()).thenReturn(DIGEST);
+                    when(resource.getETag()).thenReturn(DIGEST);
+                });
+                Context("given an If-None-Match header that matches the digest", () -> {
+                    BeforeEach(() -> {
+                        request.addHeader(HttpHeaders.IF_NONE_MATCH, "\"" + DIGEST + "\"");
+                    });
+                    It("should respond with 304 without asking the store whether the content exists", () -> {
+                        assertThat(e, is((Exception) null));
+                        assertThat(response.getStatus(), is(HttpStatus.NOT_MODIFIED.value()));
+                        assertThat(response.getHeader(HttpHeaders.ETAG), is("\"" + DIGEST + "\""));
+                        verify(resource, never()).exists();
+                    });
+                });
+                Context("given an If-None-Match header that does not match the digest", () -> {
+                    BeforeEach(() -> {
+                        request.addHeader(HttpHeaders.IF_NONE_MATCH, "\"some-other-digest\"");
+                        when(resource.exists()).thenReturn(false);
+                    });
+                    It("should ask the store whether the content exists", () -> {
+                        verify(resource).exists();
+                        assertThat(e, is(instanceOf(ResourceNotFoundException.class)));
+                    });
+                });
+            });
+        });
+    }
+}
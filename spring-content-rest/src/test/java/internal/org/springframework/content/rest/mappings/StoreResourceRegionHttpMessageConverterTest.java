@@ -0,0 +1,131 @@
+package internal.org.springframework.content.rest.mappings;
+
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.BeforeEach;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.Context;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.Describe;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.It;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.JustBeforeEach;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.startsWith;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.runner.RunWith;
+import org.springframework.content.commons.io.RangeableResource;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.support.ResourceRegion;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.MockHttpOutputMessage;
+
+import com.github.paulcwarren.ginkgo4j.Ginkgo4jRunner;
+
+@RunWith(Ginkgo4jRunner.class)
+public class StoreResourceRegionHttpMessageConverterTest {
+
+    private StoreResourceRegionHttpMessageConverter converter;
+
+    private TestResource resource;
+    private String range;
+    private MockHttpOutputMessage output;
+
+    {
+        Describe("StoreResourceRegionHttpMessageConverter", () -> {
+            BeforeEach(() -> {
+                converter = new StoreResourceRegionHttpMessageConverter();
+                resource = new TestResource("0123456789abcdefghij");
+                output = new MockHttpOutputMessage();
+            });
+            JustBeforeEach(() -> {
+                List<ResourceRegion> regions = HttpRange.toResourceRegions(HttpRange.parseRanges(range), resource);
+                resource.lengthReads = 0;
+                converter.write(regions, MediaType.TEXT_PLAIN, output);
+            });
+            Context("given a single range", () -> {
+                BeforeEach(() -> {
+                    range = "bytes=2-5";
+                });
+                It("should read the range from the resource", () -> {
+                    assertThat(resource.reads, contains("2-5"));
+                    assertThat(output.getBodyAsString(), is("2345"));
+                    assertThat(output.getHeaders().getFirst(HttpHeaders.CONTENT_RANGE), is("bytes 2-5/20"));
+                });
+            });
+            Context("given multiple ranges", () -> {
+                BeforeEach(() -> {
+                    range = "bytes=12-13,0-1";
+                });
+                It("should read each range from the resource and write them as multipart/byteranges", () -> {
+                    assertThat(resource.reads, contains("12-13", "0-1"));
+                    assertThat(output.getHeaders().getFirst(HttpHeaders.CONTENT_TYPE), startsWith("multipart/byteranges; boundary="));
+
+                    String body = output.getBodyAsString();
+                    assertThat(body, containsString("Content-Type: text/plain\r\nContent-Range: bytes 12-13/20\r\n\r\ncd\r\n"));
+                    assertThat(body, containsString("Content-Range: bytes 0-1/20\r\n\r\n01\r\n"));
+                    assertThat(body.indexOf("bytes 12-13/20") < body.indexOf("bytes 0-1/20"), is(true));
+                });
+                It("should ask the resource for its length once", () -> {
+                    assertThat(resource.lengthReads, is(1));
+                });
+            });
+            Context("given overlapping and adjacent ranges", () -> {
+                BeforeEach(() -> {
+                    range = "bytes=0-1,10-11,2-3,1-2";
+                });
+                It("should coalesce them", () -> {
+                    assertThat(resource.reads, contains("0-3", "10-11"));
+
+                    String body = output.getBodyAsString();
+                    assertThat(body, containsString("Content-Range: bytes 0-3/20\r\n\r\n0123\r\n"));
+                    assertThat(body, containsString("Content-Range: bytes 10-11/20\r\n\r\nab\r\n"));
+                    assertThat(body, not(containsString("bytes 2-3/20")));
+                });
+            });
+            Context("given ranges that coalesce into one", () -> {
+                BeforeEach(() -> {
+                    range = "bytes=0-3,4-7";
+                });
+                It("should write a single range", () -> {
+                    assertThat(resource.reads, contains("0-7"));
+                    assertThat(output.getBodyAsString(), is("01234567"));
+                    assertThat(output.getHeaders().getFirst(HttpHeaders.CONTENT_RANGE), is("bytes 0-7/20"));
+                });
+            });
+        });
+    }
+
+    public static class TestResource extends ByteArrayResource implements RangeableResource {
+
+        private final List<String> reads = new ArrayList<>();
+        private int lengthReads;
+
+        public TestResource(String content) {
+            super(content.getBytes(StandardCharsets.UTF_8));
+        }
+
+        @Override
+        public long contentLength() {
+            lengthReads++;
+            return super.contentLength();
+        }
+
+        @Override
+        public void setRange(String range) {
+        }
+
+        @Override
+        public InputStream getInputStream(long start, long end) throws IOException {
+            reads.add(start + "-" + end);
+            return RangeableResource.super.getInputStream(start, end);
+        }
+    }
+}
@@ -16,6 +16,7 @@ import org.springframework.content.s3.Bucket;
 import org.springframework.content.s3.S3ObjectId;
 import org.springframework.content.commons.config.ContentPropertyInfo;
 import org.springframework.content.s3.config.S3StoreConfigurer;
+import org.springframework.content.s3.config.S3TransferSettings;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.convert.converter.Converter;
@@ -113,6 +114,17 @@ public class S3StoreConfiguration implements InitializingBean {
         });
 	}
 
+	@Bean
+	public S3TransferSettings s3StoreTransferSettings() {
+		S3TransferSettings transfers = new S3TransferSettings();
+		if (configurers != null) {
+			for (S3StoreConfigurer configurer : configurers) {
+				configurer.configureS3StoreTransfers(transfers);
+			}
+		}
+		return transfers;
+	}
+
 	private void addConverters(ConverterRegistry registry) {
 		if (configurers == null)
 			return;
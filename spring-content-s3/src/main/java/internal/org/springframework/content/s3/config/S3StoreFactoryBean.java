@@ -6,12 +6,14 @@ import org.springframework.beans.factory.BeanFactory;
 import org.springframework.beans.factory.NoSuchBeanDefinitionException;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.content.commons.io.ResourceMetadataCache;
 import org.springframework.content.commons.mappingcontext.MappingContext;
 import org.springframework.content.commons.repository.ReactiveContentStore;
 import org.springframework.content.commons.repository.Store;
 import org.springframework.content.commons.store.factory.AbstractStoreFactoryBean;
 import org.springframework.content.commons.utils.PlacementService;
 import org.springframework.content.s3.config.MultiTenantS3ClientProvider;
+import org.springframework.content.s3.config.S3TransferSettings;
 import org.springframework.context.ApplicationContext;
 import org.springframework.core.io.DefaultResourceLoader;
 import org.springframework.versions.LockingAndVersioningProxyFactory;
@@ -43,6 +45,12 @@ public class S3StoreFactoryBean extends AbstractStoreFactoryBean {
     @Autowired(required=false)
     private MappingContext mappingContext;
 
+    @Autowired(required=false)
+    private S3TransferSettings transferSettings;
+
+    @Autowired(required=false)
+    private ResourceMetadataCache metadataCache;
+
 	@Value("${spring.content.s3.bucket:#{environment.AWS_BUCKET}}")
 	private String bucket;
 
@@ -75,7 +83,13 @@ public class S3StoreFactoryBean extends AbstractStoreFactoryBean {
 	@Override
 	protected Object getContentStoreImpl() {
 
+		if (transferSettings == null) {
+			transferSettings = new S3TransferSettings();
+		}
+
 		SimpleStorageProtocolResolver s3Protocol = new SimpleStorageProtocolResolver(client);
+		s3Protocol.setTransferSettings(transferSettings);
+		s3Protocol.setMetadataCache(metadataCache);
 		s3Protocol.afterPropertiesSet();
 
 		DefaultResourceLoader loader = new DefaultResourceLoader();
@@ -85,7 +99,7 @@ public class S3StoreFactoryBean extends AbstractStoreFactoryBean {
 		    if (client == null) {
 		        throw new NoSuchBeanDefinitionException(S3Client.class.getCanonicalName());
 		    }
-		    return new DefaultS3StoreImpl(context, loader, mappingContext, s3StorePlacementService, client, s3Provider);
+		    return new DefaultS3StoreImpl(context, loader, mappingContext, s3StorePlacementService, client, s3Provider, transferSettings);
 		} else {
             if (asyncClient == null) {
                 throw new NoSuchBeanDefinitionException(S3AsyncClient.class.getCanonicalName());
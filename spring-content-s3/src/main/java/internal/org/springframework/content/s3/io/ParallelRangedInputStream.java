@@ -0,0 +1,161 @@
+package internal.org.springframework.content.s3.io;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+
+import software.amazon.awssdk.core.ResponseInputStream;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.model.GetObjectResponse;
+
+/**
+ * An {@link InputStream} over an S3 object that fetches fixed-size byte ranges of the object concurrently and
+ * returns them in order.
+ * <p>
+ * At most {@code parallelism} ranges are fetched, or held awaiting the reader, at any one time, bounding memory
+ * to {@code parallelism * chunkSize} bytes.  Each range is requested with the object's ETag so that a concurrent
+ * overwrite fails the read rather than mixing bytes from two versions.
+ */
+class ParallelRangedInputStream extends InputStream {
+
+    private final S3Client client;
+    private final String bucketName;
+    private final String objectName;
+    private final String versionId;
+    private final String eTag;
+    private final long contentLength;
+    private final int chunkSize;
+    private final int parallelism;
+    private final Executor executor;
+
+    private final Deque<CompletableFuture<byte[]>> chunks = new ArrayDeque<>();
+    private long nextChunkStart = 0;
+
+    private byte[] current = new byte[0];
+    private int position = 0;
+    private volatile boolean closed = false;
+
+    ParallelRangedInputStream(S3Client client, String bucketName, String objectName, String versionId, String eTag,
+            long contentLength, int chunkSize, int parallelism, Executor executor) {
+        this.client = client;
+        this.bucketName = bucketName;
+        this.objectName = objectName;
+        this.versionId = versionId;
+        this.eTag = eTag;
+        this.contentLength = contentLength;
+        this.chunkSize = chunkSize;
+        this.parallelism = parallelism;
+        this.executor = executor;
+
+        fillWindow();
+    }
+
+    @Override
+    public int read() throws IOException {
+        if (!ensureAvailable()) {
+            return -1;
+        }
+        return this.current[this.position++] & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        Objects.checkFromIndexSize(off, len, b.length);
+        if (len == 0) {
+            return 0;
+        }
+        if (!ensureAvailable()) {
+            return -1;
+        }
+        int n = Math.min(len, this.current.length - this.position);
+        System.arraycopy(this.current, this.position, b, off, n);
+        this.position += n;
+        return n;
+    }
+
+    @Override
+    public int available() throws IOException {
+        return this.current.length - this.position;
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.closed = true;
+        for (CompletableFuture<byte[]> chunk : this.chunks) {
+            chunk.cancel(false);
+        }
+        this.chunks.clear();
+        this.current = new byte[0];
+        this.position = 0;
+    }
+
+    private boolean ensureAvailable() throws IOException {
+        if (this.closed) {
+            throw new IOException("Stream closed");
+        }
+        while (this.position == this.current.length) {
+            CompletableFuture<byte[]> next = this.chunks.poll();
+            if (next == null) {
+                return false;
+            }
+            try {
+                this.current = next.get();
+                this.position = 0;
+            }
+            catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted waiting for range of " + this.objectName);
+            }
+            catch (ExecutionException e) {
+                throw new IOException("Failed to read range of " + this.objectName, e.getCause());
+            }
+            fillWindow();
+        }
+        return true;
+    }
+
+    private void fillWindow() {
+        while (this.chunks.size() < this.parallelism && this.nextChunkStart < this.contentLength) {
+            long start = this.nextChunkStart;
+            long end = Math.min(start + this.chunkSize, this.contentLength);
+            this.chunks.add(CompletableFuture.supplyAsync(() -> fetch(start, end), this.executor));
+            this.nextChunkStart = end;
+        }
+    }
+
+    private byte[] fetch(long start, long endExclusive) {
+        if (this.closed) {
+            throw new IllegalStateException("Stream closed");
+        }
+
+        GetObjectRequest.Builder request = GetObjectRequest.builder()
+                .bucket(this.bucketName)
+                .key(this.objectName)
+                .range("bytes=%d-%d".formatted(start, endExclusive - 1));
+        if (this.versionId != null) {
+            request.versionId(this.versionId);
+        }
+        if (this.eTag != null) {
+            request.ifMatch(this.eTag);
+        }
+
+        int length = (int) (endExclusive - start);
+        try (ResponseInputStream<GetObjectResponse> response = this.client.getObject(request.build())) {
+            byte[] chunk = response.readNBytes(length);
+            if (chunk.length != length) {
+                throw new IllegalStateException("Expected %d bytes from range %d-%d of %s but received %d".formatted(length, start, endExclusive - 1, this.objectName, chunk.length));
+            }
+            return chunk;
+        }
+        catch (IOException e) {
+            throw new IllegalStateException("Failed to read range %d-%d of %s".formatted(start, endExclusive - 1, this.objectName), e);
+        }
+    }
+}
@@ -104,6 +104,10 @@ public class S3StoreResource implements WritableResource, DeletableResource, Ran
 	                .build();
 
 	        client.deleteObject(deleteObjectRequest);
+
+	        if (delegate instanceof SimpleStorageResource) {
+	            ((SimpleStorageResource) delegate).evictMetadata();
+	        }
 		}
 	}
 
@@ -122,6 +126,11 @@ public class S3StoreResource implements WritableResource, DeletableResource, Ran
         ((RangeableResource)delegate).setRange(range);
     }
 
+    @Override
+    public InputStream getInputStream(long start, long end) throws IOException {
+        return ((RangeableResource)delegate).getInputStream(start, end);
+    }
+
 	/**
 	 * Set the Content-Type value that will be specified as object metadata when saving resource to the object storage.
 	 * @param contentType Content-Type value or null
@@ -1,10 +1,11 @@
 package internal.org.springframework.content.s3.io;
 
 import org.springframework.beans.factory.InitializingBean;
+import org.springframework.content.commons.io.ResourceMetadataCache;
+import org.springframework.content.s3.config.S3TransferSettings;
 import org.springframework.core.io.ProtocolResolver;
 import org.springframework.core.io.Resource;
 import org.springframework.core.io.ResourceLoader;
-import org.springframework.core.task.SyncTaskExecutor;
 import org.springframework.core.task.TaskExecutor;
 
 import software.amazon.awssdk.services.s3.S3Client;
@@ -25,6 +26,10 @@ public class SimpleStorageProtocolResolver implements ProtocolResolver, Initiali
      */
     private TaskExecutor taskExecutor;
 
+    private S3TransferSettings transferSettings;
+
+    private ResourceMetadataCache metadataCache;
+
     public SimpleStorageProtocolResolver(S3Client amazonS3) {
 //        this.amazonS3 = AmazonS3ProxyFactory.createProxy(amazonS3);
         this.amazonS3 = amazonS3;
@@ -34,21 +39,36 @@ public class SimpleStorageProtocolResolver implements ProtocolResolver, Initiali
         this.taskExecutor = taskExecutor;
     }
 
+    public void setTransferSettings(S3TransferSettings transferSettings) {
+        this.transferSettings = transferSettings;
+    }
+
+    public void setMetadataCache(ResourceMetadataCache metadataCache) {
+        this.metadataCache = metadataCache;
+    }
+
     @Override
     public void afterPropertiesSet() {
+        if (this.transferSettings == null) {
+            this.transferSettings = new S3TransferSettings();
+        }
         if (this.taskExecutor == null) {
-            this.taskExecutor = new SyncTaskExecutor();
+            this.taskExecutor = this.transferSettings.getUploadExecutor();
         }
     }
 
     @Override
     public Resource resolve(String location, ResourceLoader resourceLoader) {
         if (SimpleStorageNameUtils.isSimpleStorageResource(location)) {
-            return new SimpleStorageResource(this.amazonS3,
+            SimpleStorageResource resource = new SimpleStorageResource(this.amazonS3,
                     SimpleStorageNameUtils.getBucketNameFromLocation(location),
                     SimpleStorageNameUtils.getObjectNameFromLocation(location),
                     this.taskExecutor,
-                    SimpleStorageNameUtils.getVersionIdFromLocation(location));
+                    SimpleStorageNameUtils.getVersionIdFromLocation(location),
+                    null,
+                    this.transferSettings);
+            resource.setMetadataCache(this.metadataCache);
+            return resource;
         }
         else {
             return null;
@@ -5,25 +5,36 @@ import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InterruptedIOException;
 import java.io.OutputStream;
 import java.net.URL;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Objects;
+import java.util.Queue;
 import java.util.concurrent.Callable;
 import java.util.concurrent.CompletionService;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorCompletionService;
 import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.io.input.BoundedInputStream;
 
 import org.springframework.content.commons.io.RangeableResource;
+import org.springframework.content.commons.io.ResourceMetadata;
+import org.springframework.content.commons.io.ResourceMetadataCache;
+import org.springframework.content.s3.config.S3TransferSettings;
 import org.springframework.core.io.AbstractResource;
 import org.springframework.core.io.WritableResource;
 import org.springframework.core.task.TaskExecutor;
 import org.springframework.core.task.support.ExecutorServiceAdapter;
 
-import org.springframework.util.FastByteArrayOutputStream;
 import software.amazon.awssdk.core.sync.RequestBody;
 import software.amazon.awssdk.services.s3.S3Client;
 import software.amazon.awssdk.services.s3.model.AbortMultipartUploadRequest;
@@ -53,6 +64,11 @@ import software.amazon.awssdk.utils.BinaryUtils;
  */
 public class SimpleStorageResource extends AbstractResource implements WritableResource, RangeableResource {
 
+    private static final int INITIAL_BUFFER_SIZE = 1024 * 64;
+
+    // shared by resources created without settings so that each does not create its own executors
+    private static final S3TransferSettings DEFAULT_TRANSFER_SETTINGS = new S3TransferSettings();
+
     private final String bucketName;
 
     private final String objectName;
@@ -63,7 +79,12 @@ public class SimpleStorageResource extends AbstractResource implements WritableR
 
     private final TaskExecutor taskExecutor;
 
-    private volatile HeadObjectResponse objectMetadata;
+    private final S3TransferSettings transferSettings;
+
+    // metadata of the object, fetched at most once until the object is written
+    private volatile ResourceMetadata objectMetadata;
+
+    private ResourceMetadataCache metadataCache;
 
     private String range;
 
@@ -81,6 +102,11 @@ public class SimpleStorageResource extends AbstractResource implements WritableR
 
     public SimpleStorageResource(S3Client amazonS3, String bucketName, String objectName,
             TaskExecutor taskExecutor, String versionId, String contentType) {
+        this(amazonS3, bucketName, objectName, taskExecutor, versionId, contentType, DEFAULT_TRANSFER_SETTINGS);
+    }
+
+    public SimpleStorageResource(S3Client amazonS3, String bucketName, String objectName,
+            TaskExecutor taskExecutor, String versionId, String contentType, S3TransferSettings transferSettings) {
 //        this.amazonS3 = AmazonS3ProxyFactory.createProxy(amazonS3);
         this.amazonS3 = amazonS3;
         this.bucketName = bucketName;
@@ -88,6 +114,7 @@ public class SimpleStorageResource extends AbstractResource implements WritableR
         this.taskExecutor = taskExecutor;
         this.versionId = versionId;
         this.contentType = contentType;
+        this.transferSettings = transferSettings;
     }
 
     @Override
@@ -112,6 +139,14 @@ public class SimpleStorageResource extends AbstractResource implements WritableR
         this.contentType = contentType;
     }
 
+    /**
+     * Set a cache of object metadata that is shared with other resources.
+     * @param metadataCache the shared metadata cache or null
+     */
+    public void setMetadataCache(ResourceMetadataCache metadataCache) {
+        this.metadataCache = metadataCache;
+    }
+
     /**
      * Determine the Content-Type value of the resource as saved in object storage.
      * @return Content-Type value of the resource
@@ -155,12 +190,42 @@ public class SimpleStorageResource extends AbstractResource implements WritableR
                     throw new IOException("Unexpected HTTP response code %d %s".formatted(sdkResponse.statusCode(), sdkResponse.statusText().orElse("")));
             }
         }
+        if (this.transferSettings.getDownloadParallelism() > 1) {
+            ResourceMetadata metadata = getRequiredObjectMetadata();
+            if (metadata.contentLength() > this.transferSettings.getDownloadChunkSize()) {
+                return new ParallelRangedInputStream(this.amazonS3, this.bucketName, this.objectName, this.versionId,
+                        metadata.eTag(), metadata.contentLength(), this.transferSettings.getDownloadChunkSize(),
+                        this.transferSettings.getDownloadParallelism(), this.transferSettings.getDownloadExecutor());
+            }
+        }
         return this.amazonS3.getObject(getObjectRequestBuilder.build());
     }
 
+    @Override
+    public InputStream getInputStream(long start, long end) throws IOException {
+        GetObjectRequest.Builder getObjectRequestBuilder = GetObjectRequest.builder()
+                .bucket(this.bucketName).key(this.objectName)
+                .range("bytes=" + start + "-" + end);
+        if (this.versionId != null) {
+            getObjectRequestBuilder.versionId(this.versionId);
+        }
+        var getObjectResponse = this.amazonS3.getObject(getObjectRequestBuilder.build());
+        var sdkResponse = getObjectResponse.response().sdkHttpResponse();
+        switch (sdkResponse.statusCode()) {
+            case 206: // Partial content -> the stream holds the requested bytes only
+                return getObjectResponse;
+            case 200: // OK -> the range was ignored and this is a full response
+                IOUtils.skipFully(getObjectResponse, start);
+                return BoundedInputStream.builder().setInputStream(getObjectResponse).setMaxCount(end - start + 1).get();
+            default:
+                getObjectResponse.close();
+                throw new IOException("Unexpected HTTP response code %d %s".formatted(sdkResponse.statusCode(), sdkResponse.statusText().orElse("")));
+        }
+    }
+
     @Override
     public boolean exists() {
-        return getObjectMetadata() != null;
+        return getObjectMetadata().exists();
     }
 
     @Override
@@ -170,7 +235,7 @@ public class SimpleStorageResource extends AbstractResource implements WritableR
 
     @Override
     public long lastModified() throws IOException {
-        return getRequiredObjectMetadata().lastModified().getEpochSecond();
+        return getRequiredObjectMetadata().lastModified();
     }
 
     @Override
@@ -191,9 +256,9 @@ public class SimpleStorageResource extends AbstractResource implements WritableR
                         + "getInputStream() to retrieve the contents of the object!");
     }
 
-    private HeadObjectResponse getRequiredObjectMetadata() throws FileNotFoundException {
-        HeadObjectResponse metadata = getObjectMetadata();
-        if (metadata == null) {
+    private ResourceMetadata getRequiredObjectMetadata() throws FileNotFoundException {
+        ResourceMetadata metadata = getObjectMetadata();
+        if (!metadata.exists()) {
             StringBuilder builder = new StringBuilder().append("Resource with bucket='")
                     .append(this.bucketName).append("' and objectName='")
                     .append(this.objectName);
@@ -221,101 +286,207 @@ public class SimpleStorageResource extends AbstractResource implements WritableR
     @Override
     public SimpleStorageResource createRelative(String relativePath) throws IOException {
         String relativeKey = this.objectName + "/" + relativePath;
-        return new SimpleStorageResource(this.amazonS3, this.bucketName, relativeKey,
-                this.taskExecutor);
+        SimpleStorageResource relative = new SimpleStorageResource(this.amazonS3, this.bucketName, relativeKey,
+                this.taskExecutor, null, null, this.transferSettings);
+        relative.setMetadataCache(this.metadataCache);
+        return relative;
     }
 
-    private HeadObjectResponse getObjectMetadata() {
-        if (this.objectMetadata == null) {
-            try {
-                HeadObjectRequest.Builder headObjectRequestBuilder = HeadObjectRequest
-                        .builder().bucket(this.bucketName).key(this.objectName);
-                if (this.versionId != null) {
-                    headObjectRequestBuilder.versionId(this.versionId);
-                }
-                this.objectMetadata = this.amazonS3
-                        .headObject(headObjectRequestBuilder.build());
+    private ResourceMetadata getObjectMetadata() {
+        ResourceMetadata metadata = this.objectMetadata;
+        if (metadata == null) {
+            metadata = (this.metadataCache != null) ? this.metadataCache.get(this, this::headObject) : headObject();
+            this.objectMetadata = metadata;
+        }
+        return metadata;
+    }
+
+    private ResourceMetadata headObject() {
+        try {
+            HeadObjectRequest.Builder headObjectRequestBuilder = HeadObjectRequest
+                    .builder().bucket(this.bucketName).key(this.objectName);
+            if (this.versionId != null) {
+                headObjectRequestBuilder.versionId(this.versionId);
             }
-            catch (S3Exception e) {
-                // Catch 404 (object not found) and 301 (bucket not found, moved
-                // permanently)
-                if (e.statusCode() == 404 || e.statusCode() == 301) {
-                    this.objectMetadata = null;
-                }
-                else {
-                    throw e;
-                }
+            HeadObjectResponse response = this.amazonS3.headObject(headObjectRequestBuilder.build());
+            if (response == null) {
+                return ResourceMetadata.NOT_FOUND;
+            }
+            return new ResourceMetadata(true,
+                    response.contentLength() != null ? response.contentLength() : 0L,
+                    response.lastModified() != null ? response.lastModified().getEpochSecond() : 0L,
+                    response.contentType(),
+                    response.eTag());
+        }
+        catch (S3Exception e) {
+            // Catch 404 (object not found) and 301 (bucket not found, moved
+            // permanently)
+            if (e.statusCode() == 404 || e.statusCode() == 301) {
+                return ResourceMetadata.NOT_FOUND;
             }
+            throw e;
         }
-        return this.objectMetadata;
     }
 
-    private class SimpleStorageOutputStream extends OutputStream {
+    /**
+     * Discards the memoized, and any shared, metadata of this object so that it is fetched again on next use.
+     */
+    void evictMetadata() {
+        this.objectMetadata = null;
+        if (this.metadataCache != null) {
+            this.metadataCache.evict(this);
+        }
+    }
 
-        // The minimum size for a multi part is 5 MB, hence the buffer size of 5 MB
-        private static final int BUFFER_SIZE = 1024 * 1024 * 5;
+    private class SimpleStorageOutputStream extends OutputStream {
 
         private final Object monitor = new Object();
 
+        private final int partSize;
+
         private final CompletionService<CompletedPart> completionService;
 
-        @SuppressWarnings("FieldMayBeFinal")
-        private FastByteArrayOutputStream currentOutputStream = new FastByteArrayOutputStream();
+        // bounds the number of parts buffered or uploading, pushing back on the writer when exhausted
+        private final Semaphore inFlightParts;
+
+        // full-size part buffers returned by completed part uploads, ready for reuse
+        private final Queue<byte[]> partBuffers = new ConcurrentLinkedQueue<>();
+
+        private byte[] buffer;
+
+        private int count = 0;
+
+        private boolean closed = false;
 
         private int partNumberCounter = 1;
 
         private CreateMultipartUploadResponse multiPartUploadResult;
 
         SimpleStorageOutputStream() {
+            this.partSize = SimpleStorageResource.this.transferSettings.getPartSize();
+            this.inFlightParts = new Semaphore(SimpleStorageResource.this.transferSettings.getMaxInFlightParts());
             this.completionService = new ExecutorCompletionService<>(
                     new ExecutorServiceAdapter(SimpleStorageResource.this.taskExecutor));
+            // grown on demand so that small objects do not allocate a whole part
+            this.buffer = new byte[Math.min(INITIAL_BUFFER_SIZE, this.partSize)];
         }
 
         @Override
         public void write(int b) throws IOException {
             synchronized (this.monitor) {
-                if (this.currentOutputStream.size() == BUFFER_SIZE) {
-                    initiateMultiPartIfNeeded();
-                    this.completionService.submit(new UploadPartResultCallable(
-                            SimpleStorageResource.this.amazonS3,
-                            this.currentOutputStream.toByteArray(),
-                            this.currentOutputStream.size(),
-                            SimpleStorageResource.this.bucketName,
-                            SimpleStorageResource.this.objectName,
-                            this.multiPartUploadResult.uploadId(),
-                            this.partNumberCounter++));
-                    this.currentOutputStream.reset();
+                ensureOpen();
+                if (this.count == this.partSize) {
+                    uploadPart();
+                }
+                ensureCapacity(this.count + 1);
+                this.buffer[this.count++] = (byte) b;
+            }
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            Objects.checkFromIndexSize(off, len, b.length);
+            synchronized (this.monitor) {
+                ensureOpen();
+                while (len > 0) {
+                    if (this.count == this.partSize) {
+                        uploadPart();
+                    }
+                    int n = Math.min(len, this.partSize - this.count);
+                    ensureCapacity(this.count + n);
+                    System.arraycopy(b, off, this.buffer, this.count, n);
+                    this.count += n;
+                    off += n;
+                    len -= n;
                 }
-                this.currentOutputStream.write(b);
             }
         }
 
         @Override
         public void close() throws IOException {
             synchronized (this.monitor) {
-                if (this.currentOutputStream == null) {
+                if (this.closed) {
                     return;
                 }
+                this.closed = true;
 
-                if (isMultiPartUpload()) {
-                    finishMultiPartUpload();
+                try {
+                    if (isMultiPartUpload()) {
+                        finishMultiPartUpload();
+                    }
+                    else {
+                        finishSimpleUpload();
+                    }
                 }
-                else {
-                    finishSimpleUpload();
+                finally {
+                    evictMetadata();
                 }
             }
         }
 
+        private void ensureOpen() throws IOException {
+            if (this.closed) {
+                throw new IOException("Stream closed");
+            }
+        }
+
+        private void ensureCapacity(int capacity) {
+            if (capacity > this.buffer.length) {
+                this.buffer = Arrays.copyOf(this.buffer, Math.min(this.partSize, Math.max(this.buffer.length << 1, capacity)));
+            }
+        }
+
+        private void uploadPart() throws IOException {
+            initiateMultiPartIfNeeded();
+            submitPart(this.partNumberCounter++);
+
+            byte[] next = this.partBuffers.poll();
+            this.buffer = (next != null) ? next : new byte[this.partSize];
+            this.count = 0;
+        }
+
+        private void submitPart(int partNumber) throws IOException {
+            try {
+                this.inFlightParts.acquire();
+            }
+            catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted waiting to upload part " + partNumber);
+            }
+
+            try {
+                this.completionService.submit(new UploadPartResultCallable(
+                        SimpleStorageResource.this.amazonS3,
+                        this.buffer,
+                        this.count,
+                        SimpleStorageResource.this.bucketName,
+                        SimpleStorageResource.this.objectName,
+                        this.multiPartUploadResult.uploadId(),
+                        partNumber));
+            }
+            catch (RuntimeException e) {
+                this.inFlightParts.release();
+                throw e;
+            }
+        }
+
+        private void releasePart(byte[] partBuffer) {
+            if (partBuffer.length == this.partSize) {
+                this.partBuffers.offer(partBuffer);
+            }
+            this.inFlightParts.release();
+        }
+
         private boolean isMultiPartUpload() {
             return this.multiPartUploadResult != null;
         }
 
         private void finishSimpleUpload() {
-            byte[] content = this.currentOutputStream.toByteArray();
             String md5Digest;
             try {
                 MessageDigest messageDigest = MessageDigest.getInstance("MD5");
-                md5Digest = BinaryUtils.toBase64(messageDigest.digest(content));
+                messageDigest.update(this.buffer, 0, this.count);
+                md5Digest = BinaryUtils.toBase64(messageDigest.digest());
             }
             catch (NoSuchAlgorithmException e) {
                 throw new IllegalStateException(
@@ -332,21 +503,20 @@ public class SimpleStorageResource extends AbstractResource implements WritableR
                 requestBuilder.contentType(SimpleStorageResource.this.contentType);
             }
 
-            SimpleStorageResource.this.amazonS3.putObject(requestBuilder.build(), RequestBody.fromBytes(content));
-
-            // Release the memory early
-            this.currentOutputStream = null;
+            try {
+                SimpleStorageResource.this.amazonS3.putObject(requestBuilder.build(),
+                        RequestBody.fromInputStream(new ByteArrayInputStream(this.buffer, 0, this.count), this.count));
+            }
+            finally {
+                // Release the memory early
+                this.buffer = null;
+            }
         }
 
         private void finishMultiPartUpload() throws IOException {
-            this.completionService.submit(new UploadPartResultCallable(
-                    SimpleStorageResource.this.amazonS3,
-                    this.currentOutputStream.toByteArray(),
-                    this.currentOutputStream.size(),
-                    SimpleStorageResource.this.bucketName,
-                    SimpleStorageResource.this.objectName,
-                    this.multiPartUploadResult.uploadId(), this.partNumberCounter));
             try {
+                submitPart(this.partNumberCounter);
+
                 CompletedMultipartUpload multipartUpload = CompletedMultipartUpload
                         .builder().parts(getCompletedMultiParts()).build();
                 SimpleStorageResource.this.amazonS3
@@ -360,12 +530,18 @@ public class SimpleStorageResource extends AbstractResource implements WritableR
                 abortMultiPartUpload();
                 throw new IOException("Multi part upload failed ", e.getCause());
             }
-            catch (InterruptedException e) {
+            catch (InterruptedException | InterruptedIOException e) {
                 abortMultiPartUpload();
                 Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted completing multi part upload");
+            }
+            catch (RuntimeException e) {
+                abortMultiPartUpload();
+                throw e;
             }
             finally {
-                this.currentOutputStream = null;
+                this.buffer = null;
+                this.partBuffers.clear();
             }
         }
 
@@ -402,6 +578,8 @@ public class SimpleStorageResource extends AbstractResource implements WritableR
                         .take();
                 result.add(uploadPartResultFuture.get());
             }
+            // parts complete in any order but must be listed in ascending order
+            result.sort(Comparator.comparing(CompletedPart::partNumber));
             return result;
         }
 
@@ -443,16 +621,16 @@ public class SimpleStorageResource extends AbstractResource implements WritableR
                                             .key(this.key).uploadId(this.uploadId)
                                             .partNumber(this.partNumber).build(),
                                     RequestBody.fromInputStream(
-                                            new ByteArrayInputStream(this.content),
+                                            new ByteArrayInputStream(this.content, 0, this.contentLength),
                                             this.contentLength));
                     return CompletedPart.builder().partNumber(this.partNumber)
                             .eTag(uploadPartResponse.eTag()).build();
 
                 }
                 finally {
-                    // Release the memory, as the callable may still live inside the
-                    // CompletionService which would cause
-                    // an exhaustive memory usage
+                    // Hand the buffer back for reuse and release the reference, as the callable may
+                    // still live inside the CompletionService which would cause an exhaustive memory usage
+                    releasePart(this.content);
                     this.content = null;
                 }
             }
@@ -33,6 +33,7 @@ import org.springframework.content.commons.utils.Condition;
 import org.springframework.content.commons.utils.PlacementService;
 import org.springframework.content.s3.S3ObjectId;
 import org.springframework.content.s3.config.MultiTenantS3ClientProvider;
+import org.springframework.content.s3.config.S3TransferSettings;
 import org.springframework.context.ApplicationContext;
 import org.springframework.core.convert.TypeDescriptor;
 import org.springframework.core.io.DefaultResourceLoader;
@@ -61,10 +62,15 @@ public class DefaultS3StoreImpl<S, SID extends Serializable>
 	private PlacementService placementService;
 	private S3Client client;
 	private MultiTenantS3ClientProvider clientProvider;
+	private S3TransferSettings transferSettings;
 
     private MappingContext mappingContext/* = new MappingContext("/", ".")*/;
 
 	public DefaultS3StoreImpl(ApplicationContext context, ResourceLoader loader, MappingContext mappingContext, PlacementService placementService, S3Client client, MultiTenantS3ClientProvider provider) {
+		this(context, loader, mappingContext, placementService, client, provider, null);
+	}
+
+	public DefaultS3StoreImpl(ApplicationContext context, ResourceLoader loader, MappingContext mappingContext, PlacementService placementService, S3Client client, MultiTenantS3ClientProvider provider, S3TransferSettings transferSettings) {
         Assert.notNull(context, "context must be specified");
 		Assert.notNull(loader, "loader must be specified");
 		Assert.notNull(placementService, "placementService must be specified");
@@ -74,6 +80,8 @@ public class DefaultS3StoreImpl<S, SID extends Serializable>
 		this.placementService = placementService;
 		this.client = client;
 		this.clientProvider = provider;
+		// created once, rather than by each tenant's resolver, so that tenants share its executors
+		this.transferSettings = (transferSettings != null) ? transferSettings : new S3TransferSettings();
         this.mappingContext = mappingContext;
         if (this.mappingContext == null) {
             this.mappingContext = new MappingContext("/", ".");
@@ -175,6 +183,7 @@ public class DefaultS3StoreImpl<S, SID extends Serializable>
 			S3Client client = clientProvider.getS3Client();
 			if (client != null) {
 				SimpleStorageProtocolResolver s3Protocol = new SimpleStorageProtocolResolver(client);
+				s3Protocol.setTransferSettings(transferSettings);
 				s3Protocol.afterPropertiesSet();
 
 				DefaultResourceLoader loader = new DefaultResourceLoader();
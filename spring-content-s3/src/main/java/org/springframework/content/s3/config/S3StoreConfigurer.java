@@ -5,4 +5,7 @@ import org.springframework.core.convert.converter.ConverterRegistry;
 public interface S3StoreConfigurer {
 
 	void configureS3StoreConverters(ConverterRegistry registry);
+
+	default void configureS3StoreTransfers(S3TransferSettings transfers) {
+	}
 }
@@ -0,0 +1,213 @@
+package org.springframework.content.s3.config;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.util.Assert;
+
+/**
+ * Tuning options for how S3 stores transfer content to and from S3.
+ *
+ * Configure by overriding {@link S3StoreConfigurer#configureS3StoreTransfers(S3TransferSettings)}.
+ */
+public class S3TransferSettings implements DisposableBean {
+
+    /**
+     * The minimum size S3 accepts for all but the last part of a multipart upload
+     */
+    public static final int MINIMUM_PART_SIZE = 1024 * 1024 * 5;
+
+    private int partSize = MINIMUM_PART_SIZE;
+
+    private int maxInFlightParts = 4;
+
+    private int uploadThreads = 16;
+
+    private int downloadParallelism = 1;
+
+    private int downloadChunkSize = 1024 * 1024 * 8;
+
+    private int downloadThreads = 16;
+
+    private Executor downloadExecutor;
+
+    private TaskExecutor uploadExecutor;
+
+    // executors created by these settings, rather than supplied, and shut down with them
+    private ExecutorService defaultDownloadExecutor;
+
+    private ExecutorService defaultUploadExecutor;
+
+    /**
+     * The size of each part of a multipart upload.  Content smaller than this is uploaded with a single request.
+     *
+     * @return the part size in bytes
+     */
+    public int getPartSize() {
+        return partSize;
+    }
+
+    public S3TransferSettings setPartSize(int partSize) {
+        Assert.isTrue(partSize >= MINIMUM_PART_SIZE, "partSize must be at least 5 MB");
+        this.partSize = partSize;
+        return this;
+    }
+
+    /**
+     * The maximum number of parts of a single upload that may be buffered, or uploading, at any one time.  Writers
+     * block once this limit is reached until a part has been uploaded.
+     *
+     * @return the maximum number of in-flight parts
+     */
+    public int getMaxInFlightParts() {
+        return maxInFlightParts;
+    }
+
+    public S3TransferSettings setMaxInFlightParts(int maxInFlightParts) {
+        Assert.isTrue(maxInFlightParts > 0, "maxInFlightParts must be greater than 0");
+        this.maxInFlightParts = maxInFlightParts;
+        return this;
+    }
+
+    /**
+     * The number of threads of the default upload executor, shared by all uploads that use these settings.  Each upload
+     * is still limited to {@link #getMaxInFlightParts()} parts; once every thread is busy a part is uploaded by the
+     * thread writing it.
+     *
+     * @return the number of upload threads
+     */
+    public int getUploadThreads() {
+        return uploadThreads;
+    }
+
+    public S3TransferSettings setUploadThreads(int uploadThreads) {
+        Assert.isTrue(uploadThreads > 0, "uploadThreads must be greater than 0");
+        this.uploadThreads = uploadThreads;
+        return this;
+    }
+
+    /**
+     * The number of byte ranges of a single object that are fetched concurrently when content is read.  The default,
+     * 1, reads objects with a single request.  Values greater than 1 enable parallel ranged downloads for objects
+     * larger than {@link #getDownloadChunkSize()}.
+     *
+     * @return the download parallelism
+     */
+    public int getDownloadParallelism() {
+        return downloadParallelism;
+    }
+
+    public S3TransferSettings setDownloadParallelism(int downloadParallelism) {
+        Assert.isTrue(downloadParallelism > 0, "downloadParallelism must be greater than 0");
+        this.downloadParallelism = downloadParallelism;
+        return this;
+    }
+
+    /**
+     * The size of each byte range fetched by a parallel download.
+     *
+     * @return the chunk size in bytes
+     */
+    public int getDownloadChunkSize() {
+        return downloadChunkSize;
+    }
+
+    public S3TransferSettings setDownloadChunkSize(int downloadChunkSize) {
+        Assert.isTrue(downloadChunkSize > 0, "downloadChunkSize must be greater than 0");
+        this.downloadChunkSize = downloadChunkSize;
+        return this;
+    }
+
+    /**
+     * The number of threads of the default download executor, shared by all downloads that use these settings.  Each
+     * download still fetches at most {@link #getDownloadParallelism()} ranges at once; once every thread is busy a
+     * range is fetched by the thread reading it.
+     *
+     * @return the number of download threads
+     */
+    public int getDownloadThreads() {
+        return downloadThreads;
+    }
+
+    public S3TransferSettings setDownloadThreads(int downloadThreads) {
+        Assert.isTrue(downloadThreads > 0, "downloadThreads must be greater than 0");
+        this.downloadThreads = downloadThreads;
+        return this;
+    }
+
+    /**
+     * The executor that fetches byte ranges for parallel downloads.  Defaults to a pool of {@link #getDownloadThreads()}
+     * daemon threads, shared by all downloads that use these settings, that runs fetches on the submitting thread
+     * rather than queueing them once every thread is busy.
+     *
+     * @return the download executor
+     */
+    public synchronized Executor getDownloadExecutor() {
+        if (downloadExecutor == null) {
+            defaultDownloadExecutor = newTransferExecutor("s3-download-", downloadThreads);
+            downloadExecutor = defaultDownloadExecutor;
+        }
+        return downloadExecutor;
+    }
+
+    public synchronized S3TransferSettings setDownloadExecutor(Executor downloadExecutor) {
+        this.downloadExecutor = downloadExecutor;
+        return this;
+    }
+
+    /**
+     * The executor that uploads the parts of multipart uploads.  Defaults to a pool of {@link #getUploadThreads()}
+     * daemon threads, shared by all uploads that use these settings, that runs parts on the submitting thread rather
+     * than queueing them once every thread is busy.
+     *
+     * @return the upload executor
+     */
+    public synchronized TaskExecutor getUploadExecutor() {
+        if (uploadExecutor == null) {
+            defaultUploadExecutor = newTransferExecutor("s3-upload-", uploadThreads);
+            uploadExecutor = new TaskExecutorAdapter(defaultUploadExecutor);
+        }
+        return uploadExecutor;
+    }
+
+    public synchronized S3TransferSettings setUploadExecutor(TaskExecutor uploadExecutor) {
+        this.uploadExecutor = uploadExecutor;
+        return this;
+    }
+
+    /**
+     * Shuts down the default executors.  Executors supplied through the setters are left to their owner.
+     */
+    @Override
+    public synchronized void destroy() {
+        if (defaultDownloadExecutor != null) {
+            defaultDownloadExecutor.shutdown();
+        }
+        if (defaultUploadExecutor != null) {
+            defaultUploadExecutor.shutdown();
+        }
+    }
+
+    private static ExecutorService newTransferExecutor(String threadNamePrefix, int threads) {
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory(threadNamePrefix);
+        threadFactory.setDaemon(true);
+
+        // transfers are limited per stream, so rather than queue behind other streams' transfers run on the caller
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 60L, TimeUnit.SECONDS, new SynchronousQueue<>(), threadFactory, (task, pool) -> {
+            if (pool.isShutdown()) {
+                throw new RejectedExecutionException("Transfer executor has been shut down");
+            }
+            task.run();
+        });
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+}
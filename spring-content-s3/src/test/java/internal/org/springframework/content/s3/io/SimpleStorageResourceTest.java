@@ -0,0 +1,407 @@
+package internal.org.springframework.content.s3.io;
+
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.AfterEach;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.BeforeEach;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.Context;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.Describe;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.It;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.JustBeforeEach;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.everyItem;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.startsWith;
+import static org.junit.Assert.fail;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.apache.commons.io.IOUtils;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.springframework.content.commons.io.ResourceMetadataCache;
+import org.springframework.content.s3.config.S3TransferSettings;
+import org.springframework.core.task.SyncTaskExecutor;
+
+import com.github.paulcwarren.ginkgo4j.Ginkgo4jRunner;
+
+import software.amazon.awssdk.core.ResponseInputStream;
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.http.AbortableInputStream;
+import software.amazon.awssdk.http.SdkHttpResponse;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.AbortMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CompleteMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CompletedPart;
+import software.amazon.awssdk.services.s3.model.CreateMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CreateMultipartUploadResponse;
+import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.model.GetObjectResponse;
+import software.amazon.awssdk.services.s3.model.HeadObjectRequest;
+import software.amazon.awssdk.services.s3.model.HeadObjectResponse;
+import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+import software.amazon.awssdk.services.s3.model.UploadPartRequest;
+import software.amazon.awssdk.services.s3.model.UploadPartResponse;
+
+@RunWith(Ginkgo4jRunner.class)
+public class SimpleStorageResourceTest {
+
+    private S3Client client;
+    private SimpleStorageResource resource;
+    private byte[] content;
+    private Map<Integer, byte[]> uploadedParts;
+    private byte[] putContent;
+    private S3TransferSettings settings;
+    private ExecutorService downloadExecutor;
+
+    {
+        Describe("SimpleStorageResource", () -> {
+            BeforeEach(() -> {
+                client = mock(S3Client.class);
+                uploadedParts = new TreeMap<>();
+
+                when(client.createMultipartUpload(any(CreateMultipartUploadRequest.class))).thenReturn(CreateMultipartUploadResponse.builder().bucket("some-bucket").key("some-object").uploadId("12345").build());
+                when(client.uploadPart(any(UploadPartRequest.class), any(RequestBody.class))).thenAnswer((invocation) -> {
+                    UploadPartRequest request = invocation.getArgument(0);
+                    RequestBody body = invocation.getArgument(1);
+                    try (InputStream is = body.contentStreamProvider().newStream()) {
+                        uploadedParts.put(request.partNumber(), IOUtils.toByteArray(is));
+                    }
+                    return UploadPartResponse.builder().eTag("etag-" + request.partNumber()).build();
+                });
+                when(client.putObject(any(PutObjectRequest.class), any(RequestBody.class))).thenAnswer((invocation) -> {
+                    RequestBody body = invocation.getArgument(1);
+                    try (InputStream is = body.contentStreamProvider().newStream()) {
+                        putContent = IOUtils.toByteArray(is);
+                    }
+                    return null;
+                });
+
+                resource = new SimpleStorageResource(client, "some-bucket", "some-object", new SyncTaskExecutor(), null, null, new S3TransferSettings().setMaxInFlightParts(1));
+            });
+
+            Context("#getOutputStream", () -> {
+                JustBeforeEach(() -> {
+                    try (OutputStream os = resource.getOutputStream()) {
+                        // write in uneven chunks so that writes straddle part boundaries
+                        int off = 0;
+                        while (off < content.length) {
+                            int len = Math.min(777_777, content.length - off);
+                            os.write(content, off, len);
+                            off += len;
+                        }
+                    }
+                });
+
+                Context("given content smaller than a part", () -> {
+                    BeforeEach(() -> {
+                        content = randomBytes(1024);
+                    });
+                    It("should upload the content with a single request", () -> {
+                        verify(client, never()).createMultipartUpload(any(CreateMultipartUploadRequest.class));
+                        assertThat(putContent, is(content));
+                    });
+                });
+
+                Context("given content exactly the size of a part", () -> {
+                    BeforeEach(() -> {
+                        content = randomBytes(S3TransferSettings.MINIMUM_PART_SIZE);
+                    });
+                    It("should upload the content with a single request", () -> {
+                        verify(client, never()).createMultipartUpload(any(CreateMultipartUploadRequest.class));
+                        assertThat(putContent, is(content));
+                    });
+                });
+
+                Context("given content larger than a part", () -> {
+                    BeforeEach(() -> {
+                        content = randomBytes(S3TransferSettings.MINIMUM_PART_SIZE * 2 + 1024);
+                    });
+                    It("should upload the content in parts", () -> {
+                        assertThat(uploadedParts.keySet(), contains(1, 2, 3));
+
+                        ByteArrayOutputStream actual = new ByteArrayOutputStream();
+                        for (byte[] part : uploadedParts.values()) {
+                            actual.write(part);
+                        }
+                        assertThat(actual.toByteArray(), is(content));
+                    });
+                    It("should complete the upload with the parts in order", () -> {
+                        ArgumentCaptor<CompleteMultipartUploadRequest> captor = ArgumentCaptor.forClass(CompleteMultipartUploadRequest.class);
+                        verify(client).completeMultipartUpload(captor.capture());
+                        assertThat(captor.getValue().multipartUpload().parts().stream().map(CompletedPart::partNumber).collect(Collectors.toList()), contains(1, 2, 3));
+                    });
+                });
+            });
+
+            Context("given the default upload executor", () -> {
+                BeforeEach(() -> {
+                    settings = new S3TransferSettings().setMaxInFlightParts(2);
+                    resource = new SimpleStorageResource(client, "some-bucket", "some-object", settings.getUploadExecutor(), null, null, settings);
+                    content = randomBytes(S3TransferSettings.MINIMUM_PART_SIZE * 3 + 1024);
+                });
+                AfterEach(() -> {
+                    settings.destroy();
+                });
+                It("should upload the parts concurrently on the upload executor", () -> {
+                    Set<String> uploadThreads = ConcurrentHashMap.newKeySet();
+                    when(client.uploadPart(any(UploadPartRequest.class), any(RequestBody.class))).thenAnswer((invocation) -> {
+                        uploadThreads.add(Thread.currentThread().getName());
+                        return UploadPartResponse.builder().eTag("etag").build();
+                    });
+
+                    try (OutputStream os = resource.getOutputStream()) {
+                        os.write(content);
+                    }
+
+                    verify(client, times(4)).uploadPart(any(UploadPartRequest.class), any(RequestBody.class));
+                    assertThat(uploadThreads, everyItem(startsWith("s3-upload-")));
+                });
+                It("should abort the upload and fail the close when interrupted", () -> {
+                    OutputStream os = resource.getOutputStream();
+                    os.write(content);
+
+                    Thread.currentThread().interrupt();
+                    try {
+                        os.close();
+                        fail("expected close to fail");
+                    } catch (InterruptedIOException e) {
+                        assertThat(Thread.interrupted(), is(true));
+                    }
+                    verify(client).abortMultipartUpload(any(AbortMultipartUploadRequest.class));
+                    verify(client, never()).completeMultipartUpload(any(CompleteMultipartUploadRequest.class));
+                });
+                Context("given every upload thread is busy", () -> {
+                    BeforeEach(() -> {
+                        settings.destroy();
+                        settings = new S3TransferSettings().setMaxInFlightParts(2).setUploadThreads(1);
+                        resource = new SimpleStorageResource(client, "some-bucket", "some-object", settings.getUploadExecutor(), null, null, settings);
+                    });
+                    It("should upload the part on the writing thread rather than queue it", () -> {
+                        String writer = Thread.currentThread().getName();
+                        CountDownLatch writerUploaded = new CountDownLatch(1);
+                        Set<String> uploadThreads = ConcurrentHashMap.newKeySet();
+                        when(client.uploadPart(any(UploadPartRequest.class), any(RequestBody.class))).thenAnswer((invocation) -> {
+                            uploadThreads.add(Thread.currentThread().getName());
+                            if (Thread.currentThread().getName().equals(writer)) {
+                                writerUploaded.countDown();
+                            } else {
+                                writerUploaded.await(10, TimeUnit.SECONDS);
+                            }
+                            return UploadPartResponse.builder().eTag("etag").build();
+                        });
+
+                        try (OutputStream os = resource.getOutputStream()) {
+                            os.write(content);
+                        }
+
+                        verify(client, times(4)).uploadPart(any(UploadPartRequest.class), any(RequestBody.class));
+                        assertThat(uploadThreads, hasItem(writer));
+                        assertThat(uploadThreads, hasSize(2));
+                    });
+                });
+            });
+
+            Context("#exists, #contentLength and #lastModified", () -> {
+                BeforeEach(() -> {
+                    when(client.headObject(any(HeadObjectRequest.class))).thenReturn(HeadObjectResponse.builder().contentLength(1024L).lastModified(Instant.ofEpochSecond(10)).build());
+                });
+                It("should fetch the object's metadata once", () -> {
+                    assertThat(resource.exists(), is(true));
+                    assertThat(resource.contentLength(), is(1024L));
+                    assertThat(resource.lastModified(), is(10L));
+                    verify(client, times(1)).headObject(any(HeadObjectRequest.class));
+                });
+                It("should fetch the object's metadata again once the object is written", () -> {
+                    resource.exists();
+                    try (OutputStream os = resource.getOutputStream()) {
+                        os.write(randomBytes(1024));
+                    }
+                    resource.exists();
+                    verify(client, times(2)).headObject(any(HeadObjectRequest.class));
+                });
+                Context("given a shared metadata cache", () -> {
+                    It("should fetch the object's metadata once across resources", () -> {
+                        ResourceMetadataCache cache = new ResourceMetadataCache();
+                        resource.setMetadataCache(cache);
+                        SimpleStorageResource other = new SimpleStorageResource(client, "some-bucket", "some-object", new SyncTaskExecutor());
+                        other.setMetadataCache(cache);
+
+                        assertThat(resource.exists(), is(true));
+                        assertThat(other.contentLength(), is(1024L));
+                        verify(client, times(1)).headObject(any(HeadObjectRequest.class));
+                    });
+                });
+            });
+
+            Context("#getInputStream", () -> {
+                Context("given parallel downloads are enabled", () -> {
+                    BeforeEach(() -> {
+                        content = randomBytes(1024 * 100 + 7);
+
+                        when(client.headObject(any(HeadObjectRequest.class))).thenReturn(HeadObjectResponse.builder().contentLength((long) content.length).eTag("12345").build());
+                        when(client.getObject(any(GetObjectRequest.class))).thenAnswer((invocation) -> {
+                            GetObjectRequest request = invocation.getArgument(0);
+                            assertThat(request.ifMatch(), is("12345"));
+
+                            String[] range = request.range().substring("bytes=".length()).split("-");
+                            int start = Integer.parseInt(range[0]);
+                            int end = Integer.parseInt(range[1]);
+                            return new ResponseInputStream<>(GetObjectResponse.builder().build(), AbortableInputStream.create(new ByteArrayInputStream(content, start, end - start + 1)));
+                        });
+
+                        downloadExecutor = Executors.newFixedThreadPool(3);
+                        resource = new SimpleStorageResource(client, "some-bucket", "some-object", new SyncTaskExecutor(), null, null, new S3TransferSettings()
+                                .setDownloadParallelism(3)
+                                .setDownloadChunkSize(1024 * 10)
+                                .setDownloadExecutor(downloadExecutor));
+                    });
+                    AfterEach(() -> {
+                        downloadExecutor.shutdownNow();
+                    });
+                    It("should fetch the object in ranges and return them in order", () -> {
+                        try (InputStream is = resource.getInputStream()) {
+                            assertThat(IOUtils.toByteArray(is), is(content));
+                        }
+                        verify(client, times(11)).getObject(any(GetObjectRequest.class));
+                    });
+                    Context("given the default download executor", () -> {
+                        BeforeEach(() -> {
+                            settings = new S3TransferSettings()
+                                    .setDownloadParallelism(3)
+                                    .setDownloadChunkSize(1024 * 10)
+                                    .setDownloadThreads(5);
+                            resource = new SimpleStorageResource(client, "some-bucket", "some-object", new SyncTaskExecutor(), null, null, settings);
+                        });
+                        AfterEach(() -> {
+                            settings.destroy();
+                        });
+                        It("should fetch the ranges on a pool sized by the download threads", () -> {
+                            try (InputStream is = resource.getInputStream()) {
+                                assertThat(IOUtils.toByteArray(is), is(content));
+                            }
+                            assertThat(((ThreadPoolExecutor) settings.getDownloadExecutor()).getMaximumPoolSize(), is(5));
+                        });
+                        It("should fetch a range on the reading thread once every download thread is busy", () -> {
+                            settings.destroy();
+                            settings = new S3TransferSettings()
+                                    .setDownloadParallelism(3)
+                                    .setDownloadChunkSize(1024 * 10)
+                                    .setDownloadThreads(1);
+                            resource = new SimpleStorageResource(client, "some-bucket", "some-object", new SyncTaskExecutor(), null, null, settings);
+
+                            String reader = Thread.currentThread().getName();
+                            CountDownLatch readerFetched = new CountDownLatch(1);
+                            Set<String> downloadThreads = ConcurrentHashMap.newKeySet();
+                            when(client.getObject(any(GetObjectRequest.class))).thenAnswer((invocation) -> {
+                                downloadThreads.add(Thread.currentThread().getName());
+                                if (Thread.currentThread().getName().equals(reader)) {
+                                    readerFetched.countDown();
+                                } else {
+                                    readerFetched.await(10, TimeUnit.SECONDS);
+                                }
+                                GetObjectRequest request = invocation.getArgument(0);
+                                String[] range = request.range().substring("bytes=".length()).split("-");
+                                int start = Integer.parseInt(range[0]);
+                                int end = Integer.parseInt(range[1]);
+                                return new ResponseInputStream<>(GetObjectResponse.builder().build(), AbortableInputStream.create(new ByteArrayInputStream(content, start, end - start + 1)));
+                            });
+
+                            try (InputStream is = resource.getInputStream()) {
+                                assertThat(IOUtils.toByteArray(is), is(content));
+                            }
+                            assertThat(downloadThreads, hasItem(reader));
+                            assertThat(downloadThreads, hasSize(2));
+                        });
+                    });
+                });
+            });
+
+            Context("#getInputStream(start, end)", () -> {
+                BeforeEach(() -> {
+                    content = randomBytes(1024);
+                });
+                Context("given the range is honoured", () -> {
+                    BeforeEach(() -> {
+                        when(client.getObject(any(GetObjectRequest.class))).thenAnswer((invocation) -> {
+                            GetObjectRequest request = invocation.getArgument(0);
+                            String[] range = request.range().substring("bytes=".length()).split("-");
+                            int start = Integer.parseInt(range[0]);
+                            int end = Integer.parseInt(range[1]);
+                            return new ResponseInputStream<>(getObjectResponse(206), AbortableInputStream.create(new ByteArrayInputStream(content, start, end - start + 1)));
+                        });
+                    });
+                    It("should fetch only the range", () -> {
+                        try (InputStream is = resource.getInputStream(100, 199)) {
+                            assertThat(IOUtils.toByteArray(is), is(Arrays.copyOfRange(content, 100, 200)));
+                        }
+                        ArgumentCaptor<GetObjectRequest> captor = ArgumentCaptor.forClass(GetObjectRequest.class);
+                        verify(client).getObject(captor.capture());
+                        assertThat(captor.getValue().range(), is("bytes=100-199"));
+                        verify(client, never()).headObject(any(HeadObjectRequest.class));
+                    });
+                });
+                Context("given the range is ignored", () -> {
+                    BeforeEach(() -> {
+                        when(client.getObject(any(GetObjectRequest.class))).thenReturn(new ResponseInputStream<>(getObjectResponse(200), AbortableInputStream.create(new ByteArrayInputStream(content))));
+                    });
+                    It("should return the range from the full object", () -> {
+                        try (InputStream is = resource.getInputStream(100, 199)) {
+                            assertThat(IOUtils.toByteArray(is), is(Arrays.copyOfRange(content, 100, 200)));
+                        }
+                    });
+                });
+                Context("given an unexpected response", () -> {
+                    BeforeEach(() -> {
+                        when(client.getObject(any(GetObjectRequest.class))).thenReturn(new ResponseInputStream<>(getObjectResponse(500), AbortableInputStream.create(new ByteArrayInputStream(content))));
+                    });
+                    It("should fail", () -> {
+                        try {
+                            resource.getInputStream(100, 199);
+                            fail("expected an IOException");
+                        } catch (IOException e) {
+                            assertThat(e.getMessage(), startsWith("Unexpected HTTP response code 500"));
+                        }
+                    });
+                });
+            });
+        });
+    }
+
+    private static GetObjectResponse getObjectResponse(int statusCode) {
+        return (GetObjectResponse) GetObjectResponse.builder()
+                .sdkHttpResponse(SdkHttpResponse.builder().statusCode(statusCode).build())
+                .build();
+    }
+
+    private static byte[] randomBytes(int size) {
+        byte[] bytes = new byte[size];
+        new Random(size).nextBytes(bytes);
+        return bytes;
+    }
+}
@@ -3,6 +3,7 @@ package internal.org.springframework.content.solr;
 import static java.lang.String.format;
 import static org.apache.solr.client.solrj.request.AbstractUpdateRequest.ACTION.COMMIT;
 
+import java.io.FilterInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.HashMap;
@@ -11,6 +12,7 @@ import java.util.Map.Entry;
 
 import org.apache.solr.client.solrj.SolrClient;
 import org.apache.solr.client.solrj.SolrServerException;
+import org.apache.solr.client.solrj.request.AbstractUpdateRequest;
 import org.apache.solr.client.solrj.request.ContentStreamUpdateRequest;
 import org.apache.solr.client.solrj.request.UpdateRequest;
 import org.apache.solr.common.util.ContentStreamBase;
@@ -22,6 +24,7 @@ import org.springframework.content.commons.utils.BeanUtils;
 import org.springframework.content.commons.utils.DomainObjectUtils;
 import org.springframework.content.solr.AttributeProvider;
 import org.springframework.content.solr.SolrProperties;
+import org.springframework.content.solr.SolrProperties.CommitStrategy;
 
 public class SolrFulltextIndexServiceImpl implements IndexService {
 
@@ -32,6 +35,9 @@ public class SolrFulltextIndexServiceImpl implements IndexService {
     private AttributeProvider<Object> builtinSyncer;
     private AttributeProvider<Object> syncer;
 
+    private int batchedUpdates = 0;
+    private long batchedBytes = 0;
+
     @Autowired
     public SolrFulltextIndexServiceImpl(SolrClient solrClient, SolrProperties properties) {
         this.solrClient = solrClient;
@@ -63,7 +69,8 @@ public class SolrFulltextIndexServiceImpl implements IndexService {
             up.setBasicAuthCredentials(properties.getUser(), properties.getPassword());
         }
 
-        up.addContentStream(new ContentEntityStream(content));
+        ContentEntityStream stream = new ContentEntityStream(content);
+        up.addContentStream(stream);
         String id = BeanUtils.getFieldWithAnnotation(entity, ContentId.class).toString();
         up.setParam("literal.id", entity.getClass().getCanonicalName() + ":" + id);
 
@@ -76,7 +83,7 @@ public class SolrFulltextIndexServiceImpl implements IndexService {
             up.setParam(format("literal.%s", entry.getKey()), entry.getValue());
         }
 
-        up.setAction(COMMIT,true, true);
+        applyCommitStrategy(up);
 
         try {
             solrClient.request(up, null);
@@ -87,6 +94,8 @@ public class SolrFulltextIndexServiceImpl implements IndexService {
         catch (IOException e) {
             throw new StoreAccessException(format("Error indexing entity with id '%s'", id), e);
         }
+
+        batched(stream.getBytesRead());
     }
 
     @Override
@@ -95,7 +104,7 @@ public class SolrFulltextIndexServiceImpl implements IndexService {
         Object id = BeanUtils.getFieldWithAnnotation(entity, ContentId.class);
 
         UpdateRequest up = new UpdateRequest();
-        up.setAction(COMMIT,true, true);
+        applyCommitStrategy(up);
         up.deleteById(entity.getClass().getCanonicalName() + ":" + id.toString());
 
         if (properties.getUser() != null) {
@@ -111,11 +120,75 @@ public class SolrFulltextIndexServiceImpl implements IndexService {
         catch (IOException e) {
             throw new StoreAccessException(format("Error unindexing entity with id '%s'", id), e);
         }
+
+        batched(0);
+    }
+
+    /**
+     * Hard commits all updates that have not yet been committed.
+     * <p>
+     * Useful with the {@link CommitStrategy#BATCH} strategy to commit the last, partial, batch once a bulk load has
+     * finished.
+     */
+    public void commit() {
+
+        UpdateRequest up = new UpdateRequest();
+        up.setAction(COMMIT, false, false);
+
+        if (properties.getUser() != null) {
+            up.setBasicAuthCredentials(properties.getUser(), properties.getPassword());
+        }
+
+        try {
+            solrClient.request(up, null);
+        }
+        catch (SolrServerException | IOException e) {
+            throw new StoreAccessException("Error committing index", e);
+        }
+    }
+
+    private void applyCommitStrategy(AbstractUpdateRequest up) {
+
+        switch (properties.getCommitStrategy()) {
+        case HARD:
+            up.setAction(COMMIT, true, true);
+            break;
+        case SOFT:
+            up.setAction(COMMIT, true, true, true);
+            break;
+        case COMMIT_WITHIN:
+        case BATCH:
+            up.setCommitWithin(properties.getCommitWithinMs());
+            break;
+        }
+    }
+
+    private void batched(long bytes) {
+
+        if (properties.getCommitStrategy() != CommitStrategy.BATCH) {
+            return;
+        }
+
+        boolean commit = false;
+        synchronized (this) {
+            batchedUpdates++;
+            batchedBytes += bytes;
+            if (batchedUpdates >= properties.getBatchSize() || batchedBytes >= properties.getBatchSizeBytes()) {
+                batchedUpdates = 0;
+                batchedBytes = 0;
+                commit = true;
+            }
+        }
+
+        if (commit) {
+            commit();
+        }
     }
 
     private class ContentEntityStream extends ContentStreamBase {
 
         private InputStream stream;
+        private long bytesRead = 0;
 
         public ContentEntityStream(InputStream stream) {
             this.stream = stream;
@@ -123,7 +196,29 @@ public class SolrFulltextIndexServiceImpl implements IndexService {
 
         @Override
         public InputStream getStream() throws IOException {
-            return stream;
+            return new FilterInputStream(stream) {
+                @Override
+                public int read() throws IOException {
+                    int b = super.read();
+                    if (b != -1) {
+                        bytesRead++;
+                    }
+                    return b;
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) throws IOException {
+                    int n = super.read(b, off, len);
+                    if (n > 0) {
+                        bytesRead += n;
+                    }
+                    return n;
+                }
+            };
+        }
+
+        public long getBytesRead() {
+            return bytesRead;
         }
     }
 }
@@ -11,6 +11,10 @@ public class SolrConfig {
 	private String url;
 	private String username;
 	private String password;
+	private SolrProperties.CommitStrategy commitStrategy = SolrProperties.CommitStrategy.HARD;
+	private int commitWithinMs = 1000;
+	private int batchSize = 1000;
+	private long batchSizeBytes = 64 * 1024 * 1024;
 
 	public String getUrl() {
 		return url;
@@ -36,6 +40,38 @@ public class SolrConfig {
 		this.password = password;
 	}
 
+	public SolrProperties.CommitStrategy getCommitStrategy() {
+		return commitStrategy;
+	}
+
+	public void setCommitStrategy(SolrProperties.CommitStrategy commitStrategy) {
+		this.commitStrategy = commitStrategy;
+	}
+
+	public int getCommitWithinMs() {
+		return commitWithinMs;
+	}
+
+	public void setCommitWithinMs(int commitWithinMs) {
+		this.commitWithinMs = commitWithinMs;
+	}
+
+	public int getBatchSize() {
+		return batchSize;
+	}
+
+	public void setBatchSize(int batchSize) {
+		this.batchSize = batchSize;
+	}
+
+	public long getBatchSizeBytes() {
+		return batchSizeBytes;
+	}
+
+	public void setBatchSizeBytes(long batchSizeBytes) {
+		this.batchSizeBytes = batchSizeBytes;
+	}
+
 	@Bean
 	public SolrProperties solrProperties() {
 
@@ -46,6 +82,10 @@ public class SolrConfig {
 		props.setUrl(url);
 		props.setPassword(password);
 		props.setUser(username);
+		props.setCommitStrategy(commitStrategy);
+		props.setCommitWithinMs(commitWithinMs);
+		props.setBatchSize(batchSize);
+		props.setBatchSizeBytes(batchSizeBytes);
 		return props;
 	}
 }
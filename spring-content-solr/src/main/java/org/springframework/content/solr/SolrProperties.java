@@ -2,9 +2,27 @@ package org.springframework.content.solr;
 
 public class SolrProperties {
 
+	/**
+	 * How, and when, indexed content is committed, and becomes searchable
+	 */
+	public enum CommitStrategy {
+		/** every update is hard committed, opening a new searcher; content is searchable when it has been indexed */
+		HARD,
+		/** every update is soft committed; content is searchable when it has been indexed */
+		SOFT,
+		/** updates are committed by Solr within commitWithinMs */
+		COMMIT_WITHIN,
+		/** updates are committed by Solr within commitWithinMs, and hard committed every batchSize updates or batchSizeBytes */
+		BATCH
+	}
+
 	private String url = null;
 	private String user = null;
 	private String password = null;
+	private CommitStrategy commitStrategy = CommitStrategy.HARD;
+	private int commitWithinMs = 1000;
+	private int batchSize = 1000;
+	private long batchSizeBytes = 64 * 1024 * 1024;
 
 	public String getUrl() {
 		return url;
@@ -29,4 +47,36 @@ public class SolrProperties {
 	public void setPassword(String password) {
 		this.password = password;
 	}
+
+	public CommitStrategy getCommitStrategy() {
+		return commitStrategy;
+	}
+
+	public void setCommitStrategy(CommitStrategy commitStrategy) {
+		this.commitStrategy = commitStrategy;
+	}
+
+	public int getCommitWithinMs() {
+		return commitWithinMs;
+	}
+
+	public void setCommitWithinMs(int commitWithinMs) {
+		this.commitWithinMs = commitWithinMs;
+	}
+
+	public int getBatchSize() {
+		return batchSize;
+	}
+
+	public void setBatchSize(int batchSize) {
+		this.batchSize = batchSize;
+	}
+
+	public long getBatchSizeBytes() {
+		return batchSizeBytes;
+	}
+
+	public void setBatchSizeBytes(long batchSizeBytes) {
+		this.batchSizeBytes = batchSizeBytes;
+	}
 }
@@ -3,6 +3,8 @@ package internal.org.springframework.content.solr;
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.List;
+import java.util.stream.Collectors;
 
 import com.github.paulcwarren.ginkgo4j.Ginkgo4jRunner;
 import lombok.AllArgsConstructor;
@@ -10,13 +12,18 @@ import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import lombok.Setter;
 import org.apache.solr.client.solrj.SolrClient;
+import org.apache.solr.client.solrj.SolrRequest;
 import org.apache.solr.client.solrj.SolrServerException;
+import org.apache.solr.client.solrj.request.AbstractUpdateRequest;
+import org.apache.solr.client.solrj.request.ContentStreamUpdateRequest;
 import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.ArgumentMatchers;
 
 import org.springframework.content.commons.annotations.ContentId;
 import org.springframework.content.commons.repository.StoreAccessException;
 import org.springframework.content.solr.SolrProperties;
+import org.springframework.content.solr.SolrProperties.CommitStrategy;
 
 import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.BeforeEach;
 import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.Context;
@@ -27,11 +34,14 @@ import static java.lang.String.format;
 import static org.hamcrest.CoreMatchers.containsString;
 import static org.hamcrest.CoreMatchers.instanceOf;
 import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyObject;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @RunWith(Ginkgo4jRunner.class)
@@ -119,6 +129,96 @@ public class SolrFulltextIndexServiceImplTest {
                 });
             }
         });
+
+        Describe("commit strategies", () -> {
+
+            BeforeEach(() -> {
+                solr = mock(SolrClient.class);
+                props = new SolrProperties();
+
+                entity = new TEntity("12345");
+            });
+
+            JustBeforeEach(() -> {
+                indexer = new SolrFulltextIndexServiceImpl(solr, props);
+                indexer.index(entity, new ByteArrayInputStream("foo".getBytes()));
+                indexer.unindex(entity);
+            });
+
+            Context("given the default commit strategy", () -> {
+                It("should hard commit every update", () -> {
+                    for (SolrRequest<?> request : requests(2)) {
+                        assertThat(request.getParams().get("commit"), is("true"));
+                        assertThat(request.getParams().get("softCommit"), is(nullValue()));
+                    }
+                });
+            });
+
+            Context("given the soft commit strategy", () -> {
+                BeforeEach(() -> {
+                    props.setCommitStrategy(CommitStrategy.SOFT);
+                });
+                It("should soft commit every update", () -> {
+                    for (SolrRequest<?> request : requests(2)) {
+                        assertThat(request.getParams().get("commit"), is("true"));
+                        assertThat(request.getParams().get("softCommit"), is("true"));
+                    }
+                });
+            });
+
+            Context("given the commit within strategy", () -> {
+                BeforeEach(() -> {
+                    props.setCommitStrategy(CommitStrategy.COMMIT_WITHIN);
+                    props.setCommitWithinMs(5000);
+                });
+                It("should ask solr to commit every update within the configured time", () -> {
+                    for (SolrRequest<?> request : requests(2)) {
+                        assertThat(request.getParams().get("commit"), is(nullValue()));
+                        assertThat(((AbstractUpdateRequest) request).getCommitWithin(), is(5000));
+                    }
+                });
+            });
+
+            Context("given the batch strategy", () -> {
+                BeforeEach(() -> {
+                    props.setCommitStrategy(CommitStrategy.BATCH);
+                    props.setBatchSize(2);
+                });
+                It("should hard commit once per batch of updates", () -> {
+                    List<SolrRequest<?>> requests = requests(3);
+                    assertThat(requests.get(0).getParams().get("commit"), is(nullValue()));
+                    assertThat(requests.get(1).getParams().get("commit"), is(nullValue()));
+                    assertThat(requests.get(2).getParams().get("commit"), is("true"));
+                });
+            });
+
+            Context("given the batch strategy and a batch size in bytes", () -> {
+                BeforeEach(() -> {
+                    props.setCommitStrategy(CommitStrategy.BATCH);
+                    props.setBatchSizeBytes(3);
+                    when(solr.request(any(), any())).thenAnswer(invocation -> {
+                        // solr reads the content as the request is sent
+                        SolrRequest<?> request = invocation.getArgument(0);
+                        if (request instanceof ContentStreamUpdateRequest) {
+                            ((ContentStreamUpdateRequest) request).getContentStreams().iterator().next().getStream().readAllBytes();
+                        }
+                        return null;
+                    });
+                });
+                It("should hard commit once the batch has reached that size", () -> {
+                    List<SolrRequest<?>> requests = requests(3);
+                    assertThat(requests.get(0).getParams().get("commit"), is(nullValue()));
+                    assertThat(requests.get(1).getParams().get("commit"), is("true"));
+                    assertThat(requests.get(2).getParams().get("commit"), is(nullValue()));
+                });
+            });
+        });
+    }
+
+    private List<SolrRequest<?>> requests(int count) throws Exception {
+        ArgumentCaptor<SolrRequest> captor = ArgumentCaptor.forClass(SolrRequest.class);
+        verify(solr, times(count)).request(captor.capture(), any());
+        return captor.getAllValues().stream().map(request -> (SolrRequest<?>) request).collect(Collectors.toList());
     }
 
     @AllArgsConstructor